@@ -0,0 +1,800 @@
+package com.institute.management.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.institute.management.dto.CompositeRequestDTO.SubRequestDTO;
+import com.institute.management.dto.CompositeResponseDTO;
+import com.institute.management.dto.CompositeResponseDTO.SubResponseDTO;
+import com.institute.management.dto.ErrorResponseDTO;
+import com.institute.management.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs the GET sub-requests of a composite read (POST /batch) and collects what each route would
+ * have answered on its own.
+ *
+ * Every sub-request takes the standard request path with a request and response of its own: the
+ * application's servlet filters, in their registered order and with their URL patterns, then a
+ * DispatcherServlet over the same application context. Security therefore applies its URL rules
+ * and each service its @PreAuthorize rules, and GlobalExceptionHandler turns failures into the usual
+ * per-item status and error body. The caller was authenticated once by the composite request; its
+ * security context is handed to the sub-requests as a request attribute instead of validating the
+ * token again for each of them.
+ *
+ * One composite read runs at most app.composite.parallelism sub-requests at once, on worker threads
+ * shared by all composite reads. A read that finds no free worker runs its sub-requests on its own
+ * thread, one after another, so a busy node slows composite reads down instead of queueing them.
+ */
+@Component
+public class CompositeDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeDispatcher.class);
+
+    // Headers of the composite request that do not describe its sub-requests; the caller's
+    // authentication is carried in the security context
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+        "accept", "accept-encoding", "content-type", "content-length", "transfer-encoding", "authorization",
+        "if-match", "if-none-match", "if-modified-since", "if-unmodified-since", "idempotency-key");
+
+    @Autowired
+    private WebApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Sub-requests accepted in one composite read */
+    @Value("${app.composite.max-requests:20}")
+    private int maxRequests = 20;
+
+    /** Sub-requests of one composite read running at once */
+    @Value("${app.composite.parallelism:4}")
+    private int parallelism = 4;
+
+    /** Time the whole composite read may take; sub-requests not finished by then report 504 */
+    @Value("${app.composite.timeout-ms:10000}")
+    private long timeoutMs = 10000;
+
+    private final ExecutorService executor;
+
+    /** Servlet filters and servlet that sub-requests pass through, set up on the first composite read */
+    private volatile List<MappedFilter> filters;
+    private volatile DispatcherServlet servlet;
+
+    public CompositeDispatcher(@Value("${app.composite.max-threads:64}") int maxThreads) {
+        AtomicInteger count = new AtomicInteger();
+        // No queue: a composite read either gets a free worker or runs on its own thread
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "composite-read-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        if (servlet != null) {
+            servlet.destroy();
+        }
+    }
+
+    /**
+     * Run the sub-requests as the current user; results come back in the order of the sub-requests
+     */
+    public CompositeResponseDTO dispatch(List<SubRequestDTO> requests, HttpServletRequest original,
+                                         HttpServletResponse originalResponse) {
+        if (requests.size() > maxRequests) {
+            throw new ValidationException("A composite read accepts at most " + maxRequests + " sub-requests");
+        }
+        initialize();
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+        // Everything read from the composite request is read here, on the request thread
+        List<SubRequest> subRequests = new ArrayList<>(requests.size());
+        for (SubRequestDTO request : requests) {
+            if (!request.getPath().startsWith("/")) {
+                throw new ValidationException("Sub-request path must start with /: " + request.getPath());
+            }
+            subRequests.add(new SubRequest(original, request.getPath(), securityContext));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        AtomicReferenceArray<SubResponseDTO> results = new AtomicReferenceArray<>(requests.size());
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while (!Thread.currentThread().isInterrupted() && (i = next.getAndIncrement()) < requests.size()) {
+                if (System.nanoTime() - deadline < 0) {
+                    results.set(i, execute(requests.get(i), subRequests.get(i), new SubResponse(originalResponse)));
+                }
+            }
+        };
+        run(worker, Math.min(parallelism, requests.size()), deadline);
+
+        List<SubResponseDTO> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SubResponseDTO result = results.get(i);
+            responses.add(result != null ? result
+                : error(requests.get(i), HttpStatus.GATEWAY_TIMEOUT, "Sub-request did not complete in time", "TIMEOUT"));
+        }
+        return new CompositeResponseDTO(responses);
+    }
+
+    /**
+     * Start up to the given number of workers and wait for them until the deadline, then interrupt
+     * those still running. Without a free worker the sub-requests run on this thread.
+     */
+    private void run(Runnable worker, int workers, long deadline) {
+        List<Future<?>> running = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                running.add(executor.submit(worker));
+            }
+        } catch (RejectedExecutionException e) {
+            if (running.isEmpty()) {
+                worker.run();
+                return;
+            }
+        }
+        try {
+            for (Future<?> future : running) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            logger.warn("Composite read did not complete within {} ms", timeoutMs);
+        } catch (ExecutionException e) {
+            logger.error("Composite read worker failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running a composite read", e);
+        } finally {
+            running.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private SubResponseDTO execute(SubRequestDTO request, SubRequest subRequest, SubResponse subResponse) {
+        try {
+            new SubRequestChain(filters, servlet).doFilter(subRequest, subResponse);
+            JsonNode body = body(subResponse);
+            if (body == null && subResponse.getStatus() >= 400) {
+                // E.g. sendError, which the error page would have turned into a body
+                HttpStatus status = HttpStatus.resolve(subResponse.getStatus());
+                if (status != null) {
+                    return error(request, status, status.getReasonPhrase(), status.name());
+                }
+            }
+            return new SubResponseDTO(request.getId(), request.getPath(), subResponse.getStatus(), body);
+        } catch (Exception e) {
+            logger.error("Sub-request {} failed", request.getPath(), e);
+            return error(request, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", "INTERNAL_ERROR");
+        }
+    }
+
+    /**
+     * Collect the servlet filters as the servlet container registers them and set up the servlet
+     */
+    private void initialize() {
+        if (servlet != null) {
+            return;
+        }
+        synchronized (this) {
+            if (servlet != null) {
+                return;
+            }
+            List<MappedFilter> mapped = new ArrayList<>();
+            for (ServletContextInitializer initializer : new ServletContextInitializerBeans(applicationContext)) {
+                if (initializer instanceof AbstractFilterRegistrationBean<?> registration && registration.isEnabled()) {
+                    mapped.add(new MappedFilter(registration.getFilter(), List.copyOf(registration.getUrlPatterns())));
+                }
+            }
+            DispatcherServlet dispatcherServlet = new DispatcherServlet(applicationContext);
+            dispatcherServlet.setPublishContext(false);
+            try {
+                dispatcherServlet.init(new SubRequestServletConfig(applicationContext.getServletContext()));
+            } catch (ServletException e) {
+                throw new IllegalStateException("Could not set up the composite read servlet", e);
+            }
+            filters = List.copyOf(mapped);
+            servlet = dispatcherServlet;
+        }
+    }
+
+    private JsonNode body(SubResponse response) {
+        response.flushBuffer();
+        byte[] content = response.content.toByteArray();
+        if (content.length == 0) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && contentType.contains("json")) {
+            try {
+                return objectMapper.readTree(content);
+            } catch (IOException e) {
+                logger.debug("Sub-response is not valid JSON: {}", e.getMessage());
+            }
+        }
+        return TextNode.valueOf(new String(content, StandardCharsets.UTF_8));
+    }
+
+    private SubResponseDTO error(SubRequestDTO request, HttpStatus status, String message, String errorCode) {
+        ErrorResponseDTO error = new ErrorResponseDTO(status.value(), status.getReasonPhrase(), message, request.getPath(), errorCode);
+        return new SubResponseDTO(request.getId(), request.getPath(), status.value(), objectMapper.valueToTree(error));
+    }
+
+    /**
+     * A servlet filter with the URL patterns it is registered for; none means every request
+     */
+    private record MappedFilter(Filter filter, List<String> urlPatterns) {
+
+        boolean matches(String path) {
+            if (urlPatterns.isEmpty()) {
+                return true;
+            }
+            for (String pattern : urlPatterns) {
+                if (pattern.equals("/*") || pattern.equals("/") || pattern.equals(path)
+                    || (pattern.endsWith("/*") && (path.equals(pattern.substring(0, pattern.length() - 2))
+                        || path.startsWith(pattern.substring(0, pattern.length() - 1))))
+                    || (pattern.startsWith("*.") && path.endsWith(pattern.substring(1)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The filters matching the sub-request's path, then the servlet
+     */
+    private static final class SubRequestChain implements FilterChain {
+
+        private final List<MappedFilter> filters;
+        private final Servlet servlet;
+        private int position;
+
+        SubRequestChain(List<MappedFilter> filters, Servlet servlet) {
+            this.filters = filters;
+            this.servlet = servlet;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            String path = ((HttpServletRequest) request).getServletPath();
+            while (position < filters.size()) {
+                MappedFilter next = filters.get(position++);
+                if (next.matches(path)) {
+                    next.filter().doFilter(request, response, this);
+                    return;
+                }
+            }
+            servlet.service(request, response);
+        }
+    }
+
+    private record SubRequestServletConfig(ServletContext servletContext) implements ServletConfig {
+
+        @Override
+        public String getServletName() {
+            return "compositeReadDispatcherServlet";
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public String getInitParameter(String name) {
+            return null;
+        }
+
+        @Override
+        public Enumeration<String> getInitParameterNames() {
+            return Collections.emptyEnumeration();
+        }
+    }
+
+    /**
+     * A GET of the given path with the composite request's user, locale and client; attributes, body
+     * and parameters are its own, and the user's security context is loaded from its attributes
+     */
+    private static final class SubRequest extends HttpServletRequestWrapper {
+
+        private final String contextPath;
+        private final String requestUri;
+        private final String servletPath;
+        private final String queryString;
+        private final String requestUrl;
+        private final Map<String, String[]> parameters;
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        SubRequest(HttpServletRequest original, String path, SecurityContext securityContext) {
+            super(original);
+            int query = path.indexOf('?');
+            this.contextPath = original.getContextPath();
+            this.servletPath = query >= 0 ? path.substring(0, query) : path;
+            this.queryString = query >= 0 ? path.substring(query + 1) : null;
+            this.requestUri = contextPath + servletPath;
+            this.requestUrl = original.getScheme() + "://" + original.getServerName() + ":" + original.getServerPort() + requestUri;
+            this.parameters = parseQuery(queryString);
+            for (Enumeration<String> names = original.getHeaderNames(); names.hasMoreElements(); ) {
+                String name = names.nextElement();
+                if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name.toLowerCase(Locale.ROOT), Collections.list(original.getHeaders(name)));
+                }
+            }
+            headers.put("accept", List.of(MediaType.APPLICATION_JSON_VALUE));
+            attributes.put(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME, securityContext);
+        }
+
+        private static Map<String, String[]> parseQuery(String queryString) {
+            Map<String, List<String>> values = new LinkedHashMap<>();
+            if (queryString != null && !queryString.isEmpty()) {
+                for (String pair : queryString.split("&")) {
+                    if (pair.isEmpty()) {
+                        continue;
+                    }
+                    int eq = pair.indexOf('=');
+                    String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+                    String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+                    values.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+                }
+            }
+            Map<String, String[]> parameters = new LinkedHashMap<>();
+            values.forEach((name, list) -> parameters.put(name, list.toArray(new String[0])));
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            return new StringBuffer(requestUrl);
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getPathTranslated() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values != null && values.length > 0 ? values[0] : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return parameters;
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return Collections.enumeration(headers.getOrDefault(name.toLowerCase(Locale.ROOT), List.of()));
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(headers.keySet());
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            return -1;
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            String value = getHeader(name);
+            return value != null ? Integer.parseInt(value) : -1;
+        }
+
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return true;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return -1;
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new StringReader(""));
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return false;
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            throw new IllegalStateException("Sub-requests of a composite read are synchronous");
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+            throw new IllegalStateException("Sub-requests of a composite read are synchronous");
+        }
+    }
+
+    /**
+     * Captures status, headers and body of a sub-request; nothing reaches the real response
+     */
+    private static final class SubResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+        private int status = HttpServletResponse.SC_OK;
+        private String contentType;
+        private String characterEncoding = StandardCharsets.UTF_8.name();
+        private PrintWriter writer;
+
+        SubResponse(HttpServletResponse original) {
+            super(original);
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            this.status = HttpServletResponse.SC_FOUND;
+            setHeader(HttpHeaders.LOCATION, location);
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name.toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            headers.put(name.toLowerCase(Locale.ROOT), new ArrayList<>(List.of(value)));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            headers.computeIfAbsent(name.toLowerCase(Locale.ROOT), n -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            setHeader(name, String.valueOf(date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            addHeader(name, String.valueOf(date));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                return contentType;
+            }
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return headers.getOrDefault(name.toLowerCase(Locale.ROOT), List.of());
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String characterEncoding) {
+            this.characterEncoding = characterEncoding;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(int b) {
+                    content.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    content.write(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(content, Charset.forName(characterEncoding)), true);
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            content.reset();
+        }
+
+        @Override
+        public void reset() {
+            content.reset();
+            headers.clear();
+            status = HttpServletResponse.SC_OK;
+            contentType = null;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.institute.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institute.management.dto.ErrorResponseDTO;
+import com.institute.management.entity.IdempotencyRecord;
+import com.institute.management.entity.IdempotencyRecord.RecordStatus;
+import com.institute.management.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST requests that carry an Idempotency-Key header safe to retry.
+ *
+ * The first request with a key claims it by inserting a PROCESSING record (one INSERT, no lookup;
+ * the primary key rejects a second claim), runs, and stores its response on the record. A retry
+ * gets the stored response replayed with an Idempotent-Replayed header instead of running again,
+ * so a timed-out create is not repeated and does not fail as a duplicate. A duplicate arriving
+ * while the first is still running waits for it: on the same node through the in-flight map, on
+ * another node by polling the record. Recent responses are also kept in an LRU, so most retries
+ * are answered without the database.
+ *
+ * A claim is a lease: the node running the request renews it on a schedule, and a key whose lease
+ * lapsed because that node stopped is claimed again by the next retry instead of blocking it until
+ * the key expires. A stored response past the retention period counts as absent even before the
+ * cleanup job deletes it.
+ *
+ * Keys are scoped to the authenticated user. Reusing a key for a different method, URI or body is
+ * rejected with 422. A response with a 5xx status is not stored and releases the key. Unauthenticated
+ * and multipart requests are passed through unchanged.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Completed responses kept in memory */
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize = 10000;
+
+    /** How long a key is remembered */
+    @Value("${app.idempotency.retention-hours:24}")
+    private long retentionHours = 24;
+
+    /** How long a duplicate waits for the request holding its key before getting 409 */
+    @Value("${app.idempotency.wait-ms:30000}")
+    private long waitMs = 30000;
+
+    @Value("${app.idempotency.poll-interval-ms:100}")
+    private long pollIntervalMs = 100;
+
+    /** How long a claim holds its key without being renewed; renewed every lease-renew-interval-ms */
+    @Value("${app.idempotency.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    private Map<String, Stored> completed;
+
+    private final Map<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    /** Lease tokens of the claims whose requests are running on this node, by key */
+    private final Map<String, String> leases = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void createCache() {
+        completed = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !"POST".equals(request.getMethod())
+            || request.getHeader(HEADER) == null
+            || (contentType != null && contentType.toLowerCase().startsWith("multipart/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters", "INVALID_IDEMPOTENCY_KEY");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String id = authentication.getName() + ":" + key;
+        String requestHash = hash(request, cachedRequest.body);
+
+        Stored stored = completed.get(id);
+        if (stored != null && !stored.isExpired()) {
+            replay(stored, requestHash, request, response);
+            return;
+        }
+
+        CompletableFuture<Stored> own = new CompletableFuture<>();
+        CompletableFuture<Stored> running = inFlight.putIfAbsent(id, own);
+        if (running != null) {
+            replay(await(running), requestHash, request, response);
+            return;
+        }
+        try {
+            String leaseToken = claim(id, requestHash);
+            if (leaseToken == null) {
+                // Claimed by another node, or before this node restarted
+                Stored result = awaitRecord(id);
+                // No response: the key was released, or its lease lapsed while waiting
+                leaseToken = result == null ? claim(id, requestHash) : null;
+                if (leaseToken == null) {
+                    own.complete(result);
+                    replay(result, requestHash, request, response);
+                    return;
+                }
+            }
+            own.complete(execute(id, leaseToken, requestHash, cachedRequest, response, filterChain));
+        } finally {
+            // Duplicates waiting on a request that failed get 409 and retry on their own
+            own.complete(null);
+            inFlight.remove(id, own);
+        }
+    }
+
+    /**
+     * Forget keys older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = new TransactionTemplate(transactionManager).execute(status -> repository.deleteCreatedBefore(cutoff));
+        completed.values().removeIf(Stored::isExpired);
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Keep the keys of requests still running on this node from being taken over
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.lease-renew-interval-ms:20000}")
+    public void renewLeases() {
+        if (leases.isEmpty()) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.extendLeases(
+                List.copyOf(leases.values()), LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS), RecordStatus.PROCESSING));
+        } catch (RuntimeException e) {
+            logger.error("Could not renew idempotency key leases: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim a key that is new, whose lease lapsed or whose response expired; returns the lease
+     * token, or null while another claim holds the key
+     */
+    private String claim(String id, String requestHash) {
+        String leaseToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(leaseMs, ChronoUnit.MILLIS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status ->
+                repository.saveAndFlush(new IdempotencyRecord(id, requestHash, leaseToken, now, lockedUntil)));
+            return leaseToken;
+        } catch (DataIntegrityViolationException e) {
+            Integer taken = transaction.execute(status -> repository.takeOver(id, requestHash, leaseToken, now,
+                lockedUntil, now.minusHours(retentionHours), RecordStatus.PROCESSING));
+            if (taken == null || taken == 0) {
+                return null;
+            }
+            logger.info("Took over idempotency key {} after its lease lapsed or its response expired", id);
+            return leaseToken;
+        }
+    }
+
+    /**
+     * Run the request and store its response; returns null when the response was not stored
+     */
+    private Stored execute(String id, String leaseToken, String requestHash, CachedBodyRequest request,
+                           HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        Stored result = null;
+        leases.put(id, leaseToken);
+        try {
+            filterChain.doFilter(request, capturing);
+            if (capturing.getStatus() < 500) {
+                result = new Stored(requestHash, capturing.getStatus(), capturing.getContentType(),
+                    new String(capturing.getContentAsByteArray(), StandardCharsets.UTF_8),
+                    System.currentTimeMillis() + TimeUnit.HOURS.toMillis(retentionHours));
+                store(id, leaseToken, result);
+            }
+        } finally {
+            leases.remove(id, leaseToken);
+            if (result == null) {
+                release(id, leaseToken);
+            }
+            capturing.copyBodyToResponse();
+        }
+        return result;
+    }
+
+    private void store(String id, String leaseToken, Stored result) {
+        try {
+            Integer stored = new TransactionTemplate(transactionManager).execute(status -> repository.complete(id, leaseToken,
+                RecordStatus.COMPLETED, result.status(), result.contentType(), result.body(), LocalDateTime.now()));
+            if (stored == null || stored == 0) {
+                logger.warn("Idempotency key {} was taken over before its response was stored", id);
+            }
+        } catch (RuntimeException e) {
+            // The response still goes out; other nodes see the key as in progress until its lease lapses
+            logger.error("Could not store the response for idempotency key {}: {}", id, e.getMessage());
+        }
+        completed.put(id, result);
+    }
+
+    private void release(String id, String leaseToken) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.release(id, leaseToken, RecordStatus.PROCESSING));
+        } catch (RuntimeException e) {
+            logger.error("Could not release idempotency key {}: {}", id, e.getMessage());
+        }
+    }
+
+    private Stored await(CompletableFuture<Stored> running) {
+        try {
+            return running.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Poll the record claimed elsewhere until it completes, disappears, its lease lapses or the
+     * wait runs out; returns null unless a live response was found
+     */
+    private Stored awaitRecord(String id) {
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (true) {
+            IdempotencyRecord record = repository.findById(id).orElse(null);
+            if (record == null) {
+                return null;
+            }
+            if (record.getStatus() == RecordStatus.COMPLETED) {
+                Stored stored = new Stored(record.getRequestHash(), record.getResponseStatus(), record.getResponseContentType(),
+                    record.getResponseBody(), record.getCreatedDate().plusHours(retentionHours)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                if (stored.isExpired()) {
+                    // Not purged yet, but past retention: the key is free again
+                    return null;
+                }
+                completed.put(id, stored);
+                return stored;
+            }
+            if (record.getLockedUntil() == null || record.getLockedUntil().isBefore(LocalDateTime.now())) {
+                // The node running the request stopped renewing its lease
+                return null;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private void replay(Stored stored, String requestHash, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (stored == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(request, response, HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still in progress or did not complete; retry shortly",
+                "IDEMPOTENCY_KEY_IN_PROGRESS");
+            return;
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used for a different request", "IDEMPOTENCY_KEY_REUSED");
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && !stored.body().isEmpty()) {
+            byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message, String errorCode) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+            new ErrorResponseDTO(status.value(), status.getReasonPhrase(), message, request.getRequestURI(), errorCode));
+    }
+
+    private static String hash(HttpServletRequest request, byte[] body) {
+        try {
+            String target = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString() : request.getRequestURI();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + target + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A completed response; expiresAt is epoch millis
+     */
+    private record Stored(String requestHash, int status, String contentType, String body, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    /**
+     * Reads the body once, so it can be hashed before the request runs and read again by the controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.institute.management.config;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently. Their reads stay on the primary for the window
+ * so that they see their own changes even while the replica is lagging behind.
+ */
+public class ReadYourWrites {
+
+    private final long windowMs;
+    private final Clock clock;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(long windowMs) {
+        this(windowMs, Clock.systemUTC());
+    }
+
+    ReadYourWrites(long windowMs, Clock clock) {
+        this.windowMs = windowMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a committed write by the user
+     */
+    public void recordWrite(String user) {
+        long now = clock.millis();
+        pinnedUntil.put(user, now + windowMs);
+        // Drop expired users now and then so the map stays as small as the set of recent writers
+        if (pinnedUntil.size() > 1024) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    /**
+     * Whether the user's reads must still go to the primary
+     */
+    public boolean isPinned(String user) {
+        Long until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until <= clock.millis()) {
+            pinnedUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+}
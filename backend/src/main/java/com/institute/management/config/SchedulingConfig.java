@@ -0,0 +1,12 @@
+package com.institute.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (filter rebuilds, reconciliation, cleanup)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -8,6 +8,7 @@ import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.ValidationException;
 import com.institute.management.exception.BatchCapacityExceededException;
 import com.institute.management.service.BatchService;
+import com.institute.management.service.BatchWaitlistService;
 import com.institute.management.service.CourseService;
 import com.institute.management.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +45,9 @@ public class BatchController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private BatchWaitlistService batchWaitlistService;
+
     @Operation(summary = "Create a new batch")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Batch created successfully"),
@@ -207,6 +211,22 @@ public class BatchController {
         return ResponseEntity.ok(convertToResponseDTO(updatedBatch));
     }
 
+    @Operation(summary = "Complete batch", description = "Graduate the active students of a batch and mark it completed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Grades missing or batch cancelled"),
+        @ApiResponse(responseCode = "404", description = "Batch not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PatchMapping("/{id}/complete")
+    public ResponseEntity<BatchResponseDTO> completeBatch(
+            @PathVariable UUID id,
+            @Valid @RequestBody BatchGraduationRequestDTO request) {
+        
+        Batch completedBatch = batchService.completeBatch(id, request.getGrades(), request.getDefaultGrade());
+        return ResponseEntity.ok(convertToResponseDTO(completedBatch));
+    }
+
     @Operation(summary = "Get batch utilization report")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Utilization report retrieved successfully"),
@@ -271,6 +291,61 @@ public class BatchController {
         return ResponseEntity.ok(availability);
     }
 
+    @Operation(summary = "Put a student on the batch waitlist")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Student added to the waitlist"),
+        @ApiResponse(responseCode = "404", description = "Batch or student not found"),
+        @ApiResponse(responseCode = "409", description = "Student is already on the waitlist"),
+        @ApiResponse(responseCode = "422", description = "Student already enrolled or batch has available seats"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/{id}/waitlist")
+    public ResponseEntity<BatchWaitlistEntryDTO> joinWaitlist(
+            @PathVariable UUID id,
+            @Valid @RequestBody BatchWaitlistRequestDTO request) {
+        BatchWaitlistEntryDTO entry = batchWaitlistService.joinWaitlist(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+    }
+
+    @Operation(summary = "Get the batch waitlist", description = "Held entries first, then waiting entries in promotion order")
+    @GetMapping("/{id}/waitlist")
+    public ResponseEntity<Page<BatchWaitlistEntryDTO>> getWaitlist(
+            @PathVariable UUID id,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(batchWaitlistService.getWaitlist(id, PageRequest.of(page, size)));
+    }
+
+    @Operation(summary = "Remove a student from the batch waitlist")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Entry cancelled"),
+        @ApiResponse(responseCode = "404", description = "Waitlist entry not found"),
+        @ApiResponse(responseCode = "422", description = "Entry is no longer active")
+    })
+    @DeleteMapping("/{id}/waitlist/{entryId}")
+    public ResponseEntity<Void> cancelWaitlistEntry(@PathVariable UUID id, @PathVariable UUID entryId) {
+        batchWaitlistService.cancelEntry(id, entryId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Confirm a seat hold", description = "Moves the waitlisted student into the batch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hold confirmed"),
+        @ApiResponse(responseCode = "404", description = "Seat hold not found"),
+        @ApiResponse(responseCode = "422", description = "Hold expired or no longer active")
+    })
+    @PostMapping("/waitlist/holds/{holdToken}/confirm")
+    public ResponseEntity<BatchWaitlistEntryDTO> confirmSeatHold(@PathVariable UUID holdToken) {
+        return ResponseEntity.ok(batchWaitlistService.confirmHold(holdToken));
+    }
+
+    @Operation(summary = "Decline a seat hold", description = "Passes the seat to the next student on the waitlist")
+    @PostMapping("/waitlist/holds/{holdToken}/decline")
+    public ResponseEntity<Void> declineSeatHold(@PathVariable UUID holdToken) {
+        batchWaitlistService.declineHold(holdToken);
+        return ResponseEntity.noContent().build();
+    }
+
     // Helper method to convert entity to DTO
     private BatchResponseDTO convertToResponseDTO(Batch batch) {
         BatchResponseDTO dto = new BatchResponseDTO();
@@ -280,6 +355,7 @@ public class BatchController {
         dto.setEndDate(batch.getEndDate());
         dto.setCapacity(batch.getCapacity());
         dto.setCurrentEnrollment(batch.getCurrentEnrollment());
+        dto.setWaitlistCount(batch.getWaitlistCount());
         dto.setStatus(batch.getStatus());
         dto.setCreatedDate(batch.getCreatedDate());
         dto.setUpdatedDate(batch.getUpdatedDate());
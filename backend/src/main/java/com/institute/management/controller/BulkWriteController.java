@@ -0,0 +1,89 @@
+package com.institute.management.controller;
+
+import com.institute.management.dto.BulkWriteResponseDTO;
+import com.institute.management.dto.LeadBulkConversionRequestDTO;
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.PlacementCreateRequestDTO;
+import com.institute.management.dto.StudentCreateRequestDTO;
+import com.institute.management.service.LeadService;
+import com.institute.management.service.PlacementService;
+import com.institute.management.service.StudentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Bulk creates (POST /students:bulk, /leads:bulk, /placements:bulk) and bulk lead conversion
+ * (POST /leads:convert). The ":bulk" / ":convert" suffix sits on the collection path itself, which
+ * a class-level "/students" mapping cannot express, so the bulk endpoints share this controller. Rows are validated one by one in the services: the response
+ * reports each row as created or rejected instead of failing the whole request.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Bulk Writes", description = "APIs for creating many students, leads or placements in one request")
+public class BulkWriteController {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private PlacementService placementService;
+
+    @Operation(summary = "Create students in bulk", description = "Enroll many students at once; each row is reported as created or rejected")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rows processed, see the per-row results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/students:bulk")
+    public ResponseEntity<BulkWriteResponseDTO> createStudents(@RequestBody List<StudentCreateRequestDTO> requests) {
+        return ResponseEntity.ok(studentService.createStudents(requests));
+    }
+
+    @Operation(summary = "Create leads in bulk", description = "Create many leads at once; each row is reported as created or rejected")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rows processed, see the per-row results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/leads:bulk")
+    public ResponseEntity<BulkWriteResponseDTO> createLeads(@RequestBody List<LeadCreateRequestDTO> requests) {
+        return ResponseEntity.ok(leadService.createLeads(requests));
+    }
+
+    @Operation(summary = "Convert leads in bulk", description = "Convert many leads into students of one batch; each lead is reported as converted or rejected")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leads processed, see the per-row results; ids are the created students"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "404", description = "Batch not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/leads:convert")
+    public ResponseEntity<BulkWriteResponseDTO> convertLeads(@Valid @RequestBody LeadBulkConversionRequestDTO request) {
+        return ResponseEntity.ok(leadService.convertLeadsToStudents(request));
+    }
+
+    @Operation(summary = "Create placements in bulk", description = "Record many placements at once; each row is reported as created or rejected")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rows processed, see the per-row results"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/placements:bulk")
+    public ResponseEntity<BulkWriteResponseDTO> createPlacements(@RequestBody List<PlacementCreateRequestDTO> requests) {
+        return ResponseEntity.ok(placementService.createPlacements(requests));
+    }
+}
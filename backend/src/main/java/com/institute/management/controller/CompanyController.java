@@ -52,8 +52,12 @@ public class CompanyController {
         @ApiResponse(responseCode = "404", description = "Company not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyResponseDTO> getCompanyById(@PathVariable UUID id) {
-        CompanyResponseDTO response = companyService.getCompanyById(id);
+    public ResponseEntity<CompanyResponseDTO> getCompanyById(
+            @PathVariable UUID id,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
+        CompanyResponseDTO response = companyService.getCompanyById(
+            id, ResponseShape.of(CompanyResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
@@ -99,13 +103,16 @@ public class CompanyController {
             @Parameter(description = "Filter by industry") @RequestParam(required = false) String industry,
             @Parameter(description = "Search term (name, contact person, email, phone)") @RequestParam(required = false) String search,
             @Parameter(description = "Filter by partnership start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate partnershipStartDate,
-            @Parameter(description = "Filter by partnership end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate partnershipEndDate) {
+            @Parameter(description = "Filter by partnership end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate partnershipEndDate,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<CompanyResponseDTO> response = companyService.getAllCompanies(
-            pageable, status, industry, search, partnershipStartDate, partnershipEndDate);
+            pageable, status, industry, search, partnershipStartDate, partnershipEndDate,
+            ResponseShape.of(CompanyResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
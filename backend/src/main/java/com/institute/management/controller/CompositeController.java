@@ -0,0 +1,46 @@
+package com.institute.management.controller;
+
+import com.institute.management.config.CompositeDispatcher;
+import com.institute.management.dto.CompositeRequestDTO;
+import com.institute.management.dto.CompositeResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Composite reads (POST /batch): several GET routes answered in one round trip, e.g. a student,
+ * their batch, its availability and the statistics a page shows on load. Not to be confused with
+ * /batches, the course batches.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Composite Reads", description = "Read several GET routes in one request")
+public class CompositeController {
+
+    @Autowired
+    private CompositeDispatcher compositeDispatcher;
+
+    @Operation(summary = "Read several routes at once",
+               description = "Runs GET sub-requests, a few at a time, through the usual filters and handlers as the current user; each result carries the status and body the route would have returned on its own")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sub-requests run, see the per-item status"),
+        @ApiResponse(responseCode = "400", description = "Empty request or sub-request without a path"),
+        @ApiResponse(responseCode = "422", description = "Too many sub-requests or a path not starting with /")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<CompositeResponseDTO> read(@Valid @RequestBody CompositeRequestDTO request,
+                                                     HttpServletRequest servletRequest,
+                                                     HttpServletResponse servletResponse) {
+        return ResponseEntity.ok(compositeDispatcher.dispatch(request.getRequests(), servletRequest, servletResponse));
+    }
+}
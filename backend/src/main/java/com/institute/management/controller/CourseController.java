@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +34,10 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    /** The course description is left out of list pages unless this is set */
+    @Value("${app.responses.list-text-columns:false}")
+    private boolean listTextColumns;
+
     @Operation(summary = "Create a new course")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Course created successfully"),
@@ -90,7 +95,7 @@ public class CourseController {
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<Course> courses = courseService.getCoursesWithFilters(status, minDuration, maxDuration, minFees, maxFees, search, pageable);
-        Page<CourseResponseDTO> response = courses.map(this::convertToResponseDTO);
+        Page<CourseResponseDTO> response = courses.map(this::convertToSummaryDTO);
         
         return ResponseEntity.ok(response);
     }
@@ -155,7 +160,7 @@ public class CourseController {
     public ResponseEntity<List<CourseResponseDTO>> getCoursesByStatus(@PathVariable Course.CourseStatus status) {
         List<Course> courses = courseService.getCoursesByStatus(status);
         List<CourseResponseDTO> response = courses.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
@@ -166,7 +171,7 @@ public class CourseController {
     public ResponseEntity<List<CourseResponseDTO>> getActiveCourses() {
         List<Course> courses = courseService.getActiveCourses();
         List<CourseResponseDTO> response = courses.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
@@ -181,7 +186,7 @@ public class CourseController {
         
         Pageable pageable = PageRequest.of(page, size);
         Page<Course> courses = courseService.searchCoursesByName(query, pageable);
-        Page<CourseResponseDTO> response = courses.map(this::convertToResponseDTO);
+        Page<CourseResponseDTO> response = courses.map(this::convertToSummaryDTO);
         
         return ResponseEntity.ok(response);
     }
@@ -219,7 +224,7 @@ public class CourseController {
         
         List<Course> courses = courseService.getCoursesByFeeRange(minFees, maxFees);
         List<CourseResponseDTO> response = courses.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
@@ -237,7 +242,7 @@ public class CourseController {
         
         List<Course> courses = courseService.getCoursesByDurationRange(minDuration, maxDuration);
         List<CourseResponseDTO> response = courses.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
@@ -245,27 +250,36 @@ public class CourseController {
 
     // Helper method to convert entity to DTO
     private CourseResponseDTO convertToResponseDTO(Course course) {
+        return convertToResponseDTO(course, true);
+    }
+
+    // List pages leave out the lazily loaded description
+    private CourseResponseDTO convertToSummaryDTO(Course course) {
+        return convertToResponseDTO(course, listTextColumns);
+    }
+
+    private CourseResponseDTO convertToResponseDTO(Course course, boolean includeText) {
         CourseResponseDTO dto = new CourseResponseDTO();
         dto.setId(course.getId());
         dto.setName(course.getName());
-        dto.setDescription(course.getDescription());
+        if (includeText) {
+            dto.setDescription(course.getDescription());
+        }
         dto.setDurationMonths(course.getDurationMonths());
         dto.setFees(course.getFees());
         dto.setStatus(course.getStatus());
         dto.setCreatedDate(course.getCreatedDate());
         dto.setUpdatedDate(course.getUpdatedDate());
         
-        // Set batch count and enrollment statistics
-        if (course.getBatches() != null) {
-            dto.setBatchCount(course.getBatches().size());
-            
+        // Set batch count and enrollment statistics; the maintained counter spares loading empty batch lists
+        dto.setBatchCount(course.getBatchCount());
+        if (course.getBatchCount() != null && course.getBatchCount() > 0 && course.getBatches() != null) {
             // Calculate total enrollments across all batches
             int totalEnrollments = course.getBatches().stream()
                 .mapToInt(batch -> batch.getCurrentEnrollment())
                 .sum();
             dto.setTotalEnrollments(totalEnrollments);
         } else {
-            dto.setBatchCount(0);
             dto.setTotalEnrollments(0);
         }
         
@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -274,4 +275,15 @@ public class EmployeeController {
         Page<EmployeeResponseDTO> response = employeeService.getEmployeesHiredInDateRange(startDate, endDate, pageable);
         return ResponseEntity.ok(response);
     }
+    
+    @Operation(summary = "Get employee statistics", description = "Get employee counts by status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/statistics")
+    public ResponseEntity<Map<String, Object>> getEmployeeStatistics() {
+        Map<String, Object> response = employeeService.getEmployeeStatistics();
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
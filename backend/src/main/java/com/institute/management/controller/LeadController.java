@@ -2,6 +2,8 @@ package com.institute.management.controller;
 
 import com.institute.management.dto.*;
 import com.institute.management.entity.Lead;
+import com.institute.management.service.LeadDeduplicationService;
+import com.institute.management.service.LeadImportService;
 import com.institute.management.service.LeadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,8 +17,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,6 +33,12 @@ public class LeadController {
     @Autowired
     private LeadService leadService;
     
+    @Autowired
+    private LeadDeduplicationService leadDeduplicationService;
+    
+    @Autowired
+    private LeadImportService leadImportService;
+    
     @Operation(summary = "Create a new lead", description = "Create a new lead with contact information and course interest")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Lead created successfully"),
@@ -54,9 +64,12 @@ public class LeadController {
             @Parameter(description = "Filter by course interest") @RequestParam(required = false) String courseInterest,
             @Parameter(description = "Filter by assigned counsellor ID") @RequestParam(required = false) UUID counsellorId,
             @Parameter(description = "Search term for name, email, or phone") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields,
             @PageableDefault(size = 20, sort = "createdDate", direction = Sort.Direction.DESC) Pageable pageable) {
         
-        Page<LeadResponseDTO> leads = leadService.getAllLeads(status, source, courseInterest, counsellorId, searchTerm, pageable);
+        Page<LeadResponseDTO> leads = leadService.getAllLeads(status, source, courseInterest, counsellorId, searchTerm, pageable,
+            ResponseShape.of(LeadResponseDTO.class, view, fields));
         return ResponseEntity.ok(leads);
     }
     
@@ -67,8 +80,11 @@ public class LeadController {
         @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<LeadResponseDTO> getLeadById(@PathVariable UUID id) {
-        LeadResponseDTO lead = leadService.getLeadById(id);
+    public ResponseEntity<LeadResponseDTO> getLeadById(
+            @PathVariable UUID id,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
+        LeadResponseDTO lead = leadService.getLeadById(id, ResponseShape.of(LeadResponseDTO.class, view, fields));
         return ResponseEntity.ok(lead);
     }
     
@@ -108,9 +124,12 @@ public class LeadController {
     @GetMapping("/status/{status}")
     public ResponseEntity<Page<LeadResponseDTO>> getLeadsByStatus(
             @PathVariable Lead.LeadStatus status,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields,
             @PageableDefault(size = 20, sort = "createdDate", direction = Sort.Direction.DESC) Pageable pageable) {
         
-        Page<LeadResponseDTO> leads = leadService.getLeadsByStatus(status, pageable);
+        Page<LeadResponseDTO> leads = leadService.getLeadsByStatus(
+            status, pageable, ResponseShape.of(LeadResponseDTO.class, view, fields));
         return ResponseEntity.ok(leads);
     }
     
@@ -123,9 +142,12 @@ public class LeadController {
     @GetMapping("/counsellor/{counsellorId}")
     public ResponseEntity<Page<LeadResponseDTO>> getLeadsByCounsellor(
             @PathVariable UUID counsellorId,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields,
             @PageableDefault(size = 20, sort = "createdDate", direction = Sort.Direction.DESC) Pageable pageable) {
         
-        Page<LeadResponseDTO> leads = leadService.getLeadsByCounsellor(counsellorId, pageable);
+        Page<LeadResponseDTO> leads = leadService.getLeadsByCounsellor(
+            counsellorId, pageable, ResponseShape.of(LeadResponseDTO.class, view, fields));
         return ResponseEntity.ok(leads);
     }
     
@@ -157,6 +179,19 @@ public class LeadController {
         return ResponseEntity.ok(updatedLead);
     }
     
+    @Operation(summary = "Get lead follow-ups", description = "Get a lead's follow-up timeline, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Follow-ups retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Lead not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/{id}/follow-ups")
+    public ResponseEntity<Page<LeadResponseDTO.FollowUpDTO>> getFollowUps(@PathVariable UUID id,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<LeadResponseDTO.FollowUpDTO> followUps = leadService.getFollowUps(id, pageable);
+        return ResponseEntity.ok(followUps);
+    }
+    
     @Operation(summary = "Get leads requiring follow-up", description = "Get leads that require follow-up based on scheduled dates")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Leads retrieved successfully"),
@@ -189,4 +224,87 @@ public class LeadController {
         LeadService.LeadStatsDTO stats = leadService.getLeadStatistics();
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+    
+    @Operation(summary = "Check for duplicate leads", description = "Find existing leads that probably refer to the same person, without creating a lead")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Possible duplicates retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/duplicates/check")
+    public ResponseEntity<List<LeadDuplicateCandidateDTO>> checkDuplicates(@Valid @RequestBody LeadCreateRequestDTO request) {
+        List<LeadDuplicateCandidateDTO> duplicates = leadDeduplicationService.checkDuplicates(request);
+        return ResponseEntity.ok(duplicates);
+    }
+    
+    @Operation(summary = "Get possible duplicates of a lead", description = "Find other leads that probably refer to the same person as this lead")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Possible duplicates retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Lead not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<LeadDuplicateCandidateDTO>> getPossibleDuplicates(@PathVariable UUID id) {
+        List<LeadDuplicateCandidateDTO> duplicates = leadDeduplicationService.findPossibleDuplicates(id);
+        return ResponseEntity.ok(duplicates);
+    }
+    
+    @Operation(summary = "Cluster duplicate leads", description = "Scan all leads and group likely duplicates into clusters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Duplicate clusters retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/duplicates/clusters")
+    public ResponseEntity<List<LeadDuplicateClusterDTO>> getDuplicateClusters() {
+        List<LeadDuplicateClusterDTO> clusters = leadDeduplicationService.clusterDuplicates();
+        return ResponseEntity.ok(clusters);
+    }
+    
+    @Operation(summary = "Rebuild duplicate-detection keys", description = "Recompute the blocking keys of every lead")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Blocking keys rebuilt successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/duplicates/reindex")
+    public ResponseEntity<Long> rebuildDuplicateKeys() {
+        long indexed = leadDeduplicationService.rebuildBlockingKeys();
+        return ResponseEntity.ok(indexed);
+    }
+    
+    @Operation(summary = "Import leads from CSV", description = "Upload a CSV file of leads (header row with first name, last name and phone columns); rows are imported in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import queued, poll its progress"),
+        @ApiResponse(responseCode = "400", description = "Empty file or missing required columns"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping(value = "/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<LeadImportDTO> importLeads(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Source for rows that leave it empty") @RequestParam(required = false) String source) {
+        LeadImportDTO leadImport = leadImportService.startImport(file, source);
+        return new ResponseEntity<>(leadImport, HttpStatus.ACCEPTED);
+    }
+    
+    @Operation(summary = "Get lead import progress", description = "Rows processed so far and how many were imported, duplicates or invalid")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import progress retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Import not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<LeadImportDTO> getImport(@PathVariable UUID id) {
+        return ResponseEntity.ok(leadImportService.getImport(id));
+    }
+    
+    @Operation(summary = "Resume a failed lead import", description = "Continue a failed import after the last committed row")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import queued again"),
+        @ApiResponse(responseCode = "400", description = "Import has not failed or its file is gone"),
+        @ApiResponse(responseCode = "404", description = "Import not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/imports/{id}/resume")
+    public ResponseEntity<LeadImportDTO> resumeImport(@PathVariable UUID id) {
+        return new ResponseEntity<>(leadImportService.resumeImport(id), HttpStatus.ACCEPTED);
+    }
+}
@@ -53,8 +53,12 @@ public class PlacementController {
         @ApiResponse(responseCode = "404", description = "Placement not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<PlacementResponseDTO> getPlacementById(@PathVariable UUID id) {
-        PlacementResponseDTO response = placementService.getPlacementById(id);
+    public ResponseEntity<PlacementResponseDTO> getPlacementById(
+            @PathVariable UUID id,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
+        PlacementResponseDTO response = placementService.getPlacementById(
+            id, ResponseShape.of(PlacementResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
@@ -105,13 +109,16 @@ public class PlacementController {
             @Parameter(description = "Filter by course ID") @RequestParam(required = false) UUID courseId,
             @Parameter(description = "Search term (position, company name, student name)") @RequestParam(required = false) String search,
             @Parameter(description = "Filter by placement start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @Parameter(description = "Filter by placement end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @Parameter(description = "Filter by placement end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<PlacementResponseDTO> response = placementService.getAllPlacements(
-            pageable, status, companyId, jobType, employmentType, minSalary, maxSalary, courseId, search, startDate, endDate);
+            pageable, status, companyId, jobType, employmentType, minSalary, maxSalary, courseId, search, startDate, endDate,
+            ResponseShape.of(PlacementResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
@@ -0,0 +1,114 @@
+package com.institute.management.controller;
+
+import com.institute.management.exception.ResourceNotFoundException;
+import com.institute.management.service.PublicCatalog;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only course catalog for the marketing site (/api/v1/public/** is open in SecurityConfig).
+ * Bodies come prerendered from the PublicCatalog snapshot: gzip is served to clients that accept
+ * it, and a matching If-None-Match gets 304 without a body.
+ */
+@RestController
+@RequestMapping("/api/v1/public")
+@Tag(name = "Public Catalog", description = "Unauthenticated course catalog and seat availability")
+public class PublicCatalogController {
+
+    @Autowired
+    private PublicCatalog publicCatalog;
+
+    @Value("${app.public-catalog.cache-max-age-seconds:60}")
+    private long cacheMaxAgeSeconds = 60;
+
+    @Value("${app.public-catalog.stale-while-revalidate-seconds:300}")
+    private long staleWhileRevalidateSeconds = 300;
+
+    @Operation(summary = "List active courses", description = "Active courses with fees and upcoming batches with free seats")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catalog retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag")
+    })
+    @GetMapping("/courses")
+    public ResponseEntity<byte[]> getCourses(HttpServletRequest request) {
+        return serve(publicCatalog.courses(), request);
+    }
+
+    @Operation(summary = "Get an active course", description = "One active course with its upcoming batches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Course retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Course unchanged since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "No active course with this id")
+    })
+    @GetMapping("/courses/{id}")
+    public ResponseEntity<byte[]> getCourse(@PathVariable UUID id, HttpServletRequest request) {
+        return serve(publicCatalog.course(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id)), request);
+    }
+
+    @Operation(summary = "Get batch availability", description = "Free seats of an upcoming batch of an active course")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Availability unchanged since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "No upcoming batch with this id")
+    })
+    @GetMapping("/batches/{id}/availability")
+    public ResponseEntity<byte[]> getBatchAvailability(@PathVariable UUID id, HttpServletRequest request) {
+        return serve(publicCatalog.batch(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + id)), request);
+    }
+
+    private ResponseEntity<byte[]> serve(PublicCatalog.Representation representation, HttpServletRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        CacheControl cacheControl = CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS)
+            .cachePublic()
+            .staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS);
+
+        // Either encoding's tag validates: both name the same content
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean notModified = ifNoneMatch != null && (ifNoneMatch.trim().equals("*")
+            || ifNoneMatch.contains(representation.etag()) || ifNoneMatch.contains(representation.gzipEtag()));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+            .eTag(gzip ? representation.gzipEtag() : representation.etag())
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(gzip ? representation.gzip() : representation.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.institute.management.controller;
+
+import com.institute.management.dto.PublicLeadRequestDTO;
+import com.institute.management.service.LeadCaptureService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Unauthenticated lead intake for the website and ad landing pages (/api/v1/public/** is open in
+ * SecurityConfig). Submissions are queued and written in the background.
+ */
+@RestController
+@RequestMapping("/api/v1/public")
+@Tag(name = "Public Lead Capture", description = "Unauthenticated enquiry form intake")
+public class PublicLeadController {
+
+    @Autowired
+    private LeadCaptureService leadCaptureService;
+
+    @Operation(summary = "Submit an enquiry", description = "Queue a web form enquiry; it is stored as a lead shortly after")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Enquiry accepted"),
+        @ApiResponse(responseCode = "400", description = "Invalid enquiry"),
+        @ApiResponse(responseCode = "429", description = "Too many submissions from this address, or the intake queue is full")
+    })
+    @PostMapping("/leads")
+    public ResponseEntity<Void> submitLead(@Valid @RequestBody PublicLeadRequestDTO request, HttpServletRequest httpRequest) {
+        leadCaptureService.submit(request, httpRequest.getRemoteAddr(), httpRequest.getHeader("X-Forwarded-For"));
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -50,8 +50,27 @@ public class StudentController {
         @ApiResponse(responseCode = "404", description = "Student not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<StudentResponseDTO> getStudentById(@PathVariable UUID id) {
-        StudentResponseDTO response = studentService.getStudentById(id);
+    public ResponseEntity<StudentResponseDTO> getStudentById(
+            @PathVariable UUID id,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
+        StudentResponseDTO response = studentService.getStudentById(
+            id, ResponseShape.of(StudentResponseDTO.class, view, fields));
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Get student status history", description = "Retrieve a student's status timeline, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status history retrieved successfully"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Student not found")
+    })
+    @GetMapping("/{id}/status-history")
+    public ResponseEntity<Page<StudentResponseDTO.StatusHistoryDTO>> getStatusHistory(
+            @PathVariable UUID id,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        Page<StudentResponseDTO.StatusHistoryDTO> response = studentService.getStatusHistory(id, PageRequest.of(page, size));
         return ResponseEntity.ok(response);
     }
     
@@ -98,13 +117,16 @@ public class StudentController {
             @Parameter(description = "Filter by course ID") @RequestParam(required = false) UUID courseId,
             @Parameter(description = "Search term (name, email, phone, enrollment number)") @RequestParam(required = false) String search,
             @Parameter(description = "Filter by enrollment start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrollmentStartDate,
-            @Parameter(description = "Filter by enrollment end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrollmentEndDate) {
+            @Parameter(description = "Filter by enrollment end date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrollmentEndDate,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<StudentResponseDTO> response = studentService.getAllStudents(
-            pageable, status, batchId, courseId, search, enrollmentStartDate, enrollmentEndDate);
+            pageable, status, batchId, courseId, search, enrollmentStartDate, enrollmentEndDate,
+            ResponseShape.of(StudentResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
@@ -163,6 +185,34 @@ public class StudentController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(summary = "Graduate batch", description = "Graduate all active students of a batch with per-student grades and a default grade")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch graduated successfully"),
+        @ApiResponse(responseCode = "400", description = "Grades missing or given for students not active in the batch"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Batch not found")
+    })
+    @PutMapping("/batch/{batchId}/graduate")
+    public ResponseEntity<StudentTransitionResultDTO> graduateBatch(
+            @PathVariable UUID batchId,
+            @Valid @RequestBody BatchGraduationRequestDTO request) {
+        StudentTransitionResultDTO response = studentService.graduateBatch(batchId, request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Bulk update student status", description = "Change the status of all students matching the given filters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student statuses updated successfully"),
+        @ApiResponse(responseCode = "400", description = "No filter given or invalid target status"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PutMapping("/status")
+    public ResponseEntity<StudentTransitionResultDTO> bulkUpdateStudentStatus(
+            @Valid @RequestBody StudentBulkStatusRequestDTO request) {
+        StudentTransitionResultDTO response = studentService.bulkUpdateStudentStatus(request);
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(summary = "Get students by batch", description = "Retrieve all students in a specific batch")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Students retrieved successfully"),
@@ -175,12 +225,15 @@ public class StudentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "firstName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<StudentResponseDTO> response = studentService.getStudentsByBatch(batchId, pageable);
+        Page<StudentResponseDTO> response = studentService.getStudentsByBatch(
+            batchId, pageable, ResponseShape.of(StudentResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
@@ -194,12 +247,15 @@ public class StudentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "enrollmentDate") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Representation: summary or full") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated fields to return, added to the view") @RequestParam(required = false) String fields) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<StudentResponseDTO> response = studentService.getStudentsWithoutBatch(pageable);
+        Page<StudentResponseDTO> response = studentService.getStudentsWithoutBatch(
+            pageable, ResponseShape.of(StudentResponseDTO.class, view, fields));
         return ResponseEntity.ok(response);
     }
     
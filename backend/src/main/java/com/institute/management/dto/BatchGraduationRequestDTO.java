@@ -0,0 +1,43 @@
+package com.institute.management.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for graduating the active students of a batch; students without an entry in grades get the default grade
+ */
+public class BatchGraduationRequestDTO {
+    
+    private Map<UUID, @Size(max = 5, message = "Final grade must not exceed 5 characters") String> grades = new HashMap<>();
+    
+    @Size(max = 5, message = "Default grade must not exceed 5 characters")
+    private String defaultGrade;
+    
+    // Constructors
+    public BatchGraduationRequestDTO() {}
+    
+    public BatchGraduationRequestDTO(Map<UUID, String> grades, String defaultGrade) {
+        this.grades = grades;
+        this.defaultGrade = defaultGrade;
+    }
+    
+    // Getters and Setters
+    public Map<UUID, String> getGrades() {
+        return grades;
+    }
+    
+    public void setGrades(Map<UUID, String> grades) {
+        this.grades = grades;
+    }
+    
+    public String getDefaultGrade() {
+        return defaultGrade;
+    }
+    
+    public void setDefaultGrade(String defaultGrade) {
+        this.defaultGrade = defaultGrade;
+    }
+}
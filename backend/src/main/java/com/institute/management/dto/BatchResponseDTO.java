@@ -29,6 +29,7 @@ public class BatchResponseDTO {
     private Integer currentEnrollment;
     private Integer availableSlots;
     private Double utilizationPercentage;
+    private Integer waitlistCount;
     private Batch.BatchStatus status;
     private EmployeeBasicDTO instructor;
     
@@ -116,6 +117,14 @@ public class BatchResponseDTO {
         this.utilizationPercentage = utilizationPercentage;
     }
     
+    public Integer getWaitlistCount() {
+        return waitlistCount;
+    }
+    
+    public void setWaitlistCount(Integer waitlistCount) {
+        this.waitlistCount = waitlistCount;
+    }
+    
     public Batch.BatchStatus getStatus() {
         return status;
     }
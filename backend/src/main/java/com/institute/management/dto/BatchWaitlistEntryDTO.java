@@ -0,0 +1,105 @@
+package com.institute.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.institute.management.entity.BatchWaitlistEntry;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a batch waitlist entry; holdToken and holdExpiresAt are set while a seat is held
+ */
+public class BatchWaitlistEntryDTO {
+    
+    private UUID id;
+    private UUID batchId;
+    private StudentBasicDTO student;
+    private Integer priority;
+    private BatchWaitlistEntry.WaitlistStatus status;
+    private UUID holdToken;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime holdExpiresAt;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdDate;
+    
+    // Constructors
+    public BatchWaitlistEntryDTO() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+    
+    public StudentBasicDTO getStudent() {
+        return student;
+    }
+    
+    public void setStudent(StudentBasicDTO student) {
+        this.student = student;
+    }
+    
+    public Integer getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+    
+    public BatchWaitlistEntry.WaitlistStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(BatchWaitlistEntry.WaitlistStatus status) {
+        this.status = status;
+    }
+    
+    public UUID getHoldToken() {
+        return holdToken;
+    }
+    
+    public void setHoldToken(UUID holdToken) {
+        this.holdToken = holdToken;
+    }
+    
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+    
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchWaitlistEntryDTO{" +
+                "id=" + id +
+                ", batchId=" + batchId +
+                ", priority=" + priority +
+                ", status=" + status +
+                ", holdExpiresAt=" + holdExpiresAt +
+                '}';
+    }
+}
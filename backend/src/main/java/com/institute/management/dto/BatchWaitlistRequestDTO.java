@@ -0,0 +1,46 @@
+package com.institute.management.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * DTO for putting a student on a batch waitlist
+ */
+public class BatchWaitlistRequestDTO {
+    
+    @NotNull(message = "Student ID is required")
+    private UUID studentId;
+    
+    // Higher priority is promoted first; equal priorities are served in arrival order
+    @Min(value = 0, message = "Priority must not be negative")
+    @Max(value = 100, message = "Priority must not exceed 100")
+    private Integer priority = 0;
+    
+    // Constructors
+    public BatchWaitlistRequestDTO() {}
+    
+    public BatchWaitlistRequestDTO(UUID studentId, Integer priority) {
+        this.studentId = studentId;
+        this.priority = priority;
+    }
+    
+    // Getters and Setters
+    public UUID getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(UUID studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Integer getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+}
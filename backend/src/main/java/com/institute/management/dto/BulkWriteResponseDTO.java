@@ -0,0 +1,103 @@
+package com.institute.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of a bulk create: one result per submitted row, in submission order
+ */
+public class BulkWriteResponseDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<RowResult> rows;
+
+    // Constructors
+    public BulkWriteResponseDTO() {}
+
+    public BulkWriteResponseDTO(List<RowResult> rows) {
+        this.rows = rows;
+        this.total = rows.size();
+        this.created = (int) rows.stream().filter(row -> row.getId() != null).count();
+        this.failed = total - created;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Result of one row: the id of the created record, or why the row was rejected
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+
+        private int index;
+        private UUID id;
+        private List<String> errors;
+
+        public RowResult() {}
+
+        public RowResult(int index, UUID id, List<String> errors) {
+            this.index = index;
+            this.id = id;
+            this.errors = errors;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public void setErrors(List<String> errors) {
+            this.errors = errors;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.util.UUID;
  * DTO for company response data
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@SummaryFields({"id", "name", "industry", "contactPerson", "email", "phone", "status"})
 public class CompanyResponseDTO {
     
     private UUID id;
@@ -0,0 +1,71 @@
+package com.institute.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for reading several GET routes in one request, e.g. everything a detail page shows on load
+ */
+public class CompositeRequestDTO {
+    
+    @NotEmpty(message = "At least one sub-request is required")
+    private List<@Valid SubRequestDTO> requests;
+    
+    // Constructors
+    public CompositeRequestDTO() {}
+    
+    public CompositeRequestDTO(List<SubRequestDTO> requests) {
+        this.requests = requests;
+    }
+    
+    // Getters and Setters
+    public List<SubRequestDTO> getRequests() {
+        return requests;
+    }
+    
+    public void setRequests(List<SubRequestDTO> requests) {
+        this.requests = requests;
+    }
+    
+    /**
+     * One GET route, with its query string, as the client would call it (e.g. /api/v1/students/{id})
+     */
+    public static class SubRequestDTO {
+        // Echoed in the matching response so the client can tell the results apart
+        @Size(max = 100, message = "Sub-request id must not exceed 100 characters")
+        private String id;
+        
+        @NotBlank(message = "Sub-request path is required")
+        @Size(max = 2000, message = "Sub-request path must not exceed 2000 characters")
+        private String path;
+        
+        // Constructors
+        public SubRequestDTO() {}
+        
+        public SubRequestDTO(String id, String path) {
+            this.id = id;
+            this.path = path;
+        }
+        
+        // Getters and Setters
+        public String getId() {
+            return id;
+        }
+        
+        public void setId(String id) {
+            this.id = id;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.institute.management.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * DTO for the results of a composite read, in the order of the sub-requests
+ */
+public class CompositeResponseDTO {
+    
+    private List<SubResponseDTO> responses;
+    
+    // Constructors
+    public CompositeResponseDTO() {}
+    
+    public CompositeResponseDTO(List<SubResponseDTO> responses) {
+        this.responses = responses;
+    }
+    
+    // Getters and Setters
+    public List<SubResponseDTO> getResponses() {
+        return responses;
+    }
+    
+    public void setResponses(List<SubResponseDTO> responses) {
+        this.responses = responses;
+    }
+    
+    /**
+     * Outcome of one sub-request: the status and body the route would have returned on its own
+     */
+    public static class SubResponseDTO {
+        private String id;
+        private String path;
+        private int status;
+        private JsonNode body;
+        
+        // Constructors
+        public SubResponseDTO() {}
+        
+        public SubResponseDTO(String id, String path, int status, JsonNode body) {
+            this.id = id;
+            this.path = path;
+            this.status = status;
+            this.body = body;
+        }
+        
+        // Getters and Setters
+        public String getId() {
+            return id;
+        }
+        
+        public void setId(String id) {
+            this.id = id;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public void setPath(String path) {
+            this.path = path;
+        }
+        
+        public int getStatus() {
+            return status;
+        }
+        
+        public void setStatus(int status) {
+            this.status = status;
+        }
+        
+        public JsonNode getBody() {
+            return body;
+        }
+        
+        public void setBody(JsonNode body) {
+            this.body = body;
+        }
+    }
+}
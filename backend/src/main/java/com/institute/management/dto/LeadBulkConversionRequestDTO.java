@@ -0,0 +1,57 @@
+package com.institute.management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for converting many leads into students of the same batch, e.g. on intake day
+ */
+public class LeadBulkConversionRequestDTO {
+    
+    @NotEmpty(message = "At least one lead ID is required")
+    private List<UUID> leadIds;
+    
+    @NotNull(message = "Batch ID is required")
+    private UUID batchId;
+    
+    @NotNull(message = "Enrollment date is required")
+    private LocalDate enrollmentDate;
+    
+    // Constructors
+    public LeadBulkConversionRequestDTO() {}
+    
+    public LeadBulkConversionRequestDTO(List<UUID> leadIds, UUID batchId, LocalDate enrollmentDate) {
+        this.leadIds = leadIds;
+        this.batchId = batchId;
+        this.enrollmentDate = enrollmentDate;
+    }
+    
+    // Getters and Setters
+    public List<UUID> getLeadIds() {
+        return leadIds;
+    }
+    
+    public void setLeadIds(List<UUID> leadIds) {
+        this.leadIds = leadIds;
+    }
+    
+    public UUID getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+    
+    public LocalDate getEnrollmentDate() {
+        return enrollmentDate;
+    }
+    
+    public void setEnrollmentDate(LocalDate enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+}
@@ -0,0 +1,110 @@
+package com.institute.management.dto;
+
+import com.institute.management.entity.Lead;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for a lead that probably refers to the same person as another lead
+ */
+public class LeadDuplicateCandidateDTO {
+    
+    private UUID leadId;
+    private String fullName;
+    private String email;
+    private String phone;
+    private String courseInterest;
+    private Lead.LeadStatus status;
+    private double score;
+    private List<String> matchedOn;
+    
+    // Constructors
+    public LeadDuplicateCandidateDTO() {}
+    
+    public LeadDuplicateCandidateDTO(Lead lead, double score, List<String> matchedOn) {
+        this.leadId = lead.getId();
+        this.fullName = lead.getFullName();
+        this.email = lead.getEmail();
+        this.phone = lead.getPhone();
+        this.courseInterest = lead.getCourseInterest();
+        this.status = lead.getStatus();
+        this.score = score;
+        this.matchedOn = matchedOn;
+    }
+    
+    // Getters and Setters
+    public UUID getLeadId() {
+        return leadId;
+    }
+    
+    public void setLeadId(UUID leadId) {
+        this.leadId = leadId;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getCourseInterest() {
+        return courseInterest;
+    }
+    
+    public void setCourseInterest(String courseInterest) {
+        this.courseInterest = courseInterest;
+    }
+    
+    public Lead.LeadStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Lead.LeadStatus status) {
+        this.status = status;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+    
+    public List<String> getMatchedOn() {
+        return matchedOn;
+    }
+    
+    public void setMatchedOn(List<String> matchedOn) {
+        this.matchedOn = matchedOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "LeadDuplicateCandidateDTO{" +
+                "leadId=" + leadId +
+                ", fullName='" + fullName + '\'' +
+                ", score=" + score +
+                ", matchedOn=" + matchedOn +
+                '}';
+    }
+}
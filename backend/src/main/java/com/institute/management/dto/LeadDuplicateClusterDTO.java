@@ -0,0 +1,55 @@
+package com.institute.management.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a group of leads that the duplicate scan linked together
+ */
+public class LeadDuplicateClusterDTO {
+    
+    private int size;
+    private double maxScore;
+    private List<LeadBasicDTO> leads;
+    
+    // Constructors
+    public LeadDuplicateClusterDTO() {}
+    
+    public LeadDuplicateClusterDTO(double maxScore, List<LeadBasicDTO> leads) {
+        this.size = leads.size();
+        this.maxScore = maxScore;
+        this.leads = leads;
+    }
+    
+    // Getters and Setters
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public double getMaxScore() {
+        return maxScore;
+    }
+    
+    public void setMaxScore(double maxScore) {
+        this.maxScore = maxScore;
+    }
+    
+    public List<LeadBasicDTO> getLeads() {
+        return leads;
+    }
+    
+    public void setLeads(List<LeadBasicDTO> leads) {
+        this.leads = leads;
+    }
+    
+    @Override
+    public String toString() {
+        return "LeadDuplicateClusterDTO{" +
+                "size=" + size +
+                ", maxScore=" + maxScore +
+                '}';
+    }
+}
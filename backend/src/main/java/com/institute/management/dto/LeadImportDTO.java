@@ -0,0 +1,152 @@
+package com.institute.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.institute.management.entity.LeadImport;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the progress of a CSV lead import; processedRows counts the data rows whose outcome is
+ * committed, totalRows is set once the whole file has been read
+ */
+public class LeadImportDTO {
+    
+    private UUID id;
+    private String fileName;
+    private LeadImport.ImportStatus status;
+    private long processedRows;
+    private Long totalRows;
+    private int importedCount;
+    private int duplicateCount;
+    private int invalidCount;
+    private List<String> rejectedRows;
+    private String failureReason;
+    private String createdBy;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedDate;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedDate;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdDate;
+    
+    // Constructors
+    public LeadImportDTO() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public LeadImport.ImportStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeadImport.ImportStatus status) {
+        this.status = status;
+    }
+    
+    public long getProcessedRows() {
+        return processedRows;
+    }
+    
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+    
+    public Long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public int getImportedCount() {
+        return importedCount;
+    }
+    
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+    
+    public void setDuplicateCount(int duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+    
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+    
+    public void setInvalidCount(int invalidCount) {
+        this.invalidCount = invalidCount;
+    }
+    
+    public List<String> getRejectedRows() {
+        return rejectedRows;
+    }
+    
+    public void setRejectedRows(List<String> rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+    
+    public LocalDateTime getStartedDate() {
+        return startedDate;
+    }
+    
+    public void setStartedDate(LocalDateTime startedDate) {
+        this.startedDate = startedDate;
+    }
+    
+    public LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+    
+    public void setFinishedDate(LocalDateTime finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
  * DTO for lead response data
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@SummaryFields({"id", "fullName", "email", "phone", "courseInterest", "source", "status", "nextFollowUpDate"})
 public class LeadResponseDTO {
     
     private UUID id;
@@ -38,8 +39,15 @@ public class LeadResponseDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedDate;
     
-    private List<FollowUpDTO> followUps;
+    // Full history is paged through GET /leads/{id}/follow-ups
+    private FollowUpDTO latestFollowUp;
+    private Integer followUpCount;
     private List<StudentBasicDTO> convertedStudents;
+    private List<LeadDuplicateCandidateDTO> possibleDuplicates;
+    
+    // Served read-only from the lead archive
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean archived;
     
     // Constructors
     public LeadResponseDTO() {}
@@ -165,12 +173,20 @@ public class LeadResponseDTO {
         this.updatedDate = updatedDate;
     }
     
-    public List<FollowUpDTO> getFollowUps() {
-        return followUps;
+    public FollowUpDTO getLatestFollowUp() {
+        return latestFollowUp;
+    }
+    
+    public void setLatestFollowUp(FollowUpDTO latestFollowUp) {
+        this.latestFollowUp = latestFollowUp;
     }
     
-    public void setFollowUps(List<FollowUpDTO> followUps) {
-        this.followUps = followUps;
+    public Integer getFollowUpCount() {
+        return followUpCount;
+    }
+    
+    public void setFollowUpCount(Integer followUpCount) {
+        this.followUpCount = followUpCount;
     }
     
     public List<StudentBasicDTO> getConvertedStudents() {
@@ -181,6 +197,22 @@ public class LeadResponseDTO {
         this.convertedStudents = convertedStudents;
     }
     
+    public List<LeadDuplicateCandidateDTO> getPossibleDuplicates() {
+        return possibleDuplicates;
+    }
+    
+    public void setPossibleDuplicates(List<LeadDuplicateCandidateDTO> possibleDuplicates) {
+        this.possibleDuplicates = possibleDuplicates;
+    }
+    
+    public boolean isArchived() {
+        return archived;
+    }
+    
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+    
     /**
      * DTO for follow-up information
      */
@@ -13,6 +13,7 @@ import java.util.UUID;
  * DTO for placement response data
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@SummaryFields({"id", "position", "salary", "placementDate", "status", "jobType", "employmentType"})
 public class PlacementResponseDTO {
     
     private UUID id;
@@ -0,0 +1,89 @@
+package com.institute.management.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO for an upcoming batch in the public course catalog
+ */
+public class PublicBatchDTO {
+    
+    private UUID id;
+    private UUID courseId;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer capacity;
+    private Integer availableSeats;
+    
+    // Constructors
+    public PublicBatchDTO() {}
+    
+    public PublicBatchDTO(UUID id, UUID courseId, String name, LocalDate startDate, LocalDate endDate,
+                          Integer capacity, Integer availableSeats) {
+        this.id = id;
+        this.courseId = courseId;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.capacity = capacity;
+        this.availableSeats = availableSeats;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(UUID courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+    
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+}
@@ -0,0 +1,80 @@
+package com.institute.management.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for an active course in the public course catalog, with its upcoming batches
+ */
+public class PublicCourseDTO {
+    
+    private UUID id;
+    private String name;
+    private String description;
+    private Integer durationMonths;
+    private BigDecimal fees;
+    private List<PublicBatchDTO> upcomingBatches;
+    
+    // Constructors
+    public PublicCourseDTO() {}
+    
+    public PublicCourseDTO(UUID id, String name, String description, Integer durationMonths, BigDecimal fees,
+                           List<PublicBatchDTO> upcomingBatches) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.durationMonths = durationMonths;
+        this.fees = fees;
+        this.upcomingBatches = upcomingBatches;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Integer getDurationMonths() {
+        return durationMonths;
+    }
+    
+    public void setDurationMonths(Integer durationMonths) {
+        this.durationMonths = durationMonths;
+    }
+    
+    public BigDecimal getFees() {
+        return fees;
+    }
+    
+    public void setFees(BigDecimal fees) {
+        this.fees = fees;
+    }
+    
+    public List<PublicBatchDTO> getUpcomingBatches() {
+        return upcomingBatches;
+    }
+    
+    public void setUpcomingBatches(List<PublicBatchDTO> upcomingBatches) {
+        this.upcomingBatches = upcomingBatches;
+    }
+}
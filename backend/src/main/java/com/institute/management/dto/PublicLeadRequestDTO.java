@@ -0,0 +1,103 @@
+package com.institute.management.dto;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * DTO for an enquiry submitted through the public web form.
+ * Values are trimmed and the phone number may contain spaces, dashes, dots and brackets; email and
+ * phone formats are validated after this normalization.
+ */
+public class PublicLeadRequestDTO {
+    
+    @NotBlank(message = "First name is required")
+    @Size(max = 50, message = "First name must not exceed 50 characters")
+    private String firstName;
+    
+    @NotBlank(message = "Last name is required")
+    @Size(max = 50, message = "Last name must not exceed 50 characters")
+    private String lastName;
+    
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String email;
+    
+    @NotBlank(message = "Phone number is required")
+    @Size(max = 25, message = "Phone number must not exceed 25 characters")
+    private String phone;
+    
+    @Size(max = 100, message = "Course interest must not exceed 100 characters")
+    private String courseInterest;
+    
+    // Campaign or landing page, e.g. "Google Ads"; the configured default is used when absent
+    @Size(max = 50, message = "Source must not exceed 50 characters")
+    private String source;
+    
+    @Size(max = 2000, message = "Message must not exceed 2000 characters")
+    private String message;
+    
+    // Constructors
+    public PublicLeadRequestDTO() {}
+    
+    public PublicLeadRequestDTO(String firstName, String lastName, String email, String phone) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+    }
+    
+    // Getters and Setters
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getCourseInterest() {
+        return courseInterest;
+    }
+    
+    public void setCourseInterest(String courseInterest) {
+        this.courseInterest = courseInterest;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    public void setSource(String source) {
+        this.source = source;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,135 @@
+package com.institute.management.dto;
+
+import com.institute.management.exception.ValidationException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The top-level fields of a response DTO a request asked for with ?view=summary|full and
+ * ?fields=a,b. Services convert only the included fields, so associations that were not asked
+ * for are never loaded, and the response DTOs leave the unset fields out of the JSON.
+ *
+ * Without either parameter the endpoint's usual representation is returned: every field, except
+ * the large text columns that list pages leave out unless app.responses.list-text-columns is set.
+ */
+public final class ResponseShape {
+
+    public static final String SUMMARY_VIEW = "summary";
+    public static final String FULL_VIEW = "full";
+
+    private static final ResponseShape DEFAULT = new ResponseShape(null);
+
+    private static final Map<Class<?>, Map<String, Field>> FIELDS = new ConcurrentHashMap<>();
+
+    /** Included field names, or null for the endpoint's usual representation */
+    private final Set<String> fields;
+
+    private ResponseShape(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static ResponseShape defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Shape requested for a DTO type; the fields are added to the view and the id is always included
+     */
+    public static ResponseShape of(Class<?> dtoType, String view, String fields) {
+        boolean hasView = view != null && !view.isBlank();
+        boolean hasFields = fields != null && !fields.isBlank();
+        if (!hasView && !hasFields) {
+            return DEFAULT;
+        }
+
+        Set<String> available = fields(dtoType).keySet();
+        Set<String> included = new HashSet<>();
+        included.add("id");
+        if (hasView) {
+            String name = view.trim();
+            if (name.equalsIgnoreCase(FULL_VIEW)) {
+                included.addAll(available);
+            } else if (name.equalsIgnoreCase(SUMMARY_VIEW) && dtoType.isAnnotationPresent(SummaryFields.class)) {
+                included.addAll(Arrays.asList(dtoType.getAnnotation(SummaryFields.class).value()));
+            } else {
+                throw new ValidationException("Unknown view '" + name + "'; use " + SUMMARY_VIEW + " or " + FULL_VIEW);
+            }
+        }
+        if (hasFields) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!available.contains(name)) {
+                    throw new ValidationException("Unknown field '" + name + "'; available fields: "
+                        + String.join(", ", available));
+                }
+                included.add(name);
+            }
+        }
+        return new ResponseShape(Collections.unmodifiableSet(included));
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Whether a field is included, where the endpoint's usual representation decides by byDefault
+     */
+    public boolean includes(String field, boolean byDefault) {
+        return fields == null ? byDefault : fields.contains(field);
+    }
+
+    /**
+     * Copy a value into the DTO when the field is included; the value is not read otherwise
+     */
+    public <T> void put(String field, Supplier<T> value, Consumer<T> setter) {
+        if (includes(field)) {
+            setter.accept(value.get());
+        }
+    }
+
+    /**
+     * Clear the fields left out of the shape on a DTO that was built whole, such as an archived document
+     */
+    public <T> T retain(T dto) {
+        if (fields == null) {
+            return dto;
+        }
+        for (Field field : fields(dto.getClass()).values()) {
+            if (!fields.contains(field.getName()) && !field.getType().isPrimitive()) {
+                try {
+                    field.set(dto, null);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return dto;
+    }
+
+    private static Map<String, Field> fields(Class<?> dtoType) {
+        return FIELDS.computeIfAbsent(dtoType, type -> {
+            Map<String, Field> fields = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.put(field.getName(), field);
+                }
+            }
+            return Collections.unmodifiableMap(fields);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.institute.management.dto;
+
+import com.institute.management.entity.Student;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO for moving every student matching a filter to a new status; at least one filter is required
+ */
+public class StudentBulkStatusRequestDTO {
+    
+    @NotNull(message = "Target status is required")
+    private Student.StudentStatus status;
+    
+    // Filters
+    private UUID batchId;
+    private UUID courseId;
+    private Student.StudentStatus currentStatus;
+    private LocalDate enrolledFrom;
+    private LocalDate enrolledTo;
+    
+    // Recorded on each history entry; defaults to "Status changed from X to Y"
+    private String notes;
+    
+    // Constructors
+    public StudentBulkStatusRequestDTO() {}
+    
+    public StudentBulkStatusRequestDTO(Student.StudentStatus status, UUID batchId, Student.StudentStatus currentStatus) {
+        this.status = status;
+        this.batchId = batchId;
+        this.currentStatus = currentStatus;
+    }
+    
+    public boolean hasFilter() {
+        return batchId != null || courseId != null || currentStatus != null || enrolledFrom != null || enrolledTo != null;
+    }
+    
+    // Getters and Setters
+    public Student.StudentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Student.StudentStatus status) {
+        this.status = status;
+    }
+    
+    public UUID getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+    
+    public UUID getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(UUID courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Student.StudentStatus getCurrentStatus() {
+        return currentStatus;
+    }
+    
+    public void setCurrentStatus(Student.StudentStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+    
+    public LocalDate getEnrolledFrom() {
+        return enrolledFrom;
+    }
+    
+    public void setEnrolledFrom(LocalDate enrolledFrom) {
+        this.enrolledFrom = enrolledFrom;
+    }
+    
+    public LocalDate getEnrolledTo() {
+        return enrolledTo;
+    }
+    
+    public void setEnrolledTo(LocalDate enrolledTo) {
+        this.enrolledTo = enrolledTo;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
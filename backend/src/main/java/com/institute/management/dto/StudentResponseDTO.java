@@ -13,6 +13,7 @@ import java.util.UUID;
  * DTO for student response data
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@SummaryFields({"id", "enrollmentNumber", "fullName", "email", "phone", "status", "enrollmentDate"})
 public class StudentResponseDTO {
     
     private UUID id;
@@ -47,7 +48,13 @@ public class StudentResponseDTO {
     private LocalDateTime updatedDate;
     
     private List<PlacementBasicDTO> placements;
-    private List<StatusHistoryDTO> statusHistory;
+    // Full history is paged through GET /students/{id}/status-history
+    private StatusHistoryDTO latestStatusChange;
+    private Integer statusChangeCount;
+    
+    // Served read-only from the student archive
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean archived;
     
     // Constructors
     public StudentResponseDTO() {}
@@ -197,12 +204,28 @@ public class StudentResponseDTO {
         this.placements = placements;
     }
     
-    public List<StatusHistoryDTO> getStatusHistory() {
-        return statusHistory;
+    public StatusHistoryDTO getLatestStatusChange() {
+        return latestStatusChange;
+    }
+    
+    public void setLatestStatusChange(StatusHistoryDTO latestStatusChange) {
+        this.latestStatusChange = latestStatusChange;
+    }
+    
+    public Integer getStatusChangeCount() {
+        return statusChangeCount;
+    }
+    
+    public void setStatusChangeCount(Integer statusChangeCount) {
+        this.statusChangeCount = statusChangeCount;
+    }
+    
+    public boolean isArchived() {
+        return archived;
     }
     
-    public void setStatusHistory(List<StatusHistoryDTO> statusHistory) {
-        this.statusHistory = statusHistory;
+    public void setArchived(boolean archived) {
+        this.archived = archived;
     }
     
     /**
@@ -0,0 +1,61 @@
+package com.institute.management.dto;
+
+import com.institute.management.entity.Student;
+
+/**
+ * DTO for the outcome of a bulk status transition
+ */
+public class StudentTransitionResultDTO {
+    
+    private Student.StudentStatus targetStatus;
+    
+    // Students matching the request
+    private int matched;
+    
+    // Students moved to the target status; the others already had it
+    private int changed;
+    private int skipped;
+    
+    // Constructors
+    public StudentTransitionResultDTO() {}
+    
+    public StudentTransitionResultDTO(Student.StudentStatus targetStatus, int matched, int changed) {
+        this.targetStatus = targetStatus;
+        this.matched = matched;
+        this.changed = changed;
+        this.skipped = matched - changed;
+    }
+    
+    // Getters and Setters
+    public Student.StudentStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    public void setTargetStatus(Student.StudentStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+    
+    public int getMatched() {
+        return matched;
+    }
+    
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+    
+    public int getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+    
+    public int getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+}
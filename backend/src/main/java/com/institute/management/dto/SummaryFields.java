@@ -0,0 +1,16 @@
+package com.institute.management.dto;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Top-level fields of a response DTO returned for ?view=summary
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SummaryFields {
+
+    String[] value();
+}
@@ -0,0 +1,99 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A closed lead moved out of the live leads table after its retention window.
+ * The lead and its follow-up timeline are kept as one gzip-compressed JSON document; only the
+ * columns needed to find and count archived leads are stored separately.
+ */
+@Entity
+@Table(name = "leads_archive",
+       indexes = {
+           @Index(name = "idx_leads_archive_status", columnList = "status")
+       })
+public class ArchivedLead {
+    
+    // The id the lead had while it was live
+    @Id
+    private UUID id;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Lead.LeadStatus status;
+    
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+    
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+    
+    @Column(name = "payload", nullable = false, length = Length.LONG32)
+    private byte[] payload;
+    
+    // Constructors
+    public ArchivedLead() {}
+    
+    public ArchivedLead(UUID id, Lead.LeadStatus status, LocalDateTime createdDate, byte[] payload) {
+        this.id = id;
+        this.status = status;
+        this.createdDate = createdDate;
+        this.archivedDate = LocalDateTime.now();
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Lead.LeadStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Lead.LeadStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getArchivedDate() {
+        return archivedDate;
+    }
+    
+    public void setArchivedDate(LocalDateTime archivedDate) {
+        this.archivedDate = archivedDate;
+    }
+    
+    public byte[] getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+    
+    @Override
+    public String toString() {
+        return "ArchivedLead{" +
+                "id=" + id +
+                ", status=" + status +
+                ", createdDate=" + createdDate +
+                ", archivedDate=" + archivedDate +
+                '}';
+    }
+}
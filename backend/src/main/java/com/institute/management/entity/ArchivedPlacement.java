@@ -0,0 +1,216 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A placement moved to the archive together with its student (see ArchivedStudent).
+ * Columns mirror the placements table, with student and company kept as plain ids.
+ */
+@Entity
+@Table(name = "placements_archive",
+       indexes = {
+           @Index(name = "idx_placements_archive_student_id", columnList = "student_id"),
+           @Index(name = "idx_placements_archive_company_id", columnList = "company_id"),
+           @Index(name = "idx_placements_archive_placement_date", columnList = "placement_date")
+       })
+public class ArchivedPlacement {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+    
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+    
+    @Column(name = "position", nullable = false, length = 100)
+    private String position;
+    
+    @Column(name = "salary", precision = 10, scale = 2)
+    private BigDecimal salary;
+    
+    @Column(name = "placement_date", nullable = false)
+    private LocalDate placementDate;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Placement.PlacementStatus status;
+    
+    @Column(name = "job_type", length = 20)
+    @Enumerated(EnumType.STRING)
+    private Placement.JobType jobType;
+    
+    @Column(name = "work_location", length = 100)
+    private String workLocation;
+    
+    @Column(name = "employment_type", length = 20)
+    @Enumerated(EnumType.STRING)
+    private Placement.EmploymentType employmentType;
+    
+    @Column(name = "probation_period_months")
+    private Integer probationPeriodMonths;
+    
+    @Column(name = "joining_date")
+    private LocalDate joiningDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+    
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+    
+    // Constructors
+    public ArchivedPlacement() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(UUID studentId) {
+        this.studentId = studentId;
+    }
+    
+    public UUID getCompanyId() {
+        return companyId;
+    }
+    
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+    
+    public String getPosition() {
+        return position;
+    }
+    
+    public void setPosition(String position) {
+        this.position = position;
+    }
+    
+    public BigDecimal getSalary() {
+        return salary;
+    }
+    
+    public void setSalary(BigDecimal salary) {
+        this.salary = salary;
+    }
+    
+    public LocalDate getPlacementDate() {
+        return placementDate;
+    }
+    
+    public void setPlacementDate(LocalDate placementDate) {
+        this.placementDate = placementDate;
+    }
+    
+    public Placement.PlacementStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Placement.PlacementStatus status) {
+        this.status = status;
+    }
+    
+    public Placement.JobType getJobType() {
+        return jobType;
+    }
+    
+    public void setJobType(Placement.JobType jobType) {
+        this.jobType = jobType;
+    }
+    
+    public String getWorkLocation() {
+        return workLocation;
+    }
+    
+    public void setWorkLocation(String workLocation) {
+        this.workLocation = workLocation;
+    }
+    
+    public Placement.EmploymentType getEmploymentType() {
+        return employmentType;
+    }
+    
+    public void setEmploymentType(Placement.EmploymentType employmentType) {
+        this.employmentType = employmentType;
+    }
+    
+    public Integer getProbationPeriodMonths() {
+        return probationPeriodMonths;
+    }
+    
+    public void setProbationPeriodMonths(Integer probationPeriodMonths) {
+        this.probationPeriodMonths = probationPeriodMonths;
+    }
+    
+    public LocalDate getJoiningDate() {
+        return joiningDate;
+    }
+    
+    public void setJoiningDate(LocalDate joiningDate) {
+        this.joiningDate = joiningDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+    
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "ArchivedPlacement{" +
+                "id=" + id +
+                ", studentId=" + studentId +
+                ", position='" + position + '\'' +
+                ", placementDate=" + placementDate +
+                ", status=" + status +
+                '}';
+    }
+}
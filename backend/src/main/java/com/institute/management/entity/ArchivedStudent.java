@@ -0,0 +1,281 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A graduated or dropped-out student moved out of the live students table after the retention window.
+ * Columns mirror the students table; batch and lead are kept as plain ids because the archive
+ * must not hold back deleting or archiving the rows they point to.
+ */
+@Entity
+@Table(name = "students_archive",
+       indexes = {
+           @Index(name = "idx_students_archive_enrollment_date", columnList = "enrollment_date"),
+           @Index(name = "idx_students_archive_batch_id", columnList = "batch_id")
+       })
+public class ArchivedStudent {
+    
+    // The id the student had while live
+    @Id
+    private UUID id;
+    
+    @Column(name = "enrollment_number", nullable = false, length = 20)
+    private String enrollmentNumber;
+    
+    @Column(name = "first_name", nullable = false, length = 50)
+    private String firstName;
+    
+    @Column(name = "last_name", nullable = false, length = 50)
+    private String lastName;
+    
+    @Column(name = "email", length = 100)
+    private String email;
+    
+    @Column(name = "phone", nullable = false, length = 15)
+    private String phone;
+    
+    @Column(name = "date_of_birth")
+    private LocalDate dateOfBirth;
+    
+    @Column(name = "address", columnDefinition = "TEXT")
+    private String address;
+    
+    @Column(name = "batch_id")
+    private UUID batchId;
+    
+    @Column(name = "lead_id")
+    private UUID leadId;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Student.StudentStatus status;
+    
+    @Column(name = "enrollment_date", nullable = false)
+    private LocalDate enrollmentDate;
+    
+    @Column(name = "graduation_date")
+    private LocalDate graduationDate;
+    
+    @Column(name = "final_grade", length = 5)
+    private String finalGrade;
+    
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+    
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+    
+    @Column(name = "placement_count", nullable = false)
+    private Integer placementCount = 0;
+    
+    @Column(name = "status_change_count", nullable = false)
+    private Integer statusChangeCount = 0;
+    
+    @Column(name = "last_status", length = 20)
+    @Enumerated(EnumType.STRING)
+    private Student.StudentStatus lastStatus;
+    
+    @Column(name = "last_status_change_date")
+    private LocalDateTime lastStatusChangeDate;
+    
+    @Column(name = "last_status_change_notes", columnDefinition = "TEXT")
+    private String lastStatusChangeNotes;
+    
+    @Column(name = "archived_date", nullable = false)
+    private LocalDateTime archivedDate;
+    
+    // Constructors
+    public ArchivedStudent() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public String getEnrollmentNumber() {
+        return enrollmentNumber;
+    }
+    
+    public void setEnrollmentNumber(String enrollmentNumber) {
+        this.enrollmentNumber = enrollmentNumber;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+    
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+    
+    public UUID getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+    
+    public UUID getLeadId() {
+        return leadId;
+    }
+    
+    public void setLeadId(UUID leadId) {
+        this.leadId = leadId;
+    }
+    
+    public Student.StudentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Student.StudentStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDate getEnrollmentDate() {
+        return enrollmentDate;
+    }
+    
+    public void setEnrollmentDate(LocalDate enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+    
+    public LocalDate getGraduationDate() {
+        return graduationDate;
+    }
+    
+    public void setGraduationDate(LocalDate graduationDate) {
+        this.graduationDate = graduationDate;
+    }
+    
+    public String getFinalGrade() {
+        return finalGrade;
+    }
+    
+    public void setFinalGrade(String finalGrade) {
+        this.finalGrade = finalGrade;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+    
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+    
+    public Integer getPlacementCount() {
+        return placementCount;
+    }
+    
+    public void setPlacementCount(Integer placementCount) {
+        this.placementCount = placementCount;
+    }
+    
+    public Integer getStatusChangeCount() {
+        return statusChangeCount;
+    }
+    
+    public void setStatusChangeCount(Integer statusChangeCount) {
+        this.statusChangeCount = statusChangeCount;
+    }
+    
+    public Student.StudentStatus getLastStatus() {
+        return lastStatus;
+    }
+    
+    public void setLastStatus(Student.StudentStatus lastStatus) {
+        this.lastStatus = lastStatus;
+    }
+    
+    public LocalDateTime getLastStatusChangeDate() {
+        return lastStatusChangeDate;
+    }
+    
+    public void setLastStatusChangeDate(LocalDateTime lastStatusChangeDate) {
+        this.lastStatusChangeDate = lastStatusChangeDate;
+    }
+    
+    public String getLastStatusChangeNotes() {
+        return lastStatusChangeNotes;
+    }
+    
+    public void setLastStatusChangeNotes(String lastStatusChangeNotes) {
+        this.lastStatusChangeNotes = lastStatusChangeNotes;
+    }
+    
+    public LocalDateTime getArchivedDate() {
+        return archivedDate;
+    }
+    
+    public void setArchivedDate(LocalDateTime archivedDate) {
+        this.archivedDate = archivedDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "ArchivedStudent{" +
+                "id=" + id +
+                ", enrollmentNumber='" + enrollmentNumber + '\'' +
+                ", status=" + status +
+                ", enrollmentDate=" + enrollmentDate +
+                ", archivedDate=" + archivedDate +
+                '}';
+    }
+}
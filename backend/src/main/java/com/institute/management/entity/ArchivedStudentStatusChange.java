@@ -0,0 +1,87 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A status timeline entry moved to the archive together with its student (see ArchivedStudent).
+ */
+@Entity
+@Table(name = "student_status_history_archive",
+       indexes = {
+           @Index(name = "idx_student_status_history_archive_student_date", columnList = "student_id, change_date DESC")
+       })
+public class ArchivedStudentStatusChange {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Student.StudentStatus status;
+    
+    @Column(name = "change_date", nullable = false)
+    private LocalDateTime changeDate;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    // Constructors
+    public ArchivedStudentStatusChange() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(UUID studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Student.StudentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Student.StudentStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getChangeDate() {
+        return changeDate;
+    }
+    
+    public void setChangeDate(LocalDateTime changeDate) {
+        this.changeDate = changeDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    @Override
+    public String toString() {
+        return "ArchivedStudentStatusChange{" +
+                "id=" + id +
+                ", studentId=" + studentId +
+                ", status=" + status +
+                ", changeDate=" + changeDate +
+                '}';
+    }
+}
@@ -16,7 +16,7 @@ import java.util.UUID;
 public class Batch {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "name", nullable = false, length = 100)
@@ -42,9 +42,14 @@ public class Batch {
     @Max(value = 100, message = "Capacity must not exceed 100")
     private Integer capacity;
     
-    @Column(name = "current_enrollment", nullable = false)
+    // Changed only by the conditional updates in BatchRepository (see SeatAdmission), never by entity saves
+    @Column(name = "current_enrollment", nullable = false, updatable = false)
     private Integer currentEnrollment = 0;
     
+    // Number of WAITING waitlist entries; maintained by conditional updates like current_enrollment
+    @Column(name = "waitlist_count", nullable = false, updatable = false)
+    private Integer waitlistCount = 0;
+    
     @Column(name = "status", length = 20, nullable = false)
     @Enumerated(EnumType.STRING)
     private BatchStatus status = BatchStatus.PLANNED;
@@ -131,6 +136,14 @@ public class Batch {
         this.currentEnrollment = currentEnrollment;
     }
     
+    public Integer getWaitlistCount() {
+        return waitlistCount;
+    }
+    
+    public void setWaitlistCount(Integer waitlistCount) {
+        this.waitlistCount = waitlistCount;
+    }
+    
     public BatchStatus getStatus() {
         return status;
     }
@@ -0,0 +1,175 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A student waiting for a seat in a full batch.
+ * When a seat frees up the head of the queue is promoted to HELD: the seat is reserved for the
+ * student until the hold is confirmed, declined or expires.
+ */
+@Entity
+@Table(name = "batch_waitlist",
+       indexes = {
+           @Index(name = "idx_batch_waitlist_queue", columnList = "batch_id, status, priority DESC, created_date"),
+           @Index(name = "idx_batch_waitlist_student", columnList = "student_id, status"),
+           @Index(name = "idx_batch_waitlist_hold_expiry", columnList = "status, hold_expires_at")
+       })
+public class BatchWaitlistEntry {
+    
+    @Id
+    @UuidV7
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Batch batch;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+    
+    // Higher goes first; entries with equal priority are served in arrival order
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 0;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+    
+    @Column(name = "hold_token", unique = true)
+    private UUID holdToken;
+    
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+    
+    // Constructors
+    public BatchWaitlistEntry() {}
+    
+    public BatchWaitlistEntry(Batch batch, Student student, Integer priority) {
+        this.batch = batch;
+        this.student = student;
+        this.priority = priority != null ? priority : 0;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Batch getBatch() {
+        return batch;
+    }
+    
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+    
+    public Student getStudent() {
+        return student;
+    }
+    
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+    
+    public Integer getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+    
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+    
+    public UUID getHoldToken() {
+        return holdToken;
+    }
+    
+    public void setHoldToken(UUID holdToken) {
+        this.holdToken = holdToken;
+    }
+    
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+    
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+    
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+    
+    // Business methods
+    public boolean isHoldExpired(LocalDateTime now) {
+        return status == WaitlistStatus.HELD && holdExpiresAt != null && holdExpiresAt.isBefore(now);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BatchWaitlistEntry)) return false;
+        BatchWaitlistEntry that = (BatchWaitlistEntry) o;
+        return id != null && id.equals(that.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchWaitlistEntry{" +
+                "id=" + id +
+                ", priority=" + priority +
+                ", status=" + status +
+                ", holdExpiresAt=" + holdExpiresAt +
+                '}';
+    }
+    
+    public enum WaitlistStatus {
+        WAITING, HELD, PROMOTED, EXPIRED, CANCELLED
+    }
+}
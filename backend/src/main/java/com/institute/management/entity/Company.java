@@ -2,7 +2,10 @@ package com.institute.management.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -12,11 +15,16 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.company")
+@Table(name = "companies",
+       indexes = {
+           @Index(name = "idx_companies_placement_count", columnList = "placement_count")
+       })
 public class Company {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "name", nullable = false, length = 100)
@@ -41,6 +49,9 @@ public class Company {
     @Pattern(regexp = "^[+]?[0-9]{10,15}$", message = "Phone number should be valid")
     private String phone;
     
+    // Lazy (bytecode enhanced): only single-record reads need it, list pages skip it
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "address", columnDefinition = "TEXT")
     private String address;
     
@@ -62,6 +73,10 @@ public class Company {
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Placement> placements = new ArrayList<>();
     
+    // Number of placements; changed only by the conditional updates in CompanyRepository, never by entity saves
+    @Column(name = "placement_count", nullable = false, updatable = false)
+    private Integer placementCount = 0;
+    
     // Constructors
     public Company() {}
     
@@ -170,6 +185,14 @@ public class Company {
         this.placements = placements;
     }
     
+    public Integer getPlacementCount() {
+        return placementCount;
+    }
+    
+    public void setPlacementCount(Integer placementCount) {
+        this.placementCount = placementCount;
+    }
+    
     // Helper methods
     public void addPlacement(Placement placement) {
         placements.add(placement);
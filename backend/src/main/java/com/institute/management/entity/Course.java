@@ -2,7 +2,10 @@ package com.institute.management.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -12,11 +15,16 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.course")
+@Table(name = "courses",
+       indexes = {
+           @Index(name = "idx_courses_batch_count", columnList = "batch_count")
+       })
 public class Course {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "name", nullable = false, length = 100)
@@ -24,6 +32,9 @@ public class Course {
     @Size(max = 100, message = "Course name must not exceed 100 characters")
     private String name;
     
+    // Lazy (bytecode enhanced): only single-record reads need it, list pages skip it
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
     
@@ -53,6 +64,10 @@ public class Course {
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Batch> batches = new ArrayList<>();
     
+    // Number of batches; changed only by the conditional updates in CourseRepository, never by entity saves
+    @Column(name = "batch_count", nullable = false, updatable = false)
+    private Integer batchCount = 0;
+    
     // Constructors
     public Course() {}
     
@@ -136,6 +151,14 @@ public class Course {
         this.batches = batches;
     }
     
+    public Integer getBatchCount() {
+        return batchCount;
+    }
+    
+    public void setBatchCount(Integer batchCount) {
+        this.batchCount = batchCount;
+    }
+    
     // Helper methods
     public void addBatch(Batch batch) {
         batches.add(batch);
@@ -2,6 +2,8 @@ package com.institute.management.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +14,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.employee")
 @Table(name = "employees", 
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "employee_code"),
@@ -20,7 +24,7 @@ import java.util.UUID;
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "employee_code", nullable = false, length = 20, unique = true)
@@ -0,0 +1,102 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counter row for one enrollment number prefix (e.g. ENR2025).
+ * next_value is the first sequence number not yet handed out to any node.
+ * A new row is always inserted, never merged, so a node creating it second gets a duplicate-key
+ * error instead of resetting the counter another node already advanced.
+ */
+@Entity
+@Table(name = "enrollment_sequences")
+public class EnrollmentSequence implements Persistable<String> {
+    
+    @Id
+    @Column(name = "prefix", length = 20)
+    private String prefix;
+    
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+    
+    @Transient
+    private boolean persisted;
+    
+    // Constructors
+    public EnrollmentSequence() {}
+    
+    public EnrollmentSequence(String prefix, long nextValue) {
+        this.prefix = prefix;
+        this.nextValue = nextValue;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+    
+    @Override
+    public String getId() {
+        return prefix;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+    
+    // Getters and Setters
+    public String getPrefix() {
+        return prefix;
+    }
+    
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+    
+    public long getNextValue() {
+        return nextValue;
+    }
+    
+    public void setNextValue(long nextValue) {
+        this.nextValue = nextValue;
+    }
+    
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+    
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnrollmentSequence)) return false;
+        EnrollmentSequence that = (EnrollmentSequence) o;
+        return prefix != null && prefix.equals(that.getPrefix());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "EnrollmentSequence{" +
+                "prefix='" + prefix + '\'' +
+                ", nextValue=" + nextValue +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A POST request that carried an Idempotency-Key header, and its response once completed.
+ * The id is "<principal>:<key>", so keys of different users never collide. Records are only ever
+ * inserted as new claims (isNew is always true), so saving one is a single INSERT without a lookup.
+ * A claim holds the key until lockedUntil, which the claiming node renews while the request runs.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       indexes = {
+           @Index(name = "idx_idempotency_keys_created_date", columnList = "created_date")
+       })
+public class IdempotencyRecord implements Persistable<String> {
+    
+    @Id
+    @Column(name = "id", length = 400)
+    private String id;
+    
+    // SHA-256 of method, URI and body, hex encoded
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RecordStatus status = RecordStatus.PROCESSING;
+    
+    @Column(name = "response_status")
+    private Integer responseStatus;
+    
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+    
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+    
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+    
+    @Column(name = "completed_date")
+    private LocalDateTime completedDate;
+    
+    // Identifies the claim that holds the key; stores and releases are conditional on it
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    // Constructors
+    public IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String id, String requestHash, String leaseToken, LocalDateTime createdDate,
+                             LocalDateTime lockedUntil) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.leaseToken = leaseToken;
+        this.createdDate = createdDate;
+        this.lockedUntil = lockedUntil;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+    
+    // Getters and Setters
+    @Override
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getRequestHash() {
+        return requestHash;
+    }
+    
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+    
+    public RecordStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(RecordStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+    
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+    
+    public String getResponseContentType() {
+        return responseContentType;
+    }
+    
+    public void setResponseContentType(String responseContentType) {
+        this.responseContentType = responseContentType;
+    }
+    
+    public String getResponseBody() {
+        return responseBody;
+    }
+    
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getCompletedDate() {
+        return completedDate;
+    }
+    
+    public void setCompletedDate(LocalDateTime completedDate) {
+        this.completedDate = completedDate;
+    }
+    
+    public String getLeaseToken() {
+        return leaseToken;
+    }
+    
+    public void setLeaseToken(String leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+    
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                ", responseStatus=" + responseStatus +
+                '}';
+    }
+    
+    public enum RecordStatus {
+        PROCESSING, COMPLETED
+    }
+}
@@ -3,6 +3,7 @@ package com.institute.management.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,11 +15,15 @@ import java.util.UUID;
 @Table(name = "leads",
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "email")
+       },
+       indexes = {
+           @Index(name = "idx_leads_counsellor_status", columnList = "assigned_counsellor_id, status"),
+           @Index(name = "idx_leads_status_created_date", columnList = "status, created_date")
        })
 public class Lead {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "first_name", nullable = false, length = 50)
@@ -60,6 +65,9 @@ public class Lead {
     @Column(name = "converted_date")
     private LocalDateTime convertedDate;
     
+    // Lazy (bytecode enhanced): only single-record reads need it, list pages skip it
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
     
@@ -77,9 +85,21 @@ public class Lead {
     @OneToMany(mappedBy = "lead", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Student> convertedStudents = new ArrayList<>();
     
-    @ElementCollection
-    @CollectionTable(name = "lead_follow_ups", joinColumns = @JoinColumn(name = "lead_id"))
-    private List<FollowUp> followUps = new ArrayList<>();
+    // Append-only timeline: new entries are queued on the unloaded collection and inserted on flush.
+    // Read it page by page through LeadFollowUpRepository rather than through this getter.
+    @OneToMany(mappedBy = "lead", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
+    private List<LeadFollowUp> followUps = new ArrayList<>();
+    
+    @Column(name = "follow_up_count", nullable = false)
+    private Integer followUpCount = 0;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "date", column = @Column(name = "last_follow_up_date")),
+        @AttributeOverride(name = "notes", column = @Column(name = "last_follow_up_notes", columnDefinition = "TEXT")),
+        @AttributeOverride(name = "nextAction", column = @Column(name = "last_follow_up_next_action", length = 200))
+    })
+    private FollowUp lastFollowUp;
     
     // Constructors
     public Lead() {}
@@ -214,14 +234,30 @@ public class Lead {
         this.convertedStudents = convertedStudents;
     }
     
-    public List<FollowUp> getFollowUps() {
+    public List<LeadFollowUp> getFollowUps() {
         return followUps;
     }
     
-    public void setFollowUps(List<FollowUp> followUps) {
+    public void setFollowUps(List<LeadFollowUp> followUps) {
         this.followUps = followUps;
     }
     
+    public Integer getFollowUpCount() {
+        return followUpCount;
+    }
+    
+    public void setFollowUpCount(Integer followUpCount) {
+        this.followUpCount = followUpCount;
+    }
+    
+    public FollowUp getLastFollowUp() {
+        return lastFollowUp;
+    }
+    
+    public void setLastFollowUp(FollowUp lastFollowUp) {
+        this.lastFollowUp = lastFollowUp;
+    }
+    
     // Helper methods
     public String getFullName() {
         return firstName + " " + lastName;
@@ -236,13 +272,14 @@ public class Lead {
         this.convertedDate = LocalDateTime.now();
     }
     
-    public void addFollowUp(String notes, LocalDateTime nextFollowUpDate) {
-        FollowUp followUp = new FollowUp();
-        followUp.setDate(LocalDateTime.now());
-        followUp.setNotes(notes);
-        followUp.setNextAction(nextFollowUpDate != null ? "Follow up on " + nextFollowUpDate : "No further action");
+    public LeadFollowUp addFollowUp(String notes, LocalDateTime nextFollowUpDate) {
+        String nextAction = nextFollowUpDate != null ? "Follow up on " + nextFollowUpDate : "No further action";
+        LeadFollowUp followUp = new LeadFollowUp(this, LocalDateTime.now(), notes, nextAction);
         this.followUps.add(followUp);
+        this.followUpCount = (followUpCount != null ? followUpCount : 0) + 1;
+        this.lastFollowUp = new FollowUp(followUp.getDate(), notes, nextAction);
         this.nextFollowUpDate = nextFollowUpDate;
+        return followUp;
     }
     
     public void addStudent(Student student) {
@@ -283,6 +320,7 @@ public class Lead {
         NEW, CONTACTED, INTERESTED, NOT_INTERESTED, CONVERTED, LOST
     }
     
+    // Snapshot of the latest timeline entry, kept on the lead row
     @Embeddable
     public static class FollowUp {
         @Column(name = "follow_up_date")
@@ -0,0 +1,97 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Blocking key row for duplicate-lead detection.
+ * Leads sharing a block key are compared with each other; leads that share none never are.
+ */
+@Entity
+@Table(name = "lead_blocking_keys",
+       indexes = {
+           @Index(name = "idx_lead_blocking_keys_block_key", columnList = "block_key"),
+           @Index(name = "idx_lead_blocking_keys_lead_id", columnList = "lead_id")
+       })
+public class LeadBlockingKey {
+    
+    @Id
+    @UuidV7
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lead_id", nullable = false)
+    private Lead lead;
+    
+    @Column(name = "block_key", nullable = false, length = 120)
+    private String blockKey;
+    
+    @CreationTimestamp
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+    
+    // Constructors
+    public LeadBlockingKey() {}
+    
+    public LeadBlockingKey(Lead lead, String blockKey) {
+        this.lead = lead;
+        this.blockKey = blockKey;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Lead getLead() {
+        return lead;
+    }
+    
+    public void setLead(Lead lead) {
+        this.lead = lead;
+    }
+    
+    public String getBlockKey() {
+        return blockKey;
+    }
+    
+    public void setBlockKey(String blockKey) {
+        this.blockKey = blockKey;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeadBlockingKey)) return false;
+        LeadBlockingKey that = (LeadBlockingKey) o;
+        return id != null && id.equals(that.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "LeadBlockingKey{" +
+                "id=" + id +
+                ", blockKey='" + blockKey + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry in a lead's follow-up timeline.
+ * Entries are only ever inserted; the lead keeps the latest one and a count for single-record reads.
+ */
+@Entity
+@Table(name = "lead_follow_ups",
+       indexes = {
+           @Index(name = "idx_lead_follow_ups_lead_date", columnList = "lead_id, follow_up_date DESC")
+       })
+public class LeadFollowUp {
+    
+    @Id
+    @UuidV7
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lead_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Lead lead;
+    
+    @Column(name = "follow_up_date", nullable = false, updatable = false)
+    private LocalDateTime date;
+    
+    @Column(name = "follow_up_notes", columnDefinition = "TEXT", updatable = false)
+    private String notes;
+    
+    @Column(name = "next_action", length = 200, updatable = false)
+    private String nextAction;
+    
+    // Constructors
+    public LeadFollowUp() {}
+    
+    public LeadFollowUp(Lead lead, LocalDateTime date, String notes, String nextAction) {
+        this.lead = lead;
+        this.date = date;
+        this.notes = notes;
+        this.nextAction = nextAction;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Lead getLead() {
+        return lead;
+    }
+    
+    public void setLead(Lead lead) {
+        this.lead = lead;
+    }
+    
+    public LocalDateTime getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    public String getNextAction() {
+        return nextAction;
+    }
+    
+    public void setNextAction(String nextAction) {
+        this.nextAction = nextAction;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeadFollowUp)) return false;
+        LeadFollowUp that = (LeadFollowUp) o;
+        return id != null && id.equals(that.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "LeadFollowUp{" +
+                "id=" + id +
+                ", date=" + date +
+                ", nextAction='" + nextAction + '\'' +
+                '}';
+    }
+}
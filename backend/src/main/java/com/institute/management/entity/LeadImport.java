@@ -0,0 +1,270 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A CSV file of leads being imported in the background.
+ * The uploaded file is kept at storedPath until the import completes; checkpointRow is the last
+ * data row whose outcome (imported, duplicate or invalid) has been committed, so an interrupted
+ * import resumes after it. Only ownerNode, the node the file was uploaded to, runs the import; it
+ * holds the import until lockedUntil while running.
+ */
+@Entity
+@Table(name = "lead_imports",
+       indexes = {
+           @Index(name = "idx_lead_imports_status", columnList = "status")
+       })
+public class LeadImport {
+    
+    @Id
+    @UuidV7
+    private UUID id;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "stored_path", nullable = false, length = 500)
+    private String storedPath;
+    
+    // Applied to rows that leave the source column empty, e.g. the fair the file came from
+    @Column(name = "default_source", length = 50)
+    private String defaultSource;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status = ImportStatus.QUEUED;
+    
+    @Column(name = "checkpoint_row", nullable = false)
+    private long checkpointRow = 0;
+    
+    // Known once the whole file has been read
+    @Column(name = "total_rows")
+    private Long totalRows;
+    
+    @Column(name = "imported_count", nullable = false)
+    private int importedCount = 0;
+    
+    @Column(name = "duplicate_count", nullable = false)
+    private int duplicateCount = 0;
+    
+    @Column(name = "invalid_count", nullable = false)
+    private int invalidCount = 0;
+    
+    // One line per rejected row ("row 12: ..."), capped at app.lead-import.max-reported-rows
+    @Column(name = "rejected_rows", columnDefinition = "TEXT")
+    private String rejectedRows;
+    
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+    
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "started_date")
+    private LocalDateTime startedDate;
+    
+    @Column(name = "finished_date")
+    private LocalDateTime finishedDate;
+    
+    @CreationTimestamp
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+    
+    // Constructors
+    public LeadImport() {}
+    
+    public LeadImport(String fileName, String storedPath, String defaultSource, String createdBy) {
+        this.fileName = fileName;
+        this.storedPath = storedPath;
+        this.defaultSource = defaultSource;
+        this.createdBy = createdBy;
+    }
+    
+    public LeadImport(String fileName, String storedPath, String defaultSource, String createdBy, String ownerNode) {
+        this(fileName, storedPath, defaultSource, createdBy);
+        this.ownerNode = ownerNode;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getStoredPath() {
+        return storedPath;
+    }
+    
+    public void setStoredPath(String storedPath) {
+        this.storedPath = storedPath;
+    }
+    
+    public String getDefaultSource() {
+        return defaultSource;
+    }
+    
+    public void setDefaultSource(String defaultSource) {
+        this.defaultSource = defaultSource;
+    }
+    
+    public ImportStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+    
+    public long getCheckpointRow() {
+        return checkpointRow;
+    }
+    
+    public void setCheckpointRow(long checkpointRow) {
+        this.checkpointRow = checkpointRow;
+    }
+    
+    public Long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public int getImportedCount() {
+        return importedCount;
+    }
+    
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+    
+    public void setDuplicateCount(int duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+    
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+    
+    public void setInvalidCount(int invalidCount) {
+        this.invalidCount = invalidCount;
+    }
+    
+    public String getRejectedRows() {
+        return rejectedRows;
+    }
+    
+    public void setRejectedRows(String rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+    
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+    
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+    
+    public LocalDateTime getStartedDate() {
+        return startedDate;
+    }
+    
+    public void setStartedDate(LocalDateTime startedDate) {
+        this.startedDate = startedDate;
+    }
+    
+    public LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+    
+    public void setFinishedDate(LocalDateTime finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+    
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "LeadImport{" +
+                "id=" + id +
+                ", fileName='" + fileName + '\'' +
+                ", status=" + status +
+                ", checkpointRow=" + checkpointRow +
+                ", importedCount=" + importedCount +
+                '}';
+    }
+    
+    public enum ImportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -11,11 +11,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "placements")
+@Table(name = "placements",
+       indexes = {
+           @Index(name = "idx_placements_status_placement_date", columnList = "status, placement_date"),
+           @Index(name = "idx_placements_student_status", columnList = "student_id, status")
+       })
 public class Placement {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
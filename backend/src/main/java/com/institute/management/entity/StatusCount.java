@@ -0,0 +1,121 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Rollup of how many rows of one entity type are in one status.
+ * Each (entity type, status) pair is spread over a few slot rows so concurrent transactions rarely
+ * update the same row; the count is the sum over all slots, and a single slot may go negative.
+ */
+@Entity
+@Table(name = "status_counts")
+@IdClass(StatusCount.Key.class)
+public class StatusCount {
+    
+    @Id
+    @Column(name = "entity_type", length = 20)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+    
+    @Id
+    @Column(name = "status", length = 30)
+    private String status;
+    
+    @Id
+    @Column(name = "slot")
+    private int slot;
+    
+    @Column(name = "row_count", nullable = false)
+    private long count;
+    
+    // Constructors
+    public StatusCount() {}
+    
+    public StatusCount(EntityType entityType, String status, int slot, long count) {
+        this.entityType = entityType;
+        this.status = status;
+        this.slot = slot;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public EntityType getEntityType() {
+        return entityType;
+    }
+    
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public int getSlot() {
+        return slot;
+    }
+    
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    @Override
+    public String toString() {
+        return "StatusCount{" +
+                "entityType=" + entityType +
+                ", status='" + status + '\'' +
+                ", slot=" + slot +
+                ", count=" + count +
+                '}';
+    }
+    
+    // Entities whose status distribution is rolled up
+    public enum EntityType {
+        STUDENT, LEAD, COURSE, COMPANY, EMPLOYEE, PLACEMENT, BATCH
+    }
+    
+    /**
+     * Composite primary key
+     */
+    public static class Key implements Serializable {
+        private EntityType entityType;
+        private String status;
+        private int slot;
+        
+        public Key() {}
+        
+        public Key(EntityType entityType, String status, int slot) {
+            this.entityType = entityType;
+            this.status = status;
+            this.slot = slot;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return slot == key.slot && entityType == key.entityType && Objects.equals(status, key.status);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, status, slot);
+        }
+    }
+}
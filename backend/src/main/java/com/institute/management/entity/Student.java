@@ -3,6 +3,7 @@ package com.institute.management.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -16,11 +17,15 @@ import java.util.UUID;
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "enrollment_number"),
            @UniqueConstraint(columnNames = "email")
+       },
+       indexes = {
+           @Index(name = "idx_students_status_placement_count", columnList = "status, placement_count"),
+           @Index(name = "idx_students_batch_status", columnList = "batch_id, status")
        })
 public class Student {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     
     @Column(name = "enrollment_number", nullable = false, length = 20, unique = true)
@@ -52,6 +57,9 @@ public class Student {
     @Past(message = "Date of birth must be in the past")
     private LocalDate dateOfBirth;
     
+    // Lazy (bytecode enhanced): only single-record reads need it, list pages skip it
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
     @Column(name = "address", columnDefinition = "TEXT")
     private String address;
     
@@ -88,9 +96,25 @@ public class Student {
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Placement> placements = new ArrayList<>();
     
-    @ElementCollection
-    @CollectionTable(name = "student_status_history", joinColumns = @JoinColumn(name = "student_id"))
-    private List<StatusHistory> statusHistory = new ArrayList<>();
+    // Number of placements; changed only by the conditional updates in StudentRepository, never by entity saves
+    @Column(name = "placement_count", nullable = false, updatable = false)
+    private Integer placementCount = 0;
+    
+    // Append-only timeline: new entries are queued on the unloaded collection and inserted on flush.
+    // Read it page by page through StudentStatusChangeRepository rather than through this getter.
+    @OneToMany(mappedBy = "student", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
+    private List<StudentStatusChange> statusHistory = new ArrayList<>();
+    
+    @Column(name = "status_change_count", nullable = false)
+    private Integer statusChangeCount = 0;
+    
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "status", column = @Column(name = "last_status", length = 20)),
+        @AttributeOverride(name = "changeDate", column = @Column(name = "last_status_change_date")),
+        @AttributeOverride(name = "notes", column = @Column(name = "last_status_change_notes", columnDefinition = "TEXT"))
+    })
+    private StatusHistory lastStatusChange;
     
     // Constructors
     public Student() {}
@@ -247,14 +271,38 @@ public class Student {
         this.placements = placements;
     }
     
-    public List<StatusHistory> getStatusHistory() {
+    public Integer getPlacementCount() {
+        return placementCount;
+    }
+    
+    public void setPlacementCount(Integer placementCount) {
+        this.placementCount = placementCount;
+    }
+    
+    public List<StudentStatusChange> getStatusHistory() {
         return statusHistory;
     }
     
-    public void setStatusHistory(List<StatusHistory> statusHistory) {
+    public void setStatusHistory(List<StudentStatusChange> statusHistory) {
         this.statusHistory = statusHistory;
     }
     
+    public Integer getStatusChangeCount() {
+        return statusChangeCount;
+    }
+    
+    public void setStatusChangeCount(Integer statusChangeCount) {
+        this.statusChangeCount = statusChangeCount;
+    }
+    
+    public StatusHistory getLastStatusChange() {
+        return lastStatusChange;
+    }
+    
+    public void setLastStatusChange(StatusHistory lastStatusChange) {
+        this.lastStatusChange = lastStatusChange;
+    }
+    
     // Helper methods
     public String getFullName() {
         return firstName + " " + lastName;
@@ -283,11 +331,10 @@ public class Student {
     }
     
     private void addStatusHistory(StudentStatus status, String notes) {
-        StatusHistory history = new StatusHistory();
-        history.setStatus(status);
-        history.setChangeDate(LocalDateTime.now());
-        history.setNotes(notes);
-        this.statusHistory.add(history);
+        StudentStatusChange change = new StudentStatusChange(this, status, LocalDateTime.now(), notes);
+        this.statusHistory.add(change);
+        this.statusChangeCount = (statusChangeCount != null ? statusChangeCount : 0) + 1;
+        this.lastStatusChange = new StatusHistory(status, change.getChangeDate(), notes);
     }
     
     public void graduate(String finalGrade) {
@@ -297,9 +344,10 @@ public class Student {
         addStatusHistory(StudentStatus.GRADUATED, "Student graduated with grade: " + finalGrade);
     }
     
-    @PostPersist
+    // Runs before the persist cascade so that the first entry is inserted along with the student
+    @PrePersist
     private void initializeStatusHistory() {
-        if (statusHistory.isEmpty()) {
+        if (statusChangeCount == null || statusChangeCount == 0) {
             addStatusHistory(this.status, "Student enrolled");
         }
     }
@@ -334,6 +382,7 @@ public class Student {
         ACTIVE, INACTIVE, GRADUATED, DROPPED_OUT, SUSPENDED
     }
     
+    // Snapshot of the latest timeline entry, kept on the student row
     @Embeddable
     public static class StatusHistory {
         @Column(name = "status")
@@ -0,0 +1,112 @@
+package com.institute.management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry in a student's status timeline.
+ * Entries are only ever inserted; the student keeps the latest one and a count for single-record reads.
+ */
+@Entity
+@Table(name = "student_status_history",
+       indexes = {
+           @Index(name = "idx_student_status_history_student_date", columnList = "student_id, change_date DESC")
+       })
+public class StudentStatusChange {
+    
+    @Id
+    @UuidV7
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+    
+    @Column(name = "status", length = 20, nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private Student.StudentStatus status;
+    
+    @Column(name = "change_date", nullable = false, updatable = false)
+    private LocalDateTime changeDate;
+    
+    @Column(name = "notes", columnDefinition = "TEXT", updatable = false)
+    private String notes;
+    
+    // Constructors
+    public StudentStatusChange() {}
+    
+    public StudentStatusChange(Student student, Student.StudentStatus status, LocalDateTime changeDate, String notes) {
+        this.student = student;
+        this.status = status;
+        this.changeDate = changeDate;
+        this.notes = notes;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Student getStudent() {
+        return student;
+    }
+    
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+    
+    public Student.StudentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Student.StudentStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getChangeDate() {
+        return changeDate;
+    }
+    
+    public void setChangeDate(LocalDateTime changeDate) {
+        this.changeDate = changeDate;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StudentStatusChange)) return false;
+        StudentStatusChange that = (StudentStatusChange) o;
+        return id != null && id.equals(that.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "StudentStatusChange{" +
+                "id=" + id +
+                ", status=" + status +
+                ", changeDate=" + changeDate +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.institute.management.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID primary key that is assigned a time-ordered UUIDv7 on insert.
+ * Keys generated later sort after earlier ones, so new rows are appended to the right edge of the
+ * primary key index instead of being scattered across it like random (v4) keys.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
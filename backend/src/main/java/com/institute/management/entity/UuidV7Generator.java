@@ -0,0 +1,64 @@
+package com.institute.management.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7 identifiers (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit
+ * sequence and 62 random bits.
+ *
+ * The sequence makes the values strictly increasing within this JVM: keys generated in the same
+ * millisecond count up, and a clock that steps backwards never produces a smaller key. Keys from
+ * different nodes interleave by millisecond, which keeps inserts on the right edge of the index.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    // Last issued (milliseconds << 12 | sequence)
+    private static final AtomicLong LAST_TICK = new AtomicLong();
+    
+    public UuidV7Generator(UuidV7 config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+    
+    /**
+     * Next time-ordered UUID; also usable for rows inserted outside Hibernate
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long tick = LAST_TICK.updateAndGet(last -> Math.max(now, last + 1));
+        
+        long mostSignificant = (tick >>> 12) << 16 | 0x7000L | (tick & 0xFFFL);
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+    
+    /**
+     * Creation time encoded in a UUIDv7, in Unix milliseconds
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+    
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
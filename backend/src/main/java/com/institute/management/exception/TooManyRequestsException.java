@@ -0,0 +1,18 @@
+package com.institute.management.exception;
+
+/**
+ * Exception thrown when a client is rate limited or the server sheds load; maps to 429 with Retry-After
+ */
+public class TooManyRequestsException extends BusinessException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, "TOO_MANY_REQUESTS");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
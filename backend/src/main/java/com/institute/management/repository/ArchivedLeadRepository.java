@@ -0,0 +1,11 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.ArchivedLead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedLeadRepository extends JpaRepository<ArchivedLead, UUID> {
+}
@@ -0,0 +1,23 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.ArchivedPlacement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedPlacementRepository extends JpaRepository<ArchivedPlacement, UUID> {
+    
+    List<ArchivedPlacement> findByStudentIdOrderByPlacementDateDesc(UUID studentId);
+    
+    long countByPlacementDateBetween(LocalDate startDate, LocalDate endDate);
+    
+    // Same shape as PlacementRepository.getMonthlyPlacementTrends
+    @Query("SELECT YEAR(p.placementDate), MONTH(p.placementDate), COUNT(p) FROM ArchivedPlacement p WHERE p.status = 'PLACED' AND p.placementDate >= :startDate GROUP BY YEAR(p.placementDate), MONTH(p.placementDate) ORDER BY YEAR(p.placementDate), MONTH(p.placementDate)")
+    List<Object[]> getMonthlyPlacementTrends(@Param("startDate") LocalDate startDate);
+}
@@ -0,0 +1,26 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.ArchivedStudent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, UUID> {
+    
+    // Enrollment date and course fee (null without a batch) of archived students enrolled in the range
+    @Query("SELECT a.enrollmentDate, c.fees FROM ArchivedStudent a LEFT JOIN Batch b ON b.id = a.batchId LEFT JOIN b.course c " +
+           "WHERE a.enrollmentDate >= :startDate AND a.enrollmentDate <= :endDate")
+    List<Object[]> findEnrollmentFees(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.enrollmentDate, COUNT(a) FROM ArchivedStudent a WHERE a.enrollmentDate >= :startDate AND a.enrollmentDate <= :endDate GROUP BY a.enrollmentDate ORDER BY a.enrollmentDate")
+    List<Object[]> getEnrollmentTrends(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedStudent a GROUP BY a.status")
+    List<Object[]> countGroupByStatus();
+}
@@ -0,0 +1,20 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.ArchivedStudentStatusChange;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedStudentStatusChangeRepository extends JpaRepository<ArchivedStudentStatusChange, UUID> {
+    
+    // Newest first, as StudentStatusChangeRepository.findTimeline
+    @Query(value = "SELECT h FROM ArchivedStudentStatusChange h WHERE h.studentId = :studentId ORDER BY h.changeDate DESC, h.id DESC",
+           countQuery = "SELECT COUNT(h) FROM ArchivedStudentStatusChange h WHERE h.studentId = :studentId")
+    Page<ArchivedStudentStatusChange> findTimeline(@Param("studentId") UUID studentId, Pageable pageable);
+}
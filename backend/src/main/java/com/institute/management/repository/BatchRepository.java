@@ -7,11 +7,13 @@ import com.institute.management.entity.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -126,4 +128,62 @@ public interface BatchRepository extends JpaRepository<Batch, UUID> {
     // Recent batches
     @Query("SELECT b FROM Batch b ORDER BY b.createdDate DESC")
     Page<Batch> findRecentBatches(Pageable pageable);
+    
+    // Seat admission: conditional atomic updates of the enrollment counter
+    @Modifying
+    @Query("UPDATE Batch b SET b.currentEnrollment = b.currentEnrollment + 1 WHERE b.id = :batchId AND b.currentEnrollment < b.capacity")
+    int admitOne(@Param("batchId") UUID batchId);
+    
+    @Modifying
+    @Query("UPDATE Batch b SET b.currentEnrollment = b.currentEnrollment + :seats WHERE b.id = :batchId AND b.currentEnrollment + :seats <= b.capacity")
+    int admitMany(@Param("batchId") UUID batchId, @Param("seats") int seats);
+    
+    @Modifying
+    @Query("UPDATE Batch b SET b.currentEnrollment = b.currentEnrollment - 1 WHERE b.id = :batchId AND b.currentEnrollment > 0")
+    int releaseOne(@Param("batchId") UUID batchId);
+    
+    // Batches referenced by a bulk request, with their courses, in one query
+    @Query("SELECT b FROM Batch b LEFT JOIN FETCH b.course WHERE b.id IN :ids")
+    List<Batch> findAllWithCourseByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    // Public catalog snapshot: upcoming open batches of active courses, with their courses, in one query
+    @Query("SELECT b FROM Batch b JOIN FETCH b.course c WHERE c.status = 'ACTIVE' AND b.startDate > :currentDate " +
+           "AND b.status IN ('PLANNED', 'ACTIVE') ORDER BY b.startDate, b.name")
+    List<Batch> findUpcomingBatchesOfActiveCourses(@Param("currentDate") LocalDate currentDate);
+    
+    @Query("SELECT b.capacity, b.currentEnrollment FROM Batch b WHERE b.id = :batchId")
+    List<Object[]> findSeats(@Param("batchId") UUID batchId);
+    
+    // Batches whose enrollment counter differs from the number of assigned students (live and archived)
+    // plus held waitlist seats
+    @Query("SELECT b.id, b.currentEnrollment, " +
+           "(SELECT COUNT(s) FROM Student s WHERE s.batch = b) + " +
+           "(SELECT COUNT(a) FROM ArchivedStudent a WHERE a.batchId = b.id) + " +
+           "(SELECT COUNT(w) FROM BatchWaitlistEntry w WHERE w.batch = b AND w.status = 'HELD') " +
+           "FROM Batch b WHERE b.currentEnrollment <> " +
+           "(SELECT COUNT(s) FROM Student s WHERE s.batch = b) + " +
+           "(SELECT COUNT(a) FROM ArchivedStudent a WHERE a.batchId = b.id) + " +
+           "(SELECT COUNT(w) FROM BatchWaitlistEntry w WHERE w.batch = b AND w.status = 'HELD')")
+    List<Object[]> findEnrollmentDrift();
+    
+    // Only while the counter and the assigned students still match what the drift query saw
+    @Modifying
+    @Query("UPDATE Batch b SET b.currentEnrollment = :actual WHERE b.id = :batchId AND b.currentEnrollment = :expected " +
+           "AND (SELECT COUNT(s) FROM Student s WHERE s.batch = b) + " +
+           "(SELECT COUNT(a) FROM ArchivedStudent a WHERE a.batchId = b.id) + " +
+           "(SELECT COUNT(w) FROM BatchWaitlistEntry w WHERE w.batch = b AND w.status = 'HELD') = :actual")
+    int correctEnrollment(@Param("batchId") UUID batchId, @Param("expected") int expected, @Param("actual") int actual);
+    
+    // Waitlist length counter, kept next to the seat counter so an empty waitlist costs no query
+    @Modifying
+    @Query("UPDATE Batch b SET b.waitlistCount = b.waitlistCount + 1 WHERE b.id = :batchId")
+    int incrementWaitlist(@Param("batchId") UUID batchId);
+    
+    @Modifying
+    @Query("UPDATE Batch b SET b.waitlistCount = b.waitlistCount - 1 WHERE b.id = :batchId AND b.waitlistCount > 0")
+    int decrementWaitlist(@Param("batchId") UUID batchId);
+    
+    // Batches with free seats and people waiting, e.g. after a missed promotion
+    @Query("SELECT b FROM Batch b WHERE b.waitlistCount > 0 AND b.currentEnrollment < b.capacity")
+    List<Batch> findBatchesWithPromotableWaitlist();
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.BatchWaitlistEntry;
+import com.institute.management.entity.BatchWaitlistEntry.WaitlistStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BatchWaitlistRepository extends JpaRepository<BatchWaitlistEntry, UUID> {
+    
+    // Head of a batch's queue: highest priority first, then arrival order
+    @Query("SELECT w FROM BatchWaitlistEntry w WHERE w.batch.id = :batchId AND w.status = 'WAITING' " +
+           "ORDER BY w.priority DESC, w.createdDate ASC")
+    List<BatchWaitlistEntry> findNextWaiting(@Param("batchId") UUID batchId, Pageable pageable);
+    
+    // Held entries first, then waiting entries in queue order
+    @Query(value = "SELECT w FROM BatchWaitlistEntry w JOIN FETCH w.student WHERE w.batch.id = :batchId " +
+                   "AND w.status IN ('WAITING', 'HELD') ORDER BY w.status ASC, w.priority DESC, w.createdDate ASC",
+           countQuery = "SELECT COUNT(w) FROM BatchWaitlistEntry w WHERE w.batch.id = :batchId AND w.status IN ('WAITING', 'HELD')")
+    Page<BatchWaitlistEntry> findActiveByBatchId(@Param("batchId") UUID batchId, Pageable pageable);
+    
+    @Query("SELECT COUNT(w) > 0 FROM BatchWaitlistEntry w WHERE w.batch.id = :batchId AND w.student.id = :studentId " +
+           "AND w.status IN ('WAITING', 'HELD')")
+    boolean existsActive(@Param("batchId") UUID batchId, @Param("studentId") UUID studentId);
+    
+    Optional<BatchWaitlistEntry> findByHoldToken(UUID holdToken);
+    
+    @Query("SELECT w FROM BatchWaitlistEntry w WHERE w.student.id = :studentId AND w.status = :status")
+    List<BatchWaitlistEntry> findByStudentIdAndStatus(@Param("studentId") UUID studentId, @Param("status") WaitlistStatus status);
+    
+    // Holds past their expiry, oldest first
+    @Query("SELECT w FROM BatchWaitlistEntry w WHERE w.status = 'HELD' AND w.holdExpiresAt < :now ORDER BY w.holdExpiresAt ASC")
+    List<BatchWaitlistEntry> findExpiredHolds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // State transitions are conditional so that concurrent promoters and the expiry job never claim the same entry twice
+    @Modifying
+    @Query("UPDATE BatchWaitlistEntry w SET w.status = 'HELD', w.holdToken = :holdToken, w.holdExpiresAt = :expiresAt, " +
+           "w.updatedDate = CURRENT_TIMESTAMP WHERE w.id = :id AND w.status = 'WAITING'")
+    int hold(@Param("id") UUID id, @Param("holdToken") UUID holdToken, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying
+    @Query("UPDATE BatchWaitlistEntry w SET w.status = :to, w.updatedDate = CURRENT_TIMESTAMP WHERE w.id = :id AND w.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") WaitlistStatus from, @Param("to") WaitlistStatus to);
+}
@@ -2,14 +2,19 @@ package com.institute.management.repository;
 
 import com.institute.management.entity.Company;
 import com.institute.management.entity.Company.CompanyStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,11 +26,19 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     List<Company> findByStatus(CompanyStatus status);
     Page<Company> findByStatus(CompanyStatus status, Pageable pageable);
     
+    // Placements of a page of companies in one query, for list responses
+    @Query("SELECT DISTINCT c FROM Company c LEFT JOIN FETCH c.placements WHERE c.id IN :ids")
+    List<Company> findWithPlacementsByIdIn(@Param("ids") Collection<UUID> ids);
+    
     // Find by industry
     List<Company> findByIndustry(String industry);
     Page<Company> findByIndustry(String industry, Pageable pageable);
     
-    // Find by name (for duplicate checking)
+    // Find by name (for duplicate checking); cached, invalidated by any write to companies
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.lookups")
+    })
     Optional<Company> findByName(String name);
     boolean existsByName(String name);
     
@@ -72,10 +85,10 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     @Query("SELECT c, COUNT(p) as placementCount FROM Company c LEFT JOIN c.placements p WHERE p.status = 'PLACED' GROUP BY c ORDER BY placementCount DESC")
     List<Object[]> findCompaniesByPlacementCount();
     
-    @Query("SELECT c FROM Company c WHERE SIZE(c.placements) > 0 ORDER BY SIZE(c.placements) DESC")
+    @Query("SELECT c FROM Company c WHERE c.placementCount > 0 ORDER BY c.placementCount DESC")
     List<Company> findCompaniesWithPlacements();
     
-    @Query("SELECT c FROM Company c WHERE SIZE(c.placements) = 0 AND c.status = 'ACTIVE'")
+    @Query("SELECT c FROM Company c WHERE c.placementCount = 0 AND c.status = 'ACTIVE'")
     List<Company> findCompaniesWithoutPlacements();
     
     // Active hiring companies
@@ -134,4 +147,30 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     
     // Companies by status and industry
     List<Company> findByStatusAndIndustry(CompanyStatus status, String industry);
+    
+    // Placement counter: atomic updates in the transaction that adds or removes placements (see ChildCounters).
+    // Native and synchronized on the counter space only, so Hibernate does not evict the whole company
+    // cache region for it; ChildCounters evicts the one company instead
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "child_counters"))
+    @Query(value = "UPDATE companies SET placement_count = placement_count + :delta " +
+                   "WHERE id = :companyId AND placement_count + :delta >= 0", nativeQuery = true)
+    int adjustPlacementCount(@Param("companyId") UUID companyId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE Company c SET c.placementCount = c.placementCount - " +
+           "(SELECT COUNT(p) FROM Placement p WHERE p.company = c AND p.student.id = :studentId) " +
+           "WHERE c.id IN (SELECT p.company.id FROM Placement p WHERE p.student.id = :studentId)")
+    int releasePlacementsOfStudent(@Param("studentId") UUID studentId);
+    
+    // Companies whose placement counter differs from the number of placements; archived placements keep counting
+    @Query("SELECT c.id, c.placementCount, " +
+           "(SELECT COUNT(p) FROM Placement p WHERE p.company = c) + (SELECT COUNT(a) FROM ArchivedPlacement a WHERE a.companyId = c.id) " +
+           "FROM Company c WHERE c.placementCount <> " +
+           "(SELECT COUNT(p) FROM Placement p WHERE p.company = c) + (SELECT COUNT(a) FROM ArchivedPlacement a WHERE a.companyId = c.id)")
+    List<Object[]> findPlacementCountDrift();
+    
+    @Modifying
+    @Query("UPDATE Company c SET c.placementCount = :actual WHERE c.id = :companyId AND c.placementCount = :expected")
+    int correctPlacementCount(@Param("companyId") UUID companyId, @Param("expected") int expected, @Param("actual") int actual);
 }
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.institute.management.repository;
 
 import com.institute.management.entity.Course;
 import com.institute.management.entity.Course.CourseStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,7 +25,11 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     List<Course> findByStatus(CourseStatus status);
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
     
-    // Find by name (for duplicate checking)
+    // Find by name (for duplicate checking); cached, invalidated by any write to courses
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.lookups")
+    })
     Optional<Course> findByName(String name);
     boolean existsByName(String name);
     
@@ -51,6 +59,10 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
                                        @Param("searchTerm") String searchTerm,
                                        Pageable pageable);
     
+    // Public catalog snapshot: the listed fields of every course in one query, without loading each lazy description
+    @Query("SELECT c.id, c.name, c.description, c.durationMonths, c.fees FROM Course c WHERE c.status = :status")
+    List<Object[]> findCatalogFieldsByStatus(@Param("status") CourseStatus status);
+    
     // Statistics queries
     @Query("SELECT COUNT(c) FROM Course c WHERE c.status = :status")
     long countByStatus(@Param("status") CourseStatus status);
@@ -68,7 +80,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     @Query("SELECT c, COUNT(b) as batchCount FROM Course c LEFT JOIN c.batches b GROUP BY c ORDER BY batchCount DESC")
     List<Object[]> findCoursesByPopularity();
     
-    @Query("SELECT c FROM Course c WHERE SIZE(c.batches) > 0 ORDER BY SIZE(c.batches) DESC")
+    @Query("SELECT c FROM Course c WHERE c.batchCount > 0 ORDER BY c.batchCount DESC")
     List<Course> findCoursesWithBatches();
     
     // Revenue related queries
@@ -98,7 +110,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     List<Course> findActiveCoursesOrderByFees();
     
     // Courses without batches
-    @Query("SELECT c FROM Course c WHERE SIZE(c.batches) = 0 AND c.status = 'ACTIVE'")
+    @Query("SELECT c FROM Course c WHERE c.batchCount = 0 AND c.status = 'ACTIVE'")
     List<Course> findCoursesWithoutBatches();
     
     // Courses with active batches
@@ -124,4 +136,22 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     // Recent courses
     @Query("SELECT c FROM Course c ORDER BY c.createdDate DESC")
     Page<Course> findRecentCourses(Pageable pageable);
+    
+    // Batch counter: atomic updates in the transaction that adds or removes batches (see ChildCounters).
+    // Native and synchronized on the counter space only, so Hibernate does not evict the whole course
+    // cache region for it; ChildCounters evicts the one course instead
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "child_counters"))
+    @Query(value = "UPDATE courses SET batch_count = batch_count + :delta " +
+                   "WHERE id = :courseId AND batch_count + :delta >= 0", nativeQuery = true)
+    int adjustBatchCount(@Param("courseId") UUID courseId, @Param("delta") int delta);
+    
+    // Courses whose batch counter differs from the number of batches
+    @Query("SELECT c.id, c.batchCount, (SELECT COUNT(b) FROM Batch b WHERE b.course = c) " +
+           "FROM Course c WHERE c.batchCount <> (SELECT COUNT(b) FROM Batch b WHERE b.course = c)")
+    List<Object[]> findBatchCountDrift();
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.batchCount = :actual WHERE c.id = :courseId AND c.batchCount = :expected")
+    int correctBatchCount(@Param("courseId") UUID courseId, @Param("expected") int expected, @Param("actual") int actual);
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.institute.management.repository;
 import com.institute.management.entity.Employee;
 import com.institute.management.entity.Employee.EmployeeRole;
 import com.institute.management.entity.Employee.EmployeeStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +17,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
@@ -30,7 +34,11 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     List<Employee> findByDepartment(String department);
     Page<Employee> findByDepartment(String department, Pageable pageable);
     
-    // Find by employee code (unique identifier)
+    // Find by employee code (unique identifier); cached, invalidated by any write to employees
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.lookups")
+    })
     Optional<Employee> findByEmployeeCode(String employeeCode);
     boolean existsByEmployeeCode(String employeeCode);
     
@@ -42,6 +50,15 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
     Optional<Employee> findByPhone(String phone);
     boolean existsByPhone(String phone);
     
+    // Full scans of unique-key values (for building in-memory duplicate filters)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.employeeCode FROM Employee e")
+    Stream<String> streamAllEmployeeCodes();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.email FROM Employee e")
+    Stream<String> streamAllEmails();
+    
     // Role and status combinations
     List<Employee> findByRoleAndStatus(EmployeeRole role, EmployeeStatus status);
     Page<Employee> findByRoleAndStatus(EmployeeRole role, EmployeeStatus status, Pageable pageable);
@@ -0,0 +1,22 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.EnrollmentSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EnrollmentSequenceRepository extends JpaRepository<EnrollmentSequence, String> {
+    
+    // Atomically advance the counter; the row stays locked until the reserving transaction commits
+    @Modifying
+    @Query("UPDATE EnrollmentSequence s SET s.nextValue = s.nextValue + :count WHERE s.prefix = :prefix")
+    int advance(@Param("prefix") String prefix, @Param("count") long count);
+    
+    @Query("SELECT s.nextValue FROM EnrollmentSequence s WHERE s.prefix = :prefix")
+    Optional<Long> findNextValue(@Param("prefix") String prefix);
+}
@@ -0,0 +1,63 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.IdempotencyRecord;
+import com.institute.management.entity.IdempotencyRecord.RecordStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    // Store the response of a claimed key without loading the record first; a claim that lost its
+    // lease to another node matches no row
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseStatus = :responseStatus, " +
+           "r.responseContentType = :contentType, r.responseBody = :body, r.completedDate = :completedDate " +
+           "WHERE r.id = :id AND r.leaseToken = :leaseToken")
+    int complete(@Param("id") String id,
+                 @Param("leaseToken") String leaseToken,
+                 @Param("status") RecordStatus status,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("body") String body,
+                 @Param("completedDate") LocalDateTime completedDate);
+    
+    // Release a key whose request failed, so that a retry runs again
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.leaseToken = :leaseToken AND r.status = :status")
+    int release(@Param("id") String id, @Param("leaseToken") String leaseToken, @Param("status") RecordStatus status);
+    
+    // Claim a key again when the node holding it stopped renewing its lease, or when its stored
+    // response has outlived the retention period but was not purged yet
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :processing, r.requestHash = :requestHash, " +
+           "r.leaseToken = :leaseToken, r.lockedUntil = :lockedUntil, r.createdDate = :now, " +
+           "r.responseStatus = NULL, r.responseContentType = NULL, r.responseBody = NULL, r.completedDate = NULL " +
+           "WHERE r.id = :id AND ((r.status = :processing AND (r.lockedUntil IS NULL OR r.lockedUntil < :now)) " +
+           "OR (r.status <> :processing AND r.createdDate < :expiredBefore))")
+    int takeOver(@Param("id") String id,
+                 @Param("requestHash") String requestHash,
+                 @Param("leaseToken") String leaseToken,
+                 @Param("now") LocalDateTime now,
+                 @Param("lockedUntil") LocalDateTime lockedUntil,
+                 @Param("expiredBefore") LocalDateTime expiredBefore,
+                 @Param("processing") RecordStatus processing);
+    
+    // Renew the leases of the keys whose requests are still running on this node
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil " +
+           "WHERE r.leaseToken IN :leaseTokens AND r.status = :status")
+    int extendLeases(@Param("leaseTokens") Collection<String> leaseTokens,
+                     @Param("lockedUntil") LocalDateTime lockedUntil,
+                     @Param("status") RecordStatus status);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdDate < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
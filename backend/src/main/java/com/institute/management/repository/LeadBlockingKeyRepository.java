@@ -0,0 +1,49 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.LeadBlockingKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface LeadBlockingKeyRepository extends JpaRepository<LeadBlockingKey, UUID> {
+    
+    // Number of leads in each of the given blocks, smallest (most selective) block first
+    @Query("SELECT k.blockKey, COUNT(k) FROM LeadBlockingKey k WHERE k.blockKey IN :blockKeys " +
+           "GROUP BY k.blockKey ORDER BY COUNT(k), k.blockKey")
+    List<Object[]> countLeadsByBlockKeys(@Param("blockKeys") Collection<String> blockKeys);
+    
+    // Candidate leads in one block
+    @Query("SELECT k.lead.id FROM LeadBlockingKey k WHERE k.blockKey = :blockKey")
+    List<UUID> findLeadIdsByBlockKey(@Param("blockKey") String blockKey, Pageable pageable);
+    
+    // Block members for every key shared by more than one lead, grouped by key
+    @Query("SELECT k.blockKey, k.lead.id FROM LeadBlockingKey k WHERE k.blockKey IN " +
+           "(SELECT s.blockKey FROM LeadBlockingKey s GROUP BY s.blockKey HAVING COUNT(s) > 1) " +
+           "ORDER BY k.blockKey")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSharedBlocks();
+    
+    @Modifying
+    @Query("DELETE FROM LeadBlockingKey k WHERE k.lead.id = :leadId")
+    int deleteByLeadId(@Param("leadId") UUID leadId);
+    
+    @Modifying
+    @Query("DELETE FROM LeadBlockingKey k WHERE k.lead.id IN :leadIds")
+    int deleteByLeadIdIn(@Param("leadIds") Collection<UUID> leadIds);
+    
+    @Modifying
+    @Query("DELETE FROM LeadBlockingKey k")
+    int deleteAllKeys();
+}
@@ -0,0 +1,20 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.LeadFollowUp;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LeadFollowUpRepository extends JpaRepository<LeadFollowUp, UUID> {
+    
+    // Newest first; served by idx_lead_follow_ups_lead_date
+    @Query(value = "SELECT f FROM LeadFollowUp f WHERE f.lead.id = :leadId ORDER BY f.date DESC, f.id DESC",
+           countQuery = "SELECT COUNT(f) FROM LeadFollowUp f WHERE f.lead.id = :leadId")
+    Page<LeadFollowUp> findTimeline(@Param("leadId") UUID leadId, Pageable pageable);
+}
@@ -0,0 +1,36 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.LeadImport;
+import com.institute.management.entity.LeadImport.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LeadImportRepository extends JpaRepository<LeadImport, UUID> {
+    
+    List<LeadImport> findByStatusInOrderByCreatedDateAsc(Collection<ImportStatus> statuses);
+    
+    // Take the lease of an unfinished import of this node; matches no row while another run holds it
+    @Modifying
+    @Query("UPDATE LeadImport i SET i.lockedUntil = :lockedUntil " +
+           "WHERE i.id = :id AND i.ownerNode = :node AND i.status IN :statuses " +
+           "AND (i.lockedUntil IS NULL OR i.lockedUntil < :now)")
+    int claim(@Param("id") UUID id,
+              @Param("node") String node,
+              @Param("statuses") Collection<ImportStatus> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    // Become the owner of an import queued before imports had owners
+    @Modifying
+    @Query("UPDATE LeadImport i SET i.ownerNode = :node WHERE i.id = :id AND i.ownerNode IS NULL")
+    int adopt(@Param("id") UUID id, @Param("node") String node);
+}
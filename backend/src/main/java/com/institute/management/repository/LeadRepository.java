@@ -3,17 +3,23 @@ package com.institute.management.repository;
 import com.institute.management.entity.Lead;
 import com.institute.management.entity.Lead.LeadStatus;
 import com.institute.management.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeadRepository extends JpaRepository<Lead, UUID> {
@@ -34,6 +40,10 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
     List<Lead> findByCourseInterest(String courseInterest);
     Page<Lead> findByCourseInterest(String courseInterest, Pageable pageable);
     
+    // Students converted from a page of leads in one query, for list responses
+    @Query("SELECT DISTINCT l FROM Lead l LEFT JOIN FETCH l.convertedStudents WHERE l.id IN :ids")
+    List<Lead> findWithConvertedStudentsByIdIn(@Param("ids") Collection<UUID> ids);
+    
     // Find by email (for duplicate checking)
     Optional<Lead> findByEmail(String email);
     boolean existsByEmail(String email);
@@ -42,6 +52,26 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
     Optional<Lead> findByPhone(String phone);
     boolean existsByPhone(String phone);
     
+    // Stored values among a set of candidates (bulk duplicate checks in one query per key)
+    @Query("SELECT l.email FROM Lead l WHERE l.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT l.phone FROM Lead l WHERE l.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+    
+    // Full scans of unique-key values (for building in-memory duplicate filters)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.email FROM Lead l WHERE l.email IS NOT NULL")
+    Stream<String> streamAllEmails();
+    
+    // Fields used for duplicate matching, read as scalars so no entities are loaded
+    @Query("SELECT l.id, l.firstName, l.lastName, l.email, l.phone, l.courseInterest FROM Lead l WHERE l.id IN :ids")
+    List<Object[]> findMatchFieldsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.id, l.firstName, l.lastName, l.email, l.phone, l.courseInterest FROM Lead l")
+    Stream<Object[]> streamAllMatchFields();
+    
     // Date range queries
     List<Lead> findByCreatedDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     Page<Lead> findByCreatedDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
@@ -99,4 +129,16 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
     // Leads without follow-up scheduled
     @Query("SELECT l FROM Lead l WHERE l.nextFollowUpDate IS NULL AND l.status IN ('NEW', 'CONTACTED', 'INTERESTED')")
     List<Lead> findLeadsWithoutFollowUp();
-}
\ No newline at end of file
+    
+    // Closed leads unchanged since the cutoff and not referenced by a student, oldest partitions first
+    @Query("SELECT l.id FROM Lead l WHERE l.status IN ('LOST', 'NOT_INTERESTED') AND l.createdDate < :cutoff " +
+           "AND COALESCE(l.updatedDate, l.createdDate) < :cutoff " +
+           "AND NOT EXISTS (SELECT s.id FROM Student s WHERE s.lead = l) ORDER BY l.createdDate")
+    List<UUID> findArchivableLeadIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    // Bulk conversion: only leads that are still open are flipped; a lower count than ids means a concurrent change
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.status = 'CONVERTED', l.convertedDate = :convertedAt, l.updatedDate = :convertedAt " +
+           "WHERE l.id IN :ids AND l.status IN ('NEW', 'CONTACTED', 'INTERESTED')")
+    int markConverted(@Param("ids") Collection<UUID> ids, @Param("convertedAt") LocalDateTime convertedAt);
+}
@@ -0,0 +1,40 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.StatusCount;
+import com.institute.management.entity.StatusCount.EntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatusCountRepository extends JpaRepository<StatusCount, StatusCount.Key> {
+    
+    // Rollup reads: one primary-key range scan per entity type
+    @Query("SELECT c.status, SUM(c.count) FROM StatusCount c WHERE c.entityType = :entityType GROUP BY c.status")
+    List<Object[]> sumByStatus(@Param("entityType") EntityType entityType);
+    
+    @Query("SELECT c.entityType, c.status, SUM(c.count) FROM StatusCount c GROUP BY c.entityType, c.status")
+    List<Object[]> sumAll();
+    
+    @Modifying
+    @Query("UPDATE StatusCount c SET c.count = c.count + :delta WHERE c.entityType = :entityType AND c.status = :status AND c.slot = :slot")
+    int adjust(@Param("entityType") EntityType entityType, @Param("status") String status, @Param("slot") int slot, @Param("delta") long delta);
+    
+    // Fallback: the actual distribution counted from the entity tables, used to seed and repair the rollup.
+    // Archived leads, students and placements keep counting; a (type, status) may appear in more than one row.
+    @Query("SELECT 'STUDENT', CAST(s.status AS String), COUNT(s) FROM Student s GROUP BY s.status " +
+           "UNION ALL SELECT 'STUDENT', CAST(a.status AS String), COUNT(a) FROM ArchivedStudent a GROUP BY a.status " +
+           "UNION ALL SELECT 'LEAD', CAST(l.status AS String), COUNT(l) FROM Lead l GROUP BY l.status " +
+           "UNION ALL SELECT 'LEAD', CAST(a.status AS String), COUNT(a) FROM ArchivedLead a GROUP BY a.status " +
+           "UNION ALL SELECT 'COURSE', CAST(c.status AS String), COUNT(c) FROM Course c GROUP BY c.status " +
+           "UNION ALL SELECT 'COMPANY', CAST(c.status AS String), COUNT(c) FROM Company c GROUP BY c.status " +
+           "UNION ALL SELECT 'EMPLOYEE', CAST(e.status AS String), COUNT(e) FROM Employee e GROUP BY e.status " +
+           "UNION ALL SELECT 'PLACEMENT', CAST(p.status AS String), COUNT(p) FROM Placement p GROUP BY p.status " +
+           "UNION ALL SELECT 'PLACEMENT', CAST(a.status AS String), COUNT(a) FROM ArchivedPlacement a GROUP BY a.status " +
+           "UNION ALL SELECT 'BATCH', CAST(b.status AS String), COUNT(b) FROM Batch b GROUP BY b.status")
+    List<Object[]> countActual();
+}
@@ -4,18 +4,24 @@ import com.institute.management.entity.Student;
 import com.institute.management.entity.Student.StudentStatus;
 import com.institute.management.entity.Batch;
 import com.institute.management.entity.Lead;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, UUID> {
@@ -32,6 +38,10 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     Optional<Student> findByEnrollmentNumber(String enrollmentNumber);
     boolean existsByEnrollmentNumber(String enrollmentNumber);
     
+    // Placements (with their companies) of a page of students in one query, for list responses
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.placements p LEFT JOIN FETCH p.company WHERE s.id IN :ids")
+    List<Student> findWithPlacementsByIdIn(@Param("ids") Collection<UUID> ids);
+    
     // Find by email (for duplicate checking)
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
@@ -40,6 +50,18 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     Optional<Student> findByPhone(String phone);
     boolean existsByPhone(String phone);
     
+    // Stored values among a set of candidates (bulk duplicate checks in one query per key)
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT s.phone FROM Student s WHERE s.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+    
+    // Full scans of unique-key values (for building in-memory duplicate filters)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.email FROM Student s WHERE s.email IS NOT NULL")
+    Stream<String> streamAllEmails();
+    
     // Find by lead (converted students)
     Optional<Student> findByLead(Lead lead);
     List<Student> findByLeadIsNotNull();
@@ -97,12 +119,18 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     List<Object[]> getGradeDistribution();
     
     // Placement related queries
-    @Query("SELECT s FROM Student s WHERE s.status = 'GRADUATED' AND SIZE(s.placements) = 0")
+    @Query("SELECT s FROM Student s WHERE s.status = 'GRADUATED' AND s.placementCount = 0")
     List<Student> findUnplacedGraduates();
     
     @Query("SELECT s FROM Student s WHERE s.status = 'GRADUATED' AND EXISTS (SELECT p FROM s.placements p WHERE p.status = 'PLACED')")
     List<Student> findPlacedGraduates();
     
+    // Placed and unplaced graduate counts in a single scan
+    @Query("SELECT COUNT(s) FILTER (WHERE EXISTS (SELECT p FROM Placement p WHERE p.student = s AND p.status = 'PLACED')), " +
+           "COUNT(s) FILTER (WHERE s.placementCount = 0) " +
+           "FROM Student s WHERE s.status = 'GRADUATED'")
+    List<Object[]> countGraduatesByPlacement();
+    
     // Active students by batch
     @Query("SELECT s FROM Student s WHERE s.batch = :batch AND s.status = 'ACTIVE'")
     List<Student> findActiveStudentsByBatch(@Param("batch") Batch batch);
@@ -122,7 +150,7 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
     @Query("SELECT s FROM Student s WHERE YEAR(s.enrollmentDate) = :year")
     List<Student> findByEnrollmentYear(@Param("year") int year);
     
-    // Generate next enrollment number (helper for service layer)
+    // Existing enrollment numbers for a prefix (seeds a new enrollment sequence counter)
     @Query("SELECT s.enrollmentNumber FROM Student s WHERE s.enrollmentNumber LIKE :prefix% ORDER BY s.enrollmentNumber DESC")
     List<String> findEnrollmentNumbersWithPrefix(@Param("prefix") String prefix);
     
@@ -144,4 +172,72 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
                                                      @Param("startDate") LocalDate startDate,
                                                      @Param("endDate") LocalDate endDate,
                                                      Pageable pageable);
-}
\ No newline at end of file
+    
+    // Placement counter: atomic updates in the transaction that adds or removes placements (see ChildCounters)
+    @Modifying
+    @Query("UPDATE Student s SET s.placementCount = s.placementCount + :delta WHERE s.id = :studentId AND s.placementCount + :delta >= 0")
+    int adjustPlacementCount(@Param("studentId") UUID studentId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE Student s SET s.placementCount = s.placementCount - " +
+           "(SELECT COUNT(p) FROM Placement p WHERE p.student = s AND p.company.id = :companyId) " +
+           "WHERE s.id IN (SELECT p.student.id FROM Placement p WHERE p.company.id = :companyId)")
+    int releasePlacementsAtCompany(@Param("companyId") UUID companyId);
+    
+    // Students whose placement counter differs from the number of placements
+    @Query("SELECT s.id, s.placementCount, (SELECT COUNT(p) FROM Placement p WHERE p.student = s) " +
+           "FROM Student s WHERE s.placementCount <> (SELECT COUNT(p) FROM Placement p WHERE p.student = s)")
+    List<Object[]> findPlacementCountDrift();
+    
+    @Modifying
+    @Query("UPDATE Student s SET s.placementCount = :actual WHERE s.id = :studentId AND s.placementCount = :expected")
+    int correctPlacementCount(@Param("studentId") UUID studentId, @Param("expected") int expected, @Param("actual") int actual);
+    
+    // Archival: graduated / dropped-out students whose status, row and placements are all older than the cutoff,
+    // and who are not waiting for or holding a batch seat
+    @Query("SELECT s.id FROM Student s WHERE s.status IN ('GRADUATED', 'DROPPED_OUT') " +
+           "AND COALESCE(s.lastStatusChange.changeDate, s.createdDate) < :cutoff " +
+           "AND COALESCE(s.updatedDate, s.createdDate) < :cutoff " +
+           "AND NOT EXISTS (SELECT p.id FROM Placement p WHERE p.student = s AND COALESCE(p.updatedDate, p.createdDate) >= :cutoff) " +
+           "AND NOT EXISTS (SELECT w.id FROM BatchWaitlistEntry w WHERE w.student = s AND w.status IN ('WAITING', 'HELD')) " +
+           "ORDER BY s.createdDate")
+    List<UUID> findArchivableStudentIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    // Bulk lifecycle transitions (see StudentTransitions): id and current status of the matching students
+    @Query("SELECT s.id, s.status FROM Student s LEFT JOIN s.batch b LEFT JOIN b.course c WHERE " +
+           "(:batchId IS NULL OR b.id = :batchId) AND " +
+           "(:courseId IS NULL OR c.id = :courseId) AND " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "(:enrolledFrom IS NULL OR s.enrollmentDate >= :enrolledFrom) AND " +
+           "(:enrolledTo IS NULL OR s.enrollmentDate <= :enrolledTo)")
+    List<Object[]> findIdsAndStatusesForTransition(@Param("batchId") UUID batchId,
+                                                   @Param("courseId") UUID courseId,
+                                                   @Param("status") StudentStatus status,
+                                                   @Param("enrolledFrom") LocalDate enrolledFrom,
+                                                   @Param("enrolledTo") LocalDate enrolledTo);
+    
+    // Only rows still in the expected status change; a lower count than ids means a concurrent update
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.status = :to, s.statusChangeCount = s.statusChangeCount + 1, " +
+           "s.lastStatusChange.status = :to, s.lastStatusChange.changeDate = :changedAt, s.lastStatusChange.notes = :notes, " +
+           "s.updatedDate = :changedAt " +
+           "WHERE s.id IN :ids AND s.status = :from")
+    int transitionStatus(@Param("ids") Collection<UUID> ids,
+                         @Param("from") StudentStatus from,
+                         @Param("to") StudentStatus to,
+                         @Param("changedAt") LocalDateTime changedAt,
+                         @Param("notes") String notes);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.status = 'GRADUATED', s.graduationDate = :graduationDate, s.finalGrade = :grade, " +
+           "s.statusChangeCount = s.statusChangeCount + 1, " +
+           "s.lastStatusChange.status = 'GRADUATED', s.lastStatusChange.changeDate = :changedAt, s.lastStatusChange.notes = :notes, " +
+           "s.updatedDate = :changedAt " +
+           "WHERE s.id IN :ids AND s.status = :from")
+    int graduate(@Param("ids") Collection<UUID> ids,
+                 @Param("from") StudentStatus from,
+                 @Param("grade") String grade,
+                 @Param("graduationDate") LocalDate graduationDate,
+                 @Param("changedAt") LocalDateTime changedAt,
+                 @Param("notes") String notes);
+}
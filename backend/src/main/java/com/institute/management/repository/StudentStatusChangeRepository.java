@@ -0,0 +1,20 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.StudentStatusChange;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StudentStatusChangeRepository extends JpaRepository<StudentStatusChange, UUID> {
+    
+    // Newest first; served by idx_student_status_history_student_date
+    @Query(value = "SELECT h FROM StudentStatusChange h WHERE h.student.id = :studentId ORDER BY h.changeDate DESC, h.id DESC",
+           countQuery = "SELECT COUNT(h) FROM StudentStatusChange h WHERE h.student.id = :studentId")
+    Page<StudentStatusChange> findTimeline(@Param("studentId") UUID studentId, Pageable pageable);
+}
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,12 +29,26 @@ public class BatchService {
     @Autowired
     private BatchRepository batchRepository;
     
+    @Autowired
+    private SeatAdmission seatAdmission;
+    
+    @Autowired
+    private BatchWaitlistService batchWaitlistService;
+    
+    @Autowired
+    private ChildCounters childCounters;
+    
+    @Autowired
+    private StudentTransitions studentTransitions;
+    
     /**
      * Create a new batch - Only ADMIN and OPERATIONS can create batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
     public Batch createBatch(Batch batch) {
-        return batchRepository.save(batch);
+        Batch savedBatch = batchRepository.save(batch);
+        childCounters.batchAdded(savedBatch);
+        return savedBatch;
     }
     
     /**
@@ -49,6 +64,7 @@ public class BatchService {
             throw new BatchCapacityExceededException("New capacity cannot be less than current enrollment: " + batch.getCurrentEnrollment());
         }
         
+        UUID previousCourseId = batch.getCourse() != null ? batch.getCourse().getId() : null;
         batch.setName(batchDetails.getName());
         if (batchDetails.getCourse() != null) {
             batch.setCourse(batchDetails.getCourse());
@@ -65,13 +81,20 @@ public class BatchService {
             batch.setInstructor(batchDetails.getInstructor());
         }
         
-        return batchRepository.save(batch);
+        seatAdmission.invalidate(id);
+        Batch savedBatch = batchRepository.save(batch);
+        childCounters.batchMoved(previousCourseId, savedBatch);
+        
+        // Added seats go to waitlisted students first
+        batchWaitlistService.promoteWaitlisted(savedBatch);
+        return savedBatch;
     }
     
     /**
      * Get batch by ID - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Optional<Batch> getBatchById(UUID id) {
         return batchRepository.findById(id);
     }
@@ -80,6 +103,7 @@ public class BatchService {
      * Get all batches with pagination - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Page<Batch> getAllBatches(Pageable pageable) {
         return batchRepository.findAll(pageable);
     }
@@ -88,6 +112,7 @@ public class BatchService {
      * Get batches by course - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public List<Batch> getBatchesByCourse(Course course) {
         return batchRepository.findByCourse(course);
     }
@@ -96,6 +121,7 @@ public class BatchService {
      * Get batches by status - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public List<Batch> getBatchesByStatus(Batch.BatchStatus status) {
         return batchRepository.findByStatus(status);
     }
@@ -104,6 +130,7 @@ public class BatchService {
      * Get batches by instructor - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public List<Batch> getBatchesByInstructor(Employee instructor) {
         return batchRepository.findByInstructor(instructor);
     }
@@ -122,7 +149,12 @@ public class BatchService {
         }
         
         batch.setCapacity(newCapacity);
-        return batchRepository.save(batch);
+        seatAdmission.invalidate(batchId);
+        Batch savedBatch = batchRepository.save(batch);
+        
+        // Added seats go to waitlisted students first
+        batchWaitlistService.promoteWaitlisted(savedBatch);
+        return savedBatch;
     }
     
     /**
@@ -137,6 +169,26 @@ public class BatchService {
         return batchRepository.save(batch);
     }
     
+    /**
+     * Complete a batch: graduate its active students and mark it COMPLETED in one transaction -
+     * Only ADMIN and OPERATIONS can complete batches
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    public Batch completeBatch(UUID batchId, Map<UUID, String> grades, String defaultGrade) {
+        Batch batch = batchRepository.findById(batchId)
+            .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + batchId));
+        if (batch.getStatus() == Batch.BatchStatus.CANCELLED) {
+            throw new ValidationException("Cannot complete a cancelled batch");
+        }
+        
+        // The bulk updates clear the persistence context; the batch is read again afterwards
+        studentTransitions.graduateBatch(batchId, grades, defaultGrade);
+        
+        batch = batchRepository.findById(batchId).orElseThrow();
+        batch.setStatus(Batch.BatchStatus.COMPLETED);
+        return batchRepository.save(batch);
+    }
+    
     /**
      * Delete batch - Only ADMIN can delete batches
      */
@@ -150,6 +202,7 @@ public class BatchService {
             throw new ValidationException("Cannot delete batch with enrolled students");
         }
         
+        childCounters.batchRemoved(batch);
         batchRepository.deleteById(id);
     }
     
@@ -157,6 +210,7 @@ public class BatchService {
      * Get batches starting within date range - ADMIN, OPERATIONS, and FACULTY can view
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public List<Batch> getBatchesByStartDateRange(LocalDate startDate, LocalDate endDate) {
         return batchRepository.findByStartDateBetween(startDate, endDate);
     }
@@ -176,6 +230,7 @@ public class BatchService {
      * Get available slots in batch
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public Integer getAvailableSlots(UUID batchId) {
         Batch batch = batchRepository.findById(batchId)
             .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + batchId));
@@ -187,6 +242,7 @@ public class BatchService {
      * Get batches with filters - ADMIN, OPERATIONS, and FACULTY can view batches
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Page<Batch> getBatchesWithFilters(Batch.BatchStatus status, UUID courseId, UUID instructorId, 
                                            Boolean hasAvailableSlots, String searchTerm, Pageable pageable) {
         return batchRepository.findBatchesWithFilters(status, courseId, instructorId, hasAvailableSlots, searchTerm, pageable);
@@ -196,6 +252,7 @@ public class BatchService {
      * Get batch utilization report - ADMIN and OPERATIONS can view reports
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<BatchUtilizationDTO> getBatchUtilizationReport() {
         List<Object[]> results = batchRepository.getBatchUtilizationReport();
         
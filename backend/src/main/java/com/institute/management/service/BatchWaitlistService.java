@@ -0,0 +1,313 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.BatchWaitlistEntryDTO;
+import com.institute.management.dto.BatchWaitlistRequestDTO;
+import com.institute.management.dto.StudentBasicDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.BatchWaitlistEntry;
+import com.institute.management.entity.BatchWaitlistEntry.WaitlistStatus;
+import com.institute.management.entity.Student;
+import com.institute.management.exception.BatchCapacityExceededException;
+import com.institute.management.exception.BusinessException;
+import com.institute.management.exception.DuplicateResourceException;
+import com.institute.management.exception.ResourceNotFoundException;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.BatchWaitlistRepository;
+import com.institute.management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-batch waitlist with automatic promotion.
+ *
+ * When a seat frees up in a batch with people waiting, the head of the queue is promoted in the
+ * same transaction: the seat is taken for them and a hold token is issued. The student is moved
+ * into the batch when the hold is confirmed; a declined or expired hold passes the seat on to the
+ * next entry. Batches with an empty waitlist are recognised from batches.waitlist_count, so the
+ * normal enrollment path runs no waitlist queries.
+ */
+@Service
+@Transactional
+public class BatchWaitlistService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BatchWaitlistService.class);
+    
+    /** Queue entries fetched per promotion attempt, so a lost race moves on to the next entry without a requery */
+    private static final int PROMOTION_LOOKAHEAD = 5;
+    
+    private static final int EXPIRY_BATCH_SIZE = 100;
+    
+    @Autowired
+    private BatchWaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private BatchRepository batchRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SeatAdmission seatAdmission;
+    
+    @Value("${app.batch-waitlist.hold-ttl-ms:172800000}")
+    private long holdTtlMs = 172800000;
+    
+    /**
+     * Put a student on a batch waitlist - Only ADMIN and COUNSELLOR can manage waitlists
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public BatchWaitlistEntryDTO joinWaitlist(UUID batchId, BatchWaitlistRequestDTO request) {
+        Batch batch = batchRepository.findById(batchId)
+            .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + batchId));
+        Student student = studentRepository.findById(request.getStudentId())
+            .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + request.getStudentId()));
+        
+        if (student.getBatch() != null && student.getBatch().getId().equals(batchId)) {
+            throw new BusinessException("Student is already enrolled in batch " + batch.getName(), "ALREADY_ENROLLED");
+        }
+        if (waitlistRepository.existsActive(batchId, student.getId())) {
+            throw new DuplicateResourceException("Student is already on the waitlist for batch " + batch.getName());
+        }
+        // With free seats and nobody ahead in the queue the student can simply be assigned
+        if (batch.getWaitlistCount() == 0 && batch.getCurrentEnrollment() < batch.getCapacity()) {
+            throw new BusinessException("Batch " + batch.getName() + " has available seats; assign the student directly", "SEATS_AVAILABLE");
+        }
+        
+        BatchWaitlistEntry entry = waitlistRepository.save(new BatchWaitlistEntry(batch, student, request.getPriority()));
+        batchRepository.incrementWaitlist(batchId);
+        batch.setWaitlistCount(batch.getWaitlistCount() + 1);
+        
+        logger.info("Student {} joined the waitlist of batch {}", student.getId(), batchId);
+        return convertToDTO(entry);
+    }
+    
+    /**
+     * Held and waiting entries of a batch in promotion order - ADMIN, COUNSELLOR and OPERATIONS can view waitlists
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
+    public Page<BatchWaitlistEntryDTO> getWaitlist(UUID batchId, Pageable pageable) {
+        if (!batchRepository.existsById(batchId)) {
+            throw new ResourceNotFoundException("Batch not found with id: " + batchId);
+        }
+        return waitlistRepository.findActiveByBatchId(batchId, pageable).map(this::convertToDTO);
+    }
+    
+    /**
+     * Take a student off a waitlist; a held seat is passed on - Only ADMIN and COUNSELLOR can manage waitlists
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public void cancelEntry(UUID batchId, UUID entryId) {
+        BatchWaitlistEntry entry = waitlistRepository.findById(entryId)
+            .filter(e -> e.getBatch().getId().equals(batchId))
+            .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + entryId));
+        
+        if (!withdraw(entry, WaitlistStatus.CANCELLED)) {
+            throw new BusinessException("Waitlist entry is no longer active", "WAITLIST_ENTRY_NOT_ACTIVE");
+        }
+    }
+    
+    /**
+     * Confirm a seat hold and move the student into the batch - Only ADMIN and COUNSELLOR can confirm holds
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public BatchWaitlistEntryDTO confirmHold(UUID holdToken) {
+        BatchWaitlistEntry entry = findActiveHold(holdToken);
+        if (waitlistRepository.transition(entry.getId(), WaitlistStatus.HELD, WaitlistStatus.PROMOTED) == 0) {
+            throw new BusinessException("Seat hold is no longer active", "HOLD_NOT_ACTIVE");
+        }
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        
+        Batch batch = entry.getBatch();
+        Student student = entry.getStudent();
+        Batch previous = student.getBatch();
+        if (previous != null && previous.getId().equals(batch.getId())) {
+            // Assigned directly while the hold was open; the held seat is not needed
+            releaseSeat(batch);
+        } else {
+            // The seat was taken when the hold was issued, so only the old one is given back
+            if (previous != null) {
+                releaseSeat(previous);
+            }
+            student.setBatch(batch);
+            studentRepository.save(student);
+        }
+        
+        logger.info("Seat hold {} confirmed: student {} moved into batch {}", holdToken, student.getId(), batch.getId());
+        return convertToDTO(entry);
+    }
+    
+    /**
+     * Decline a seat hold; the seat goes to the next student in the queue - Only ADMIN and COUNSELLOR can decline holds
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public void declineHold(UUID holdToken) {
+        BatchWaitlistEntry entry = findActiveHold(holdToken);
+        if (!withdraw(entry, WaitlistStatus.CANCELLED)) {
+            throw new BusinessException("Seat hold is no longer active", "HOLD_NOT_ACTIVE");
+        }
+    }
+    
+    /**
+     * Give a seat back to the batch and promote the next waitlisted student into it
+     */
+    public void releaseSeat(Batch batch) {
+        seatAdmission.release(batch);
+        promoteWaitlisted(batch);
+    }
+    
+    /**
+     * Issue seat holds to waiting students while the batch has free seats.
+     * Returns without a query when the batch's waitlist is empty.
+     */
+    public int promoteWaitlisted(Batch batch) {
+        int promoted = 0;
+        while (batch.getWaitlistCount() != null && batch.getWaitlistCount() > 0) {
+            List<BatchWaitlistEntry> candidates = waitlistRepository.findNextWaiting(batch.getId(), PageRequest.of(0, PROMOTION_LOOKAHEAD));
+            if (candidates.isEmpty()) {
+                // Counter ahead of the table; nothing is actually waiting
+                batch.setWaitlistCount(0);
+                break;
+            }
+            
+            try {
+                seatAdmission.admit(batch);
+            } catch (BatchCapacityExceededException e) {
+                break;
+            }
+            
+            BatchWaitlistEntry holder = null;
+            for (BatchWaitlistEntry candidate : candidates) {
+                if (issueHold(candidate)) {
+                    holder = candidate;
+                    break;
+                }
+            }
+            if (holder == null) {
+                // Every candidate was claimed concurrently; hand the seat back and look again
+                seatAdmission.release(batch);
+                continue;
+            }
+            
+            batchRepository.decrementWaitlist(batch.getId());
+            batch.setWaitlistCount(batch.getWaitlistCount() - 1);
+            promoted++;
+            logger.info("Waitlisted student {} promoted to a seat hold in batch {} until {}",
+                holder.getStudent().getId(), batch.getId(), holder.getHoldExpiresAt());
+        }
+        return promoted;
+    }
+    
+    /**
+     * Withdraw a student from every waitlist before the student is deleted, passing on held seats
+     */
+    public void withdrawStudent(UUID studentId) {
+        for (WaitlistStatus status : List.of(WaitlistStatus.HELD, WaitlistStatus.WAITING)) {
+            for (BatchWaitlistEntry entry : waitlistRepository.findByStudentIdAndStatus(studentId, status)) {
+                withdraw(entry, WaitlistStatus.CANCELLED);
+            }
+        }
+    }
+    
+    /**
+     * Expire seat holds that were neither confirmed nor declined in time and pass the seats on.
+     * Also promotes into batches that have free seats and a waitlist, which covers promotions
+     * missed while a waitlist counter was read stale.
+     */
+    @Scheduled(fixedDelayString = "${app.batch-waitlist.expiry-interval-ms:60000}",
+               initialDelayString = "${app.batch-waitlist.expiry-interval-ms:60000}")
+    public int expireHolds() {
+        int expired = 0;
+        for (BatchWaitlistEntry entry : waitlistRepository.findExpiredHolds(LocalDateTime.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE))) {
+            if (withdraw(entry, WaitlistStatus.EXPIRED)) {
+                expired++;
+            }
+        }
+        
+        int promoted = 0;
+        for (Batch batch : batchRepository.findBatchesWithPromotableWaitlist()) {
+            promoted += promoteWaitlisted(batch);
+        }
+        
+        if (expired > 0 || promoted > 0) {
+            logger.info("Waitlist sweep: {} holds expired, {} students promoted", expired, promoted);
+        }
+        return expired;
+    }
+    
+    /**
+     * Move an active entry to a final status, releasing its seat (and promoting the next entry) if it held one
+     */
+    private boolean withdraw(BatchWaitlistEntry entry, WaitlistStatus to) {
+        Batch batch = entry.getBatch();
+        WaitlistStatus from = entry.getStatus();
+        if (from != WaitlistStatus.WAITING && from != WaitlistStatus.HELD) {
+            return false;
+        }
+        if (waitlistRepository.transition(entry.getId(), from, to) == 0) {
+            return false;
+        }
+        entry.setStatus(to);
+        
+        if (from == WaitlistStatus.HELD) {
+            releaseSeat(batch);
+        } else {
+            batchRepository.decrementWaitlist(batch.getId());
+            batch.setWaitlistCount(Math.max(0, batch.getWaitlistCount() - 1));
+        }
+        return true;
+    }
+    
+    private boolean issueHold(BatchWaitlistEntry entry) {
+        UUID token = UUID.randomUUID();
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(holdTtlMs * 1_000_000L);
+        if (waitlistRepository.hold(entry.getId(), token, expiresAt) == 0) {
+            return false;
+        }
+        entry.setStatus(WaitlistStatus.HELD);
+        entry.setHoldToken(token);
+        entry.setHoldExpiresAt(expiresAt);
+        return true;
+    }
+    
+    private BatchWaitlistEntry findActiveHold(UUID holdToken) {
+        BatchWaitlistEntry entry = waitlistRepository.findByHoldToken(holdToken)
+            .orElseThrow(() -> new ResourceNotFoundException("Seat hold not found: " + holdToken));
+        if (entry.getStatus() != WaitlistStatus.HELD) {
+            throw new BusinessException("Seat hold is no longer active", "HOLD_NOT_ACTIVE");
+        }
+        if (entry.isHoldExpired(LocalDateTime.now())) {
+            throw new BusinessException("Seat hold expired at " + entry.getHoldExpiresAt(), "HOLD_EXPIRED");
+        }
+        return entry;
+    }
+    
+    private BatchWaitlistEntryDTO convertToDTO(BatchWaitlistEntry entry) {
+        BatchWaitlistEntryDTO dto = new BatchWaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setBatchId(entry.getBatch().getId());
+        dto.setPriority(entry.getPriority());
+        dto.setStatus(entry.getStatus());
+        dto.setHoldToken(entry.getHoldToken());
+        dto.setHoldExpiresAt(entry.getHoldExpiresAt());
+        dto.setCreatedDate(entry.getCreatedDate());
+        
+        Student student = entry.getStudent();
+        dto.setStudent(new StudentBasicDTO(student.getId(), student.getEnrollmentNumber(), student.getFirstName(),
+            student.getLastName(), student.getEmail(), student.getStatus(), student.getEnrollmentDate()));
+        return dto;
+    }
+}
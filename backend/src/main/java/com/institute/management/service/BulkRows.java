@@ -0,0 +1,137 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.BulkWriteResponseDTO;
+import com.institute.management.exception.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The rows of one bulk create request and the errors found for each of them.
+ * Rows are checked in memory first; only rows without errors are written, and the response
+ * reports every row by its position in the request.
+ */
+class BulkRows<T> {
+
+    private final List<T> requests;
+    private final Map<Integer, List<String>> errors = new HashMap<>();
+    private final Map<Integer, UUID> createdIds = new HashMap<>();
+
+    BulkRows(List<T> requests, int maxRows) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("At least one row is required");
+        }
+        if (requests.size() > maxRows) {
+            throw new ValidationException("A bulk request may contain at most " + maxRows + " rows");
+        }
+        this.requests = requests;
+    }
+
+    /**
+     * Reject rows that fail their bean validation constraints
+     */
+    void validate(Validator validator) {
+        for (int i = 0; i < requests.size(); i++) {
+            T request = requests.get(i);
+            if (request == null) {
+                reject(i, "Row is empty");
+                continue;
+            }
+            for (ConstraintViolation<T> violation : validator.validate(request)) {
+                reject(i, violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reject rows repeating a unique value of an earlier row in the same request
+     */
+    void rejectRepeated(Function<T, String> key, String label) {
+        Set<String> seen = new HashSet<>();
+        for (int i : validIndexes()) {
+            String value = key.apply(requests.get(i));
+            if (value != null && !seen.add(value)) {
+                reject(i, label + " " + value + " appears more than once in the request");
+            }
+        }
+    }
+
+    /**
+     * Reject rows whose unique value is already stored; existing holds the stored values among the candidates
+     */
+    void rejectExisting(Function<T, String> key, Function<Collection<String>, Collection<String>> existing, String message) {
+        Set<String> candidates = values(key);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(existing.apply(candidates));
+        for (int i : validIndexes()) {
+            String value = key.apply(requests.get(i));
+            if (value != null && taken.contains(value)) {
+                reject(i, String.format(message, value));
+            }
+        }
+    }
+
+    /**
+     * Distinct non-null values of the still valid rows, e.g. the referenced ids to look up in one query
+     */
+    <V> Set<V> values(Function<T, V> key) {
+        Set<V> values = new LinkedHashSet<>();
+        for (int i : validIndexes()) {
+            V value = key.apply(requests.get(i));
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    void reject(int index, String error) {
+        errors.computeIfAbsent(index, i -> new ArrayList<>()).add(error);
+    }
+
+    List<String> errors(int index) {
+        return errors.getOrDefault(index, List.of());
+    }
+
+    boolean isValid(int index) {
+        return !errors.containsKey(index);
+    }
+
+    List<Integer> validIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (isValid(i)) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    T get(int index) {
+        return requests.get(index);
+    }
+
+    void created(int index, UUID id) {
+        createdIds.put(index, id);
+    }
+
+    BulkWriteResponseDTO toResponse() {
+        List<BulkWriteResponseDTO.RowResult> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new BulkWriteResponseDTO.RowResult(i, createdIds.get(i), errors.get(i)));
+        }
+        return new BulkWriteResponseDTO(rows);
+    }
+}
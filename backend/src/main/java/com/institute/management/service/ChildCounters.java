@@ -0,0 +1,239 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Placement;
+import com.institute.management.repository.CompanyRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the denormalized child counts (companies.placement_count, students.placement_count,
+ * courses.batch_count) that the "with / without placements" and "with / without batches" queries
+ * filter on instead of counting the collection per row.
+ *
+ * Every change is a single atomic UPDATE issued in the caller's transaction, so a counter commits
+ * or rolls back together with the row it counts. The columns are not updatable through entity
+ * saves. Company and course counter updates evict only the updated entity from the second-level
+ * cache, so that placement and batch writes leave the rest of the cached reference data in place.
+ * A scheduled job corrects counters that have drifted, e.g. after rows were changed
+ * outside the services.
+ */
+@Component
+public class ChildCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChildCounters.class);
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Count a new placement against its student and company
+     */
+    public void placementAdded(Placement placement) {
+        adjustPlacement(placement.getStudent() != null ? placement.getStudent().getId() : null,
+                        placement.getCompany() != null ? placement.getCompany().getId() : null, 1);
+    }
+
+    /**
+     * Count placements created together (bulk create): one update per distinct student and company
+     */
+    public void placementsAdded(Collection<Placement> placements) {
+        Map<UUID, Integer> students = new HashMap<>();
+        Map<UUID, Integer> companies = new HashMap<>();
+        for (Placement placement : placements) {
+            if (placement.getStudent() != null) {
+                students.merge(placement.getStudent().getId(), 1, Integer::sum);
+            }
+            if (placement.getCompany() != null) {
+                companies.merge(placement.getCompany().getId(), 1, Integer::sum);
+            }
+        }
+        students.forEach(studentRepository::adjustPlacementCount);
+        companies.forEach(this::adjustCompany);
+    }
+
+    /**
+     * Stop counting a placement that is about to be deleted
+     */
+    public void placementRemoved(Placement placement) {
+        adjustPlacement(placement.getStudent() != null ? placement.getStudent().getId() : null,
+                        placement.getCompany() != null ? placement.getCompany().getId() : null, -1);
+    }
+
+    /**
+     * Move a placement's counts after its student or company was reassigned
+     */
+    public void placementMoved(UUID previousStudentId, UUID previousCompanyId, Placement placement) {
+        UUID studentId = placement.getStudent() != null ? placement.getStudent().getId() : null;
+        UUID companyId = placement.getCompany() != null ? placement.getCompany().getId() : null;
+        if (previousStudentId != null && !previousStudentId.equals(studentId)) {
+            adjustPlacement(previousStudentId, null, -1);
+            adjustPlacement(studentId, null, 1);
+        }
+        if (previousCompanyId != null && !previousCompanyId.equals(companyId)) {
+            adjustPlacement(null, previousCompanyId, -1);
+            adjustPlacement(null, companyId, 1);
+        }
+    }
+
+    /**
+     * Uncount the placements of a student that is about to be deleted (they cascade with it)
+     */
+    public void studentRemoved(UUID studentId) {
+        companyRepository.releasePlacementsOfStudent(studentId);
+    }
+
+    /**
+     * Uncount the placements of a company that is about to be deleted (they cascade with it)
+     */
+    public void companyRemoved(UUID companyId) {
+        studentRepository.releasePlacementsAtCompany(companyId);
+    }
+
+    /**
+     * Count a new batch against its course
+     */
+    public void batchAdded(Batch batch) {
+        adjustBatch(batch.getCourse(), 1);
+    }
+
+    /**
+     * Stop counting a batch that is about to be deleted
+     */
+    public void batchRemoved(Batch batch) {
+        adjustBatch(batch.getCourse(), -1);
+    }
+
+    /**
+     * Move a batch's count after it was reassigned to another course
+     */
+    public void batchMoved(UUID previousCourseId, Batch batch) {
+        Course course = batch.getCourse();
+        if (previousCourseId != null && course != null && !previousCourseId.equals(course.getId())) {
+            adjustCourse(previousCourseId, -1);
+            adjustBatch(course, 1);
+        }
+    }
+
+    /**
+     * Correct counters that disagree with the rows they count.
+     * Drift and actual count are read in one statement, and each correction is conditional on the
+     * counter still holding the observed value, so a change committed in between is never overwritten.
+     */
+    @Scheduled(fixedDelayString = "${app.child-counters.repair-interval-ms:3600000}",
+               initialDelayString = "${app.child-counters.repair-interval-ms:3600000}")
+    public synchronized int repair() {
+        Integer corrected = new TransactionTemplate(transactionManager).execute(status -> {
+            int fixed = 0;
+            for (Object[] row : companyRepository.findPlacementCountDrift()) {
+                Drift drift = new Drift(row);
+                if (companyRepository.correctPlacementCount(drift.id, drift.counter, drift.actual) > 0) {
+                    fixed++;
+                    logger.warn("Corrected placement counter of company {} from {} to {}", drift.id, drift.counter, drift.actual);
+                }
+            }
+            for (Object[] row : studentRepository.findPlacementCountDrift()) {
+                Drift drift = new Drift(row);
+                if (studentRepository.correctPlacementCount(drift.id, drift.counter, drift.actual) > 0) {
+                    fixed++;
+                    logger.warn("Corrected placement counter of student {} from {} to {}", drift.id, drift.counter, drift.actual);
+                }
+            }
+            for (Object[] row : courseRepository.findBatchCountDrift()) {
+                Drift drift = new Drift(row);
+                if (courseRepository.correctBatchCount(drift.id, drift.counter, drift.actual) > 0) {
+                    fixed++;
+                    logger.warn("Corrected batch counter of course {} from {} to {}", drift.id, drift.counter, drift.actual);
+                }
+            }
+            return fixed;
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    private void adjustPlacement(UUID studentId, UUID companyId, int delta) {
+        if (studentId != null) {
+            studentRepository.adjustPlacementCount(studentId, delta);
+        }
+        if (companyId != null) {
+            adjustCompany(companyId, delta);
+        }
+    }
+
+    private void adjustBatch(Course course, int delta) {
+        if (course != null && course.getId() != null) {
+            adjustCourse(course.getId(), delta);
+        }
+    }
+
+    private void adjustCompany(UUID companyId, int delta) {
+        companyRepository.adjustPlacementCount(companyId, delta);
+        evict(Company.class, companyId);
+    }
+
+    private void adjustCourse(UUID courseId, int delta) {
+        courseRepository.adjustBatchCount(courseId, delta);
+        evict(Course.class, courseId);
+    }
+
+    /**
+     * Drop one cached entity now and again once the transaction ends, since another session may
+     * cache the committed row before this update commits
+     */
+    private void evict(Class<?> type, UUID id) {
+        entityManagerFactory.getCache().evict(type, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(type, id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Counter value and actual child count observed for one owner row
+     */
+    private static class Drift {
+        private final UUID id;
+        private final int counter;
+        private final int actual;
+
+        Drift(Object[] row) {
+            this.id = (UUID) row[0];
+            this.counter = ((Number) row[1]).intValue();
+            this.actual = ((Number) row[2]).intValue();
+        }
+    }
+}
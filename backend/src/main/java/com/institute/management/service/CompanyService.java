@@ -2,10 +2,12 @@ package com.institute.management.service;
 
 import com.institute.management.dto.*;
 import com.institute.management.entity.Company;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.repository.CompanyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,16 @@ public class CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
     
+    @Autowired
+    private ChildCounters childCounters;
+    
+    @Autowired
+    private StatusCounts statusCounts;
+    
+    /** List pages include the lazily loaded text columns only with ?view=full, unless this is set */
+    @Value("${app.responses.list-text-columns:false}")
+    private boolean listTextColumns;
+    
     /**
      * Create a new company - Only ADMIN and PLACEMENT_OFFICER can create companies
      */
@@ -34,7 +46,8 @@ public class CompanyService {
         }
         
         // Check for duplicate email if provided
-        if (request.getEmail() != null && companyRepository.existsByEmail(request.getEmail())) {
+        if (request.getEmail() != null
+            && companyRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateResourceException("Company with email '" + request.getEmail() + "' already exists");
         }
         
@@ -60,7 +73,8 @@ public class CompanyService {
             .orElseThrow(() -> new ResourceNotFoundException("Company", "id", id));
         
         // Check for duplicate name if changed
-        if (!company.getName().equals(request.getName()) && companyRepository.existsByName(request.getName())) {
+        if (!company.getName().equals(request.getName())
+            && companyRepository.existsByName(request.getName())) {
             throw new DuplicateResourceException("Company with name '" + request.getName() + "' already exists");
         }
         
@@ -87,18 +101,41 @@ public class CompanyService {
      * Get company by ID - ADMIN and PLACEMENT_OFFICER can view companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public CompanyResponseDTO getCompanyById(UUID id) {
+        return getCompanyById(id, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get company by ID with only the requested fields - ADMIN and PLACEMENT_OFFICER can view companies
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
+    public CompanyResponseDTO getCompanyById(UUID id, ResponseShape shape) {
         Company company = companyRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Company", "id", id));
-        return convertToResponseDTO(company);
+        return convertToResponseDTO(company, shape, true);
     }
     
     /**
      * Get all companies with pagination and filtering - ADMIN and PLACEMENT_OFFICER can view companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<CompanyResponseDTO> getAllCompanies(Pageable pageable, Company.CompanyStatus status, 
             String industry, String search, LocalDate partnershipStartDate, LocalDate partnershipEndDate) {
+        return getAllCompanies(pageable, status, industry, search, partnershipStartDate, partnershipEndDate,
+            ResponseShape.defaults());
+    }
+    
+    /**
+     * Get all companies with only the requested fields - ADMIN and PLACEMENT_OFFICER can view companies
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
+    public Page<CompanyResponseDTO> getAllCompanies(Pageable pageable, Company.CompanyStatus status, 
+            String industry, String search, LocalDate partnershipStartDate, LocalDate partnershipEndDate,
+            ResponseShape shape) {
         
         Page<Company> companies;
         
@@ -110,26 +147,33 @@ public class CompanyService {
             companies = companyRepository.findCompaniesWithFilters(status, industry, search, pageable);
         }
         
-        return companies.map(this::convertToResponseDTO);
+        // Placements of the whole page in one query when they are part of the response
+        if (shape.includes("placements") && companies.hasContent()) {
+            companyRepository.findWithPlacementsByIdIn(
+                companies.getContent().stream().map(Company::getId).collect(Collectors.toSet()));
+        }
+        return companies.map(company -> convertToResponseDTO(company, shape, listTextColumns));
     }
     
     /**
      * Get companies by industry - ADMIN and PLACEMENT_OFFICER can view companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<CompanyResponseDTO> getCompaniesByIndustry(String industry, Pageable pageable) {
         Page<Company> companies = companyRepository.findByIndustry(industry, pageable);
-        return companies.map(this::convertToResponseDTO);
+        return companies.map(this::convertToSummaryDTO);
     }
     
     /**
      * Get companies by status - ADMIN and PLACEMENT_OFFICER can view companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getCompaniesByStatus(Company.CompanyStatus status) {
         List<Company> companies = companyRepository.findByStatus(status);
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -154,6 +198,8 @@ public class CompanyService {
         if (!companyRepository.existsById(id)) {
             throw new ResourceNotFoundException("Company", "id", id);
         }
+        // Placements are deleted with the company
+        childCounters.companyRemoved(id);
         companyRepository.deleteById(id);
     }
     
@@ -161,10 +207,11 @@ public class CompanyService {
      * Get active companies - ADMIN and PLACEMENT_OFFICER can view active companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getActiveCompanies() {
         List<Company> companies = companyRepository.findByStatus(Company.CompanyStatus.ACTIVE);
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -172,10 +219,11 @@ public class CompanyService {
      * Get companies with placements - ADMIN and PLACEMENT_OFFICER can view companies with placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getCompaniesWithPlacements() {
         List<Company> companies = companyRepository.findCompaniesWithPlacements();
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -183,10 +231,11 @@ public class CompanyService {
      * Get companies without placements - ADMIN and PLACEMENT_OFFICER can view companies without placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getCompaniesWithoutPlacements() {
         List<Company> companies = companyRepository.findCompaniesWithoutPlacements();
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -194,11 +243,12 @@ public class CompanyService {
      * Get recent partners - ADMIN and PLACEMENT_OFFICER can view recent partners
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getRecentPartners(int months) {
         LocalDate cutoffDate = LocalDate.now().minusMonths(months);
         List<Company> companies = companyRepository.findRecentPartners(cutoffDate);
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -206,11 +256,12 @@ public class CompanyService {
      * Get long-term partners - ADMIN and PLACEMENT_OFFICER can view long-term partners
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getLongTermPartners(int years) {
         LocalDate cutoffDate = LocalDate.now().minusYears(years);
         List<Company> companies = companyRepository.findLongTermPartners(cutoffDate);
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -218,11 +269,12 @@ public class CompanyService {
      * Get active hiring companies - ADMIN and PLACEMENT_OFFICER can view active hiring companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<CompanyResponseDTO> getActiveHiringCompanies(int months) {
         LocalDate cutoffDate = LocalDate.now().minusMonths(months);
         List<Company> companies = companyRepository.findActiveHiringCompanies(cutoffDate);
         return companies.stream()
-            .map(this::convertToResponseDTO)
+            .map(this::convertToSummaryDTO)
             .collect(Collectors.toList());
     }
     
@@ -230,6 +282,7 @@ public class CompanyService {
      * Get top hiring companies - ADMIN and PLACEMENT_OFFICER can view top hiring companies
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getTopHiringCompanies(LocalDate startDate, LocalDate endDate, int limit) {
         List<Object[]> topHiring = companyRepository.findTopHiringCompaniesByPeriod(startDate, endDate);
         return topHiring.stream()
@@ -250,18 +303,15 @@ public class CompanyService {
      * Get company statistics - ADMIN and PLACEMENT_OFFICER can view company statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Map<String, Object> getCompanyStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        long totalCompanies = companyRepository.count();
-        long activeCompanies = companyRepository.countByStatus(Company.CompanyStatus.ACTIVE);
-        long inactiveCompanies = companyRepository.countByStatus(Company.CompanyStatus.INACTIVE);
-        long blacklistedCompanies = companyRepository.countByStatus(Company.CompanyStatus.BLACKLISTED);
-        
-        stats.put("totalCompanies", totalCompanies);
-        stats.put("activeCompanies", activeCompanies);
-        stats.put("inactiveCompanies", inactiveCompanies);
-        stats.put("blacklistedCompanies", blacklistedCompanies);
+        Map<Company.CompanyStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.COMPANY, Company.CompanyStatus.class);
+        stats.put("totalCompanies", StatusCounts.total(counts));
+        stats.put("activeCompanies", counts.get(Company.CompanyStatus.ACTIVE));
+        stats.put("inactiveCompanies", counts.get(Company.CompanyStatus.INACTIVE));
+        stats.put("blacklistedCompanies", counts.get(Company.CompanyStatus.BLACKLISTED));
         
         long distinctIndustries = companyRepository.countDistinctIndustries();
         stats.put("distinctIndustries", distinctIndustries);
@@ -273,6 +323,7 @@ public class CompanyService {
      * Get industry distribution - ADMIN and PLACEMENT_OFFICER can view industry distribution
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getIndustryDistribution() {
         List<Object[]> distribution = companyRepository.countByIndustry();
         return distribution.stream()
@@ -289,6 +340,7 @@ public class CompanyService {
      * Get partnership trends - ADMIN and PLACEMENT_OFFICER can view partnership trends
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getPartnershipTrends(LocalDate startDate, LocalDate endDate) {
         List<Object[]> trends = companyRepository.getPartnershipTrends(startDate, endDate);
         return trends.stream()
@@ -305,6 +357,7 @@ public class CompanyService {
      * Get companies by salary offered - ADMIN and PLACEMENT_OFFICER can view companies by salary
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getCompaniesBySalaryOffered(int minPlacements) {
         List<Object[]> salaryRanking = companyRepository.findCompaniesBySalaryOffered(minPlacements);
         return salaryRanking.stream()
@@ -325,21 +378,41 @@ public class CompanyService {
      * Convert Company entity to CompanyResponseDTO
      */
     private CompanyResponseDTO convertToResponseDTO(Company company) {
+        return convertToResponseDTO(company, true);
+    }
+    
+    /**
+     * Convert Company entity to a list-page CompanyResponseDTO; the lazily loaded address is left out
+     */
+    private CompanyResponseDTO convertToSummaryDTO(Company company) {
+        return convertToResponseDTO(company, listTextColumns);
+    }
+    
+    private CompanyResponseDTO convertToResponseDTO(Company company, boolean includeText) {
+        return convertToResponseDTO(company, ResponseShape.defaults(), includeText);
+    }
+    
+    /**
+     * Convert only the fields in the shape; placements are not touched, so never loaded, unless included
+     */
+    private CompanyResponseDTO convertToResponseDTO(Company company, ResponseShape shape, boolean includeText) {
         CompanyResponseDTO dto = new CompanyResponseDTO();
         dto.setId(company.getId());
-        dto.setName(company.getName());
-        dto.setIndustry(company.getIndustry());
-        dto.setContactPerson(company.getContactPerson());
-        dto.setEmail(company.getEmail());
-        dto.setPhone(company.getPhone());
-        dto.setAddress(company.getAddress());
-        dto.setPartnershipDate(company.getPartnershipDate());
-        dto.setStatus(company.getStatus());
-        dto.setCreatedDate(company.getCreatedDate());
-        dto.setUpdatedDate(company.getUpdatedDate());
+        shape.put("name", company::getName, dto::setName);
+        shape.put("industry", company::getIndustry, dto::setIndustry);
+        shape.put("contactPerson", company::getContactPerson, dto::setContactPerson);
+        shape.put("email", company::getEmail, dto::setEmail);
+        shape.put("phone", company::getPhone, dto::setPhone);
+        if (shape.includes("address", includeText)) {
+            dto.setAddress(company.getAddress());
+        }
+        shape.put("partnershipDate", company::getPartnershipDate, dto::setPartnershipDate);
+        shape.put("status", company::getStatus, dto::setStatus);
+        shape.put("createdDate", company::getCreatedDate, dto::setCreatedDate);
+        shape.put("updatedDate", company::getUpdatedDate, dto::setUpdatedDate);
         
         // Convert placements to basic DTOs if needed
-        if (company.getPlacements() != null && !company.getPlacements().isEmpty()) {
+        if (shape.includes("placements") && company.getPlacements() != null && !company.getPlacements().isEmpty()) {
             List<PlacementBasicDTO> placementDTOs = company.getPlacements().stream()
                 .map(placement -> {
                     PlacementBasicDTO placementDTO = new PlacementBasicDTO();
@@ -4,6 +4,7 @@ import com.institute.management.dto.CourseStatisticsDTO;
 import com.institute.management.dto.CourseRevenueDTO;
 import com.institute.management.dto.CourseEnrollmentStatsDTO;
 import com.institute.management.entity.Course;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.ValidationException;
 import com.institute.management.repository.CourseRepository;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,6 +29,9 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private StatusCounts statusCounts;
+    
     /**
      * Create a new course - Only ADMIN and OPERATIONS can create courses
      */
@@ -58,6 +63,7 @@ public class CourseService {
      * Get course by ID - All authenticated users can view courses
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(UUID id) {
         return courseRepository.findById(id);
     }
@@ -66,6 +72,7 @@ public class CourseService {
      * Get all courses with pagination - All authenticated users can view courses
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<Course> getAllCourses(Pageable pageable) {
         return courseRepository.findAll(pageable);
     }
@@ -74,6 +81,7 @@ public class CourseService {
      * Get courses by status - All authenticated users can view courses by status
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByStatus(Course.CourseStatus status) {
         return courseRepository.findByStatus(status);
     }
@@ -115,6 +123,7 @@ public class CourseService {
      * Get active courses - All authenticated users can view active courses
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Course> getActiveCourses() {
         return courseRepository.findByStatus(Course.CourseStatus.ACTIVE);
     }
@@ -123,6 +132,7 @@ public class CourseService {
      * Search courses by name - All authenticated users can search courses
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<Course> searchCoursesByName(String name, Pageable pageable) {
         return courseRepository.findCoursesWithFilters(null, null, null, null, null, name, pageable);
     }
@@ -131,6 +141,7 @@ public class CourseService {
      * Get courses with filters - All authenticated users can view courses
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<Course> getCoursesWithFilters(Course.CourseStatus status, Integer minDuration, Integer maxDuration,
                                             BigDecimal minFees, BigDecimal maxFees, String searchTerm, Pageable pageable) {
         return courseRepository.findCoursesWithFilters(status, minDuration, maxDuration, minFees, maxFees, searchTerm, pageable);
@@ -140,13 +151,15 @@ public class CourseService {
      * Get course statistics - ADMIN and OPERATIONS can view statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public CourseStatisticsDTO getCourseStatistics() {
         CourseStatisticsDTO stats = new CourseStatisticsDTO();
         
-        stats.setTotalCourses(courseRepository.count());
-        stats.setActiveCourses(courseRepository.countByStatus(Course.CourseStatus.ACTIVE));
-        stats.setInactiveCourses(courseRepository.countByStatus(Course.CourseStatus.INACTIVE));
-        stats.setArchivedCourses(courseRepository.countByStatus(Course.CourseStatus.ARCHIVED));
+        Map<Course.CourseStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.COURSE, Course.CourseStatus.class);
+        stats.setTotalCourses(StatusCounts.total(counts));
+        stats.setActiveCourses(counts.get(Course.CourseStatus.ACTIVE));
+        stats.setInactiveCourses(counts.get(Course.CourseStatus.INACTIVE));
+        stats.setArchivedCourses(counts.get(Course.CourseStatus.ARCHIVED));
         
         Double avgDuration = courseRepository.getAverageDuration();
         stats.setAverageDuration(avgDuration != null ? avgDuration : 0.0);
@@ -168,6 +181,7 @@ public class CourseService {
      * Get course revenue report - ADMIN and OPERATIONS can view reports
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<CourseRevenueDTO> getCourseRevenueReport() {
         List<Object[]> results = courseRepository.getCourseRevenueReport();
         
@@ -188,6 +202,7 @@ public class CourseService {
      * Get course enrollment statistics - ADMIN and OPERATIONS can view statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<CourseEnrollmentStatsDTO> getCourseEnrollmentStats() {
         List<Object[]> results = courseRepository.getCourseEnrollmentStats();
         
@@ -208,6 +223,7 @@ public class CourseService {
      * Get courses by fee range - All authenticated users can view courses by fee range
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByFeeRange(BigDecimal minFees, BigDecimal maxFees) {
         return courseRepository.findByFeesBetween(minFees, maxFees);
     }
@@ -216,6 +232,7 @@ public class CourseService {
      * Get courses by duration range - All authenticated users can view courses by duration range
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS') or hasRole('FACULTY') or hasRole('COUNSELLOR') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByDurationRange(Integer minDuration, Integer maxDuration) {
         return courseRepository.findByDurationMonthsBetween(minDuration, maxDuration);
     }
@@ -0,0 +1,104 @@
+package com.institute.management.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so a file of any size is parsed in constant memory.
+ * Quoted fields may contain commas, doubled quotes and line breaks; a leading byte order mark and
+ * blank lines are skipped.
+ */
+class CsvReader implements Closeable {
+
+    private final Reader reader;
+    private boolean started;
+    private int pushedBack = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The fields of the next record, or null at the end of the input
+     */
+    List<String> next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') {
+                pushedBack = first;
+            }
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                int after = read();
+                if (after == '"') {
+                    field.append('"');
+                    continue;
+                }
+                quoted = false;
+                if (after == -1) {
+                    break;
+                }
+                c = after;
+            }
+
+            if (c == '"' && field.length() == 0) {
+                quoted = true;
+                sawAnything = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                sawAnything = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int after = read();
+                    if (after != '\n') {
+                        pushedBack = after;
+                    }
+                }
+                if (sawAnything || field.length() > 0) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                // Blank line
+            } else {
+                field.append((char) c);
+                sawAnything = true;
+            }
+        }
+
+        if (!sawAnything && field.length() == 0) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
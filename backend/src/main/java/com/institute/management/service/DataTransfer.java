@@ -0,0 +1,413 @@
+package com.institute.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Dumps and loads the whole schema over the PostgreSQL COPY protocol, for seeding a database or
+ * moving a previous system's data in without going through JPA.
+ *
+ * A dump writes one file per table (binary or CSV) and a manifest with each table's columns and row
+ * count, all read from one snapshot. A load copies the files back in dependency order inside one
+ * transaction and verifies that every table grew by exactly the dumped row count, rolling back
+ * otherwise. Optionally the secondary indexes are dropped before and rebuilt after the load, and
+ * triggers and foreign key checks are switched off (session_replication_role, needs a superuser).
+ *
+ * Runs as a command-line profile and exits when done, e.g.
+ * java -jar management-system.jar --spring.profiles.active=data-transfer --app.data-transfer.mode=load --app.data-transfer.dir=/data/old-system
+ */
+@Component
+@Profile("data-transfer")
+public class DataTransfer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataTransfer.class);
+
+    private static final String MANIFEST = "manifest.json";
+
+    // Referenced tables before the tables referencing them (several lead references are checked by triggers, see V9)
+    private static final List<String> LOAD_ORDER = List.of(
+        "courses", "companies", "employees", "users", "batches",
+        "leads", "lead_emails", "lead_follow_ups", "lead_blocking_keys",
+        "students", "student_status_history", "batch_waitlist", "placements",
+        "enrollment_sequences", "status_counts",
+        "leads_archive", "students_archive", "student_status_history_archive", "placements_archive",
+        "lead_imports");
+
+    // Filled by a trigger on leads; loaded only while triggers are off
+    private static final Set<String> DERIVED_TABLES = Set.of("lead_emails");
+
+    private static final Set<String> SKIPPED_TABLES = Set.of("flyway_schema_history");
+
+    private static final Pattern RANGE_KEY = Pattern.compile("RANGE \\((\\w+)\\)");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    /** dump or load */
+    @Value("${app.data-transfer.mode:}")
+    private String mode;
+
+    @Value("${app.data-transfer.dir:data-transfer}")
+    private String directory;
+
+    /** binary (fast, needs identical column types on both sides) or csv */
+    @Value("${app.data-transfer.format:binary}")
+    private String format;
+
+    /** Tables to transfer; all when empty */
+    @Value("${app.data-transfer.tables:}")
+    private List<String> tables = List.of();
+
+    @Value("${app.data-transfer.rebuild-indexes:false}")
+    private boolean rebuildIndexes;
+
+    @Value("${app.data-transfer.disable-triggers:false}")
+    private boolean disableTriggers;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            Path path = Paths.get(directory);
+            switch (mode.toLowerCase(Locale.ROOT)) {
+                case "dump" -> dump(path, Format.valueOf(format.toUpperCase(Locale.ROOT)), tables);
+                case "load" -> load(path, tables, rebuildIndexes, disableTriggers);
+                default -> throw new IllegalArgumentException("app.data-transfer.mode must be dump or load, was '" + mode + "'");
+            }
+        } catch (Exception e) {
+            logger.error("Data transfer failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    /**
+     * Copy the tables (all when empty) to files in the directory, from one consistent snapshot
+     */
+    public Manifest dump(Path directory, Format format, Collection<String> tables) throws SQLException, IOException {
+        Files.createDirectories(directory);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            List<TableDump> dumps = new ArrayList<>();
+            for (String table : select(existingTables(connection), tables)) {
+                List<String> columns = columns(connection, table);
+                String file = table + format.extension;
+                long rows;
+                long started = System.currentTimeMillis();
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(directory.resolve(file)), 1 << 16)) {
+                    // A query rather than the table name: COPY TO cannot read a partitioned table directly
+                    rows = copy.copyOut("COPY (SELECT " + columnList(columns) + " FROM " + quote(table) + ") TO STDOUT " + format.options, out);
+                }
+                PartitionRange range = partitionRange(connection, table);
+                dumps.add(new TableDump(table, file, columns, rows, range));
+                logger.info("Dumped {} rows of {} in {} ms", rows, table, System.currentTimeMillis() - started);
+            }
+            connection.commit();
+
+            Manifest manifest = new Manifest(format, LocalDateTime.now(), dumps);
+            MAPPER.writeValue(directory.resolve(MANIFEST).toFile(), manifest);
+            return manifest;
+        }
+    }
+
+    /**
+     * Copy the dumped tables (all when empty) in dependency order and verify the row counts; returns
+     * the rows loaded per table. Nothing is kept unless every table verifies.
+     */
+    public Map<String, Long> load(Path directory, Collection<String> tables, boolean rebuildIndexes, boolean disableTriggers)
+            throws SQLException, IOException {
+        Manifest manifest = MAPPER.readValue(directory.resolve(MANIFEST).toFile(), Manifest.class);
+        Map<String, TableDump> dumps = manifest.tables().stream()
+            .collect(Collectors.toMap(TableDump::table, dump -> dump, (a, b) -> a, LinkedHashMap::new));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            List<String> order;
+            Map<String, Long> loaded = new LinkedHashMap<>();
+            try {
+                Set<String> existing = Set.copyOf(existingTables(connection));
+                for (String table : dumps.keySet()) {
+                    if (!existing.contains(table)) {
+                        throw new IllegalStateException("Dumped table " + table + " does not exist in the target schema");
+                    }
+                }
+                if (disableTriggers) {
+                    execute(connection, "SET LOCAL session_replication_role = replica");
+                }
+
+                order = select(new ArrayList<>(dumps.keySet()), tables).stream()
+                    .filter(table -> disableTriggers || !DERIVED_TABLES.contains(table))
+                    .toList();
+                Map<String, Long> before = new LinkedHashMap<>();
+                for (String table : order) {
+                    before.put(table, count(connection, table));
+                }
+                List<String> dropped = rebuildIndexes ? dropIndexes(connection, order) : List.of();
+
+                CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                for (String table : order) {
+                    TableDump dump = dumps.get(table);
+                    if (dump.partitionRange() != null) {
+                        createPartitions(connection, table, dump.partitionRange());
+                    }
+                    long started = System.currentTimeMillis();
+                    try (InputStream in = new BufferedInputStream(Files.newInputStream(directory.resolve(dump.file())), 1 << 16)) {
+                        loaded.put(table, copy.copyIn("COPY " + quote(table) + " (" + columnList(dump.columns()) + ") FROM STDIN "
+                            + manifest.format().options, in));
+                    }
+                    logger.info("Loaded {} rows into {} in {} ms", loaded.get(table), table, System.currentTimeMillis() - started);
+                }
+
+                for (String definition : dropped) {
+                    execute(connection, definition);
+                }
+                if (!dropped.isEmpty()) {
+                    logger.info("Rebuilt {} indexes", dropped.size());
+                }
+
+                for (String table : order) {
+                    long expected = before.get(table) + dumps.get(table).rows();
+                    long actual = count(connection, table);
+                    if (loaded.get(table) != dumps.get(table).rows() || actual != expected) {
+                        throw new IllegalStateException("Row count of " + table + " is " + actual + " after loading "
+                            + loaded.get(table) + " rows, expected " + expected);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            // Fresh statistics, so the first queries on the loaded tables are planned well
+            connection.setAutoCommit(true);
+            for (String table : order) {
+                execute(connection, "ANALYZE " + quote(table));
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * The requested tables (all given ones when none are requested) in load order
+     */
+    private static List<String> select(List<String> available, Collection<String> requested) {
+        List<String> selected = new ArrayList<>();
+        for (String table : available) {
+            if (requested == null || requested.isEmpty() || requested.contains(table)) {
+                selected.add(table);
+            }
+        }
+        if (requested != null) {
+            for (String table : requested) {
+                if (!available.contains(table)) {
+                    throw new IllegalArgumentException("Unknown table " + table);
+                }
+            }
+        }
+        // Tables missing from LOAD_ORDER (added by a later migration) go last
+        selected.sort(Comparator.comparingInt((String table) -> LOAD_ORDER.contains(table) ? LOAD_ORDER.indexOf(table) : LOAD_ORDER.size())
+            .thenComparing(Comparator.naturalOrder()));
+        return selected;
+    }
+
+    /**
+     * Tables of the current schema, with partitioned tables as a whole rather than their partitions
+     */
+    private static List<String> existingTables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                 "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                 "WHERE n.nspname = current_schema() AND c.relkind IN ('r', 'p') AND NOT c.relispartition")) {
+            while (result.next()) {
+                if (!SKIPPED_TABLES.contains(result.getString(1))) {
+                    tables.add(result.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static List<String> columns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                 "SELECT attname FROM pg_attribute WHERE attrelid = to_regclass(?) AND attnum > 0 " +
+                 "AND NOT attisdropped AND attgenerated = '' ORDER BY attnum")) {
+            statement.setString(1, quote(table));
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    columns.add(result.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Months spanned by a range-partitioned table's rows, so the load can create their partitions
+     * first instead of filling the default partition
+     */
+    private static PartitionRange partitionRange(Connection connection, String table) throws SQLException {
+        String key;
+        try (PreparedStatement statement = connection.prepareStatement(
+                 "SELECT pg_get_partkeydef(to_regclass(?)::oid)")) {
+            statement.setString(1, quote(table));
+            try (ResultSet result = statement.executeQuery()) {
+                Matcher matcher = result.next() && result.getString(1) != null ? RANGE_KEY.matcher(result.getString(1)) : null;
+                if (matcher == null || !matcher.matches()) {
+                    return null;
+                }
+                key = matcher.group(1);
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                 "SELECT MIN(" + quote(key) + ")::DATE, MAX(" + quote(key) + ")::DATE FROM " + quote(table))) {
+            result.next();
+            Date first = result.getDate(1);
+            return first == null ? null : new PartitionRange(first.toLocalDate(), result.getDate(2).toLocalDate());
+        }
+    }
+
+    private static void createPartitions(Connection connection, String table, PartitionRange range) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT create_monthly_partitions(?, ?, ?)")) {
+            statement.setString(1, table);
+            statement.setDate(2, Date.valueOf(range.first()));
+            statement.setDate(3, Date.valueOf(range.last()));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                if (result.getInt(1) > 0) {
+                    logger.info("Created {} monthly partitions of {}", result.getInt(1), table);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the indexes of the tables that do not back a constraint; returns their definitions
+     */
+    private static List<String> dropIndexes(Connection connection, List<String> tables) throws SQLException {
+        List<String> names = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                 "SELECT quote_ident(n.nspname) || '.' || quote_ident(ic.relname), pg_get_indexdef(i.indexrelid) " +
+                 "FROM pg_index i JOIN pg_class t ON t.oid = i.indrelid JOIN pg_class ic ON ic.oid = i.indexrelid " +
+                 "JOIN pg_namespace n ON n.oid = t.relnamespace " +
+                 "WHERE n.nspname = current_schema() AND t.relname = ANY(?) " +
+                 "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)")) {
+            statement.setArray(1, connection.createArrayOf("text", tables.toArray()));
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    names.add(result.getString(1));
+                    definitions.add(result.getString(2));
+                }
+            }
+        }
+        for (String name : names) {
+            execute(connection, "DROP INDEX " + name);
+        }
+        return definitions;
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + quote(table))) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String columnList(List<String> columns) {
+        return columns.stream().map(DataTransfer::quote).collect(Collectors.joining(", "));
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    public enum Format {
+        BINARY(".bin", "(FORMAT binary)"),
+        CSV(".csv", "(FORMAT csv, HEADER true)");
+
+        private final String extension;
+        private final String options;
+
+        Format(String extension, String options) {
+            this.extension = extension;
+            this.options = options;
+        }
+    }
+
+    /**
+     * What a dump holds: the format and, per table in load order, its file, columns and row count
+     */
+    public record Manifest(Format format, LocalDateTime createdAt, List<TableDump> tables) {
+    }
+
+    public record TableDump(String table, String file, List<String> columns, long rows, PartitionRange partitionRange) {
+    }
+
+    public record PartitionRange(LocalDate first, LocalDate last) {
+    }
+}
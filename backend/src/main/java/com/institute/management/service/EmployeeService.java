@@ -2,6 +2,7 @@ package com.institute.management.service;
 
 import com.institute.management.dto.*;
 import com.institute.management.entity.Employee;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.ValidationException;
@@ -14,7 +15,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,21 +29,28 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired
+    private UniquenessGuard uniquenessGuard;
+    
+    @Autowired
+    private StatusCounts statusCounts;
+    
     /**
      * Create a new employee - Only ADMIN can create employees
      */
     @PreAuthorize("hasRole('ADMIN')")
     public EmployeeResponseDTO createEmployee(EmployeeCreateRequestDTO request) {
         // Validate unique constraints
-        if (employeeRepository.existsByEmployeeCode(request.getEmployeeCode())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Key.EMPLOYEE_CODE, request.getEmployeeCode(), employeeRepository::existsByEmployeeCode)) {
             throw new DuplicateResourceException("Employee with code " + request.getEmployeeCode() + " already exists");
         }
         
-        if (employeeRepository.existsByEmail(request.getEmail())) {
+        if (uniquenessGuard.exists(UniquenessGuard.Key.EMPLOYEE_EMAIL, request.getEmail(), employeeRepository::existsByEmail)) {
             throw new DuplicateResourceException("Employee with email " + request.getEmail() + " already exists");
         }
         
-        if (request.getPhone() != null && employeeRepository.existsByPhone(request.getPhone())) {
+        if (request.getPhone() != null
+            && employeeRepository.existsByPhone(request.getPhone())) {
             throw new DuplicateResourceException("Employee with phone " + request.getPhone() + " already exists");
         }
         
@@ -60,6 +70,7 @@ public class EmployeeService {
         employee.setStatus(Employee.EmployeeStatus.ACTIVE);
         
         Employee savedEmployee = employeeRepository.save(employee);
+        recordUniqueKeys(savedEmployee);
         return convertToResponseDTO(savedEmployee);
     }
     
@@ -73,12 +84,12 @@ public class EmployeeService {
         
         // Validate unique constraints (excluding current employee)
         if (!employee.getEmployeeCode().equals(request.getEmployeeCode()) && 
-            employeeRepository.existsByEmployeeCode(request.getEmployeeCode())) {
+            uniquenessGuard.exists(UniquenessGuard.Key.EMPLOYEE_CODE, request.getEmployeeCode(), employeeRepository::existsByEmployeeCode)) {
             throw new DuplicateResourceException("Employee with code " + request.getEmployeeCode() + " already exists");
         }
         
         if (!employee.getEmail().equals(request.getEmail()) && 
-            employeeRepository.existsByEmail(request.getEmail())) {
+            uniquenessGuard.exists(UniquenessGuard.Key.EMPLOYEE_EMAIL, request.getEmail(), employeeRepository::existsByEmail)) {
             throw new DuplicateResourceException("Employee with email " + request.getEmail() + " already exists");
         }
         
@@ -102,6 +113,7 @@ public class EmployeeService {
         employee.setStatus(request.getStatus());
         
         Employee savedEmployee = employeeRepository.save(employee);
+        recordUniqueKeys(savedEmployee);
         return convertToResponseDTO(savedEmployee);
     }
     
@@ -109,6 +121,7 @@ public class EmployeeService {
      * Get employee by ID - All authenticated users can view employee details (read-only for non-admin)
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public EmployeeResponseDTO getEmployeeById(UUID id) {
         Employee employee = employeeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
@@ -118,6 +131,7 @@ public class EmployeeService {
     /**
      * Get employee entity by ID - Internal use for other services
      */
+    @Transactional(readOnly = true)
     public Optional<Employee> getEmployeeEntityById(UUID id) {
         return employeeRepository.findById(id);
     }
@@ -126,6 +140,7 @@ public class EmployeeService {
      * Get all employees with pagination and filtering - All authenticated users can view employees (read-only for non-admin)
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public Page<EmployeeResponseDTO> getAllEmployees(Pageable pageable, Employee.EmployeeStatus status, 
                                                     Employee.EmployeeRole role, String department, String searchTerm) {
         Page<Employee> employees = employeeRepository.findEmployeesWithFilters(status, role, department, searchTerm, pageable);
@@ -136,6 +151,7 @@ public class EmployeeService {
      * Get employees by role - All authenticated users can view employees by role
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getEmployeesByRole(Employee.EmployeeRole role) {
         List<Employee> employees = employeeRepository.findByRole(role);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -145,6 +161,7 @@ public class EmployeeService {
      * Get employees by department - All authenticated users can view employees by department
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getEmployeesByDepartment(String department) {
         List<Employee> employees = employeeRepository.findByDepartment(department);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -154,6 +171,7 @@ public class EmployeeService {
      * Get employees by status - All authenticated users can view employees by status
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getEmployeesByStatus(Employee.EmployeeStatus status) {
         List<Employee> employees = employeeRepository.findByStatus(status);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -216,6 +234,7 @@ public class EmployeeService {
      * Get active employees - All authenticated users can view active employees
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getActiveEmployees() {
         List<Employee> employees = employeeRepository.findByStatus(Employee.EmployeeStatus.ACTIVE);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -225,6 +244,7 @@ public class EmployeeService {
      * Get counsellors - All authenticated users can view counsellors
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getCounsellors() {
         List<Employee> employees = employeeRepository.findByRoleAndStatus(Employee.EmployeeRole.COUNSELLOR, Employee.EmployeeStatus.ACTIVE);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -234,6 +254,7 @@ public class EmployeeService {
      * Get faculty members - All authenticated users can view faculty
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getFaculty() {
         List<Employee> employees = employeeRepository.findByRoleAndStatus(Employee.EmployeeRole.FACULTY, Employee.EmployeeStatus.ACTIVE);
         return employees.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
@@ -243,6 +264,7 @@ public class EmployeeService {
      * Get employees by role and department - All authenticated users can view employees
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public Page<EmployeeResponseDTO> getEmployeesByRoleAndDepartment(Employee.EmployeeRole role, String department, Pageable pageable) {
         Page<Employee> employees = employeeRepository.findEmployeesWithFilters(Employee.EmployeeStatus.ACTIVE, role, department, null, pageable);
         return employees.map(this::convertToResponseDTO);
@@ -252,6 +274,7 @@ public class EmployeeService {
      * Search employees by term - All authenticated users can search employees
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public Page<EmployeeResponseDTO> searchEmployees(String searchTerm, Pageable pageable) {
         Page<Employee> employees = employeeRepository.findEmployeesWithFilters(null, null, null, searchTerm, pageable);
         return employees.map(this::convertToResponseDTO);
@@ -261,11 +284,29 @@ public class EmployeeService {
      * Get employees hired in date range - All authenticated users can view employees
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY') or hasRole('PLACEMENT_OFFICER') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
     public Page<EmployeeResponseDTO> getEmployeesHiredInDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         Page<Employee> employees = employeeRepository.findByHireDateBetween(startDate, endDate, pageable);
         return employees.map(this::convertToResponseDTO);
     }
     
+    /**
+     * Get employee statistics - ADMIN and OPERATIONS can view employee statistics
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATIONS')")
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEmployeeStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        
+        Map<Employee.EmployeeStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.EMPLOYEE, Employee.EmployeeStatus.class);
+        stats.put("totalEmployees", StatusCounts.total(counts));
+        stats.put("activeEmployees", counts.get(Employee.EmployeeStatus.ACTIVE));
+        stats.put("inactiveEmployees", counts.get(Employee.EmployeeStatus.INACTIVE));
+        stats.put("terminatedEmployees", counts.get(Employee.EmployeeStatus.TERMINATED));
+        
+        return stats;
+    }
+    
     // Helper methods
     
     /**
@@ -336,6 +377,14 @@ public class EmployeeService {
         return dto;
     }
     
+    /**
+     * Keep the in-memory duplicate filters in step with the stored code and email
+     */
+    private void recordUniqueKeys(Employee employee) {
+        uniquenessGuard.record(UniquenessGuard.Key.EMPLOYEE_CODE, employee.getEmployeeCode());
+        uniquenessGuard.record(UniquenessGuard.Key.EMPLOYEE_EMAIL, employee.getEmail());
+    }
+    
     /**
      * Validate employee role
      */
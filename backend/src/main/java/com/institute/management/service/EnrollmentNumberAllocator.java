@@ -0,0 +1,191 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.EnrollmentSequence;
+import com.institute.management.exception.BusinessException;
+import com.institute.management.repository.EnrollmentSequenceRepository;
+import com.institute.management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out enrollment numbers from blocks reserved in the enrollment_sequences table (hi-lo).
+ *
+ * Each reservation advances the prefix's counter row by a whole block in its own short
+ * transaction, so nodes never hand out the same number and most allocations are served from
+ * memory. Numbers left in a block when a node stops are skipped, so the sequence can have gaps.
+ *
+ * The lock guarding the blocks in memory is never held during a reservation: the reservation
+ * needs a connection of its own, and callers waiting for the lock may each hold one already.
+ * Threads that find no numbers left reserve concurrently and keep what they do not use.
+ */
+@Component
+public class EnrollmentNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentNumberAllocator.class);
+
+    private static final Pattern DATE_TOKEN = Pattern.compile("\\{(yyyy|yy|MM)}");
+    private static final int MAX_LENGTH = 20;
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    @Autowired
+    private EnrollmentSequenceRepository sequenceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Prefix pattern; {yyyy}, {yy} and {MM} are replaced from the current date, and each distinct prefix has its own sequence */
+    @Value("${app.enrollment-number.prefix:ENR{yyyy}}")
+    private String prefixPattern = "ENR{yyyy}";
+
+    @Value("${app.enrollment-number.min-digits:4}")
+    private int minDigits = 4;
+
+    @Value("${app.enrollment-number.block-size:50}")
+    private int blockSize = 50;
+
+    /** Reserved blocks not used up yet, per prefix; guarded by itself */
+    private final Map<String, Deque<Block>> blocks = new HashMap<>();
+
+    /**
+     * Allocate the next enrollment number
+     */
+    public String next() {
+        return nextBatch(1).get(0);
+    }
+
+    /**
+     * Allocate several enrollment numbers at once, e.g. for a batch import.
+     * Whatever the current block cannot cover is reserved from the database in a single step.
+     */
+    public List<String> nextBatch(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+
+        String prefix = resolvePrefix(LocalDate.now());
+        List<String> numbers = new ArrayList<>(count);
+        synchronized (blocks) {
+            // Blocks for earlier periods (e.g. last year's prefix) are no longer needed
+            blocks.keySet().removeIf(key -> !key.equals(prefix));
+            take(prefix, blocks.computeIfAbsent(prefix, key -> new ArrayDeque<>()), numbers, count);
+        }
+
+        if (numbers.size() < count) {
+            Block reserved = reserve(prefix, Math.max(blockSize, count - numbers.size()));
+            synchronized (blocks) {
+                Deque<Block> available = blocks.computeIfAbsent(prefix, key -> new ArrayDeque<>());
+                available.addLast(reserved);
+                take(prefix, available, numbers, count);
+            }
+        }
+        return numbers;
+    }
+
+    private void take(String prefix, Deque<Block> available, List<String> numbers, int count) {
+        while (numbers.size() < count && !available.isEmpty()) {
+            Block block = available.peekFirst();
+            if (block.isExhausted()) {
+                available.removeFirst();
+            } else {
+                numbers.add(format(prefix, block.next++));
+            }
+        }
+    }
+
+    String resolvePrefix(LocalDate date) {
+        Matcher matcher = DATE_TOKEN.matcher(prefixPattern);
+        StringBuilder prefix = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(prefix, date.format(DateTimeFormatter.ofPattern(matcher.group(1))));
+        }
+        matcher.appendTail(prefix);
+        return prefix.toString();
+    }
+
+    private String format(String prefix, long value) {
+        String number = prefix + String.format("%0" + minDigits + "d", value);
+        if (number.length() > MAX_LENGTH) {
+            throw new BusinessException("Enrollment number " + number + " exceeds " + MAX_LENGTH + " characters", "ENROLLMENT_NUMBER_OVERFLOW");
+        }
+        return number;
+    }
+
+    /**
+     * Reserve [start, start + size) for this node in a transaction of its own, so the counter
+     * row is locked only for the reservation and the block survives a rollback of the caller
+     */
+    private Block reserve(String prefix, int size) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Block block = requiresNew.execute(status -> {
+                    if (sequenceRepository.advance(prefix, size) > 0) {
+                        long end = sequenceRepository.findNextValue(prefix)
+                            .orElseThrow(() -> new IllegalStateException("Enrollment sequence disappeared: " + prefix));
+                        return new Block(end - size, end);
+                    }
+                    // First allocation for this prefix: continue after any numbers issued before the counter existed
+                    long start = highestExistingSequence(prefix) + 1;
+                    sequenceRepository.saveAndFlush(new EnrollmentSequence(prefix, start + size));
+                    return new Block(start, start + size);
+                });
+                logger.debug("Reserved enrollment numbers {}[{}, {})", prefix, block.next, block.end);
+                return block;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the counter row first; advance it instead
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long highestExistingSequence(String prefix) {
+        return studentRepository.findEnrollmentNumbersWithPrefix(prefix).stream()
+            .map(number -> number.substring(prefix.length()))
+            .filter(suffix -> suffix.matches("\\d{1,18}"))
+            .mapToLong(Long::parseLong)
+            .max()
+            .orElse(0L);
+    }
+
+    /**
+     * Reserved range [next, end) held by this node
+     */
+    private static class Block {
+        private long next;
+        private final long end;
+
+        Block(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        boolean isExhausted() {
+            return next >= end;
+        }
+    }
+}
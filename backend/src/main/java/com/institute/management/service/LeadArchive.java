@@ -0,0 +1,201 @@
+package com.institute.management.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institute.management.dto.EmployeeBasicDTO;
+import com.institute.management.dto.LeadResponseDTO;
+import com.institute.management.entity.ArchivedLead;
+import com.institute.management.entity.Employee;
+import com.institute.management.entity.Lead;
+import com.institute.management.repository.ArchivedLeadRepository;
+import com.institute.management.repository.LeadBlockingKeyRepository;
+import com.institute.management.repository.LeadFollowUpRepository;
+import com.institute.management.repository.LeadRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves closed leads (LOST, NOT_INTERESTED) that have not changed for the retention window out of
+ * the live leads table, and reads them back when one is requested by id.
+ *
+ * Each archived lead becomes one leads_archive row holding the lead's API view and its whole
+ * follow-up timeline as gzip-compressed JSON. The live rows are removed with a bulk delete, which
+ * bypasses the status rollup on purpose: archived leads still count towards lead statistics.
+ */
+@Component
+public class LeadArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadArchive.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadFollowUpRepository leadFollowUpRepository;
+
+    @Autowired
+    private LeadBlockingKeyRepository blockingKeyRepository;
+
+    @Autowired
+    private ArchivedLeadRepository archivedLeadRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.lead-archive.retention-days:730}")
+    private int retentionDays = 730;
+
+    @Value("${app.lead-archive.batch-size:200}")
+    private int batchSize = 200;
+
+    /**
+     * Archive every closed lead past the retention window, one transaction per batch
+     */
+    @Scheduled(fixedDelayString = "${app.lead-archive.interval-ms:3600000}",
+               initialDelayString = "${app.lead-archive.interval-ms:3600000}")
+    public synchronized int archiveClosedLeads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        int moved;
+        do {
+            Integer batch = transaction.execute(status -> archiveBatch(cutoff));
+            moved = batch != null ? batch : 0;
+            archived += moved;
+        } while (moved == batchSize);
+
+        if (archived > 0) {
+            logger.info("Archived {} closed leads not updated since {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * An archived lead as it looked when it was archived
+     */
+    public Optional<LeadResponseDTO> find(UUID id) {
+        return archivedLeadRepository.findById(id).map(archivedLead -> {
+            LeadResponseDTO lead = read(archivedLead.getPayload()).lead();
+            lead.setArchived(true);
+            return lead;
+        });
+    }
+
+    /**
+     * The follow-up timeline of an archived lead, newest first
+     */
+    public Optional<List<LeadResponseDTO.FollowUpDTO>> findFollowUps(UUID id) {
+        return archivedLeadRepository.findById(id).map(archivedLead -> read(archivedLead.getPayload()).followUps());
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<UUID> ids = leadRepository.findArchivableLeadIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        for (Lead lead : leadRepository.findAllById(ids)) {
+            List<LeadResponseDTO.FollowUpDTO> timeline = leadFollowUpRepository.findTimeline(lead.getId(), Pageable.unpaged())
+                .map(followUp -> new LeadResponseDTO.FollowUpDTO(followUp.getDate(), followUp.getNotes(), followUp.getNextAction()))
+                .getContent();
+            byte[] payload = write(new Document(snapshot(lead), timeline));
+            entityManager.persist(new ArchivedLead(lead.getId(), lead.getStatus(), lead.getCreatedDate(), payload));
+        }
+        entityManager.flush();
+
+        // Follow-ups are removed with their lead by the database (ON DELETE CASCADE / trigger)
+        blockingKeyRepository.deleteByLeadIdIn(ids);
+        leadRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private LeadResponseDTO snapshot(Lead lead) {
+        LeadResponseDTO dto = new LeadResponseDTO();
+        dto.setId(lead.getId());
+        dto.setFirstName(lead.getFirstName());
+        dto.setLastName(lead.getLastName());
+        dto.setFullName(lead.getFullName());
+        dto.setEmail(lead.getEmail());
+        dto.setPhone(lead.getPhone());
+        dto.setCourseInterest(lead.getCourseInterest());
+        dto.setSource(lead.getSource());
+        dto.setStatus(lead.getStatus());
+        dto.setNotes(lead.getNotes());
+        dto.setNextFollowUpDate(lead.getNextFollowUpDate());
+        dto.setConvertedDate(lead.getConvertedDate());
+        dto.setCreatedDate(lead.getCreatedDate());
+        dto.setUpdatedDate(lead.getUpdatedDate());
+        dto.setFollowUpCount(lead.getFollowUpCount());
+        if (lead.getLastFollowUp() != null) {
+            Lead.FollowUp latest = lead.getLastFollowUp();
+            dto.setLatestFollowUp(new LeadResponseDTO.FollowUpDTO(latest.getDate(), latest.getNotes(), latest.getNextAction()));
+        }
+
+        Employee counsellor = lead.getAssignedCounsellor();
+        if (counsellor != null) {
+            EmployeeBasicDTO counsellorDTO = new EmployeeBasicDTO();
+            counsellorDTO.setId(counsellor.getId());
+            counsellorDTO.setEmployeeCode(counsellor.getEmployeeCode());
+            counsellorDTO.setFirstName(counsellor.getFirstName());
+            counsellorDTO.setLastName(counsellor.getLastName());
+            counsellorDTO.setFullName(counsellor.getFullName());
+            counsellorDTO.setRole(counsellor.getRole());
+            dto.setAssignedCounsellor(counsellorDTO);
+        }
+        return dto;
+    }
+
+    private static byte[] write(Document document) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            MAPPER.writeValue(out, document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archived lead " + document.lead().getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Document read(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return MAPPER.readValue(in, Document.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived lead", e);
+        }
+    }
+
+    /**
+     * Archived form of a lead: its API view and the follow-up timeline
+     */
+    record Document(LeadResponseDTO lead, List<LeadResponseDTO.FollowUpDTO> followUps) {
+    }
+}
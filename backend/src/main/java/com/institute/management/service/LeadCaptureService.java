@@ -0,0 +1,372 @@
+package com.institute.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.PublicLeadRequestDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts enquiries from the public web form without touching the database on the request thread.
+ *
+ * A submission is rate limited per client address with a token bucket, normalized, validated and
+ * put on a bounded in-memory queue; the caller gets 202 right away. When the queue is full the
+ * submission is refused with 429, so a campaign spike sheds load instead of queueing requests for
+ * database connections. A single writer thread drains the queue in batches: each batch drops rows
+ * repeating an email or phone within the batch or of an existing lead and inserts the rest with
+ * one batched saveAll in one short transaction.
+ *
+ * A submission that cannot be written (the database is down, say) is retried with exponential
+ * backoff; after the last attempt, or when the node shuts down first, it is appended to a spill file
+ * that is queued again on the next start. Queued submissions otherwise live in memory only: the
+ * writer empties the queue on shutdown, but enquiries still queued when a node crashes are lost.
+ */
+@Service
+public class LeadCaptureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadCaptureService.class);
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Submissions held in memory before new ones are refused with 429 */
+    @Value("${app.lead-capture.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    /** Leads per writer transaction */
+    @Value("${app.lead-capture.batch-size:200}")
+    private int batchSize = 200;
+
+    /** Submissions a client address may send at once, and how many it regains per minute */
+    @Value("${app.lead-capture.burst:5}")
+    private int burst = 5;
+
+    @Value("${app.lead-capture.per-minute:10}")
+    private int perMinute = 10;
+
+    /**
+     * Reverse proxies in front of the application that append to X-Forwarded-For. The client is the
+     * address the outermost of them saw; entries left of it are supplied by the client and ignored.
+     * 0 uses the connection's remote address.
+     */
+    @Value("${app.lead-capture.trusted-proxies:0}")
+    private int trustedProxies;
+
+    @Value("${app.lead-capture.default-source:Website}")
+    private String defaultSource = "Website";
+
+    /** Attempts for a submission that failed to write before it is spilled, and the first backoff */
+    @Value("${app.lead-capture.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${app.lead-capture.retry-backoff-ms:2000}")
+    private long retryBackoffMs = 2000;
+
+    /** Submissions that could not be written, one JSON object per line */
+    @Value("${app.lead-capture.spill-file:${java.io.tmpdir}/lead-capture-spill.jsonl}")
+    private String spillFile;
+
+    private BlockingQueue<LeadCreateRequestDTO> queue;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /** Submissions waiting for another attempt; used by the writer thread only */
+    private final List<Retry> retries = new ArrayList<>();
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private volatile int retryCount;
+
+    private volatile boolean running = true;
+
+    private Thread writer;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        requeueSpilled();
+        writer = new Thread(this::drain, "lead-capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // The writer empties the queue before it stops
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an enquiry for insertion. Throws ConstraintViolationException for an invalid form and
+     * TooManyRequestsException when the client is over its rate or the queue is full.
+     */
+    public void submit(PublicLeadRequestDTO request, String remoteAddress, String forwardedFor) {
+        String client = clientAddress(remoteAddress, forwardedFor);
+        long waitNanos = buckets.computeIfAbsent(client, c -> new TokenBucket(burst)).take(burst, perMinute, System.nanoTime());
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many submissions from this address; try again later",
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
+        }
+
+        LeadCreateRequestDTO lead = normalize(request);
+        Set<ConstraintViolation<LeadCreateRequestDTO>> violations = validator.validate(lead);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        if (!queue.offer(lead)) {
+            throw new TooManyRequestsException("We are receiving too many enquiries right now; try again shortly", 5);
+        }
+    }
+
+    /**
+     * Submissions waiting for the writer, including those waiting to be retried
+     */
+    public int pending() {
+        return queue.size() + retryCount;
+    }
+
+    /**
+     * Leads inserted and duplicate submissions dropped since startup
+     */
+    public long capturedCount() {
+        return captured.get();
+    }
+
+    public long duplicateCount() {
+        return duplicates.get();
+    }
+
+    /**
+     * Forget clients whose bucket has refilled completely; they start again with a full bucket
+     */
+    @Scheduled(fixedDelayString = "${app.lead-capture.bucket-cleanup-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(burst, perMinute, now));
+    }
+
+    private String clientAddress(String remoteAddress, String forwardedFor) {
+        if (trustedProxies > 0 && forwardedFor != null && !forwardedFor.isBlank()) {
+            // Each trusted proxy appended one hop, so count them off from the right
+            String[] hops = forwardedFor.split(",");
+            String client = hops[Math.max(0, hops.length - trustedProxies)].trim();
+            if (!client.isEmpty()) {
+                return client;
+            }
+        }
+        return remoteAddress != null ? remoteAddress : "unknown";
+    }
+
+    /**
+     * Writer loop: wait for a submission, take whatever else is queued up to a batch and write it
+     */
+    private void drain() {
+        List<LeadCreateRequestDTO> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            retryDue(System.currentTimeMillis());
+            try {
+                LeadCreateRequestDTO first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Shutting down: write what is left without waiting
+                running = false;
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                write(batch);
+            } catch (Exception e) {
+                // E.g. another node inserted the same phone meanwhile: retry one lead at a time
+                logger.warn("Could not write {} captured leads as a batch: {}", batch.size(), e.getMessage());
+                for (LeadCreateRequestDTO lead : batch) {
+                    attempt(new Retry(lead, 0, 0));
+                }
+            }
+            batch.clear();
+        }
+        // Shutting down: keep what could not be written yet for the next start
+        retries.forEach(retry -> spill(retry.lead()));
+        retries.clear();
+        retryCount = 0;
+    }
+
+    private void retryDue(long now) {
+        List<Retry> due = retries.stream().filter(retry -> retry.notBefore() <= now).toList();
+        retries.removeAll(due);
+        due.forEach(this::attempt);
+        retryCount = retries.size();
+    }
+
+    /**
+     * Write one submission; on failure schedule it again with a doubled backoff, or spill it after the last attempt
+     */
+    private void attempt(Retry retry) {
+        try {
+            write(List.of(retry.lead()));
+        } catch (Exception e) {
+            int attempts = retry.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                spill(retry.lead());
+                return;
+            }
+            long backoff = retryBackoffMs << Math.min(attempts - 1, 10);
+            logger.warn("Could not write captured lead {} (attempt {}), retrying in {} ms: {}",
+                retry.lead().getPhone(), attempts, backoff, e.getMessage());
+            retries.add(new Retry(retry.lead(), attempts, System.currentTimeMillis() + backoff));
+        }
+        retryCount = retries.size();
+    }
+
+    private void spill(LeadCreateRequestDTO lead) {
+        try {
+            Path path = Paths.get(spillFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, objectMapper.writeValueAsString(lead) + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logger.error("Could not write captured lead {}; kept in {} for the next start", lead.getPhone(), path);
+        } catch (IOException e) {
+            logger.error("Lost captured lead {} {} {} ({}): could not spill it: {}", lead.getFirstName(),
+                lead.getLastName(), lead.getPhone(), lead.getEmail(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queue the submissions spilled by an earlier run again; those that do not fit stay in the file
+     */
+    private void requeueSpilled() {
+        Path path = Paths.get(spillFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(path);
+            List<String> left = new ArrayList<>();
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!left.isEmpty() || !queue.offer(objectMapper.readValue(line, LeadCreateRequestDTO.class))) {
+                    left.add(line);
+                }
+            }
+            if (left.isEmpty()) {
+                Files.delete(path);
+            } else {
+                Files.write(path, left);
+            }
+            logger.info("Queued {} spilled lead submissions from {}", lines.size() - left.size(), path);
+        } catch (IOException e) {
+            logger.error("Could not read spilled lead submissions from {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void write(List<LeadCreateRequestDTO> batch) {
+        List<Lead> saved = new TransactionTemplate(transactionManager).execute(status ->
+            leadService.insertLeads(new BulkRows<>(batch, Integer.MAX_VALUE)));
+        captured.addAndGet(saved.size());
+        duplicates.addAndGet(batch.size() - saved.size());
+    }
+
+    private LeadCreateRequestDTO normalize(PublicLeadRequestDTO request) {
+        LeadCreateRequestDTO lead = new LeadCreateRequestDTO();
+        lead.setFirstName(request.getFirstName());
+        lead.setLastName(request.getLastName());
+        lead.setEmail(request.getEmail());
+        lead.setPhone(request.getPhone());
+        lead.setCourseInterest(request.getCourseInterest());
+        lead.setSource(request.getSource());
+        lead.setNotes(request.getMessage());
+        LeadService.normalize(lead);
+        if (lead.getSource() == null) {
+            lead.setSource(defaultSource);
+        }
+        return lead;
+    }
+
+    private record Retry(LeadCreateRequestDTO lead, int attempts, long notBefore) {
+    }
+
+    /**
+     * Tokens of one client address; a token is regained every 60 / perMinute seconds up to the burst size
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int burst) {
+            this.tokens = burst;
+        }
+
+        /**
+         * Take a token; returns 0 on success, otherwise the nanoseconds until the next token
+         */
+        synchronized long take(int burst, int perMinute, long now) {
+            refill(burst, perMinute, now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) ((1 - tokens) * nanosPerToken(perMinute));
+        }
+
+        synchronized boolean isFull(int burst, int perMinute, long now) {
+            refill(burst, perMinute, now);
+            return tokens >= burst;
+        }
+
+        private void refill(int burst, int perMinute, long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerToken(perMinute));
+            refilledAt = now;
+        }
+
+        private static double nanosPerToken(int perMinute) {
+            return (double) TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.LeadBasicDTO;
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.LeadDuplicateCandidateDTO;
+import com.institute.management.dto.LeadDuplicateClusterDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.LeadBlockingKey;
+import com.institute.management.exception.ResourceNotFoundException;
+import com.institute.management.repository.LeadBlockingKeyRepository;
+import com.institute.management.repository.LeadRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fuzzy duplicate-lead detection.
+ *
+ * Each lead's blocking keys are kept in lead_blocking_keys; candidates are looked up by key
+ * and only leads sharing a block are scored, so neither the on-create check nor the
+ * whole-table scan compares every lead with every other.
+ */
+@Service
+@Transactional
+public class LeadDeduplicationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeadDeduplicationService.class);
+    
+    private static final int REINDEX_BATCH_SIZE = 500;
+    
+    private static final int FETCH_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private LeadRepository leadRepository;
+    
+    @Autowired
+    private LeadBlockingKeyRepository blockingKeyRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.lead-dedup.match-threshold:0.6}")
+    private double matchThreshold = 0.6;
+    
+    @Value("${app.lead-dedup.max-candidates:50}")
+    private int maxCandidates = 50;
+    
+    @Value("${app.lead-dedup.max-block-size:200}")
+    private int maxBlockSize = 200;
+    
+    /**
+     * Replace the blocking keys stored for a lead
+     */
+    public void indexLead(Lead lead) {
+        blockingKeyRepository.deleteByLeadId(lead.getId());
+        List<LeadBlockingKey> keys = LeadMatcher.blockingKeys(LeadMatcher.Fingerprint.of(lead)).stream()
+            .map(key -> new LeadBlockingKey(lead, key))
+            .toList();
+        blockingKeyRepository.saveAll(keys);
+    }
+    
+    /**
+     * Store the blocking keys of newly created leads in one batch; they have no keys to replace
+     */
+    public void indexNewLeads(Collection<Lead> leads) {
+        List<LeadBlockingKey> keys = leads.stream()
+            .flatMap(lead -> LeadMatcher.blockingKeys(LeadMatcher.Fingerprint.of(lead)).stream()
+                .map(key -> new LeadBlockingKey(lead, key)))
+            .toList();
+        blockingKeyRepository.saveAll(keys);
+    }
+    
+    /**
+     * Drop the blocking keys of a lead that is about to be deleted
+     */
+    public void removeLead(UUID leadId) {
+        blockingKeyRepository.deleteByLeadId(leadId);
+    }
+    
+    /**
+     * Possible duplicates of a stored lead, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<LeadDuplicateCandidateDTO> findPossibleDuplicates(Lead lead) {
+        return findCandidates(LeadMatcher.Fingerprint.of(lead));
+    }
+    
+    /**
+     * Possible duplicates of an existing lead - Only ADMIN and COUNSELLOR can check duplicates
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public List<LeadDuplicateCandidateDTO> findPossibleDuplicates(UUID leadId) {
+        Lead lead = leadRepository.findById(leadId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lead not found with id: " + leadId));
+        return findPossibleDuplicates(lead);
+    }
+    
+    /**
+     * Possible duplicates of a lead that has not been created yet - Only ADMIN and COUNSELLOR can check duplicates
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public List<LeadDuplicateCandidateDTO> checkDuplicates(LeadCreateRequestDTO request) {
+        return findCandidates(new LeadMatcher.Fingerprint(null, request.getFirstName(), request.getLastName(),
+            request.getEmail(), request.getPhone(), request.getCourseInterest()));
+    }
+    
+    private List<LeadDuplicateCandidateDTO> findCandidates(LeadMatcher.Fingerprint probe) {
+        Set<String> keys = LeadMatcher.blockingKeys(probe);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        
+        // Fill the candidate cap from the most selective blocks first, so that a large shared name
+        // block cannot crowd out the leads with the same phone or email
+        Set<UUID> candidates = new LinkedHashSet<>();
+        for (Object[] block : blockingKeyRepository.countLeadsByBlockKeys(keys)) {
+            int remaining = maxCandidates - candidates.size();
+            if (remaining <= 0) {
+                break;
+            }
+            // One extra row in case the probe itself is in the block
+            for (UUID id : blockingKeyRepository.findLeadIdsByBlockKey((String) block[0], PageRequest.of(0, remaining + 1))) {
+                if (!id.equals(probe.getId()) && candidates.size() < maxCandidates) {
+                    candidates.add(id);
+                }
+            }
+        }
+        List<UUID> candidateIds = new ArrayList<>(candidates);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        
+        List<LeadDuplicateCandidateDTO> duplicates = new ArrayList<>();
+        for (Lead candidate : leadRepository.findAllById(candidateIds)) {
+            LeadMatcher.Match match = LeadMatcher.score(probe, LeadMatcher.Fingerprint.of(candidate));
+            if (match.getScore() >= matchThreshold) {
+                duplicates.add(new LeadDuplicateCandidateDTO(candidate, round(match.getScore()), match.getMatchedOn()));
+            }
+        }
+        duplicates.sort(Comparator.comparingDouble(LeadDuplicateCandidateDTO::getScore).reversed());
+        return duplicates;
+    }
+    
+    /**
+     * Cluster every lead in the table with its likely duplicates - Only ADMIN can run the scan.
+     * Pairs are scored within shared blocks only; blocks larger than the configured limit are skipped.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public List<LeadDuplicateClusterDTO> clusterDuplicates() {
+        Clusters clusters = new Clusters();
+        Map<UUID, LeadMatcher.Fingerprint> fingerprints = new HashMap<>();
+        int blocks = 0;
+        int skippedBlocks = 0;
+        long comparisons = 0;
+        
+        try (Stream<Object[]> rows = blockingKeyRepository.streamSharedBlocks()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            String currentKey = null;
+            List<UUID> members = new ArrayList<>();
+            while (true) {
+                Object[] row = iterator.hasNext() ? iterator.next() : null;
+                String key = row != null ? (String) row[0] : null;
+                if (currentKey != null && !currentKey.equals(key)) {
+                    blocks++;
+                    if (members.size() > maxBlockSize) {
+                        skippedBlocks++;
+                        logger.debug("Skipping duplicate block {} with {} leads", currentKey, members.size());
+                    } else {
+                        comparisons += scoreBlock(members, fingerprints, clusters);
+                    }
+                    members = new ArrayList<>();
+                }
+                if (row == null) {
+                    break;
+                }
+                currentKey = key;
+                members.add((UUID) row[1]);
+            }
+        }
+        
+        Map<UUID, List<UUID>> groups = clusters.groups();
+        Map<UUID, LeadBasicDTO> clustered = loadBasic(groups.values().stream().flatMap(List::stream).toList());
+        
+        List<LeadDuplicateClusterDTO> result = new ArrayList<>();
+        for (Map.Entry<UUID, List<UUID>> cluster : groups.entrySet()) {
+            List<LeadBasicDTO> leads = cluster.getValue().stream()
+                .map(clustered::get)
+                .filter(Objects::nonNull)
+                .toList();
+            double maxScore = cluster.getValue().stream()
+                .mapToDouble(id -> clusters.bestScore.getOrDefault(id, 0.0))
+                .max()
+                .orElse(0.0);
+            result.add(new LeadDuplicateClusterDTO(round(maxScore), leads));
+        }
+        result.sort(Comparator.comparingDouble(LeadDuplicateClusterDTO::getMaxScore).reversed());
+        
+        logger.info("Duplicate scan: {} shared blocks ({} skipped as oversized), {} comparisons, {} clusters",
+            blocks, skippedBlocks, comparisons, result.size());
+        return result;
+    }
+    
+    /**
+     * Load the leads of every cluster in a few batched queries rather than one per cluster
+     */
+    private Map<UUID, LeadBasicDTO> loadBasic(List<UUID> ids) {
+        Map<UUID, LeadBasicDTO> leads = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += FETCH_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + FETCH_BATCH_SIZE, ids.size()));
+            for (Lead lead : leadRepository.findAllById(batch)) {
+                leads.put(lead.getId(), convertToBasicDTO(lead));
+            }
+        }
+        return leads;
+    }
+    
+    private long scoreBlock(List<UUID> members, Map<UUID, LeadMatcher.Fingerprint> fingerprints, Clusters clusters) {
+        List<UUID> missing = members.stream().filter(id -> !fingerprints.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (Object[] row : leadRepository.findMatchFieldsByIdIn(missing)) {
+                LeadMatcher.Fingerprint fingerprint = toFingerprint(row);
+                fingerprints.put(fingerprint.getId(), fingerprint);
+            }
+        }
+        
+        long comparisons = 0;
+        for (int i = 0; i < members.size(); i++) {
+            for (int j = i + 1; j < members.size(); j++) {
+                UUID a = members.get(i);
+                UUID b = members.get(j);
+                if (clusters.find(a).equals(clusters.find(b))) {
+                    continue;
+                }
+                comparisons++;
+                double score = LeadMatcher.score(fingerprints.get(a), fingerprints.get(b)).getScore();
+                if (score >= matchThreshold) {
+                    clusters.union(a, b, score);
+                }
+            }
+        }
+        return comparisons;
+    }
+    
+    /**
+     * Rebuild the blocking keys of every lead, e.g. after a bulk import or a change to the key rules - Only ADMIN
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public long rebuildBlockingKeys() {
+        blockingKeyRepository.deleteAllKeys();
+        
+        long indexed = 0;
+        try (Stream<Object[]> rows = leadRepository.streamAllMatchFields()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LeadMatcher.Fingerprint fingerprint = toFingerprint(iterator.next());
+                Lead lead = entityManager.getReference(Lead.class, fingerprint.getId());
+                for (String key : LeadMatcher.blockingKeys(fingerprint)) {
+                    entityManager.persist(new LeadBlockingKey(lead, key));
+                }
+                if (++indexed % REINDEX_BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        
+        logger.info("Rebuilt lead blocking keys for {} leads", indexed);
+        return indexed;
+    }
+    
+    private LeadMatcher.Fingerprint toFingerprint(Object[] row) {
+        return new LeadMatcher.Fingerprint((UUID) row[0], (String) row[1], (String) row[2],
+            (String) row[3], (String) row[4], (String) row[5]);
+    }
+    
+    private LeadBasicDTO convertToBasicDTO(Lead lead) {
+        LeadBasicDTO dto = new LeadBasicDTO(lead.getId(), lead.getFirstName(), lead.getLastName(), lead.getEmail(),
+            lead.getPhone(), lead.getCourseInterest(), lead.getStatus(), lead.getCreatedDate());
+        dto.setFullName(lead.getFullName());
+        return dto;
+    }
+    
+    private static double round(double score) {
+        return Math.round(score * 1000) / 1000.0;
+    }
+    
+    /**
+     * Union-find over lead ids, tracking the best pair score each lead took part in
+     */
+    private static class Clusters {
+        private final Map<UUID, UUID> parent = new HashMap<>();
+        private final Map<UUID, Double> bestScore = new HashMap<>();
+        
+        UUID find(UUID id) {
+            UUID root = id;
+            UUID next;
+            while ((next = parent.get(root)) != null) {
+                root = next;
+            }
+            // Path compression
+            UUID current = id;
+            while (!current.equals(root)) {
+                UUID up = parent.get(current);
+                parent.put(current, root);
+                current = up;
+            }
+            return root;
+        }
+        
+        void union(UUID a, UUID b, double score) {
+            UUID rootA = find(a);
+            UUID rootB = find(b);
+            if (!rootA.equals(rootB)) {
+                parent.put(rootB, rootA);
+            }
+            bestScore.merge(a, score, Math::max);
+            bestScore.merge(b, score, Math::max);
+        }
+        
+        Map<UUID, List<UUID>> groups() {
+            Collection<UUID> linked = bestScore.keySet();
+            return linked.stream().collect(Collectors.groupingBy(this::find));
+        }
+    }
+}
@@ -0,0 +1,560 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.LeadImportDTO;
+import com.institute.management.entity.LeadImport;
+import com.institute.management.entity.LeadImport.ImportStatus;
+import com.institute.management.exception.ResourceNotFoundException;
+import com.institute.management.exception.ValidationException;
+import com.institute.management.repository.LeadImportRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports leads from CSV uploads in the background.
+ *
+ * The upload is stored on disk and processed by a two-stage pipeline: a parser thread reads the
+ * file one record at a time, normalizes and validates each row and hands chunks of rows to the
+ * writer over a bounded queue, so a parser that gets ahead blocks instead of buffering the file.
+ * The writer drops rows that repeat an email or phone within the chunk or of an existing lead
+ * (rows of earlier chunks are existing leads by then), inserts the rest with one batched saveAll
+ * and moves the import's checkpoint in the same transaction.
+ *
+ * Imports run one at a time on their own threads and hold one connection for one short
+ * transaction per chunk, pausing between chunks, so interactive requests keep the pool.
+ *
+ * The spooled file only exists on the node that received the upload, so every import is owned by
+ * that node and only it runs the import. The running node holds a lease on the import that each
+ * chunk extends. The owner checks for its unfinished imports on startup and periodically; it resumes
+ * one from its checkpoint only when nobody holds its lease, e.g. after a restart. A failed import
+ * can be resumed from any node; its owner picks it up.
+ */
+@Service
+public class LeadImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadImportService.class);
+
+    private static final List<ImportStatus> UNFINISHED = List.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+
+    // Accepted header names, compared lower-case without spaces, dashes or underscores
+    private static final Map<String, Column> HEADERS = Map.ofEntries(
+        Map.entry("firstname", Column.FIRST_NAME),
+        Map.entry("lastname", Column.LAST_NAME),
+        Map.entry("surname", Column.LAST_NAME),
+        Map.entry("email", Column.EMAIL),
+        Map.entry("emailaddress", Column.EMAIL),
+        Map.entry("phone", Column.PHONE),
+        Map.entry("phonenumber", Column.PHONE),
+        Map.entry("mobile", Column.PHONE),
+        Map.entry("courseinterest", Column.COURSE_INTEREST),
+        Map.entry("course", Column.COURSE_INTEREST),
+        Map.entry("source", Column.SOURCE),
+        Map.entry("notes", Column.NOTES)
+    );
+
+    @Autowired
+    private LeadImportRepository leadImportRepository;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.lead-import.spool-dir:${java.io.tmpdir}/lead-imports}")
+    private String spoolDir;
+
+    /** Rows per writer transaction */
+    @Value("${app.lead-import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /** Parsed chunks the parser may run ahead of the writer */
+    @Value("${app.lead-import.queue-chunks:4}")
+    private int queueChunks = 4;
+
+    /** Pause after each chunk, leaving the database to interactive traffic */
+    @Value("${app.lead-import.pause-ms:20}")
+    private long pauseMs = 20;
+
+    @Value("${app.lead-import.max-reported-rows:100}")
+    private int maxReportedRows = 100;
+
+    /** This node's name; it must stay the same across restarts, since the spooled files stay behind */
+    @Value("${app.lead-import.node-id:${HOSTNAME:local}}")
+    private String nodeId = "local";
+
+    /** How long a running import is held without a chunk committing before its owner may resume it */
+    @Value("${app.lead-import.lease-ms:300000}")
+    private long leaseMs = 300000;
+
+    /** Imports submitted to this node's executor and not finished yet */
+    private final Set<UUID> submitted = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(task -> thread(task, "lead-import"));
+
+    private final ExecutorService parserExecutor = Executors.newSingleThreadExecutor(task -> thread(task, "lead-import-parser"));
+
+    /**
+     * Store an uploaded CSV file and queue it for import - ADMIN and COUNSELLOR.
+     * Only the header is checked here; rows are reported through the import's progress.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public LeadImportDTO startImport(MultipartFile file, String defaultSource) {
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException("The uploaded file is empty");
+        }
+        if (defaultSource != null && defaultSource.length() > 50) {
+            throw new ValidationException("Source must not exceed 50 characters");
+        }
+
+        Path stored;
+        try {
+            Path directory = Paths.get(spoolDir);
+            Files.createDirectories(directory);
+            stored = directory.resolve(UUID.randomUUID() + ".csv").toAbsolutePath();
+            file.transferTo(stored);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store the uploaded file", e);
+        }
+
+        try (CsvReader reader = open(stored)) {
+            columns(reader.next());
+        } catch (IOException | ValidationException e) {
+            deleteQuietly(stored);
+            throw e instanceof ValidationException validation ? validation : new ValidationException("The uploaded file could not be read");
+        }
+
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : stored.getFileName().toString();
+        LeadImport leadImport = new TransactionTemplate(transactionManager).execute(status ->
+            leadImportRepository.save(new LeadImport(fileName, stored.toString(), LeadService.trimToNull(defaultSource),
+                currentUsername(), nodeId)));
+        submit(leadImport.getId());
+        return convertToDTO(leadImport);
+    }
+
+    /**
+     * Progress of an import - ADMIN and COUNSELLOR
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public LeadImportDTO getImport(UUID id) {
+        return convertToDTO(leadImportRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Lead import not found with id: " + id)));
+    }
+
+    /**
+     * Resume a failed import from its checkpoint - Only ADMIN.
+     * The node that holds the import's file runs it: this one, or the owner on its next check.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public LeadImportDTO resumeImport(UUID id) {
+        LeadImport leadImport = new TransactionTemplate(transactionManager).execute(status -> {
+            LeadImport failed = leadImportRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead import not found with id: " + id));
+            if (failed.getStatus() != ImportStatus.FAILED) {
+                throw new ValidationException("Only failed imports can be resumed");
+            }
+            boolean local = failed.getOwnerNode() == null || failed.getOwnerNode().equals(nodeId);
+            if (local && !Files.exists(Paths.get(failed.getStoredPath()))) {
+                throw new ValidationException("The uploaded file of this import is no longer available");
+            }
+            if (failed.getOwnerNode() == null) {
+                failed.setOwnerNode(nodeId);
+            }
+            failed.setStatus(ImportStatus.QUEUED);
+            failed.setFailureReason(null);
+            failed.setLockedUntil(null);
+            return failed;
+        });
+        if (nodeId.equals(leadImport.getOwnerNode())) {
+            submit(id);
+        }
+        return convertToDTO(leadImport);
+    }
+
+    /**
+     * Queue this node's unfinished imports that nobody holds again, such as those a shutdown
+     * interrupted or a failed import resumed on another node; they continue from their checkpoints.
+     * Imports of other nodes are left to them, since their files are not here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.lead-import.resume-interval-ms:60000}",
+               initialDelayString = "${app.lead-import.resume-interval-ms:60000}")
+    public int resumeInterruptedImports() {
+        LocalDateTime now = LocalDateTime.now();
+        int resumed = 0;
+        for (LeadImport leadImport : leadImportRepository.findByStatusInOrderByCreatedDateAsc(UNFINISHED)) {
+            UUID id = leadImport.getId();
+            if (submitted.contains(id) || (leadImport.getLockedUntil() != null && leadImport.getLockedUntil().isAfter(now))) {
+                continue;
+            }
+            if (leadImport.getOwnerNode() == null) {
+                // Queued before imports had owners: taken by the node that has its file
+                if (!Files.exists(Paths.get(leadImport.getStoredPath()))
+                    || !Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status ->
+                        leadImportRepository.adopt(id, nodeId) == 1))) {
+                    continue;
+                }
+            } else if (!leadImport.getOwnerNode().equals(nodeId)) {
+                continue;
+            }
+            logger.info("Resuming lead import {} after row {}", id, leadImport.getCheckpointRow());
+            submit(id);
+            resumed++;
+        }
+        return resumed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted imports stay RUNNING and are picked up again on the next start
+        parserExecutor.shutdownNow();
+        importExecutor.shutdownNow();
+    }
+
+    private void submit(UUID id) {
+        if (!submitted.add(id)) {
+            return;
+        }
+        importExecutor.submit(() -> {
+            try {
+                run(id);
+            } finally {
+                submitted.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Run one import: parse on the parser thread, write chunks on this one
+     */
+    private void run(UUID id) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LeadImport leadImport = transaction.execute(status -> {
+            // Another run of this node may hold the import, e.g. the instance a restart is replacing
+            LocalDateTime now = LocalDateTime.now();
+            if (leadImportRepository.claim(id, nodeId, UNFINISHED, now, leaseExpiry()) == 0) {
+                return null;
+            }
+            LeadImport started = leadImportRepository.findById(id).orElse(null);
+            if (started == null) {
+                return null;
+            }
+            started.setStatus(ImportStatus.RUNNING);
+            if (started.getStartedDate() == null) {
+                started.setStartedDate(LocalDateTime.now());
+            }
+            return started;
+        });
+        if (leadImport == null) {
+            return;
+        }
+
+        Path file = Paths.get(leadImport.getStoredPath());
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueChunks);
+        Future<?> parser = parserExecutor.submit(() ->
+            parse(file, leadImport.getCheckpointRow(), leadImport.getDefaultSource(), queue));
+        try {
+            Chunk chunk;
+            do {
+                chunk = queue.take();
+                if (chunk.failure != null) {
+                    throw chunk.failure;
+                }
+                Chunk written = chunk;
+                transaction.executeWithoutResult(status -> write(id, written));
+                if (!chunk.last && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            } while (!chunk.last);
+
+            transaction.executeWithoutResult(status -> finish(id, ImportStatus.COMPLETED, null));
+            deleteQuietly(file);
+            logger.info("Lead import {} completed", id);
+        } catch (InterruptedException e) {
+            parser.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            parser.cancel(true);
+            logger.error("Lead import {} failed: {}", id, e.getMessage());
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            transaction.executeWithoutResult(status ->
+                finish(id, ImportStatus.FAILED, reason.length() > 500 ? reason.substring(0, 500) : reason));
+        }
+    }
+
+    /**
+     * Parser stage: normalize and validate the rows after the checkpoint and queue them in chunks.
+     * Blocks while the queue is full; a read error is passed to the writer as a failed chunk.
+     */
+    private void parse(Path file, long checkpointRow, String defaultSource, BlockingQueue<Chunk> queue) {
+        try {
+            try (CsvReader reader = open(file)) {
+                Column[] columns = columns(reader.next());
+                Chunk chunk = new Chunk();
+                chunk.lastRow = checkpointRow;
+                long row = 0;
+                List<String> record;
+                while ((record = reader.next()) != null) {
+                    if (++row <= checkpointRow) {
+                        continue;
+                    }
+                    LeadCreateRequestDTO lead = normalize(columns, record, defaultSource);
+                    List<String> errors = new ArrayList<>();
+                    for (ConstraintViolation<LeadCreateRequestDTO> violation : validator.validate(lead)) {
+                        errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                    }
+                    if (errors.isEmpty()) {
+                        chunk.rows.add(lead);
+                        chunk.rowNumbers.add(row);
+                    } else {
+                        chunk.invalid.add("row " + row + ": " + String.join("; ", errors));
+                    }
+                    chunk.lastRow = row;
+
+                    if (chunk.size() >= chunkSize) {
+                        queue.put(chunk);
+                        chunk = new Chunk();
+                        chunk.lastRow = row;
+                    }
+                }
+                chunk.last = true;
+                chunk.totalRows = row;
+                queue.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                queue.put(Chunk.failed(e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writer stage: insert the chunk's new leads and commit its outcome with the checkpoint
+     */
+    private void write(UUID id, Chunk chunk) {
+        LeadImport leadImport = leadImportRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Lead import not found with id: " + id));
+        List<String> rejected = new ArrayList<>(chunk.invalid);
+        int imported = 0;
+
+        if (!chunk.rows.isEmpty()) {
+            BulkRows<LeadCreateRequestDTO> rows = new BulkRows<>(chunk.rows, Integer.MAX_VALUE);
+            imported = leadService.insertLeads(rows).size();
+            for (int i = 0; i < chunk.rows.size(); i++) {
+                if (!rows.isValid(i)) {
+                    rejected.add("row " + chunk.rowNumbers.get(i) + ": " + String.join("; ", rows.errors(i)));
+                }
+            }
+        }
+
+        leadImport.setImportedCount(leadImport.getImportedCount() + imported);
+        leadImport.setInvalidCount(leadImport.getInvalidCount() + chunk.invalid.size());
+        leadImport.setDuplicateCount(leadImport.getDuplicateCount() + chunk.rows.size() - imported);
+        leadImport.setCheckpointRow(chunk.lastRow);
+        leadImport.setLockedUntil(leaseExpiry());
+        if (chunk.last) {
+            leadImport.setTotalRows(chunk.totalRows);
+        }
+        report(leadImport, rejected);
+    }
+
+    private void finish(UUID id, ImportStatus status, String failureReason) {
+        leadImportRepository.findById(id).ifPresent(leadImport -> {
+            leadImport.setStatus(status);
+            leadImport.setFailureReason(failureReason);
+            leadImport.setFinishedDate(LocalDateTime.now());
+            leadImport.setLockedUntil(null);
+        });
+    }
+
+    private LocalDateTime leaseExpiry() {
+        return LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Append rejected rows to the import's report, up to the configured number of lines
+     */
+    private void report(LeadImport leadImport, List<String> rejected) {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        String current = leadImport.getRejectedRows();
+        List<String> lines = current == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(current.split("\n")));
+        for (String line : rejected) {
+            if (lines.size() >= maxReportedRows) {
+                break;
+            }
+            lines.add(line);
+        }
+        leadImport.setRejectedRows(String.join("\n", lines));
+    }
+
+    /**
+     * Map each header field to the lead column it holds (null for columns that are ignored)
+     */
+    private static Column[] columns(List<String> header) {
+        if (header == null) {
+            throw new ValidationException("The uploaded file has no header row");
+        }
+        Column[] columns = new Column[header.size()];
+        Map<Column, Boolean> present = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns[i] = HEADERS.get(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", ""));
+            if (columns[i] != null) {
+                present.put(columns[i], true);
+            }
+        }
+        for (Column required : List.of(Column.FIRST_NAME, Column.LAST_NAME, Column.PHONE)) {
+            if (!present.containsKey(required)) {
+                throw new ValidationException("The header row has no " + required.label + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static LeadCreateRequestDTO normalize(Column[] columns, List<String> record, String defaultSource) {
+        LeadCreateRequestDTO lead = new LeadCreateRequestDTO();
+        for (int i = 0; i < columns.length && i < record.size(); i++) {
+            if (columns[i] == null) {
+                continue;
+            }
+            String value = record.get(i);
+            switch (columns[i]) {
+                case FIRST_NAME -> lead.setFirstName(value);
+                case LAST_NAME -> lead.setLastName(value);
+                case EMAIL -> lead.setEmail(value);
+                case PHONE -> lead.setPhone(value);
+                case COURSE_INTEREST -> lead.setCourseInterest(value);
+                case SOURCE -> lead.setSource(value);
+                case NOTES -> lead.setNotes(value);
+            }
+        }
+        LeadService.normalize(lead);
+        if (lead.getSource() == null) {
+            lead.setSource(defaultSource);
+        }
+        return lead;
+    }
+
+    private static CsvReader open(Path file) throws IOException {
+        return new CsvReader(new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), 65536));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Thread thread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private LeadImportDTO convertToDTO(LeadImport leadImport) {
+        LeadImportDTO dto = new LeadImportDTO();
+        dto.setId(leadImport.getId());
+        dto.setFileName(leadImport.getFileName());
+        dto.setStatus(leadImport.getStatus());
+        dto.setProcessedRows(leadImport.getCheckpointRow());
+        dto.setTotalRows(leadImport.getTotalRows());
+        dto.setImportedCount(leadImport.getImportedCount());
+        dto.setDuplicateCount(leadImport.getDuplicateCount());
+        dto.setInvalidCount(leadImport.getInvalidCount());
+        dto.setRejectedRows(leadImport.getRejectedRows() != null ? List.of(leadImport.getRejectedRows().split("\n")) : List.of());
+        dto.setFailureReason(leadImport.getFailureReason());
+        dto.setCreatedBy(leadImport.getCreatedBy());
+        dto.setStartedDate(leadImport.getStartedDate());
+        dto.setFinishedDate(leadImport.getFinishedDate());
+        dto.setCreatedDate(leadImport.getCreatedDate());
+        return dto;
+    }
+
+    /**
+     * Up to chunkSize parsed rows: valid rows with their row numbers, and the invalid rows' reports
+     */
+    private static class Chunk {
+        private final List<LeadCreateRequestDTO> rows = new ArrayList<>();
+        private final List<Long> rowNumbers = new ArrayList<>();
+        private final List<String> invalid = new ArrayList<>();
+        private long lastRow;
+        private boolean last;
+        private long totalRows;
+        private Exception failure;
+
+        int size() {
+            return rows.size() + invalid.size();
+        }
+
+        static Chunk failed(Exception failure) {
+            Chunk chunk = new Chunk();
+            chunk.failure = failure;
+            return chunk;
+        }
+    }
+
+    private enum Column {
+        FIRST_NAME("first name"), LAST_NAME("last name"), EMAIL("email"), PHONE("phone"),
+        COURSE_INTEREST("course interest"), SOURCE("source"), NOTES("notes");
+
+        private final String label;
+
+        Column(String label) {
+            this.label = label;
+        }
+    }
+}
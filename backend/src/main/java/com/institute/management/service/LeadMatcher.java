@@ -0,0 +1,329 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.Lead;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Normalization, blocking keys and pair scoring for duplicate-lead detection.
+ *
+ * Blocking keys group leads that could plausibly be the same person (phone suffix,
+ * normalized email, order-insensitive name soundex plus course interest); only leads
+ * that share a block are ever scored against each other.
+ */
+public final class LeadMatcher {
+    
+    static final String PHONE_BLOCK = "P:";
+    static final String EMAIL_BLOCK = "E:";
+    static final String NAME_BLOCK = "N:";
+    
+    /** Trailing phone digits used as a block key; survives country-code and trunk-prefix variants */
+    static final int PHONE_SUFFIX_LENGTH = 8;
+    
+    private static final double PHONE_WEIGHT = 0.45;
+    private static final double EMAIL_WEIGHT = 0.45;
+    private static final double NAME_WEIGHT = 0.35;
+    private static final double COURSE_WEIGHT = 0.10;
+    
+    private LeadMatcher() {}
+    
+    /**
+     * Digits only, without international or trunk prefixes ("+91 98765-43210" and "098765 43210" both give "9876543210")
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("[^0-9]", "");
+        if (digits.startsWith("00")) {
+            digits = digits.substring(2);
+        }
+        // National numbers are 10 digits; anything longer carries a country code or trunk "0"
+        if (digits.length() > 10) {
+            digits = digits.substring(digits.length() - 10);
+        }
+        return digits.isEmpty() ? null : digits;
+    }
+    
+    /**
+     * Lower-cased email with plus-tags removed; Gmail addresses also lose the dots in the local part
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String value = email.trim().toLowerCase(Locale.ROOT);
+        int at = value.lastIndexOf('@');
+        if (at <= 0) {
+            return value;
+        }
+        String local = value.substring(0, at);
+        String domain = value.substring(at + 1);
+        
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("googlemail.com")) {
+            domain = "gmail.com";
+        }
+        if (domain.equals("gmail.com")) {
+            local = local.replace(".", "");
+        }
+        return local + "@" + domain;
+    }
+    
+    /**
+     * Lower-cased letters and digits only, for comparing free-text values such as course interest
+     */
+    public static String normalizeText(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        return value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * American Soundex code (letter plus three digits), or null when the value has no letters
+     */
+    public static String soundex(String name) {
+        if (name == null) {
+            return null;
+        }
+        String letters = name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z]", "");
+        if (letters.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder code = new StringBuilder(4);
+        code.append(letters.charAt(0));
+        char previous = soundexDigit(letters.charAt(0));
+        for (int i = 1; i < letters.length() && code.length() < 4; i++) {
+            char c = letters.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // H and W do not separate letters with the same code; vowels do
+            if (c != 'H' && c != 'W') {
+                previous = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+    
+    private static char soundexDigit(char c) {
+        switch (c) {
+            case 'B': case 'F': case 'P': case 'V':
+                return '1';
+            case 'C': case 'G': case 'J': case 'K': case 'Q': case 'S': case 'X': case 'Z':
+                return '2';
+            case 'D': case 'T':
+                return '3';
+            case 'L':
+                return '4';
+            case 'M': case 'N':
+                return '5';
+            case 'R':
+                return '6';
+            default:
+                return '0';
+        }
+    }
+    
+    /**
+     * Block keys for a lead; at most one per kind
+     */
+    public static Set<String> blockingKeys(Fingerprint lead) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (lead.phone != null && lead.phone.length() >= PHONE_SUFFIX_LENGTH) {
+            keys.add(PHONE_BLOCK + lead.phone.substring(lead.phone.length() - PHONE_SUFFIX_LENGTH));
+        }
+        if (lead.email != null) {
+            keys.add(EMAIL_BLOCK + lead.email);
+        }
+        if (lead.nameSoundex != null) {
+            keys.add(NAME_BLOCK + lead.nameSoundex + "|" + (lead.courseInterest != null ? lead.courseInterest : ""));
+        }
+        return keys;
+    }
+    
+    /**
+     * Weighted similarity in [0, 1] with the fields that contributed to it
+     */
+    public static Match score(Fingerprint a, Fingerprint b) {
+        double score = 0.0;
+        List<String> matchedOn = new ArrayList<>();
+        
+        if (a.phone != null && a.phone.equals(b.phone)) {
+            score += PHONE_WEIGHT;
+            matchedOn.add("PHONE");
+        }
+        if (a.email != null && a.email.equals(b.email)) {
+            score += EMAIL_WEIGHT;
+            matchedOn.add("EMAIL");
+        }
+        
+        double nameSimilarity = nameSimilarity(a, b);
+        if (nameSimilarity > 0.0) {
+            score += NAME_WEIGHT * nameSimilarity;
+            matchedOn.add("NAME");
+        }
+        
+        if (a.courseInterest != null && a.courseInterest.equals(b.courseInterest)) {
+            score += COURSE_WEIGHT;
+            matchedOn.add("COURSE_INTEREST");
+        }
+        
+        return new Match(Math.min(1.0, score), matchedOn);
+    }
+    
+    /**
+     * 1.0 for the same name in either order, the Jaro-Winkler similarity when it is close,
+     * 0.7 for names that only sound alike, otherwise 0
+     */
+    static double nameSimilarity(Fingerprint a, Fingerprint b) {
+        if (a.sortedName == null || b.sortedName == null) {
+            return 0.0;
+        }
+        if (a.sortedName.equals(b.sortedName)) {
+            return 1.0;
+        }
+        double jaroWinkler = jaroWinkler(a.sortedName, b.sortedName);
+        if (jaroWinkler >= 0.9) {
+            return jaroWinkler;
+        }
+        if (a.nameSoundex != null && a.nameSoundex.equals(b.nameSoundex)) {
+            return 0.7;
+        }
+        return 0.0;
+    }
+    
+    static double jaroWinkler(String s1, String s2) {
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+        int window = Math.max(0, Math.max(s1.length(), s2.length()) / 2 - 1);
+        boolean[] matched1 = new boolean[s1.length()];
+        boolean[] matched2 = new boolean[s2.length()];
+        
+        int matches = 0;
+        for (int i = 0; i < s1.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(s2.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matched2[j] && s1.charAt(i) == s2.charAt(j)) {
+                    matched1[i] = true;
+                    matched2[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < s1.length(); i++) {
+            if (!matched1[i]) {
+                continue;
+            }
+            while (!matched2[j]) {
+                j++;
+            }
+            if (s1.charAt(i) != s2.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+        
+        double m = matches;
+        double jaro = (m / s1.length() + m / s2.length() + (m - transpositions / 2.0) / m) / 3.0;
+        
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(s1.length(), s2.length())) && s1.charAt(prefix) == s2.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+    
+    /**
+     * Normalized view of a lead used for blocking and scoring
+     */
+    public static final class Fingerprint {
+        private final UUID id;
+        private final String phone;
+        private final String email;
+        private final String sortedName;
+        private final String nameSoundex;
+        private final String courseInterest;
+        
+        public Fingerprint(UUID id, String firstName, String lastName, String email, String phone, String courseInterest) {
+            this.id = id;
+            this.phone = normalizePhone(phone);
+            this.email = normalizeEmail(email);
+            this.courseInterest = normalizeText(courseInterest);
+            
+            // Sorting the name parts makes "Priya Sharma" and "Sharma Priya" compare equal
+            String first = normalizeText(firstName);
+            String last = normalizeText(lastName);
+            if (first != null && last != null) {
+                String[] parts = {first, last};
+                Arrays.sort(parts);
+                this.sortedName = parts[0] + " " + parts[1];
+                
+                String[] codes = {soundex(first), soundex(last)};
+                this.nameSoundex = codes[0] != null && codes[1] != null ? sortedPair(codes) : null;
+            } else {
+                this.sortedName = first != null ? first : last;
+                this.nameSoundex = null;
+            }
+        }
+        
+        public static Fingerprint of(Lead lead) {
+            return new Fingerprint(lead.getId(), lead.getFirstName(), lead.getLastName(),
+                lead.getEmail(), lead.getPhone(), lead.getCourseInterest());
+        }
+        
+        private static String sortedPair(String[] codes) {
+            Arrays.sort(codes);
+            return codes[0] + codes[1];
+        }
+        
+        public UUID getId() {
+            return id;
+        }
+    }
+    
+    /**
+     * Pair score and the fields that matched
+     */
+    public static final class Match {
+        private final double score;
+        private final List<String> matchedOn;
+        
+        public Match(double score, List<String> matchedOn) {
+            this.score = score;
+            this.matchedOn = matchedOn;
+        }
+        
+        public double getScore() {
+            return score;
+        }
+        
+        public List<String> getMatchedOn() {
+            return matchedOn;
+        }
+    }
+}
@@ -4,16 +4,26 @@ import com.institute.management.dto.*;
 import com.institute.management.entity.*;
 import com.institute.management.exception.*;
 import com.institute.management.repository.*;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -31,13 +41,41 @@ public class LeadService {
     @Autowired
     private BatchRepository batchRepository;
     
+    @Autowired
+    private UniquenessGuard uniquenessGuard;
+    
+    @Autowired
+    private LeadDeduplicationService leadDeduplicationService;
+    
+    @Autowired
+    private LeadFollowUpRepository leadFollowUpRepository;
+    
+    @Autowired
+    private StatusCounts statusCounts;
+    
+    @Autowired
+    private LeadArchive leadArchive;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${app.bulk.max-rows:1000}")
+    private int bulkMaxRows = 1000;
+    
+    /** List pages include the lazily loaded text columns only with ?view=full, unless this is set */
+    @Value("${app.responses.list-text-columns:false}")
+    private boolean listTextColumns;
+    
     /**
      * Create a new lead - Only ADMIN and COUNSELLOR can create leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
     public LeadResponseDTO createLead(LeadCreateRequestDTO createRequest) {
+        normalize(createRequest);
+        
         // Check for duplicate email or phone
-        if (createRequest.getEmail() != null && leadRepository.existsByEmail(createRequest.getEmail())) {
+        if (createRequest.getEmail() != null
+            && uniquenessGuard.exists(UniquenessGuard.Key.LEAD_EMAIL, createRequest.getEmail(), leadRepository::existsByEmail)) {
             throw new DuplicateResourceException("Lead with email " + createRequest.getEmail() + " already exists");
         }
         
@@ -68,7 +106,86 @@ public class LeadService {
         }
         
         Lead savedLead = leadRepository.save(lead);
-        return convertToResponseDTO(savedLead);
+        recordUniqueKeys(savedLead);
+        
+        // Flag likely duplicates (formatting variants, swapped names) that the exact checks above miss
+        List<LeadDuplicateCandidateDTO> possibleDuplicates = leadDeduplicationService.findPossibleDuplicates(savedLead);
+        leadDeduplicationService.indexLead(savedLead);
+        
+        LeadResponseDTO response = convertToResponseDTO(savedLead);
+        if (!possibleDuplicates.isEmpty()) {
+            response.setPossibleDuplicates(possibleDuplicates);
+        }
+        return response;
+    }
+    
+    /**
+     * Create many leads in one request - Only ADMIN and COUNSELLOR can create leads.
+     * Rows are validated in memory, duplicates and assigned counsellors are resolved with one IN
+     * query each and the inserts go out as JDBC batches. Likely duplicates are not reported per row;
+     * the new leads are indexed for the duplicate clustering instead.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public BulkWriteResponseDTO createLeads(List<LeadCreateRequestDTO> requests) {
+        BulkRows<LeadCreateRequestDTO> rows = new BulkRows<>(requests, bulkMaxRows);
+        requests.forEach(LeadService::normalize);
+        rows.validate(validator);
+        insertLeads(rows);
+        return rows.toResponse();
+    }
+    
+    /**
+     * Insert the still valid rows of a batch of new leads; the API, CSV imports and the web form all
+     * write through here. Rows repeating an email or phone of an earlier row or of an existing lead,
+     * or assigned to an unknown counsellor, are rejected with one IN query each; the rest go out as
+     * one batched saveAll and are indexed for the duplicate clustering. The rows must have been
+     * normalized and validated. Returns the saved leads, which are also marked created in the rows.
+     */
+    List<Lead> insertLeads(BulkRows<LeadCreateRequestDTO> rows) {
+        rows.rejectRepeated(LeadCreateRequestDTO::getEmail, "Email");
+        rows.rejectRepeated(LeadCreateRequestDTO::getPhone, "Phone");
+        rows.rejectExisting(LeadCreateRequestDTO::getEmail, leadRepository::findExistingEmails, "Lead with email %s already exists");
+        rows.rejectExisting(LeadCreateRequestDTO::getPhone, leadRepository::findExistingPhones, "Lead with phone %s already exists");
+        
+        Map<UUID, Employee> counsellors = employeeRepository.findAllById(rows.values(LeadCreateRequestDTO::getAssignedCounsellorId)).stream()
+            .collect(Collectors.toMap(Employee::getId, employee -> employee));
+        for (int i : rows.validIndexes()) {
+            UUID counsellorId = rows.get(i).getAssignedCounsellorId();
+            if (counsellorId == null) {
+                continue;
+            }
+            Employee counsellor = counsellors.get(counsellorId);
+            if (counsellor == null) {
+                rows.reject(i, "Counsellor not found with id: " + counsellorId);
+            } else if (counsellor.getRole() != Employee.EmployeeRole.COUNSELLOR && counsellor.getRole() != Employee.EmployeeRole.ADMIN) {
+                rows.reject(i, "Assigned employee must be a COUNSELLOR or ADMIN");
+            }
+        }
+        
+        List<Integer> accepted = rows.validIndexes();
+        List<Lead> leads = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            LeadCreateRequestDTO request = rows.get(i);
+            Lead lead = new Lead();
+            lead.setFirstName(request.getFirstName());
+            lead.setLastName(request.getLastName());
+            lead.setEmail(request.getEmail());
+            lead.setPhone(request.getPhone());
+            lead.setCourseInterest(request.getCourseInterest());
+            lead.setSource(request.getSource());
+            lead.setNotes(request.getNotes());
+            lead.setNextFollowUpDate(request.getNextFollowUpDate());
+            lead.setAssignedCounsellor(counsellors.get(request.getAssignedCounsellorId()));
+            leads.add(lead);
+        }
+        
+        List<Lead> savedLeads = leadRepository.saveAll(leads);
+        leadDeduplicationService.indexNewLeads(savedLeads);
+        for (int n = 0; n < savedLeads.size(); n++) {
+            recordUniqueKeys(savedLeads.get(n));
+            rows.created(accepted.get(n), savedLeads.get(n).getId());
+        }
+        return savedLeads;
     }
     
     /**
@@ -78,11 +195,13 @@ public class LeadService {
     public LeadResponseDTO updateLead(UUID id, LeadUpdateRequestDTO updateRequest) {
         Lead lead = leadRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Lead not found with id: " + id));
+        updateRequest.setEmail(normalizeEmail(updateRequest.getEmail()));
+        updateRequest.setPhone(normalizePhone(updateRequest.getPhone()));
         
         // Check for duplicate email or phone (excluding current lead)
         if (updateRequest.getEmail() != null && 
             !updateRequest.getEmail().equals(lead.getEmail()) && 
-            leadRepository.existsByEmail(updateRequest.getEmail())) {
+            uniquenessGuard.exists(UniquenessGuard.Key.LEAD_EMAIL, updateRequest.getEmail(), leadRepository::existsByEmail)) {
             throw new DuplicateResourceException("Lead with email " + updateRequest.getEmail() + " already exists");
         }
         
@@ -121,6 +240,8 @@ public class LeadService {
         }
         
         Lead savedLead = leadRepository.save(lead);
+        recordUniqueKeys(savedLead);
+        leadDeduplicationService.indexLead(savedLead);
         return convertToResponseDTO(savedLead);
     }
     
@@ -128,29 +249,83 @@ public class LeadService {
      * Get lead by ID - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public LeadResponseDTO getLeadById(UUID id) {
-        Lead lead = leadRepository.findById(id)
+        return getLeadById(id, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get lead by ID with only the requested fields - Only ADMIN and COUNSELLOR can view leads
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public LeadResponseDTO getLeadById(UUID id, ResponseShape shape) {
+        // Closed leads past the retention window are served read-only from the archive
+        return leadRepository.findById(id)
+            .map(lead -> convertToResponseDTO(lead, shape, true))
+            .or(() -> leadArchive.find(id).map(shape::retain))
             .orElseThrow(() -> new ResourceNotFoundException("Lead not found with id: " + id));
-        return convertToResponseDTO(lead);
+    }
+    
+    /**
+     * Get a lead's follow-up timeline, newest first - Only ADMIN and COUNSELLOR can view leads
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public Page<LeadResponseDTO.FollowUpDTO> getFollowUps(UUID leadId, Pageable pageable) {
+        // The timeline has a fixed order; only paging is taken from the request
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (!leadRepository.existsById(leadId)) {
+            List<LeadResponseDTO.FollowUpDTO> archived = leadArchive.findFollowUps(leadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead not found with id: " + leadId));
+            int from = (int) Math.min(page.getOffset(), archived.size());
+            int to = Math.min(from + page.getPageSize(), archived.size());
+            return new PageImpl<>(archived.subList(from, to), page, archived.size());
+        }
+        return leadFollowUpRepository.findTimeline(leadId, page)
+            .map(followUp -> new LeadResponseDTO.FollowUpDTO(
+                followUp.getDate(), followUp.getNotes(), followUp.getNextAction()));
     }
     
     /**
      * Get all leads with pagination, sorting, and filtering - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public Page<LeadResponseDTO> getAllLeads(Lead.LeadStatus status, String source, String courseInterest, 
                                            UUID counsellorId, String searchTerm, Pageable pageable) {
+        return getAllLeads(status, source, courseInterest, counsellorId, searchTerm, pageable, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get all leads with only the requested fields - Only ADMIN and COUNSELLOR can view leads
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public Page<LeadResponseDTO> getAllLeads(Lead.LeadStatus status, String source, String courseInterest, 
+                                           UUID counsellorId, String searchTerm, Pageable pageable,
+                                           ResponseShape shape) {
         Page<Lead> leads = leadRepository.findLeadsWithFilters(status, source, courseInterest, counsellorId, searchTerm, pageable);
-        return leads.map(this::convertToResponseDTO);
+        return convertToSummaryPage(leads, shape);
     }
     
     /**
      * Get leads by status with pagination - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public Page<LeadResponseDTO> getLeadsByStatus(Lead.LeadStatus status, Pageable pageable) {
+        return getLeadsByStatus(status, pageable, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get leads by status with only the requested fields - Only ADMIN and COUNSELLOR can view leads
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public Page<LeadResponseDTO> getLeadsByStatus(Lead.LeadStatus status, Pageable pageable, ResponseShape shape) {
         Page<Lead> leads = leadRepository.findByStatus(status, pageable);
-        return leads.map(this::convertToResponseDTO);
+        return convertToSummaryPage(leads, shape);
     }
     
     /**
@@ -191,6 +366,84 @@ public class LeadService {
         return createdStudent;
     }
     
+    /**
+     * Convert many leads into students of one batch - Only ADMIN and COUNSELLOR can convert leads.
+     * The students go through the bulk create, which takes the batch seats with one conditional
+     * update, allocates the enrollment numbers in one step and batches the inserts; the converted
+     * leads are then flipped with one UPDATE. Leads that cannot be converted are reported per row.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public BulkWriteResponseDTO convertLeadsToStudents(LeadBulkConversionRequestDTO request) {
+        BulkRows<UUID> rows = new BulkRows<>(request.getLeadIds(), bulkMaxRows);
+        if (!batchRepository.existsById(request.getBatchId())) {
+            throw new ResourceNotFoundException("Batch not found with id: " + request.getBatchId());
+        }
+        for (int i = 0; i < request.getLeadIds().size(); i++) {
+            if (rows.get(i) == null) {
+                rows.reject(i, "Lead ID is required");
+            }
+        }
+        rows.rejectRepeated(UUID::toString, "Lead");
+        
+        Map<UUID, Lead> leads = leadRepository.findAllById(rows.values(id -> id)).stream()
+            .collect(Collectors.toMap(Lead::getId, lead -> lead));
+        for (int i : rows.validIndexes()) {
+            Lead lead = leads.get(rows.get(i));
+            if (lead == null) {
+                rows.reject(i, "Lead not found with id: " + rows.get(i));
+            } else if (lead.getStatus() == Lead.LeadStatus.CONVERTED) {
+                rows.reject(i, "Lead is already converted");
+            } else if (lead.getStatus() == Lead.LeadStatus.NOT_INTERESTED || lead.getStatus() == Lead.LeadStatus.LOST) {
+                rows.reject(i, "Cannot convert lead with status: " + lead.getStatus());
+            }
+        }
+        
+        List<Integer> candidates = rows.validIndexes();
+        if (candidates.isEmpty()) {
+            return rows.toResponse();
+        }
+        List<StudentCreateRequestDTO> studentRequests = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            Lead lead = leads.get(rows.get(i));
+            StudentCreateRequestDTO studentRequest = new StudentCreateRequestDTO();
+            studentRequest.setFirstName(lead.getFirstName());
+            studentRequest.setLastName(lead.getLastName());
+            studentRequest.setEmail(lead.getEmail());
+            studentRequest.setPhone(lead.getPhone());
+            studentRequest.setEnrollmentDate(request.getEnrollmentDate());
+            studentRequest.setLeadId(lead.getId());
+            studentRequest.setBatchId(request.getBatchId());
+            studentRequests.add(studentRequest);
+        }
+        
+        // Rows of the student bulk create line up with the candidates
+        List<BulkWriteResponseDTO.RowResult> results = studentService.createStudents(studentRequests).getRows();
+        List<UUID> converted = new ArrayList<>();
+        Map<Lead.LeadStatus, Integer> convertedByStatus = new EnumMap<>(Lead.LeadStatus.class);
+        for (int n = 0; n < candidates.size(); n++) {
+            int i = candidates.get(n);
+            BulkWriteResponseDTO.RowResult result = results.get(n);
+            if (result.getId() == null) {
+                result.getErrors().forEach(error -> rows.reject(i, error));
+                continue;
+            }
+            rows.created(i, result.getId());
+            converted.add(rows.get(i));
+            convertedByStatus.merge(leads.get(rows.get(i)).getStatus(), 1, Integer::sum);
+        }
+        
+        if (!converted.isEmpty()) {
+            if (leadRepository.markConverted(converted, LocalDateTime.now()) != converted.size()) {
+                throw new BusinessException("Leads changed concurrently while they were being converted; retry the request",
+                    "CONCURRENT_LEAD_CHANGE");
+            }
+            // The bulk update bypasses the entity events that maintain the status rollup
+            convertedByStatus.forEach((status, count) -> statusCounts.adjust(StatusCount.EntityType.LEAD, status, -count));
+            statusCounts.adjust(StatusCount.EntityType.LEAD, Lead.LeadStatus.CONVERTED, converted.size());
+        }
+        return rows.toResponse();
+    }
+    
     /**
      * Add follow-up to a lead - Only ADMIN and COUNSELLOR can add follow-ups
      */
@@ -220,6 +473,7 @@ public class LeadService {
             throw new ValidationException("Cannot delete converted lead");
         }
         
+        leadDeduplicationService.removeLead(id);
         leadRepository.deleteById(id);
     }
     
@@ -227,42 +481,56 @@ public class LeadService {
      * Get leads assigned to a counsellor with pagination - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public Page<LeadResponseDTO> getLeadsByCounsellor(UUID counsellorId, Pageable pageable) {
+        return getLeadsByCounsellor(counsellorId, pageable, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get leads assigned to a counsellor with only the requested fields - Only ADMIN and COUNSELLOR can view leads
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
+    public Page<LeadResponseDTO> getLeadsByCounsellor(UUID counsellorId, Pageable pageable, ResponseShape shape) {
         Employee counsellor = employeeRepository.findById(counsellorId)
             .orElseThrow(() -> new ResourceNotFoundException("Counsellor not found with id: " + counsellorId));
         
         Page<Lead> leads = leadRepository.findByAssignedCounsellor(counsellor, pageable);
-        return leads.map(this::convertToResponseDTO);
+        return convertToSummaryPage(leads, shape);
     }
     
     /**
      * Get leads requiring follow-up - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public List<LeadResponseDTO> getLeadsRequiringFollowUp() {
         List<Lead> leads = leadRepository.findLeadsRequiringFollowUp(LocalDateTime.now());
-        return leads.stream().map(this::convertToResponseDTO).toList();
+        return leads.stream().map(this::convertToSummaryDTO).toList();
     }
     
     /**
      * Get leads without follow-up scheduled - Only ADMIN and COUNSELLOR can view leads
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public List<LeadResponseDTO> getLeadsWithoutFollowUp() {
         List<Lead> leads = leadRepository.findLeadsWithoutFollowUp();
-        return leads.stream().map(this::convertToResponseDTO).toList();
+        return leads.stream().map(this::convertToSummaryDTO).toList();
     }
     
     /**
      * Get lead statistics - Only ADMIN and COUNSELLOR can view statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    @Transactional(readOnly = true)
     public LeadStatsDTO getLeadStatistics() {
         LeadStatsDTO stats = new LeadStatsDTO();
         
-        for (Lead.LeadStatus status : Lead.LeadStatus.values()) {
-            long count = leadRepository.countByStatus(status);
-            switch (status) {
+        Map<Lead.LeadStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.LEAD, Lead.LeadStatus.class);
+        for (Map.Entry<Lead.LeadStatus, Long> entry : counts.entrySet()) {
+            long count = entry.getValue();
+            switch (entry.getKey()) {
                 case NEW -> stats.setNewLeads(count);
                 case CONTACTED -> stats.setContactedLeads(count);
                 case INTERESTED -> stats.setInterestedLeads(count);
@@ -272,7 +540,7 @@ public class LeadService {
             }
         }
         
-        stats.setTotalLeads(leadRepository.count());
+        stats.setTotalLeads(StatusCounts.total(counts));
         
         // Calculate conversion rate
         if (stats.getTotalLeads() > 0) {
@@ -282,28 +550,125 @@ public class LeadService {
         return stats;
     }
     
+    /**
+     * Bring a new lead to the form every channel stores, so that the exact email and phone duplicate
+     * checks match across the API, CSV imports and the web form: trimmed values (blank ones become
+     * null), single spaces in names, a lower-case email and a phone of digits with an optional leading +.
+     * Changes the request in place and returns it; runs before validation.
+     */
+    static LeadCreateRequestDTO normalize(LeadCreateRequestDTO lead) {
+        if (lead == null) {
+            return null;
+        }
+        lead.setFirstName(collapseSpaces(lead.getFirstName()));
+        lead.setLastName(collapseSpaces(lead.getLastName()));
+        lead.setEmail(normalizeEmail(lead.getEmail()));
+        lead.setPhone(normalizePhone(lead.getPhone()));
+        lead.setCourseInterest(trimToNull(lead.getCourseInterest()));
+        lead.setSource(trimToNull(lead.getSource()));
+        lead.setNotes(trimToNull(lead.getNotes()));
+        return lead;
+    }
+    
+    static String normalizeEmail(String email) {
+        String trimmed = trimToNull(email);
+        return trimmed != null ? trimmed.toLowerCase(Locale.ROOT) : null;
+    }
+    
+    // "+91 98765-43210" and "(987) 654.3210" become digits with an optional leading +
+    static String normalizePhone(String phone) {
+        String trimmed = trimToNull(phone);
+        return trimmed != null ? trimmed.replaceAll("[\\s\\-().]", "") : null;
+    }
+    
+    static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+    
+    private static String collapseSpaces(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed != null ? trimmed.replaceAll("\\s+", " ") : null;
+    }
+    
+    /**
+     * Keep the in-memory duplicate filter in step with the stored email
+     */
+    private void recordUniqueKeys(Lead lead) {
+        uniquenessGuard.record(UniquenessGuard.Key.LEAD_EMAIL, lead.getEmail());
+    }
+    
     /**
      * Convert Lead entity to LeadResponseDTO
      */
     private LeadResponseDTO convertToResponseDTO(Lead lead) {
+        return convertToResponseDTO(lead, true);
+    }
+    
+    /**
+     * Convert Lead entity to a list-page LeadResponseDTO; the lazily loaded notes is left out
+     */
+    private LeadResponseDTO convertToSummaryDTO(Lead lead) {
+        return convertToResponseDTO(lead, listTextColumns);
+    }
+    
+    /**
+     * Convert a page of leads to list-page DTOs. The associations in the shape are loaded for the
+     * whole page up front, one query each, instead of once per lead; the rest are never loaded.
+     */
+    private Page<LeadResponseDTO> convertToSummaryPage(Page<Lead> leads, ResponseShape shape) {
+        if (shape.includes("assignedCounsellor")) {
+            Set<UUID> counsellorIds = leads.getContent().stream()
+                .filter(lead -> lead.getAssignedCounsellor() != null)
+                .map(lead -> lead.getAssignedCounsellor().getId())
+                .collect(Collectors.toSet());
+            if (!counsellorIds.isEmpty()) {
+                employeeRepository.findAllById(counsellorIds);
+            }
+        }
+        if (shape.includes("convertedStudents")) {
+            Set<UUID> convertedIds = leads.getContent().stream()
+                .filter(lead -> lead.getStatus() == Lead.LeadStatus.CONVERTED)
+                .map(Lead::getId)
+                .collect(Collectors.toSet());
+            if (!convertedIds.isEmpty()) {
+                leadRepository.findWithConvertedStudentsByIdIn(convertedIds);
+            }
+        }
+        return leads.map(lead -> convertToResponseDTO(lead, shape, listTextColumns));
+    }
+    
+    private LeadResponseDTO convertToResponseDTO(Lead lead, boolean includeText) {
+        return convertToResponseDTO(lead, ResponseShape.defaults(), includeText);
+    }
+    
+    /**
+     * Convert only the fields in the shape; associations left out of it are not touched, so never loaded
+     */
+    private LeadResponseDTO convertToResponseDTO(Lead lead, ResponseShape shape, boolean includeText) {
         LeadResponseDTO dto = new LeadResponseDTO();
         dto.setId(lead.getId());
-        dto.setFirstName(lead.getFirstName());
-        dto.setLastName(lead.getLastName());
-        dto.setFullName(lead.getFullName());
-        dto.setEmail(lead.getEmail());
-        dto.setPhone(lead.getPhone());
-        dto.setCourseInterest(lead.getCourseInterest());
-        dto.setSource(lead.getSource());
-        dto.setStatus(lead.getStatus());
-        dto.setNotes(lead.getNotes());
-        dto.setNextFollowUpDate(lead.getNextFollowUpDate());
-        dto.setConvertedDate(lead.getConvertedDate());
-        dto.setCreatedDate(lead.getCreatedDate());
-        dto.setUpdatedDate(lead.getUpdatedDate());
+        shape.put("firstName", lead::getFirstName, dto::setFirstName);
+        shape.put("lastName", lead::getLastName, dto::setLastName);
+        shape.put("fullName", lead::getFullName, dto::setFullName);
+        shape.put("email", lead::getEmail, dto::setEmail);
+        shape.put("phone", lead::getPhone, dto::setPhone);
+        shape.put("courseInterest", lead::getCourseInterest, dto::setCourseInterest);
+        shape.put("source", lead::getSource, dto::setSource);
+        shape.put("status", lead::getStatus, dto::setStatus);
+        if (shape.includes("notes", includeText)) {
+            dto.setNotes(lead.getNotes());
+        }
+        shape.put("nextFollowUpDate", lead::getNextFollowUpDate, dto::setNextFollowUpDate);
+        shape.put("convertedDate", lead::getConvertedDate, dto::setConvertedDate);
+        shape.put("createdDate", lead::getCreatedDate, dto::setCreatedDate);
+        shape.put("updatedDate", lead::getUpdatedDate, dto::setUpdatedDate);
         
         // Set assigned counsellor
-        if (lead.getAssignedCounsellor() != null) {
+        if (shape.includes("assignedCounsellor") && lead.getAssignedCounsellor() != null) {
             EmployeeBasicDTO counsellorDTO = new EmployeeBasicDTO();
             counsellorDTO.setId(lead.getAssignedCounsellor().getId());
             counsellorDTO.setEmployeeCode(lead.getAssignedCounsellor().getEmployeeCode());
@@ -314,20 +679,17 @@ public class LeadService {
             dto.setAssignedCounsellor(counsellorDTO);
         }
         
-        // Set follow-ups
-        if (lead.getFollowUps() != null && !lead.getFollowUps().isEmpty()) {
-            List<LeadResponseDTO.FollowUpDTO> followUpDTOs = lead.getFollowUps().stream()
-                .map(followUp -> new LeadResponseDTO.FollowUpDTO(
-                    followUp.getDate(),
-                    followUp.getNotes(),
-                    followUp.getNextAction()
-                ))
-                .toList();
-            dto.setFollowUps(followUpDTOs);
+        // Set latest follow-up; the timeline itself is paged separately
+        shape.put("followUpCount", lead::getFollowUpCount, dto::setFollowUpCount);
+        if (shape.includes("latestFollowUp") && lead.getLastFollowUp() != null) {
+            Lead.FollowUp latest = lead.getLastFollowUp();
+            dto.setLatestFollowUp(new LeadResponseDTO.FollowUpDTO(
+                latest.getDate(), latest.getNotes(), latest.getNextAction()));
         }
         
         // Set converted students
-        if (lead.getConvertedStudents() != null && !lead.getConvertedStudents().isEmpty()) {
+        if (shape.includes("convertedStudents") && lead.getConvertedStudents() != null
+                && !lead.getConvertedStudents().isEmpty()) {
             List<StudentBasicDTO> studentDTOs = lead.getConvertedStudents().stream()
                 .map(student -> {
                     StudentBasicDTO studentDTO = new StudentBasicDTO();
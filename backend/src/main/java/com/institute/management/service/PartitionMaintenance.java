@@ -0,0 +1,71 @@
+package com.institute.management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Creates the monthly partitions of the range-partitioned tables ahead of time, so new rows never
+ * land in the catch-all default partition (a month cannot be split out of the default partition
+ * once it holds rows for it).
+ *
+ * Partitioning exists only in the PostgreSQL schema (see V9); on other databases this does nothing.
+ */
+@Component
+public class PartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenance.class);
+
+    private static final List<String> PARTITIONED_TABLES = List.of("leads", "lead_follow_ups");
+
+    private static final String CREATE_SQL =
+        "SELECT create_monthly_partitions(?, CURRENT_DATE, (CURRENT_DATE + make_interval(months => ?))::DATE)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    /** Months past the current one that must already have partitions */
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.partitions.interval-ms:86400000}",
+               initialDelayString = "${app.partitions.interval-ms:86400000}")
+    public int createPartitions() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return 0;
+            }
+            int created = 0;
+            try (PreparedStatement statement = connection.prepareStatement(CREATE_SQL)) {
+                for (String table : PARTITIONED_TABLES) {
+                    statement.setString(1, table);
+                    statement.setInt(2, monthsAhead);
+                    try (ResultSet result = statement.executeQuery()) {
+                        result.next();
+                        created += result.getInt(1);
+                    }
+                }
+            }
+            if (created > 0) {
+                logger.info("Created {} monthly partitions", created);
+            }
+            return created;
+        } catch (SQLException e) {
+            logger.error("Could not create partitions: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.institute.management.service;
 import com.institute.management.dto.*;
 import com.institute.management.entity.Company;
 import com.institute.management.entity.Placement;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.entity.Student;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.repository.CompanyRepository;
 import com.institute.management.repository.PlacementRepository;
 import com.institute.management.repository.StudentRepository;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,6 +36,18 @@ public class PlacementService {
     @Autowired
     private CompanyRepository companyRepository;
     
+    @Autowired
+    private ChildCounters childCounters;
+    
+    @Autowired
+    private StatusCounts statusCounts;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${app.bulk.max-rows:1000}")
+    private int bulkMaxRows = 1000;
+    
     /**
      * Create a new placement record - Only ADMIN and PLACEMENT_OFFICER can create placements
      */
@@ -58,9 +73,61 @@ public class PlacementService {
         placement.setNotes(request.getNotes());
         
         Placement savedPlacement = placementRepository.save(placement);
+        childCounters.placementAdded(savedPlacement);
         return convertToResponseDTO(savedPlacement);
     }
     
+    /**
+     * Create many placement records in one request - Only ADMIN and PLACEMENT_OFFICER can create placements.
+     * Rows are validated in memory, students and companies are resolved with one IN query each, the
+     * inserts go out as JDBC batches and the placement counters get one update per student and company.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    public BulkWriteResponseDTO createPlacements(List<PlacementCreateRequestDTO> requests) {
+        BulkRows<PlacementCreateRequestDTO> rows = new BulkRows<>(requests, bulkMaxRows);
+        rows.validate(validator);
+        
+        Map<UUID, Student> students = studentRepository.findAllById(rows.values(PlacementCreateRequestDTO::getStudentId)).stream()
+            .collect(Collectors.toMap(Student::getId, student -> student));
+        Map<UUID, Company> companies = companyRepository.findAllById(rows.values(PlacementCreateRequestDTO::getCompanyId)).stream()
+            .collect(Collectors.toMap(Company::getId, company -> company));
+        for (int i : rows.validIndexes()) {
+            PlacementCreateRequestDTO request = rows.get(i);
+            if (!students.containsKey(request.getStudentId())) {
+                rows.reject(i, "Student not found with id: " + request.getStudentId());
+            }
+            if (!companies.containsKey(request.getCompanyId())) {
+                rows.reject(i, "Company not found with id: " + request.getCompanyId());
+            }
+        }
+        
+        List<Integer> accepted = rows.validIndexes();
+        List<Placement> placements = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            PlacementCreateRequestDTO request = rows.get(i);
+            Placement placement = new Placement();
+            placement.setStudent(students.get(request.getStudentId()));
+            placement.setCompany(companies.get(request.getCompanyId()));
+            placement.setPosition(request.getPosition());
+            placement.setSalary(request.getSalary());
+            placement.setPlacementDate(request.getPlacementDate());
+            placement.setJobType(request.getJobType());
+            placement.setWorkLocation(request.getWorkLocation());
+            placement.setEmploymentType(request.getEmploymentType());
+            placement.setProbationPeriodMonths(request.getProbationPeriodMonths());
+            placement.setJoiningDate(request.getJoiningDate());
+            placement.setNotes(request.getNotes());
+            placements.add(placement);
+        }
+        
+        List<Placement> savedPlacements = placementRepository.saveAll(placements);
+        childCounters.placementsAdded(savedPlacements);
+        for (int n = 0; n < savedPlacements.size(); n++) {
+            rows.created(accepted.get(n), savedPlacements.get(n).getId());
+        }
+        return rows.toResponse();
+    }
+    
     /**
      * Update an existing placement - Only ADMIN and PLACEMENT_OFFICER can update placements
      */
@@ -75,6 +142,8 @@ public class PlacementService {
         Company company = companyRepository.findById(request.getCompanyId())
             .orElseThrow(() -> new ResourceNotFoundException("Company", "id", request.getCompanyId()));
         
+        UUID previousStudentId = placement.getStudent() != null ? placement.getStudent().getId() : null;
+        UUID previousCompanyId = placement.getCompany() != null ? placement.getCompany().getId() : null;
         placement.setStudent(student);
         placement.setCompany(company);
         placement.setPosition(request.getPosition());
@@ -90,6 +159,7 @@ public class PlacementService {
         placement.setNotes(request.getNotes());
         
         Placement savedPlacement = placementRepository.save(placement);
+        childCounters.placementMoved(previousStudentId, previousCompanyId, savedPlacement);
         return convertToResponseDTO(savedPlacement);
     }
     
@@ -97,37 +167,62 @@ public class PlacementService {
      * Get placement by ID - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public PlacementResponseDTO getPlacementById(UUID id) {
+        return getPlacementById(id, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get placement by ID with only the requested fields - ADMIN and PLACEMENT_OFFICER can view placements
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
+    public PlacementResponseDTO getPlacementById(UUID id, ResponseShape shape) {
         Placement placement = placementRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Placement", "id", id));
-        return convertToResponseDTO(placement);
+        return convertToResponseDTO(placement, shape);
     }
     
     /**
      * Get all placements with pagination and filtering - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<PlacementResponseDTO> getAllPlacements(Pageable pageable, Placement.PlacementStatus status, 
             UUID companyId, Placement.JobType jobType, Placement.EmploymentType employmentType, 
             BigDecimal minSalary, BigDecimal maxSalary, UUID courseId, String search, 
             LocalDate startDate, LocalDate endDate) {
+        return getAllPlacements(pageable, status, companyId, jobType, employmentType, minSalary, maxSalary,
+            courseId, search, startDate, endDate, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get all placements with only the requested fields - ADMIN and PLACEMENT_OFFICER can view placements
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
+    public Page<PlacementResponseDTO> getAllPlacements(Pageable pageable, Placement.PlacementStatus status, 
+            UUID companyId, Placement.JobType jobType, Placement.EmploymentType employmentType, 
+            BigDecimal minSalary, BigDecimal maxSalary, UUID courseId, String search, 
+            LocalDate startDate, LocalDate endDate, ResponseShape shape) {
         
         // If date range is provided, use it for filtering
         if (startDate != null && endDate != null) {
             Page<Placement> placements = placementRepository.findByPlacementDateBetween(startDate, endDate, pageable);
-            return placements.map(this::convertToResponseDTO);
+            return convertToPage(placements, shape);
         }
         
         // Use the complex filter query
         Page<Placement> placements = placementRepository.findPlacementsWithFilters(
             status, companyId, jobType, employmentType, minSalary, maxSalary, courseId, search, pageable);
-        return placements.map(this::convertToResponseDTO);
+        return convertToPage(placements, shape);
     }
     
     /**
      * Get placements by student - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<PlacementResponseDTO> getPlacementsByStudent(UUID studentId) {
         Student student = studentRepository.findById(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
@@ -142,6 +237,7 @@ public class PlacementService {
      * Get placements by company - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<PlacementResponseDTO> getPlacementsByCompany(UUID companyId, Pageable pageable) {
         Company company = companyRepository.findById(companyId)
             .orElseThrow(() -> new ResourceNotFoundException("Company", "id", companyId));
@@ -154,6 +250,7 @@ public class PlacementService {
      * Get placements by status - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Placement> getPlacementsByStatus(Placement.PlacementStatus status) {
         return placementRepository.findByStatus(status);
     }
@@ -162,6 +259,7 @@ public class PlacementService {
      * Get placements within date range - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Placement> getPlacementsByDateRange(LocalDate startDate, LocalDate endDate) {
         return placementRepository.findByPlacementDateBetween(startDate, endDate);
     }
@@ -170,6 +268,7 @@ public class PlacementService {
      * Get placements within salary range - ADMIN and PLACEMENT_OFFICER can view placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Placement> getPlacementsBySalaryRange(BigDecimal minSalary, BigDecimal maxSalary) {
         return placementRepository.findBySalaryBetween(minSalary, maxSalary);
     }
@@ -192,16 +291,18 @@ public class PlacementService {
      */
     @PreAuthorize("hasRole('ADMIN')")
     public void deletePlacement(UUID id) {
-        if (!placementRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Placement", "id", id);
-        }
-        placementRepository.deleteById(id);
+        Placement placement = placementRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Placement", "id", id));
+        
+        childCounters.placementRemoved(placement);
+        placementRepository.delete(placement);
     }
     
     /**
      * Get recent placements - ADMIN and PLACEMENT_OFFICER can view recent placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Page<PlacementResponseDTO> getRecentPlacements(Pageable pageable) {
         Page<Placement> placements = placementRepository.findRecentPlacements(pageable);
         return placements.map(this::convertToResponseDTO);
@@ -211,6 +312,7 @@ public class PlacementService {
      * Get active placements - ADMIN and PLACEMENT_OFFICER can view active placements
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<PlacementResponseDTO> getActivePlacements() {
         List<Placement> placements = placementRepository.findActivePlacements(LocalDate.now());
         return placements.stream()
@@ -222,21 +324,19 @@ public class PlacementService {
      * Get comprehensive placement statistics - ADMIN and PLACEMENT_OFFICER can view statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Map<String, Object> getPlacementStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        long totalPlacements = placementRepository.count();
-        long activePlacements = placementRepository.countByStatus(Placement.PlacementStatus.PLACED);
-        long resignedPlacements = placementRepository.countByStatus(Placement.PlacementStatus.RESIGNED);
-        long terminatedPlacements = placementRepository.countByStatus(Placement.PlacementStatus.TERMINATED);
-        
-        stats.put("totalPlacements", totalPlacements);
-        stats.put("activePlacements", activePlacements);
-        stats.put("resignedPlacements", resignedPlacements);
-        stats.put("terminatedPlacements", terminatedPlacements);
+        Map<Placement.PlacementStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.PLACEMENT, Placement.PlacementStatus.class);
+        stats.put("totalPlacements", StatusCounts.total(counts));
+        stats.put("activePlacements", counts.get(Placement.PlacementStatus.PLACED));
+        stats.put("resignedPlacements", counts.get(Placement.PlacementStatus.RESIGNED));
+        stats.put("terminatedPlacements", counts.get(Placement.PlacementStatus.TERMINATED));
         
         // Calculate placement rate
-        long totalGraduates = placementRepository.countGraduatedStudents();
+        long totalGraduates = statusCounts.counts(StatusCount.EntityType.STUDENT, Student.StudentStatus.class)
+            .get(Student.StudentStatus.GRADUATED);
         long placedStudents = placementRepository.countPlacedStudents();
         double placementRate = totalGraduates > 0 ? (double) placedStudents / totalGraduates * 100 : 0.0;
         stats.put("placementRate", placementRate);
@@ -248,6 +348,7 @@ public class PlacementService {
      * Get salary statistics - ADMIN and PLACEMENT_OFFICER can view salary statistics
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public Map<String, Object> getSalaryStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
@@ -276,6 +377,7 @@ public class PlacementService {
      * Get placement trends - ADMIN and PLACEMENT_OFFICER can view trends
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getPlacementTrends(LocalDate startDate) {
         List<Object[]> trends = placementRepository.getMonthlyPlacementTrends(startDate);
         return trends.stream()
@@ -293,6 +395,7 @@ public class PlacementService {
      * Get placement rate by course - ADMIN and PLACEMENT_OFFICER can view placement rates
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getPlacementRateByCourse() {
         List<Object[]> rates = placementRepository.getPlacementRateByCourse();
         return rates.stream()
@@ -314,6 +417,7 @@ public class PlacementService {
      * Get company performance statistics - ADMIN and PLACEMENT_OFFICER can view company performance
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('PLACEMENT_OFFICER')")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getCompanyPerformanceStats() {
         List<Object[]> performance = placementRepository.getCompanyPerformanceStats();
         return performance.stream()
@@ -329,33 +433,66 @@ public class PlacementService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Convert a page of placements. The students and companies in the shape are loaded for the whole
+     * page up front, one query each, instead of once per placement; the rest are never loaded.
+     */
+    private Page<PlacementResponseDTO> convertToPage(Page<Placement> placements, ResponseShape shape) {
+        if (shape.includes("student")) {
+            Set<UUID> studentIds = placements.getContent().stream()
+                .filter(placement -> placement.getStudent() != null)
+                .map(placement -> placement.getStudent().getId())
+                .collect(Collectors.toSet());
+            if (!studentIds.isEmpty()) {
+                studentRepository.findAllById(studentIds);
+            }
+        }
+        if (shape.includes("company")) {
+            Set<UUID> companyIds = placements.getContent().stream()
+                .filter(placement -> placement.getCompany() != null)
+                .map(placement -> placement.getCompany().getId())
+                .collect(Collectors.toSet());
+            if (!companyIds.isEmpty()) {
+                companyRepository.findAllById(companyIds);
+            }
+        }
+        return placements.map(placement -> convertToResponseDTO(placement, shape));
+    }
+    
     /**
      * Convert Placement entity to PlacementResponseDTO
      */
     private PlacementResponseDTO convertToResponseDTO(Placement placement) {
+        return convertToResponseDTO(placement, ResponseShape.defaults());
+    }
+    
+    /**
+     * Convert only the fields in the shape; the student and company are not touched, so never loaded, unless included
+     */
+    private PlacementResponseDTO convertToResponseDTO(Placement placement, ResponseShape shape) {
         PlacementResponseDTO dto = new PlacementResponseDTO();
         dto.setId(placement.getId());
-        dto.setPosition(placement.getPosition());
-        dto.setSalary(placement.getSalary());
-        dto.setPlacementDate(placement.getPlacementDate());
-        dto.setStatus(placement.getStatus());
-        dto.setJobType(placement.getJobType());
-        dto.setWorkLocation(placement.getWorkLocation());
-        dto.setEmploymentType(placement.getEmploymentType());
-        dto.setProbationPeriodMonths(placement.getProbationPeriodMonths());
-        dto.setJoiningDate(placement.getJoiningDate());
-        dto.setEndDate(placement.getEndDate());
-        dto.setNotes(placement.getNotes());
-        dto.setCreatedDate(placement.getCreatedDate());
-        dto.setUpdatedDate(placement.getUpdatedDate());
+        shape.put("position", placement::getPosition, dto::setPosition);
+        shape.put("salary", placement::getSalary, dto::setSalary);
+        shape.put("placementDate", placement::getPlacementDate, dto::setPlacementDate);
+        shape.put("status", placement::getStatus, dto::setStatus);
+        shape.put("jobType", placement::getJobType, dto::setJobType);
+        shape.put("workLocation", placement::getWorkLocation, dto::setWorkLocation);
+        shape.put("employmentType", placement::getEmploymentType, dto::setEmploymentType);
+        shape.put("probationPeriodMonths", placement::getProbationPeriodMonths, dto::setProbationPeriodMonths);
+        shape.put("joiningDate", placement::getJoiningDate, dto::setJoiningDate);
+        shape.put("endDate", placement::getEndDate, dto::setEndDate);
+        shape.put("notes", placement::getNotes, dto::setNotes);
+        shape.put("createdDate", placement::getCreatedDate, dto::setCreatedDate);
+        shape.put("updatedDate", placement::getUpdatedDate, dto::setUpdatedDate);
         
         // Set computed fields
-        dto.setIsActive(placement.isActive());
-        dto.setIsInProbation(placement.isInProbation());
-        dto.setTenureInMonths(placement.getTenureInMonths());
+        shape.put("isActive", placement::isActive, dto::setIsActive);
+        shape.put("isInProbation", placement::isInProbation, dto::setIsInProbation);
+        shape.put("tenureInMonths", placement::getTenureInMonths, dto::setTenureInMonths);
         
         // Set student basic info
-        if (placement.getStudent() != null) {
+        if (shape.includes("student") && placement.getStudent() != null) {
             Student student = placement.getStudent();
             StudentBasicDTO studentDTO = new StudentBasicDTO();
             studentDTO.setId(student.getId());
@@ -368,7 +505,7 @@ public class PlacementService {
         }
         
         // Set company basic info
-        if (placement.getCompany() != null) {
+        if (shape.includes("company") && placement.getCompany() != null) {
             Company company = placement.getCompany();
             CompanyBasicDTO companyDTO = new CompanyBasicDTO();
             companyDTO.setId(company.getId());
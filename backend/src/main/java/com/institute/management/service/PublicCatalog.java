@@ -0,0 +1,264 @@
+package com.institute.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institute.management.dto.PublicBatchDTO;
+import com.institute.management.dto.PublicCourseDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Course;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the public course catalog (active courses, fees and upcoming batches with their free
+ * seats) from an immutable in-memory snapshot, so marketing-site traffic never reaches the database.
+ *
+ * Every response body is rendered once per snapshot, together with its gzip form and a strong ETag
+ * derived from the content. A new snapshot is built off the request path and swapped in with one
+ * reference write; readers keep using the one they already hold. Committed course and batch changes
+ * mark the snapshot stale and a scheduled check rebuilds it, so a burst of changes costs one rebuild.
+ * Seat counts and changes made on other nodes bypass the entity events; they are picked up by a
+ * full rebuild once the snapshot reaches its maximum age.
+ */
+@Component
+public class PublicCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicCatalog.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Rebuild at least this often, even without a local change */
+    @Value("${app.public-catalog.max-age-ms:60000}")
+    private long maxAgeMs = 60000;
+
+    private volatile Snapshot snapshot;
+
+    private volatile boolean stale;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        CatalogListener listener = new CatalogListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * All active courses with their upcoming batches
+     */
+    public Representation courses() {
+        return current().courses();
+    }
+
+    public Optional<Representation> course(UUID courseId) {
+        return Optional.ofNullable(current().coursesById().get(courseId));
+    }
+
+    /**
+     * Free seats of an upcoming batch of an active course
+     */
+    public Optional<Representation> batch(UUID batchId) {
+        return Optional.ofNullable(current().batchesById().get(batchId));
+    }
+
+    /**
+     * Mark the snapshot stale; the next scheduled check rebuilds it
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-catalog.check-interval-ms:2000}")
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (stale || current == null || System.currentTimeMillis() - current.builtAt() >= maxAgeMs) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a new snapshot and swap it in
+     */
+    public synchronized void rebuild() {
+        // Cleared first: a change committed while building marks the new snapshot stale again
+        stale = false;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            snapshot = transaction.execute(status -> build());
+        } catch (RuntimeException e) {
+            stale = true;
+            logger.error("Could not rebuild the public catalog: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // First request before the application finished starting
+            rebuild();
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("The public catalog is not available");
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        Map<UUID, List<PublicBatchDTO>> batchesByCourse = new HashMap<>();
+        Map<UUID, Representation> batchesById = new HashMap<>();
+        for (Batch batch : batchRepository.findUpcomingBatchesOfActiveCourses(LocalDate.now())) {
+            PublicBatchDTO dto = new PublicBatchDTO(batch.getId(), batch.getCourse().getId(), batch.getName(),
+                batch.getStartDate(), batch.getEndDate(), batch.getCapacity(),
+                Math.max(0, batch.getCapacity() - batch.getCurrentEnrollment()));
+            batchesByCourse.computeIfAbsent(dto.getCourseId(), id -> new ArrayList<>()).add(dto);
+            batchesById.put(dto.getId(), render(dto));
+        }
+
+        List<PublicCourseDTO> courses = new ArrayList<>();
+        Map<UUID, Representation> coursesById = new HashMap<>();
+        for (Object[] course : courseRepository.findCatalogFieldsByStatus(Course.CourseStatus.ACTIVE)) {
+            UUID courseId = (UUID) course[0];
+            PublicCourseDTO dto = new PublicCourseDTO(courseId, (String) course[1], (String) course[2],
+                (Integer) course[3], (BigDecimal) course[4], batchesByCourse.getOrDefault(courseId, List.of()));
+            courses.add(dto);
+            coursesById.put(dto.getId(), render(dto));
+        }
+        courses.sort((a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+
+        return new Snapshot(render(courses), Map.copyOf(coursesById), Map.copyOf(batchesById), System.currentTimeMillis());
+    }
+
+    private Representation render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27);
+            return new Representation(json, compressed.toByteArray(), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render the public catalog", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One rendered response body: the JSON, its gzip form and a strong ETag for each
+     */
+    public record Representation(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    private record Snapshot(Representation courses, Map<UUID, Representation> coursesById,
+                            Map<UUID, Representation> batchesById, long builtAt) {
+    }
+
+    /**
+     * Marks the snapshot stale once a course or batch change has committed
+     */
+    private class CatalogListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return type == Course.class || type == Batch.class;
+        }
+
+        private void changed(EntityPersister persister) {
+            if (requiresPostCommitHandling(persister)) {
+                invalidate();
+            }
+        }
+    }
+}
@@ -39,6 +39,9 @@ public class ReportsService {
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired
+    private StudentArchive studentArchive;
+    
     /**
      * Generate revenue reports - Only ADMIN can access revenue reports
      */
@@ -70,6 +73,15 @@ public class ReportsService {
             revenueByMonth.merge(monthKey, courseFee, BigDecimal::add);
         }
         
+        // Historical ranges also cover students archived since they enrolled
+        List<Object[]> archivedEnrollments = studentArchive.findEnrollmentFees(startDate, endDate);
+        for (Object[] enrollment : archivedEnrollments) {
+            String monthKey = ((LocalDate) enrollment[0]).format(monthFormatter);
+            BigDecimal courseFee = enrollment[1] != null ? (BigDecimal) enrollment[1] : BigDecimal.ZERO;
+            revenueByMonth.merge(monthKey, courseFee, BigDecimal::add);
+        }
+        int totalEnrollments = enrollmentsInRange.size() + archivedEnrollments.size();
+        
         // Calculate revenue by batch
         Map<String, BigDecimal> revenueByBatch = new HashMap<>();
         List<Batch> allBatches = batchRepository.findAll();
@@ -80,9 +92,9 @@ public class ReportsService {
         }
         
         // Calculate average revenue per student
-        BigDecimal averageRevenuePerStudent = enrollmentsInRange.isEmpty() ? 
+        BigDecimal averageRevenuePerStudent = totalEnrollments == 0 ? 
             BigDecimal.ZERO : 
-            totalRevenue.divide(BigDecimal.valueOf(enrollmentsInRange.size()), 2, RoundingMode.HALF_UP);
+            totalRevenue.divide(BigDecimal.valueOf(totalEnrollments), 2, RoundingMode.HALF_UP);
         
         // Calculate growth rate (comparing with previous period)
         long daysBetween = ChronoUnit.DAYS.between(startDate, endDate);
@@ -92,6 +104,10 @@ public class ReportsService {
             .filter(s -> s.getBatch() != null)
             .map(s -> s.getBatch().getCourse().getFees())
             .reduce(BigDecimal.ZERO, BigDecimal::add);
+        previousRevenue = studentArchive.findEnrollmentFees(previousStartDate, startDate).stream()
+            .filter(enrollment -> enrollment[1] != null)
+            .map(enrollment -> (BigDecimal) enrollment[1])
+            .reduce(previousRevenue, BigDecimal::add);
         
         BigDecimal growthRate = previousRevenue.compareTo(BigDecimal.ZERO) == 0 ? 
             BigDecimal.ZERO : 
@@ -108,7 +124,7 @@ public class ReportsService {
         report.setRevenueByCourse(revenueByCourse);
         report.setRevenueByBatch(revenueByBatch);
         report.setAverageRevenuePerStudent(averageRevenuePerStudent);
-        report.setTotalEnrollments(enrollmentsInRange.size());
+        report.setTotalEnrollments(totalEnrollments);
         report.setGrowthRate(growthRate);
         report.setGeneratedAt(LocalDate.now());
         
@@ -123,15 +139,21 @@ public class ReportsService {
         // Get enrollments in date range
         List<Student> enrollmentsInRange = studentRepository.findByEnrollmentDateBetween(startDate, endDate);
         
-        // Get enrollment trends
+        // Get enrollment trends; historical ranges also cover students archived since they enrolled
         List<Object[]> trendData = studentRepository.getEnrollmentTrends(startDate, endDate);
         Map<String, Integer> enrollmentTrends = trendData.stream()
             .collect(Collectors.toMap(
                 data -> ((LocalDate) data[0]).toString(),
                 data -> ((Long) data[1]).intValue(),
                 (existing, replacement) -> existing,
-                LinkedHashMap::new
+                TreeMap::new
             ));
+        int archivedEnrollments = 0;
+        for (Object[] data : studentArchive.getEnrollmentTrends(startDate, endDate)) {
+            int count = ((Long) data[1]).intValue();
+            enrollmentTrends.merge(((LocalDate) data[0]).toString(), count, Integer::sum);
+            archivedEnrollments += count;
+        }
         
         // Get enrollments by course
         List<Object[]> courseData = studentRepository.countByCourse();
@@ -149,18 +171,19 @@ public class ReportsService {
                 data -> ((Long) data[1]).intValue()
             ));
         
-        // Get enrollments by status
+        // Get enrollments by status; all-time totals, so archived students count whatever the range
+        Map<Student.StudentStatus, Long> archivedByStatus = studentArchive.countByStatus();
         Map<String, Integer> enrollmentsByStatus = new HashMap<>();
         for (Student.StudentStatus status : Student.StudentStatus.values()) {
-            long count = studentRepository.countByStatus(status);
+            long count = studentRepository.countByStatus(status) + archivedByStatus.getOrDefault(status, 0L);
             enrollmentsByStatus.put(status.name(), (int) count);
         }
         
         // Calculate metrics
-        int totalEnrollments = enrollmentsInRange.size();
-        int activeStudents = (int) studentRepository.countByStatus(Student.StudentStatus.ACTIVE);
-        int graduatedStudents = (int) studentRepository.countByStatus(Student.StudentStatus.GRADUATED);
-        int droppedStudents = (int) studentRepository.countByStatus(Student.StudentStatus.DROPPED_OUT);
+        int totalEnrollments = enrollmentsInRange.size() + archivedEnrollments;
+        int activeStudents = enrollmentsByStatus.get(Student.StudentStatus.ACTIVE.name());
+        int graduatedStudents = enrollmentsByStatus.get(Student.StudentStatus.GRADUATED.name());
+        int droppedStudents = enrollmentsByStatus.get(Student.StudentStatus.DROPPED_OUT.name());
         
         // Calculate average enrollments per month
         long monthsBetween = ChronoUnit.MONTHS.between(startDate, endDate) + 1;
@@ -171,8 +194,11 @@ public class ReportsService {
         long daysBetween2 = ChronoUnit.DAYS.between(startDate, endDate);
         LocalDate previousStartDate2 = startDate.minusDays(daysBetween2);
         List<Student> previousEnrollments = studentRepository.findByEnrollmentDateBetween(previousStartDate2, startDate);
-        double growthRate = previousEnrollments.isEmpty() ? 0.0 : 
-            ((double) (totalEnrollments - previousEnrollments.size()) / previousEnrollments.size()) * 100;
+        int previousTotal = previousEnrollments.size() + studentArchive.getEnrollmentTrends(previousStartDate2, startDate).stream()
+            .mapToInt(data -> ((Long) data[1]).intValue())
+            .sum();
+        double growthRate = previousTotal == 0 ? 0.0 : 
+            ((double) (totalEnrollments - previousTotal) / previousTotal) * 100;
         
         // Calculate retention rate (active + graduated / total)
         int totalStudents = activeStudents + graduatedStudents + droppedStudents;
@@ -250,8 +276,11 @@ public class ReportsService {
                 data -> data[0] + "-" + String.format("%02d", data[1]),
                 data -> ((Long) data[2]).intValue(),
                 (existing, replacement) -> existing,
-                LinkedHashMap::new
+                TreeMap::new
             ));
+        for (Object[] data : studentArchive.getMonthlyPlacementTrends(startDate.minusYears(1))) {
+            placementTrends.merge(data[0] + "-" + String.format("%02d", data[1]), ((Long) data[2]).intValue(), Integer::sum);
+        }
         
         // Calculate salary statistics
         BigDecimal averageSalary = placementRepository.getAverageSalary();
@@ -286,7 +315,7 @@ public class ReportsService {
             ));
         
         // Calculate placement metrics
-        int totalPlacements = placementsInRange.size();
+        int totalPlacements = placementsInRange.size() + (int) studentArchive.countPlacements(startDate, endDate);
         int activePlacements = placementRepository.findActivePlacements(LocalDate.now()).size();
         long placedStudents = placementRepository.countPlacedStudents();
         long totalGraduates = placementRepository.countGraduatedStudents();
@@ -0,0 +1,220 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.exception.BatchCapacityExceededException;
+import com.institute.management.repository.BatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits students into batch seats without overselling and without locking the batch for
+ * the whole request.
+ *
+ * A seat is taken with a single conditional UPDATE (current_enrollment < capacity), so
+ * concurrent admissions can never push a batch past capacity. Every batch admitted into on this
+ * node gets an in-memory counter, seeded from the seat count its admission saw and advanced by the
+ * admissions committed here since. Once it reaches capacity further attempts are rejected without a
+ * database round trip until the entry expires or a seat is released on this node. A scheduled job
+ * corrects counters that have drifted from the actual number of assigned students.
+ */
+@Component
+public class SeatAdmission {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatAdmission.class);
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** How long a seat count is trusted; seats freed on other nodes are noticed after this */
+    @Value("${app.seat-admission.full-cache-ttl-ms:2000}")
+    private long fullCacheTtlMs = 2000;
+
+    private final ConcurrentMap<UUID, SeatCounter> hotBatches = new ConcurrentHashMap<>();
+
+    /**
+     * Take one seat in the batch for the current transaction; the seat is returned if it rolls back
+     */
+    public void admit(Batch batch) {
+        UUID batchId = batch.getId();
+
+        SeatCounter counter = hotBatches.get(batchId);
+        if (counter != null) {
+            if (counter.isFull(System.currentTimeMillis(), fullCacheTtlMs)) {
+                throw new BatchCapacityExceededException(batch.getName(), counter.capacity, counter.estimate());
+            }
+        }
+
+        if (batchRepository.admitOne(batchId) == 0) {
+            List<Object[]> seats = batchRepository.findSeats(batchId);
+            int capacity = seats.isEmpty() ? batch.getCapacity() : ((Number) seats.get(0)[0]).intValue();
+            int current = seats.isEmpty() ? batch.getCurrentEnrollment() : ((Number) seats.get(0)[1]).intValue();
+            hotBatches.put(batchId, new SeatCounter(capacity, current, System.currentTimeMillis()));
+            throw new BatchCapacityExceededException(batch.getName(), capacity, current);
+        }
+
+        // Keep the loaded entity roughly current for the response; the column itself is not updatable
+        batch.setCurrentEnrollment(batch.getCurrentEnrollment() + 1);
+        int capacity = batch.getCapacity();
+        int enrolled = batch.getCurrentEnrollment();
+        afterCommit(() -> adjust(batchId, capacity, enrolled, 1));
+    }
+
+    /**
+     * Take up to the requested number of seats in the batch for the current transaction, e.g. for
+     * a bulk enrollment; returns how many were taken (0 when the batch is full)
+     */
+    public int admit(Batch batch, int seats) {
+        UUID batchId = batch.getId();
+
+        SeatCounter counter = hotBatches.get(batchId);
+        if (counter != null && counter.isFull(System.currentTimeMillis(), fullCacheTtlMs)) {
+            return 0;
+        }
+
+        int capacity;
+        int enrolled;
+        int admitted;
+        do {
+            List<Object[]> current = batchRepository.findSeats(batchId);
+            if (current.isEmpty()) {
+                return 0;
+            }
+            capacity = ((Number) current.get(0)[0]).intValue();
+            enrolled = ((Number) current.get(0)[1]).intValue();
+            admitted = Math.min(seats, capacity - enrolled);
+            if (admitted <= 0) {
+                hotBatches.put(batchId, new SeatCounter(capacity, enrolled, System.currentTimeMillis()));
+                return 0;
+            }
+            // Conditional like admitOne: matches no row if a concurrent admission took seats since
+            // the read, in which case the free seats are read again
+        } while (batchRepository.admitMany(batchId, admitted) == 0);
+
+        int taken = admitted;
+        int seatCapacity = capacity;
+        int seatsEnrolled = enrolled + taken;
+        batch.setCurrentEnrollment(batch.getCurrentEnrollment() + taken);
+        afterCommit(() -> adjust(batchId, seatCapacity, seatsEnrolled, taken));
+        return taken;
+    }
+
+    /**
+     * Give back one seat in the batch.
+     * A cached "full" entry is dropped right away so the seat can be re-admitted in the same
+     * transaction, e.g. by waitlist promotion.
+     */
+    public void release(Batch batch) {
+        UUID batchId = batch.getId();
+        if (batchRepository.releaseOne(batchId) > 0) {
+            batch.setCurrentEnrollment(Math.max(0, batch.getCurrentEnrollment() - 1));
+            hotBatches.remove(batchId);
+        }
+    }
+
+    /**
+     * Drop any cached seat state for a batch, e.g. after its capacity changed
+     */
+    public void invalidate(UUID batchId) {
+        hotBatches.remove(batchId);
+    }
+
+    /**
+     * Correct enrollment counters that disagree with the number of assigned students.
+     * The correction is conditional on the counter and the student count both still holding the
+     * observed values when it runs, so a drift is corrected on the first run that sees it, and an
+     * admission committed in between is never mistaken for drift.
+     */
+    @Scheduled(fixedDelayString = "${app.seat-admission.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.seat-admission.reconcile-interval-ms:600000}")
+    public synchronized int reconcile() {
+        Integer corrected = new TransactionTemplate(transactionManager).execute(status -> {
+            int fixed = 0;
+            for (Object[] row : batchRepository.findEnrollmentDrift()) {
+                UUID batchId = (UUID) row[0];
+                int counter = ((Number) row[1]).intValue();
+                int actual = ((Number) row[2]).intValue();
+
+                if (batchRepository.correctEnrollment(batchId, counter, actual) > 0) {
+                    fixed++;
+                    hotBatches.remove(batchId);
+                    logger.warn("Corrected enrollment counter of batch {} from {} to {}", batchId, counter, actual);
+                }
+            }
+            return fixed;
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    /**
+     * Count committed admissions; a batch without a current counter gets one seeded from the seat
+     * count the admission saw, which includes its own seats
+     */
+    private void adjust(UUID batchId, int capacity, int enrolled, int delta) {
+        long now = System.currentTimeMillis();
+        SeatCounter counter = hotBatches.get(batchId);
+        if (counter != null && counter.isCurrent(now, fullCacheTtlMs)) {
+            counter.delta.add(delta);
+        } else {
+            hotBatches.put(batchId, new SeatCounter(capacity, enrolled, now));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Last authoritative seat count for a batch plus the admissions and releases committed on
+     * this node since; the striped delta keeps concurrent updates from contending
+     */
+    private static class SeatCounter {
+        private final int capacity;
+        private final int enrollmentAtRefresh;
+        private final long refreshedAt;
+        private final LongAdder delta = new LongAdder();
+
+        SeatCounter(int capacity, int enrollmentAtRefresh, long refreshedAt) {
+            this.capacity = capacity;
+            this.enrollmentAtRefresh = enrollmentAtRefresh;
+            this.refreshedAt = refreshedAt;
+        }
+
+        int estimate() {
+            return enrollmentAtRefresh + delta.intValue();
+        }
+
+        boolean isCurrent(long now, long ttlMs) {
+            return now - refreshedAt < ttlMs;
+        }
+
+        boolean isFull(long now, long ttlMs) {
+            return isCurrent(now, ttlMs) && estimate() >= capacity;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Employee;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.StatusCount;
+import com.institute.management.entity.StatusCount.EntityType;
+import com.institute.management.entity.Student;
+import com.institute.management.repository.StatusCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a per-status row count for every entity with a status, so statistics endpoints read a
+ * handful of rollup rows instead of counting each status over the whole table.
+ *
+ * Hibernate insert, update and delete events collect the status deltas of a session; they are
+ * written in one JDBC batch right before the transaction commits, so the rollup commits or rolls
+ * back with the change it counts and its rows are locked only for the commit itself. Each
+ * transaction writes to one randomly chosen slot row per status to keep concurrent writers apart.
+ *
+ * Bulk JPQL updates bypass the entity events; code that changes statuses in bulk must call
+ * {@link #adjust}. A scheduled job compares the rollup with the actual distribution and corrects
+ * drift that persists across two runs.
+ */
+@Component
+public class StatusCounts {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusCounts.class);
+
+    private static final String ADJUST_SQL =
+        "UPDATE status_counts SET row_count = row_count + ? WHERE entity_type = ? AND status = ? AND slot = ?";
+
+    private static final Map<Class<?>, EntityType> ENTITY_TYPES = Map.of(
+        Student.class, EntityType.STUDENT,
+        Lead.class, EntityType.LEAD,
+        Course.class, EntityType.COURSE,
+        Company.class, EntityType.COMPANY,
+        Employee.class, EntityType.EMPLOYEE,
+        Placement.class, EntityType.PLACEMENT,
+        Batch.class, EntityType.BATCH);
+
+    private static final Map<EntityType, Class<? extends Enum<?>>> STATUS_TYPES = Map.of(
+        EntityType.STUDENT, Student.StudentStatus.class,
+        EntityType.LEAD, Lead.LeadStatus.class,
+        EntityType.COURSE, Course.CourseStatus.class,
+        EntityType.COMPANY, Company.CompanyStatus.class,
+        EntityType.EMPLOYEE, Employee.EmployeeStatus.class,
+        EntityType.PLACEMENT, Placement.PlacementStatus.class,
+        EntityType.BATCH, Batch.BatchStatus.class);
+
+    @Autowired
+    private StatusCountRepository statusCountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Rows per (entity type, status); more slots mean less lock contention between writers */
+    @Value("${app.status-counts.slots:8}")
+    private int slots = 8;
+
+    private final Map<SharedSessionContractImplementor, PendingDeltas> pending = new ConcurrentHashMap<>();
+
+    private Map<String, Long> previousDrift = new HashMap<>();
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        StatusListener listener = new StatusListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    /**
+     * Current number of rows of an entity type in each status; statuses without rows map to 0
+     */
+    public <E extends Enum<E>> Map<E, Long> counts(EntityType entityType, Class<E> statusType) {
+        Map<E, Long> counts = new EnumMap<>(statusType);
+        for (E status : statusType.getEnumConstants()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : statusCountRepository.sumByStatus(entityType)) {
+            counts.put(Enum.valueOf(statusType, (String) row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Sum of all status counts
+     */
+    public static long total(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Record a status change made outside entity events, e.g. by a bulk update; must run in the
+     * transaction that made the change
+     */
+    public void adjust(EntityType entityType, Enum<?> status, long delta) {
+        statusCountRepository.adjust(entityType, status.name(), ThreadLocalRandom.current().nextInt(slots), delta);
+    }
+
+    /**
+     * Create missing rollup rows. An entity type without any rows yet is seeded from the actual
+     * distribution; runs on every start so new statuses and slots get their rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Set<String> existing = new HashSet<>();
+                Set<EntityType> seeded = new HashSet<>();
+                for (StatusCount count : statusCountRepository.findAll()) {
+                    existing.add(key(count.getEntityType(), count.getStatus()) + ":" + count.getSlot());
+                    seeded.add(count.getEntityType());
+                }
+                Map<String, Long> actual = seeded.size() < EntityType.values().length ? countActual() : Map.of();
+
+                List<StatusCount> missing = new ArrayList<>();
+                for (EntityType entityType : EntityType.values()) {
+                    for (Enum<?> value : STATUS_TYPES.get(entityType).getEnumConstants()) {
+                        for (int slot = 0; slot < slots; slot++) {
+                            if (!existing.contains(key(entityType, value.name()) + ":" + slot)) {
+                                long initial = slot == 0 && !seeded.contains(entityType)
+                                    ? actual.getOrDefault(key(entityType, value.name()), 0L) : 0L;
+                                missing.add(new StatusCount(entityType, value.name(), slot, initial));
+                            }
+                        }
+                    }
+                }
+                statusCountRepository.saveAll(missing);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the rows first
+            logger.info("Status count rows were initialized concurrently: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Correct rollup counts that disagree with the actual distribution.
+     * A count is only corrected once the same difference has been seen on two consecutive runs, so
+     * changes committed between the two reads of a run are never mistaken for drift; the correction
+     * is applied as a delta and does not overwrite concurrent changes.
+     */
+    @Scheduled(fixedDelayString = "${app.status-counts.repair-interval-ms:3600000}",
+               initialDelayString = "${app.status-counts.repair-interval-ms:3600000}")
+    public synchronized int repair() {
+        Integer corrected = new TransactionTemplate(transactionManager).execute(status -> {
+            Map<String, Long> actual = countActual();
+            Map<String, Long> rollup = new HashMap<>();
+            for (Object[] row : statusCountRepository.sumAll()) {
+                rollup.put(key((EntityType) row[0], (String) row[1]), ((Number) row[2]).longValue());
+            }
+
+            Set<String> keys = new HashSet<>(actual.keySet());
+            keys.addAll(rollup.keySet());
+            Map<String, Long> observed = new HashMap<>();
+            int fixed = 0;
+            for (String key : keys) {
+                long difference = actual.getOrDefault(key, 0L) - rollup.getOrDefault(key, 0L);
+                if (difference == 0) {
+                    continue;
+                }
+                if (!Objects.equals(previousDrift.get(key), difference)) {
+                    observed.put(key, difference);
+                    continue;
+                }
+                String[] parts = key.split(":");
+                if (statusCountRepository.adjust(EntityType.valueOf(parts[0]), parts[1], 0, difference) > 0) {
+                    fixed++;
+                    logger.warn("Corrected {} status count by {}", key, difference);
+                }
+            }
+            previousDrift = observed;
+            return fixed;
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    private Map<String, Long> countActual() {
+        Map<String, Long> actual = new HashMap<>();
+        for (Object[] row : statusCountRepository.countActual()) {
+            actual.merge(row[0] + ":" + row[1], ((Number) row[2]).longValue(), Long::sum);
+        }
+        return actual;
+    }
+
+    private static String key(EntityType entityType, String status) {
+        return entityType.name() + ":" + status;
+    }
+
+    private void record(EventSource session, EntityType entityType, Object status, int delta) {
+        if (status == null) {
+            return;
+        }
+        PendingDeltas deltas = pending.computeIfAbsent(session, s -> {
+            PendingDeltas created = new PendingDeltas(ThreadLocalRandom.current().nextInt(slots));
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) created);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) created);
+            return created;
+        });
+        deltas.add(entityType, ((Enum<?>) status).name(), delta);
+    }
+
+    /**
+     * Status deltas collected in one session, written just before its transaction commits
+     */
+    private class PendingDeltas implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+        private final int slot;
+        private final Map<EntityType, Map<String, Integer>> deltas = new EnumMap<>(EntityType.class);
+
+        PendingDeltas(int slot) {
+            this.slot = slot;
+        }
+
+        void add(EntityType entityType, String status, int delta) {
+            deltas.computeIfAbsent(entityType, t -> new HashMap<>()).merge(status, delta, Integer::sum);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pending.remove(session);
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(ADJUST_SQL)) {
+                    int batched = 0;
+                    for (Map.Entry<EntityType, Map<String, Integer>> type : deltas.entrySet()) {
+                        for (Map.Entry<String, Integer> delta : type.getValue().entrySet()) {
+                            if (delta.getValue() != 0) {
+                                statement.setLong(1, delta.getValue());
+                                statement.setString(2, type.getKey().name());
+                                statement.setString(3, delta.getKey());
+                                statement.setInt(4, slot);
+                                statement.addBatch();
+                                batched++;
+                            }
+                        }
+                    }
+                    if (batched > 0) {
+                        statement.executeBatch();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            pending.remove(session);
+        }
+    }
+
+    /**
+     * Turns entity inserts, status changes and deletes into status deltas
+     */
+    private class StatusListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            EntityType entityType = ENTITY_TYPES.get(event.getPersister().getMappedClass());
+            if (entityType != null) {
+                record(event.getSession(), entityType, event.getState()[statusIndex(event.getPersister())], 1);
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            EntityType entityType = ENTITY_TYPES.get(event.getPersister().getMappedClass());
+            if (entityType == null || event.getOldState() == null) {
+                return;
+            }
+            int index = statusIndex(event.getPersister());
+            Object before = event.getOldState()[index];
+            Object after = event.getState()[index];
+            if (!Objects.equals(before, after)) {
+                record(event.getSession(), entityType, before, -1);
+                record(event.getSession(), entityType, after, 1);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            EntityType entityType = ENTITY_TYPES.get(event.getPersister().getMappedClass());
+            if (entityType != null && event.getDeletedState() != null) {
+                record(event.getSession(), entityType, event.getDeletedState()[statusIndex(event.getPersister())], -1);
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private int statusIndex(EntityPersister persister) {
+            return persister.getEntityMetamodel().getPropertyIndex("status");
+        }
+    }
+}
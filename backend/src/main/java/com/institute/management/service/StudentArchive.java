@@ -0,0 +1,263 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.StudentResponseDTO;
+import com.institute.management.entity.ArchivedPlacement;
+import com.institute.management.entity.ArchivedStudent;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.Student;
+import com.institute.management.repository.ArchivedPlacementRepository;
+import com.institute.management.repository.ArchivedStudentRepository;
+import com.institute.management.repository.ArchivedStudentStatusChangeRepository;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CompanyRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves graduated and dropped-out students whose lifecycle closed more than the retention window ago,
+ * together with their placements and status history, out of the live tables into students_archive,
+ * placements_archive and student_status_history_archive. Reads them back for single-student lookups
+ * and for reports over historical date ranges.
+ *
+ * Each batch is moved with set-based INSERT ... SELECT and bulk DELETE statements in one transaction.
+ * The bulk statements bypass the status rollup and the batch / company counters on purpose: archived
+ * students and placements keep counting towards statistics, seat counts and company placement counts.
+ */
+@Component
+public class StudentArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentArchive.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+
+    @Autowired
+    private ArchivedPlacementRepository archivedPlacementRepository;
+
+    @Autowired
+    private ArchivedStudentStatusChangeRepository archivedStatusChangeRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.student-archive.retention-days:1095}")
+    private int retentionDays = 1095;
+
+    @Value("${app.student-archive.batch-size:200}")
+    private int batchSize = 200;
+
+    /**
+     * Archive every closed student past the retention window, one transaction per batch
+     */
+    @Scheduled(fixedDelayString = "${app.student-archive.interval-ms:86400000}",
+               initialDelayString = "${app.student-archive.interval-ms:86400000}")
+    public synchronized int archiveClosedStudents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        int moved;
+        do {
+            Integer batch = transaction.execute(status -> archiveBatch(cutoff));
+            moved = batch != null ? batch : 0;
+            archived += moved;
+        } while (moved == batchSize);
+
+        if (archived > 0) {
+            logger.info("Archived {} graduated / dropped-out students closed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Whether a report range starting on this date can include archived students or placements.
+     * A student is archived only after its status, and so its enrollment, is older than the retention window.
+     */
+    public boolean covers(LocalDate startDate) {
+        return startDate != null && startDate.isBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * An archived student rebuilt as a detached Student with its placements; never to be saved
+     */
+    public Optional<Student> find(UUID id) {
+        return archivedStudentRepository.findById(id).map(this::restore);
+    }
+
+    /**
+     * The status timeline of an archived student, newest first
+     */
+    public Optional<Page<StudentResponseDTO.StatusHistoryDTO>> findStatusHistory(UUID id, Pageable pageable) {
+        if (!archivedStudentRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(archivedStatusChangeRepository.findTimeline(id, pageable)
+            .map(change -> new StudentResponseDTO.StatusHistoryDTO(
+                change.getStatus(), change.getChangeDate(), change.getNotes())));
+    }
+
+    /**
+     * Enrollment date and course fee of archived students enrolled in a historical range
+     */
+    public List<Object[]> findEnrollmentFees(LocalDate startDate, LocalDate endDate) {
+        return covers(startDate) ? archivedStudentRepository.findEnrollmentFees(startDate, endDate) : List.of();
+    }
+
+    /**
+     * Archived enrollments per day in a historical range, shaped like StudentRepository.getEnrollmentTrends
+     */
+    public List<Object[]> getEnrollmentTrends(LocalDate startDate, LocalDate endDate) {
+        return covers(startDate) ? archivedStudentRepository.getEnrollmentTrends(startDate, endDate) : List.of();
+    }
+
+    /**
+     * Archived students by status; these go into all-time totals, so unlike the ranged lookups they
+     * do not depend on the report range
+     */
+    public Map<Student.StudentStatus, Long> countByStatus() {
+        Map<Student.StudentStatus, Long> counts = new EnumMap<>(Student.StudentStatus.class);
+        for (Object[] row : archivedStudentRepository.countGroupByStatus()) {
+            counts.put((Student.StudentStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Archived placements dated in a historical range
+     */
+    public long countPlacements(LocalDate startDate, LocalDate endDate) {
+        return covers(startDate) ? archivedPlacementRepository.countByPlacementDateBetween(startDate, endDate) : 0;
+    }
+
+    /**
+     * Archived placements per month since a historical date, shaped like PlacementRepository.getMonthlyPlacementTrends
+     */
+    public List<Object[]> getMonthlyPlacementTrends(LocalDate startDate) {
+        return covers(startDate) ? archivedPlacementRepository.getMonthlyPlacementTrends(startDate) : List.of();
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<UUID> ids = studentRepository.findArchivableStudentIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.createQuery(
+                "INSERT INTO ArchivedStudent (id, enrollmentNumber, firstName, lastName, email, phone, dateOfBirth, address, " +
+                "batchId, leadId, status, enrollmentDate, graduationDate, finalGrade, createdDate, updatedDate, " +
+                "placementCount, statusChangeCount, lastStatus, lastStatusChangeDate, lastStatusChangeNotes, archivedDate) " +
+                "SELECT s.id, s.enrollmentNumber, s.firstName, s.lastName, s.email, s.phone, s.dateOfBirth, s.address, " +
+                "s.batch.id, s.lead.id, s.status, s.enrollmentDate, s.graduationDate, s.finalGrade, s.createdDate, s.updatedDate, " +
+                "s.placementCount, s.statusChangeCount, s.lastStatusChange.status, s.lastStatusChange.changeDate, " +
+                "s.lastStatusChange.notes, CAST(:now AS LocalDateTime) FROM Student s WHERE s.id IN :ids")
+            .setParameter("now", now)
+            .setParameter("ids", ids)
+            .executeUpdate();
+        entityManager.createQuery(
+                "INSERT INTO ArchivedPlacement (id, studentId, companyId, position, salary, placementDate, status, jobType, " +
+                "workLocation, employmentType, probationPeriodMonths, joiningDate, endDate, notes, createdDate, updatedDate) " +
+                "SELECT p.id, p.student.id, p.company.id, p.position, p.salary, p.placementDate, p.status, p.jobType, " +
+                "p.workLocation, p.employmentType, p.probationPeriodMonths, p.joiningDate, p.endDate, p.notes, " +
+                "p.createdDate, p.updatedDate FROM Placement p WHERE p.student.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        entityManager.createQuery(
+                "INSERT INTO ArchivedStudentStatusChange (id, studentId, status, changeDate, notes) " +
+                "SELECT h.id, h.student.id, h.status, h.changeDate, h.notes FROM StudentStatusChange h WHERE h.student.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+
+        // Children first; finished waitlist entries are history that is not kept
+        delete("DELETE FROM BatchWaitlistEntry w WHERE w.student.id IN :ids", ids);
+        delete("DELETE FROM StudentStatusChange h WHERE h.student.id IN :ids", ids);
+        delete("DELETE FROM Placement p WHERE p.student.id IN :ids", ids);
+        delete("DELETE FROM Student s WHERE s.id IN :ids", ids);
+        return ids.size();
+    }
+
+    private void delete(String statement, Collection<UUID> ids) {
+        entityManager.createQuery(statement).setParameter("ids", ids).executeUpdate();
+    }
+
+    private Student restore(ArchivedStudent archived) {
+        Student student = new Student(archived.getEnrollmentNumber(), archived.getFirstName(), archived.getLastName(),
+                                      archived.getEmail(), archived.getPhone(), archived.getEnrollmentDate());
+        student.setId(archived.getId());
+        student.setDateOfBirth(archived.getDateOfBirth());
+        student.setAddress(archived.getAddress());
+        student.setStatus(archived.getStatus());
+        student.setGraduationDate(archived.getGraduationDate());
+        student.setFinalGrade(archived.getFinalGrade());
+        student.setCreatedDate(archived.getCreatedDate());
+        student.setUpdatedDate(archived.getUpdatedDate());
+        if (archived.getBatchId() != null) {
+            batchRepository.findById(archived.getBatchId()).ifPresent(student::setBatch);
+        }
+        if (archived.getLeadId() != null) {
+            leadRepository.findById(archived.getLeadId()).ifPresent(student::setLead);
+        }
+
+        // Overwrites the timeline entry setStatus queued on the detached copy
+        student.setStatusHistory(new ArrayList<>());
+        student.setStatusChangeCount(archived.getStatusChangeCount());
+        student.setLastStatusChange(archived.getLastStatus() == null ? null : new Student.StatusHistory(
+            archived.getLastStatus(), archived.getLastStatusChangeDate(), archived.getLastStatusChangeNotes()));
+
+        List<ArchivedPlacement> placements = archivedPlacementRepository.findByStudentIdOrderByPlacementDateDesc(archived.getId());
+        Map<UUID, Company> companies = companyRepository.findAllById(
+                placements.stream().map(ArchivedPlacement::getCompanyId).distinct().collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Company::getId, Function.identity()));
+        for (ArchivedPlacement archivedPlacement : placements) {
+            Placement placement = new Placement(student, companies.get(archivedPlacement.getCompanyId()),
+                                                archivedPlacement.getPosition(), archivedPlacement.getSalary(),
+                                                archivedPlacement.getPlacementDate());
+            placement.setId(archivedPlacement.getId());
+            placement.setStatus(archivedPlacement.getStatus());
+            student.getPlacements().add(placement);
+        }
+        student.setPlacementCount(placements.size());
+        return student;
+    }
+}
@@ -3,14 +3,18 @@ package com.institute.management.service;
 import com.institute.management.dto.*;
 import com.institute.management.entity.Batch;
 import com.institute.management.entity.Lead;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.entity.Student;
-import com.institute.management.exception.BatchCapacityExceededException;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
+import com.institute.management.exception.ValidationException;
 import com.institute.management.repository.BatchRepository;
 import com.institute.management.repository.LeadRepository;
 import com.institute.management.repository.StudentRepository;
+import com.institute.management.repository.StudentStatusChangeRepository;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,9 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,13 +45,51 @@ public class StudentService {
     @Autowired
     private LeadRepository leadRepository;
     
+    @Autowired
+    private UniquenessGuard uniquenessGuard;
+    
+    @Autowired
+    private EnrollmentNumberAllocator enrollmentNumberAllocator;
+    
+    @Autowired
+    private SeatAdmission seatAdmission;
+    
+    @Autowired
+    private BatchWaitlistService batchWaitlistService;
+    
+    @Autowired
+    private StudentStatusChangeRepository studentStatusChangeRepository;
+    
+    @Autowired
+    private ChildCounters childCounters;
+    
+    @Autowired
+    private StatusCounts statusCounts;
+    
+    @Autowired
+    private StudentArchive studentArchive;
+    
+    @Autowired
+    private StudentTransitions studentTransitions;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${app.bulk.max-rows:1000}")
+    private int bulkMaxRows = 1000;
+    
+    /** List pages include the lazily loaded text columns only with ?view=full, unless this is set */
+    @Value("${app.responses.list-text-columns:false}")
+    private boolean listTextColumns;
+    
     /**
      * Create a new student - Only ADMIN and COUNSELLOR can create students
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
     public StudentResponseDTO createStudent(StudentCreateRequestDTO request) {
         // Check for duplicate email
-        if (request.getEmail() != null && studentRepository.existsByEmail(request.getEmail())) {
+        if (request.getEmail() != null
+            && uniquenessGuard.exists(UniquenessGuard.Key.STUDENT_EMAIL, request.getEmail(), studentRepository::existsByEmail)) {
             throw new DuplicateResourceException("Student with email " + request.getEmail() + " already exists");
         }
         
@@ -54,7 +99,7 @@ public class StudentService {
         }
         
         Student student = new Student();
-        student.setEnrollmentNumber(generateEnrollmentNumber());
+        student.setEnrollmentNumber(enrollmentNumberAllocator.next());
         student.setFirstName(request.getFirstName());
         student.setLastName(request.getLastName());
         student.setEmail(request.getEmail());
@@ -71,23 +116,95 @@ public class StudentService {
             student.setLead(lead);
         }
         
-        // Assign to batch if provided and validate capacity
+        // Assign to batch if provided; the seat is taken atomically and fails when the batch is full
         if (request.getBatchId() != null) {
             Batch batch = batchRepository.findById(request.getBatchId())
                 .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + request.getBatchId()));
             
-            validateBatchCapacity(batch);
+            seatAdmission.admit(batch);
             student.setBatch(batch);
-            
-            // Update batch enrollment count
-            batch.setCurrentEnrollment(batch.getCurrentEnrollment() + 1);
-            batchRepository.save(batch);
         }
         
         Student savedStudent = studentRepository.save(student);
+        recordUniqueKeys(savedStudent);
         return convertToResponseDTO(savedStudent);
     }
     
+    /**
+     * Create many students in one request - Only ADMIN and COUNSELLOR can create students.
+     * Rows are validated in memory, duplicates and referenced batches and leads are resolved with
+     * one IN query each, seats are taken per batch and the inserts go out as JDBC batches.
+     * Rejected rows are reported with their errors; the other rows are created.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public BulkWriteResponseDTO createStudents(List<StudentCreateRequestDTO> requests) {
+        BulkRows<StudentCreateRequestDTO> rows = new BulkRows<>(requests, bulkMaxRows);
+        rows.validate(validator);
+        rows.rejectRepeated(StudentCreateRequestDTO::getEmail, "Email");
+        rows.rejectRepeated(StudentCreateRequestDTO::getPhone, "Phone");
+        rows.rejectExisting(StudentCreateRequestDTO::getEmail, studentRepository::findExistingEmails, "Student with email %s already exists");
+        rows.rejectExisting(StudentCreateRequestDTO::getPhone, studentRepository::findExistingPhones, "Student with phone %s already exists");
+        
+        Map<UUID, Lead> leads = leadRepository.findAllById(rows.values(StudentCreateRequestDTO::getLeadId)).stream()
+            .collect(Collectors.toMap(Lead::getId, lead -> lead));
+        Map<UUID, Batch> batches = batchRepository.findAllWithCourseByIdIn(rows.values(StudentCreateRequestDTO::getBatchId)).stream()
+            .collect(Collectors.toMap(Batch::getId, batch -> batch));
+        for (int i : rows.validIndexes()) {
+            StudentCreateRequestDTO request = rows.get(i);
+            if (request.getLeadId() != null && !leads.containsKey(request.getLeadId())) {
+                rows.reject(i, "Lead not found with id: " + request.getLeadId());
+            }
+            if (request.getBatchId() != null && !batches.containsKey(request.getBatchId())) {
+                rows.reject(i, "Batch not found with id: " + request.getBatchId());
+            }
+        }
+        
+        // One conditional seat update per batch; rows beyond the free seats are rejected in request order
+        Map<UUID, List<Integer>> rowsByBatch = new LinkedHashMap<>();
+        for (int i : rows.validIndexes()) {
+            if (rows.get(i).getBatchId() != null) {
+                rowsByBatch.computeIfAbsent(rows.get(i).getBatchId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        rowsByBatch.forEach((batchId, batchRows) -> {
+            Batch batch = batches.get(batchId);
+            int admitted = seatAdmission.admit(batch, batchRows.size());
+            for (int i : batchRows.subList(admitted, batchRows.size())) {
+                rows.reject(i, "Batch " + batch.getName() + " has no free seat left");
+            }
+        });
+        
+        List<Integer> accepted = rows.validIndexes();
+        if (accepted.isEmpty()) {
+            return rows.toResponse();
+        }
+        List<String> enrollmentNumbers = enrollmentNumberAllocator.nextBatch(accepted.size());
+        List<Student> students = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            StudentCreateRequestDTO request = rows.get(accepted.get(n));
+            Student student = new Student();
+            student.setEnrollmentNumber(enrollmentNumbers.get(n));
+            student.setFirstName(request.getFirstName());
+            student.setLastName(request.getLastName());
+            student.setEmail(request.getEmail());
+            student.setPhone(request.getPhone());
+            student.setDateOfBirth(request.getDateOfBirth());
+            student.setAddress(request.getAddress());
+            student.setEnrollmentDate(request.getEnrollmentDate());
+            student.setStatus(Student.StudentStatus.ACTIVE);
+            student.setLead(leads.get(request.getLeadId()));
+            student.setBatch(batches.get(request.getBatchId()));
+            students.add(student);
+        }
+        
+        List<Student> savedStudents = studentRepository.saveAll(students);
+        for (int n = 0; n < savedStudents.size(); n++) {
+            recordUniqueKeys(savedStudents.get(n));
+            rows.created(accepted.get(n), savedStudents.get(n).getId());
+        }
+        return rows.toResponse();
+    }
+    
     /**
      * Update an existing student - Only ADMIN and COUNSELLOR can update students
      */
@@ -98,7 +215,7 @@ public class StudentService {
         
         // Check for duplicate email (excluding current student)
         if (request.getEmail() != null && !request.getEmail().equals(student.getEmail()) 
-            && studentRepository.existsByEmail(request.getEmail())) {
+            && uniquenessGuard.exists(UniquenessGuard.Key.STUDENT_EMAIL, request.getEmail(), studentRepository::existsByEmail)) {
             throw new DuplicateResourceException("Student with email " + request.getEmail() + " already exists");
         }
         
@@ -124,26 +241,18 @@ public class StudentService {
             Batch newBatch = batchRepository.findById(request.getBatchId())
                 .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + request.getBatchId()));
             
-            // If changing batch, update enrollment counts
+            // If changing batch, take a seat in the new batch before giving up the old one
             if (student.getBatch() == null || !student.getBatch().getId().equals(request.getBatchId())) {
-                // Remove from old batch
+                seatAdmission.admit(newBatch);
                 if (student.getBatch() != null) {
-                    Batch oldBatch = student.getBatch();
-                    oldBatch.setCurrentEnrollment(oldBatch.getCurrentEnrollment() - 1);
-                    batchRepository.save(oldBatch);
+                    batchWaitlistService.releaseSeat(student.getBatch());
                 }
-                
-                // Validate new batch capacity
-                validateBatchCapacity(newBatch);
-                
-                // Add to new batch
                 student.setBatch(newBatch);
-                newBatch.setCurrentEnrollment(newBatch.getCurrentEnrollment() + 1);
-                batchRepository.save(newBatch);
             }
         }
         
         Student savedStudent = studentRepository.save(student);
+        recordUniqueKeys(savedStudent);
         return convertToResponseDTO(savedStudent);
     }
     
@@ -151,19 +260,66 @@ public class StudentService {
      * Get student by ID - ADMIN, COUNSELLOR, and FACULTY can view students
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public StudentResponseDTO getStudentById(UUID id) {
-        Student student = studentRepository.findById(id)
+        return getStudentById(id, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get student by ID with only the requested fields - ADMIN, COUNSELLOR, and FACULTY can view students
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
+    public StudentResponseDTO getStudentById(UUID id, ResponseShape shape) {
+        Student student = studentRepository.findById(id).orElse(null);
+        if (student != null) {
+            return convertToResponseDTO(student, shape, true);
+        }
+        
+        // Closed students past the retention window are served read-only from the archive
+        StudentResponseDTO archived = studentArchive.find(id)
+            .map(archivedStudent -> convertToResponseDTO(archivedStudent, shape, true))
             .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
-        return convertToResponseDTO(student);
+        archived.setArchived(true);
+        return archived;
+    }
+    
+    /**
+     * Get a student's status timeline, newest first - ADMIN, COUNSELLOR, and FACULTY can view students
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
+    public Page<StudentResponseDTO.StatusHistoryDTO> getStatusHistory(UUID studentId, Pageable pageable) {
+        if (!studentRepository.existsById(studentId)) {
+            return studentArchive.findStatusHistory(studentId, pageable)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        }
+        return studentStatusChangeRepository.findTimeline(studentId, pageable)
+            .map(change -> new StudentResponseDTO.StatusHistoryDTO(
+                change.getStatus(), change.getChangeDate(), change.getNotes()));
     }
     
     /**
      * Get all students with pagination and filtering - ADMIN, COUNSELLOR, and FACULTY can view students
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Page<StudentResponseDTO> getAllStudents(Pageable pageable, Student.StudentStatus status, 
                                                   UUID batchId, UUID courseId, String searchTerm,
                                                   LocalDate enrollmentStartDate, LocalDate enrollmentEndDate) {
+        return getAllStudents(pageable, status, batchId, courseId, searchTerm, enrollmentStartDate, enrollmentEndDate,
+            ResponseShape.defaults());
+    }
+    
+    /**
+     * Get all students with only the requested fields - ADMIN, COUNSELLOR, and FACULTY can view students
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
+    public Page<StudentResponseDTO> getAllStudents(Pageable pageable, Student.StudentStatus status, 
+                                                  UUID batchId, UUID courseId, String searchTerm,
+                                                  LocalDate enrollmentStartDate, LocalDate enrollmentEndDate,
+                                                  ResponseShape shape) {
         Page<Student> students;
         
         if (enrollmentStartDate != null && enrollmentEndDate != null) {
@@ -175,7 +331,7 @@ public class StudentService {
             students = studentRepository.findStudentsWithFilters(status, batchId, courseId, searchTerm, pageable);
         }
         
-        return students.map(this::convertToResponseDTO);
+        return convertToSummaryPage(students, shape);
     }
     
     /**
@@ -189,21 +345,18 @@ public class StudentService {
         Batch batch = batchRepository.findById(batchId)
             .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + batchId));
         
-        // Remove from old batch if assigned
-        if (student.getBatch() != null) {
-            Batch oldBatch = student.getBatch();
-            oldBatch.setCurrentEnrollment(oldBatch.getCurrentEnrollment() - 1);
-            batchRepository.save(oldBatch);
+        // Already in this batch; nothing to admit
+        if (student.getBatch() != null && student.getBatch().getId().equals(batchId)) {
+            return convertToResponseDTO(student);
         }
         
-        // Validate new batch capacity
-        validateBatchCapacity(batch);
+        // Take a seat in the new batch first so a full batch leaves the old assignment intact
+        seatAdmission.admit(batch);
+        if (student.getBatch() != null) {
+            batchWaitlistService.releaseSeat(student.getBatch());
+        }
         
-        // Assign to new batch
         student.setBatch(batch);
-        batch.setCurrentEnrollment(batch.getCurrentEnrollment() + 1);
-        
-        batchRepository.save(batch);
         Student savedStudent = studentRepository.save(student);
         return convertToResponseDTO(savedStudent);
     }
@@ -217,9 +370,7 @@ public class StudentService {
             .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
         
         if (student.getBatch() != null) {
-            Batch batch = student.getBatch();
-            batch.setCurrentEnrollment(batch.getCurrentEnrollment() - 1);
-            batchRepository.save(batch);
+            batchWaitlistService.releaseSeat(student.getBatch());
             
             student.setBatch(null);
             Student savedStudent = studentRepository.save(student);
@@ -255,6 +406,29 @@ public class StudentService {
         return convertToResponseDTO(savedStudent);
     }
     
+    /**
+     * Graduate all active students of a batch in one transaction - Only ADMIN and COUNSELLOR can graduate students
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public StudentTransitionResultDTO graduateBatch(UUID batchId, BatchGraduationRequestDTO request) {
+        if (!batchRepository.existsById(batchId)) {
+            throw new ResourceNotFoundException("Batch not found with id: " + batchId);
+        }
+        return studentTransitions.graduateBatch(batchId, request.getGrades(), request.getDefaultGrade());
+    }
+    
+    /**
+     * Change the status of all students matching a filter in one transaction - Only ADMIN and COUNSELLOR can update student status
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR')")
+    public StudentTransitionResultDTO bulkUpdateStudentStatus(StudentBulkStatusRequestDTO request) {
+        if (!request.hasFilter()) {
+            throw new ValidationException("At least one filter is required for a bulk status change");
+        }
+        return studentTransitions.changeStatus(request.getStatus(), request.getBatchId(), request.getCourseId(),
+            request.getCurrentStatus(), request.getEnrolledFrom(), request.getEnrolledTo(), request.getNotes());
+    }
+    
     /**
      * Delete student - Only ADMIN can delete students
      */
@@ -263,11 +437,15 @@ public class StudentService {
         Student student = studentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
         
-        // Remove from batch if assigned
+        // Remove from batch if assigned, and from any waitlist
         if (student.getBatch() != null) {
-            Batch batch = student.getBatch();
-            batch.setCurrentEnrollment(batch.getCurrentEnrollment() - 1);
-            batchRepository.save(batch);
+            batchWaitlistService.releaseSeat(student.getBatch());
+        }
+        batchWaitlistService.withdrawStudent(id);
+        
+        // Placements are deleted with the student
+        if (student.getPlacementCount() != null && student.getPlacementCount() > 0) {
+            childCounters.studentRemoved(id);
         }
         
         studentRepository.deleteById(id);
@@ -277,44 +455,67 @@ public class StudentService {
      * Get students by batch - ADMIN, COUNSELLOR, and FACULTY can view students
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Page<StudentResponseDTO> getStudentsByBatch(UUID batchId, Pageable pageable) {
+        return getStudentsByBatch(batchId, pageable, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get students by batch with only the requested fields - ADMIN, COUNSELLOR, and FACULTY can view students
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
+    public Page<StudentResponseDTO> getStudentsByBatch(UUID batchId, Pageable pageable, ResponseShape shape) {
         Batch batch = batchRepository.findById(batchId)
             .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + batchId));
         
         Page<Student> students = studentRepository.findByBatch(batch, pageable);
-        return students.map(this::convertToResponseDTO);
+        return convertToSummaryPage(students, shape);
     }
     
     /**
      * Get students without batch assignment - ADMIN, COUNSELLOR, and FACULTY can view
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public Page<StudentResponseDTO> getStudentsWithoutBatch(Pageable pageable) {
+        return getStudentsWithoutBatch(pageable, ResponseShape.defaults());
+    }
+    
+    /**
+     * Get students without batch assignment with only the requested fields - ADMIN, COUNSELLOR, and FACULTY can view
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
+    public Page<StudentResponseDTO> getStudentsWithoutBatch(Pageable pageable, ResponseShape shape) {
         Page<Student> students = studentRepository.findStudentsWithoutBatch(pageable);
-        return students.map(this::convertToResponseDTO);
+        return convertToSummaryPage(students, shape);
     }
     
     /**
      * Get student statistics - ADMIN, COUNSELLOR, and FACULTY can view
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('COUNSELLOR') or hasRole('FACULTY')")
+    @Transactional(readOnly = true)
     public StudentStatisticsDTO getStudentStatistics() {
         StudentStatisticsDTO stats = new StudentStatisticsDTO();
         
-        // Basic counts
-        stats.setTotalStudents(studentRepository.count());
-        stats.setActiveStudents(studentRepository.countByStatus(Student.StudentStatus.ACTIVE));
-        stats.setGraduatedStudents(studentRepository.countByStatus(Student.StudentStatus.GRADUATED));
-        stats.setDroppedOutStudents(studentRepository.countByStatus(Student.StudentStatus.DROPPED_OUT));
-        stats.setSuspendedStudents(studentRepository.countByStatus(Student.StudentStatus.SUSPENDED));
-        stats.setInactiveStudents(studentRepository.countByStatus(Student.StudentStatus.INACTIVE));
+        // Basic counts, read from the status rollup
+        Map<Student.StudentStatus, Long> counts = statusCounts.counts(StatusCount.EntityType.STUDENT, Student.StudentStatus.class);
+        stats.setTotalStudents(StatusCounts.total(counts));
+        stats.setActiveStudents(counts.get(Student.StudentStatus.ACTIVE));
+        stats.setGraduatedStudents(counts.get(Student.StudentStatus.GRADUATED));
+        stats.setDroppedOutStudents(counts.get(Student.StudentStatus.DROPPED_OUT));
+        stats.setSuspendedStudents(counts.get(Student.StudentStatus.SUSPENDED));
+        stats.setInactiveStudents(counts.get(Student.StudentStatus.INACTIVE));
         
         // Students without batch
         stats.setStudentsWithoutBatch(studentRepository.findStudentsWithoutBatch(Pageable.unpaged()).getTotalElements());
         
-        // Placement statistics
-        stats.setPlacedGraduates(studentRepository.findPlacedGraduates().size());
-        stats.setUnplacedGraduates(studentRepository.findUnplacedGraduates().size());
+        // Placement statistics, counted in one pass over the graduates
+        Object[] graduates = studentRepository.countGraduatesByPlacement().get(0);
+        stats.setPlacedGraduates(((Number) graduates[0]).longValue());
+        stats.setUnplacedGraduates(((Number) graduates[1]).longValue());
         
         // Enrollment trends (last 12 months)
         LocalDate twelveMonthsAgo = LocalDate.now().minusMonths(12);
@@ -362,67 +563,83 @@ public class StudentService {
     }
     
     /**
-     * Generate unique enrollment number
+     * Keep the in-memory duplicate filter in step with the stored email
      */
-    private String generateEnrollmentNumber() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String prefix = "ENR" + year;
-        
-        // Get existing enrollment numbers with this prefix to find the next sequence
-        List<String> existingNumbers = studentRepository.findEnrollmentNumbersWithPrefix(prefix);
-        
-        int nextSequence = 1;
-        if (!existingNumbers.isEmpty()) {
-            // Extract the highest sequence number
-            int maxSequence = existingNumbers.stream()
-                .mapToInt(num -> {
-                    try {
-                        return Integer.parseInt(num.substring(prefix.length()));
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-            nextSequence = maxSequence + 1;
-        }
-        
-        return prefix + String.format("%04d", nextSequence);
+    private void recordUniqueKeys(Student student) {
+        uniquenessGuard.record(UniquenessGuard.Key.STUDENT_EMAIL, student.getEmail());
+    }
+    
+    /**
+     * Convert Student entity to StudentResponseDTO
+     */
+    private StudentResponseDTO convertToResponseDTO(Student student) {
+        return convertToResponseDTO(student, true);
     }
     
     /**
-     * Validate batch capacity before assignment
+     * Convert a page of students to list-page DTOs. The associations in the shape are loaded for the
+     * whole page up front, one query each, instead of once per student; the rest are never loaded.
      */
-    private void validateBatchCapacity(Batch batch) {
-        if (batch.getCurrentEnrollment() >= batch.getCapacity()) {
-            throw new BatchCapacityExceededException(
-                batch.getName(), batch.getCapacity(), batch.getCurrentEnrollment());
+    private Page<StudentResponseDTO> convertToSummaryPage(Page<Student> students, ResponseShape shape) {
+        if (shape.includes("batch")) {
+            Set<UUID> batchIds = students.getContent().stream()
+                .filter(student -> student.getBatch() != null)
+                .map(student -> student.getBatch().getId())
+                .collect(Collectors.toSet());
+            if (!batchIds.isEmpty()) {
+                batchRepository.findAllWithCourseByIdIn(batchIds);
+            }
+        }
+        if (shape.includes("lead")) {
+            Set<UUID> leadIds = students.getContent().stream()
+                .filter(student -> student.getLead() != null)
+                .map(student -> student.getLead().getId())
+                .collect(Collectors.toSet());
+            if (!leadIds.isEmpty()) {
+                leadRepository.findAllById(leadIds);
+            }
+        }
+        if (shape.includes("placements")) {
+            Set<UUID> placedIds = students.getContent().stream()
+                .filter(student -> student.getPlacementCount() != null && student.getPlacementCount() > 0)
+                .map(Student::getId)
+                .collect(Collectors.toSet());
+            if (!placedIds.isEmpty()) {
+                studentRepository.findWithPlacementsByIdIn(placedIds);
+            }
         }
+        return students.map(student -> convertToResponseDTO(student, shape, listTextColumns));
+    }
+    
+    private StudentResponseDTO convertToResponseDTO(Student student, boolean includeText) {
+        return convertToResponseDTO(student, ResponseShape.defaults(), includeText);
     }
     
     /**
-     * Convert Student entity to StudentResponseDTO
+     * Convert only the fields in the shape; associations left out of it are not touched, so never loaded
      */
-    private StudentResponseDTO convertToResponseDTO(Student student) {
+    private StudentResponseDTO convertToResponseDTO(Student student, ResponseShape shape, boolean includeText) {
         StudentResponseDTO dto = new StudentResponseDTO();
         dto.setId(student.getId());
-        dto.setEnrollmentNumber(student.getEnrollmentNumber());
-        dto.setFirstName(student.getFirstName());
-        dto.setLastName(student.getLastName());
-        dto.setFullName(student.getFullName());
-        dto.setEmail(student.getEmail());
-        dto.setPhone(student.getPhone());
-        dto.setDateOfBirth(student.getDateOfBirth());
-        dto.setAddress(student.getAddress());
-        dto.setStatus(student.getStatus());
-        dto.setEnrollmentDate(student.getEnrollmentDate());
-        dto.setGraduationDate(student.getGraduationDate());
-        dto.setFinalGrade(student.getFinalGrade());
-        dto.setCreatedDate(student.getCreatedDate());
-        dto.setUpdatedDate(student.getUpdatedDate());
+        shape.put("enrollmentNumber", student::getEnrollmentNumber, dto::setEnrollmentNumber);
+        shape.put("firstName", student::getFirstName, dto::setFirstName);
+        shape.put("lastName", student::getLastName, dto::setLastName);
+        shape.put("fullName", student::getFullName, dto::setFullName);
+        shape.put("email", student::getEmail, dto::setEmail);
+        shape.put("phone", student::getPhone, dto::setPhone);
+        shape.put("dateOfBirth", student::getDateOfBirth, dto::setDateOfBirth);
+        if (shape.includes("address", includeText)) {
+            dto.setAddress(student.getAddress());
+        }
+        shape.put("status", student::getStatus, dto::setStatus);
+        shape.put("enrollmentDate", student::getEnrollmentDate, dto::setEnrollmentDate);
+        shape.put("graduationDate", student::getGraduationDate, dto::setGraduationDate);
+        shape.put("finalGrade", student::getFinalGrade, dto::setFinalGrade);
+        shape.put("createdDate", student::getCreatedDate, dto::setCreatedDate);
+        shape.put("updatedDate", student::getUpdatedDate, dto::setUpdatedDate);
         
         // Set batch information
-        if (student.getBatch() != null) {
+        if (shape.includes("batch") && student.getBatch() != null) {
             BatchBasicDTO batchDTO = new BatchBasicDTO();
             batchDTO.setId(student.getBatch().getId());
             batchDTO.setName(student.getBatch().getName());
@@ -445,7 +662,7 @@ public class StudentService {
         }
         
         // Set lead information
-        if (student.getLead() != null) {
+        if (shape.includes("lead") && student.getLead() != null) {
             LeadBasicDTO leadDTO = new LeadBasicDTO();
             leadDTO.setId(student.getLead().getId());
             leadDTO.setFirstName(student.getLead().getFirstName());
@@ -457,7 +674,7 @@ public class StudentService {
         }
         
         // Set placement information
-        if (student.getPlacements() != null && !student.getPlacements().isEmpty()) {
+        if (shape.includes("placements") && student.getPlacements() != null && !student.getPlacements().isEmpty()) {
             List<PlacementBasicDTO> placementDTOs = student.getPlacements().stream()
                 .map(placement -> {
                     PlacementBasicDTO placementDTO = new PlacementBasicDTO();
@@ -481,13 +698,12 @@ public class StudentService {
             dto.setPlacements(placementDTOs);
         }
         
-        // Set status history
-        if (student.getStatusHistory() != null && !student.getStatusHistory().isEmpty()) {
-            List<StudentResponseDTO.StatusHistoryDTO> historyDTOs = student.getStatusHistory().stream()
-                .map(history -> new StudentResponseDTO.StatusHistoryDTO(
-                    history.getStatus(), history.getChangeDate(), history.getNotes()))
-                .collect(Collectors.toList());
-            dto.setStatusHistory(historyDTOs);
+        // Set latest status change; the timeline itself is paged separately
+        shape.put("statusChangeCount", student::getStatusChangeCount, dto::setStatusChangeCount);
+        if (shape.includes("latestStatusChange") && student.getLastStatusChange() != null) {
+            Student.StatusHistory latest = student.getLastStatusChange();
+            dto.setLatestStatusChange(new StudentResponseDTO.StatusHistoryDTO(
+                latest.getStatus(), latest.getChangeDate(), latest.getNotes()));
         }
         
         return dto;
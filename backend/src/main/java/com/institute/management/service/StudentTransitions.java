@@ -0,0 +1,194 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.StudentTransitionResultDTO;
+import com.institute.management.entity.StatusCount;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.entity.UuidV7Generator;
+import com.institute.management.exception.BusinessException;
+import com.institute.management.exception.ValidationException;
+import com.institute.management.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Moves many students to a new status at once: graduating a batch, or a status change for every
+ * student matching a filter.
+ *
+ * The matching ids are read first, then each group of students sharing a current status (or a final
+ * grade) is changed by one UPDATE that also maintains the latest-change snapshot on the student row,
+ * and the timeline entries are appended with one JDBC batch. Each UPDATE only touches rows still in
+ * the status they were read with; if a concurrent change makes it touch fewer rows, the whole
+ * transition fails and is rolled back. The status rollup is adjusted explicitly because bulk
+ * statements bypass the entity events. Must run inside the caller's transaction.
+ */
+@Component
+public class StudentTransitions {
+
+    private static final String HISTORY_SQL =
+        "INSERT INTO student_status_history (id, student_id, status, change_date, notes) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StatusCounts statusCounts;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Ids per UPDATE statement, keeping the IN list well below driver parameter limits */
+    @Value("${app.student-transitions.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Graduate the active students of a batch. A student's grade is taken from grades, falling back to
+     * defaultGrade; every grade key must be an active student of the batch.
+     */
+    public StudentTransitionResultDTO graduateBatch(UUID batchId, Map<UUID, String> grades, String defaultGrade) {
+        Map<UUID, String> requested = grades != null ? grades : Map.of();
+        Set<UUID> active = new HashSet<>();
+        for (Object[] row : studentRepository.findIdsAndStatusesForTransition(batchId, null, StudentStatus.ACTIVE, null, null)) {
+            active.add((UUID) row[0]);
+        }
+
+        List<UUID> unknown = requested.keySet().stream().filter(id -> !active.contains(id)).toList();
+        if (!unknown.isEmpty()) {
+            throw new ValidationException("Students are not active in batch " + batchId + ": " + unknown);
+        }
+
+        // Students with the same grade are graduated by one statement
+        Map<String, List<UUID>> byGrade = new TreeMap<>();
+        int ungraded = 0;
+        for (UUID id : active) {
+            String grade = requested.getOrDefault(id, defaultGrade);
+            if (grade == null || grade.isBlank()) {
+                ungraded++;
+                continue;
+            }
+            byGrade.computeIfAbsent(grade.trim(), g -> new ArrayList<>()).add(id);
+        }
+        if (ungraded > 0) {
+            throw new ValidationException(ungraded + " active students have no grade; provide a default grade");
+        }
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<HistoryEntry> history = new ArrayList<>(active.size());
+        for (Map.Entry<String, List<UUID>> group : byGrade.entrySet()) {
+            String notes = "Student graduated with grade: " + group.getKey();
+            for (List<UUID> chunk : chunks(group.getValue())) {
+                int updated = studentRepository.graduate(chunk, StudentStatus.ACTIVE, group.getKey(), changedAt.toLocalDate(), changedAt, notes);
+                requireAll(chunk, updated);
+            }
+            for (UUID id : group.getValue()) {
+                history.add(new HistoryEntry(id, StudentStatus.GRADUATED, notes));
+            }
+        }
+        appendHistory(history, changedAt);
+
+        if (!active.isEmpty()) {
+            statusCounts.adjust(StatusCount.EntityType.STUDENT, StudentStatus.ACTIVE, -active.size());
+            statusCounts.adjust(StatusCount.EntityType.STUDENT, StudentStatus.GRADUATED, active.size());
+        }
+        return new StudentTransitionResultDTO(StudentStatus.GRADUATED, active.size(), active.size());
+    }
+
+    /**
+     * Move every student matching the filter to status; students already in it are left untouched.
+     * Graduation needs a grade and goes through {@link #graduateBatch} instead.
+     */
+    public StudentTransitionResultDTO changeStatus(StudentStatus status, UUID batchId, UUID courseId, StudentStatus currentStatus,
+                                                   LocalDate enrolledFrom, LocalDate enrolledTo, String notes) {
+        if (status == StudentStatus.GRADUATED) {
+            throw new ValidationException("Students are graduated per batch with a final grade");
+        }
+
+        Map<StudentStatus, List<UUID>> byStatus = new EnumMap<>(StudentStatus.class);
+        int matched = 0;
+        for (Object[] row : studentRepository.findIdsAndStatusesForTransition(batchId, courseId, currentStatus, enrolledFrom, enrolledTo)) {
+            matched++;
+            StudentStatus from = (StudentStatus) row[1];
+            if (from != status) {
+                byStatus.computeIfAbsent(from, s -> new ArrayList<>()).add((UUID) row[0]);
+            }
+        }
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<HistoryEntry> history = new ArrayList<>();
+        for (Map.Entry<StudentStatus, List<UUID>> group : byStatus.entrySet()) {
+            String groupNotes = notes != null && !notes.isBlank() ? notes : "Status changed from " + group.getKey() + " to " + status;
+            for (List<UUID> chunk : chunks(group.getValue())) {
+                requireAll(chunk, studentRepository.transitionStatus(chunk, group.getKey(), status, changedAt, groupNotes));
+            }
+            for (UUID id : group.getValue()) {
+                history.add(new HistoryEntry(id, status, groupNotes));
+            }
+        }
+        appendHistory(history, changedAt);
+
+        byStatus.forEach((from, ids) -> statusCounts.adjust(StatusCount.EntityType.STUDENT, from, -ids.size()));
+        if (!history.isEmpty()) {
+            statusCounts.adjust(StatusCount.EntityType.STUDENT, status, history.size());
+        }
+        return new StudentTransitionResultDTO(status, matched, history.size());
+    }
+
+    private void requireAll(List<UUID> ids, int updated) {
+        if (updated != ids.size()) {
+            throw new BusinessException("Students changed concurrently while their status was being updated; retry the request",
+                "CONCURRENT_STATUS_CHANGE");
+        }
+    }
+
+    private void appendHistory(List<HistoryEntry> history, LocalDateTime changedAt) {
+        if (history.isEmpty()) {
+            return;
+        }
+        Timestamp changeDate = Timestamp.valueOf(changedAt);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(HISTORY_SQL)) {
+                int batched = 0;
+                for (HistoryEntry entry : history) {
+                    statement.setObject(1, UuidV7Generator.next());
+                    statement.setObject(2, entry.studentId());
+                    statement.setString(3, entry.status().name());
+                    statement.setTimestamp(4, changeDate);
+                    statement.setString(5, entry.notes());
+                    statement.addBatch();
+                    if (++batched % chunkSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batched % chunkSize != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            chunks.add(ids.subList(start, Math.min(start + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private record HistoryEntry(UUID studentId, StudentStatus status, String notes) {}
+}
@@ -0,0 +1,272 @@
+package com.institute.management.service;
+
+import com.institute.management.repository.EmployeeRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.repository.StudentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory probabilistic pre-check for unique-key lookups on the create/update paths.
+ *
+ * One Bloom filter per unique key is built at startup and updated as values are written.
+ * A definite negative skips the existsBy... query; a possible positive falls through to it.
+ * Until a filter has been built every check goes to the database.
+ *
+ * Only keys the database constrains are guarded (unique columns, and lead emails through the
+ * lead_emails table). A value another node wrote since the last rebuild can pass the filter,
+ * and is then rejected by the constraint on insert and reported as a duplicate resource.
+ */
+@Component
+public class UniquenessGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniquenessGuard.class);
+
+    public enum Key {
+        LEAD_EMAIL,
+        STUDENT_EMAIL,
+        EMPLOYEE_CODE, EMPLOYEE_EMAIL
+    }
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.uniqueness-guard.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.uniqueness-guard.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    @Value("${app.uniqueness-guard.min-capacity:10000}")
+    private long minCapacity = 10000;
+
+    private final Map<Key, Slot> slots = new EnumMap<>(Key.class);
+
+    public UniquenessGuard() {
+        for (Key key : Key.values()) {
+            slots.put(key, new Slot());
+        }
+    }
+
+    /**
+     * Check whether a value already exists for a unique key.
+     * Only consults the database when the filter cannot rule the value out.
+     */
+    public boolean exists(Key key, String value, Predicate<String> databaseCheck) {
+        Slot slot = slots.get(key);
+        BloomFilter filter = slot.active;
+        if (filter == null || value == null) {
+            return databaseCheck.test(value);
+        }
+
+        if (!filter.mightContain(value)) {
+            slot.skipped.increment();
+            return false;
+        }
+
+        boolean exists = databaseCheck.test(value);
+        if (exists) {
+            slot.confirmed.increment();
+        } else {
+            slot.falsePositives.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Record a value that has been (or is about to be) written for a unique key
+     */
+    public void record(Key key, String value) {
+        if (value == null || !enabled) {
+            return;
+        }
+        Slot slot = slots.get(key);
+        synchronized (slot) {
+            if (slot.active != null) {
+                slot.active.put(value);
+            }
+            if (slot.pending != null) {
+                slot.pending.put(value);
+            }
+            slot.recorded.add(value);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Uniqueness guard disabled; all duplicate checks go to the database");
+            return;
+        }
+        registerMetrics();
+        rebuildAll();
+    }
+
+    /**
+     * Periodically rebuild every filter so that values written by other nodes are included
+     * and filters that have outgrown their sizing are resized
+     */
+    @Scheduled(fixedDelayString = "${app.uniqueness-guard.rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.uniqueness-guard.rebuild-interval-ms:3600000}")
+    public void rebuildAll() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (Key key : Key.values()) {
+            try {
+                readOnly.executeWithoutResult(status -> rebuild(key));
+            } catch (RuntimeException e) {
+                // Leave the previous filter (or none) in place; checks keep falling through to the database
+                logger.warn("Failed to rebuild uniqueness filter for {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void rebuild(Key key) {
+        Slot slot = slots.get(key);
+        long capacity = Math.max(minCapacity, countRows(key) * 2);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+
+        // Values recorded from here on go into both filters; the ones recorded since the last
+        // rebuild are replayed too, since the snapshot may have been read before they committed
+        List<String> earlier;
+        synchronized (slot) {
+            slot.pending = next;
+            earlier = slot.recorded;
+            slot.recorded = new ArrayList<>();
+        }
+        boolean swapped = false;
+        try (Stream<String> values = streamValues(key)) {
+            values.forEach(next::put);
+            synchronized (slot) {
+                earlier.forEach(next::put);
+                slot.active = next;
+                swapped = true;
+            }
+        } finally {
+            synchronized (slot) {
+                slot.pending = null;
+                if (!swapped) {
+                    earlier.addAll(slot.recorded);
+                    slot.recorded = earlier;
+                }
+            }
+        }
+
+        logger.debug("Rebuilt uniqueness filter for {}: {} values, {} bytes", key, next.getInsertions(), next.getSizeInBytes());
+    }
+
+    public boolean isReady(Key key) {
+        return slots.get(key).active != null;
+    }
+
+    private long countRows(Key key) {
+        return switch (key) {
+            case LEAD_EMAIL -> leadRepository.count();
+            case STUDENT_EMAIL -> studentRepository.count();
+            case EMPLOYEE_CODE, EMPLOYEE_EMAIL -> employeeRepository.count();
+        };
+    }
+
+    private Stream<String> streamValues(Key key) {
+        return switch (key) {
+            case LEAD_EMAIL -> leadRepository.streamAllEmails();
+            case STUDENT_EMAIL -> studentRepository.streamAllEmails();
+            case EMPLOYEE_CODE -> employeeRepository.streamAllEmployeeCodes();
+            case EMPLOYEE_EMAIL -> employeeRepository.streamAllEmails();
+        };
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        for (Key key : Key.values()) {
+            Slot slot = slots.get(key);
+            String tag = key.name().toLowerCase();
+
+            FunctionCounter.builder("uniqueness.guard.checks", slot.skipped, LongAdder::doubleValue)
+                .description("Duplicate checks answered by the filter without a database query")
+                .tags("key", tag, "outcome", "skipped")
+                .register(meterRegistry);
+            FunctionCounter.builder("uniqueness.guard.checks", slot.confirmed, LongAdder::doubleValue)
+                .description("Possible positives the database confirmed as duplicates")
+                .tags("key", tag, "outcome", "confirmed")
+                .register(meterRegistry);
+            FunctionCounter.builder("uniqueness.guard.checks", slot.falsePositives, LongAdder::doubleValue)
+                .description("Possible positives the database reported as absent")
+                .tags("key", tag, "outcome", "false_positive")
+                .register(meterRegistry);
+
+            Gauge.builder("uniqueness.guard.false.positive.rate", slot, Slot::observedFalsePositiveRate)
+                .description("Observed share of absent values the filter could not rule out")
+                .tag("key", tag)
+                .register(meterRegistry);
+            Gauge.builder("uniqueness.guard.expected.false.positive.rate", slot,
+                    s -> s.active != null ? s.active.expectedFalsePositiveRate() : Double.NaN)
+                .description("False-positive rate implied by the filter's current fill")
+                .tag("key", tag)
+                .register(meterRegistry);
+            Gauge.builder("uniqueness.guard.memory", slot, s -> s.active != null ? s.active.getSizeInBytes() : 0)
+                .description("Memory held by the filter bit array")
+                .baseUnit("bytes")
+                .tag("key", tag)
+                .register(meterRegistry);
+            Gauge.builder("uniqueness.guard.entries", slot, s -> s.active != null ? s.active.getInsertions() : 0)
+                .description("Distinct values added to the filter")
+                .tag("key", tag)
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Filter state and check counters for one unique key
+     */
+    private static class Slot {
+        private volatile BloomFilter active;
+        /** Filter being built, and values recorded since the last rebuild started; guarded by the slot */
+        private BloomFilter pending;
+        private List<String> recorded = new ArrayList<>();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder confirmed = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        private double observedFalsePositiveRate() {
+            double absent = skipped.sum() + falsePositives.sum();
+            return absent > 0 ? falsePositives.sum() / absent : 0.0;
+        }
+    }
+}
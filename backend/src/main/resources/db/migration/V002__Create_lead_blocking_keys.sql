@@ -0,0 +1,11 @@
+-- Blocking keys for fuzzy duplicate-lead detection
+-- Keys are prefixed by kind: P: phone suffix, E: normalized email, N: name soundex plus course interest
+CREATE TABLE lead_blocking_keys (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    lead_id UUID NOT NULL REFERENCES leads(id) ON DELETE CASCADE,
+    block_key VARCHAR(120) NOT NULL,
+    created_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_lead_blocking_keys_block_key ON lead_blocking_keys(block_key);
+CREATE INDEX idx_lead_blocking_keys_lead_id ON lead_blocking_keys(lead_id);
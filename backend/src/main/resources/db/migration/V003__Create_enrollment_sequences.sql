@@ -0,0 +1,10 @@
+-- Per-prefix enrollment number counters
+-- Application nodes reserve blocks of numbers by advancing next_value; a missing row is
+-- created on first use, starting after the highest existing number with that prefix
+CREATE TABLE enrollment_sequences (
+    prefix VARCHAR(20) PRIMARY KEY,
+    next_value BIGINT NOT NULL CHECK (next_value >= 1),
+    updated_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TRIGGER update_enrollment_sequences_updated_date BEFORE UPDATE ON enrollment_sequences FOR EACH ROW EXECUTE FUNCTION update_updated_date_column();
@@ -0,0 +1,22 @@
+-- Per-batch waitlist with expiring seat holds
+-- batches.waitlist_count tracks WAITING entries so the enrollment path can skip the waitlist
+-- without a query when it is empty; HELD entries own a seat counted in current_enrollment
+ALTER TABLE batches ADD COLUMN waitlist_count INTEGER NOT NULL DEFAULT 0 CHECK (waitlist_count >= 0);
+
+CREATE TABLE batch_waitlist (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    batch_id UUID NOT NULL REFERENCES batches(id) ON DELETE CASCADE,
+    student_id UUID NOT NULL REFERENCES students(id) ON DELETE CASCADE,
+    priority INTEGER NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING' CHECK (status IN ('WAITING', 'HELD', 'PROMOTED', 'EXPIRED', 'CANCELLED')),
+    hold_token UUID UNIQUE,
+    hold_expires_at TIMESTAMP,
+    created_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_batch_waitlist_queue ON batch_waitlist(batch_id, status, priority DESC, created_date);
+CREATE INDEX idx_batch_waitlist_student ON batch_waitlist(student_id, status);
+CREATE INDEX idx_batch_waitlist_hold_expiry ON batch_waitlist(status, hold_expires_at);
+
+CREATE TRIGGER update_batch_waitlist_updated_date BEFORE UPDATE ON batch_waitlist FOR EACH ROW EXECUTE FUNCTION update_updated_date_column();
@@ -0,0 +1,51 @@
+-- Lead follow-ups and student status history become append-only timelines
+-- Rows get their own id so that a new entry is a single INSERT instead of the owner's
+-- whole collection being deleted and re-inserted; reads page through (owner, date DESC)
+ALTER TABLE lead_follow_ups ADD COLUMN id UUID NOT NULL DEFAULT gen_random_uuid();
+ALTER TABLE lead_follow_ups ADD PRIMARY KEY (id);
+UPDATE lead_follow_ups SET follow_up_date = CURRENT_TIMESTAMP WHERE follow_up_date IS NULL;
+ALTER TABLE lead_follow_ups ALTER COLUMN follow_up_date SET NOT NULL;
+ALTER TABLE lead_follow_ups DROP CONSTRAINT lead_follow_ups_lead_id_fkey;
+ALTER TABLE lead_follow_ups ADD CONSTRAINT lead_follow_ups_lead_id_fkey FOREIGN KEY (lead_id) REFERENCES leads(id) ON DELETE CASCADE;
+CREATE INDEX idx_lead_follow_ups_lead_date ON lead_follow_ups(lead_id, follow_up_date DESC);
+
+ALTER TABLE student_status_history ADD COLUMN id UUID NOT NULL DEFAULT gen_random_uuid();
+ALTER TABLE student_status_history ADD PRIMARY KEY (id);
+ALTER TABLE student_status_history DROP CONSTRAINT student_status_history_student_id_fkey;
+ALTER TABLE student_status_history ADD CONSTRAINT student_status_history_student_id_fkey FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE;
+CREATE INDEX idx_student_status_history_student_date ON student_status_history(student_id, change_date DESC);
+
+-- Owners keep the latest entry and a count so that single-record reads never touch the timeline
+ALTER TABLE leads ADD COLUMN follow_up_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE leads ADD COLUMN last_follow_up_date TIMESTAMP;
+ALTER TABLE leads ADD COLUMN last_follow_up_notes TEXT;
+ALTER TABLE leads ADD COLUMN last_follow_up_next_action VARCHAR(200);
+
+UPDATE leads l SET follow_up_count = f.entries,
+                   last_follow_up_date = f.follow_up_date,
+                   last_follow_up_notes = f.follow_up_notes,
+                   last_follow_up_next_action = f.next_action
+FROM (
+    SELECT DISTINCT ON (lead_id) lead_id, follow_up_date, follow_up_notes, next_action,
+           COUNT(*) OVER (PARTITION BY lead_id) AS entries
+    FROM lead_follow_ups
+    ORDER BY lead_id, follow_up_date DESC
+) f
+WHERE f.lead_id = l.id;
+
+ALTER TABLE students ADD COLUMN status_change_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE students ADD COLUMN last_status VARCHAR(20);
+ALTER TABLE students ADD COLUMN last_status_change_date TIMESTAMP;
+ALTER TABLE students ADD COLUMN last_status_change_notes TEXT;
+
+UPDATE students s SET status_change_count = h.entries,
+                      last_status = h.status,
+                      last_status_change_date = h.change_date,
+                      last_status_change_notes = h.notes
+FROM (
+    SELECT DISTINCT ON (student_id) student_id, status, change_date, notes,
+           COUNT(*) OVER (PARTITION BY student_id) AS entries
+    FROM student_status_history
+    ORDER BY student_id, change_date DESC
+) h
+WHERE h.student_id = s.id;
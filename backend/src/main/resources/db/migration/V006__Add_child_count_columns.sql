@@ -0,0 +1,22 @@
+-- Denormalized child counts, maintained by the services in the same transaction as the child rows
+-- "With / without placements" and "with / without batches" lookups filter on these indexed columns
+-- instead of counting the collection once per row
+ALTER TABLE companies ADD COLUMN placement_count INTEGER NOT NULL DEFAULT 0 CHECK (placement_count >= 0);
+ALTER TABLE students ADD COLUMN placement_count INTEGER NOT NULL DEFAULT 0 CHECK (placement_count >= 0);
+ALTER TABLE courses ADD COLUMN batch_count INTEGER NOT NULL DEFAULT 0 CHECK (batch_count >= 0);
+
+UPDATE companies c SET placement_count = p.placements
+FROM (SELECT company_id, COUNT(*) AS placements FROM placements GROUP BY company_id) p
+WHERE p.company_id = c.id;
+
+UPDATE students s SET placement_count = p.placements
+FROM (SELECT student_id, COUNT(*) AS placements FROM placements GROUP BY student_id) p
+WHERE p.student_id = s.id;
+
+UPDATE courses c SET batch_count = b.batches
+FROM (SELECT course_id, COUNT(*) AS batches FROM batches GROUP BY course_id) b
+WHERE b.course_id = c.id;
+
+CREATE INDEX idx_companies_placement_count ON companies(placement_count);
+CREATE INDEX idx_courses_batch_count ON courses(batch_count);
+CREATE INDEX idx_students_status_placement_count ON students(status, placement_count);
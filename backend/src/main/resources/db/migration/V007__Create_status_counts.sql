@@ -0,0 +1,19 @@
+-- Per-status row counts behind the statistics endpoints
+-- Each (entity_type, status) is spread over slot rows so that concurrent transactions rarely update
+-- the same row; the count is the sum over all slots. The application adds missing rows on start.
+CREATE TABLE status_counts (
+    entity_type VARCHAR(20) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    slot INTEGER NOT NULL,
+    row_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (entity_type, status, slot)
+);
+
+INSERT INTO status_counts (entity_type, status, slot, row_count)
+SELECT 'STUDENT', status, 0, COUNT(*) FROM students GROUP BY status
+UNION ALL SELECT 'LEAD', status, 0, COUNT(*) FROM leads GROUP BY status
+UNION ALL SELECT 'COURSE', status, 0, COUNT(*) FROM courses GROUP BY status
+UNION ALL SELECT 'COMPANY', status, 0, COUNT(*) FROM companies GROUP BY status
+UNION ALL SELECT 'EMPLOYEE', status, 0, COUNT(*) FROM employees GROUP BY status
+UNION ALL SELECT 'PLACEMENT', status, 0, COUNT(*) FROM placements GROUP BY status
+UNION ALL SELECT 'BATCH', status, 0, COUNT(*) FROM batches GROUP BY status;
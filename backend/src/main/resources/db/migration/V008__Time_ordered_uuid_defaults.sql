@@ -0,0 +1,31 @@
+-- Time-ordered (version 7) UUID keys
+-- The application assigns UUIDv7 ids itself; this function gives rows inserted directly in the
+-- database the same ordering: a 48-bit millisecond timestamp over gen_random_uuid()'s random bits,
+-- with the version nibble switched from 4 to 7.
+--
+-- Existing version 4 keys stay as they are. They remain valid and unique, and rewriting them would
+-- mean rewriting every foreign key that points at them; new rows simply sort after them by time.
+-- Indexes already fragmented by v4 inserts can be compacted during a maintenance window with
+-- REINDEX INDEX CONCURRENTLY.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::UUID;
+$$ LANGUAGE SQL VOLATILE;
+
+ALTER TABLE courses ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE companies ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE employees ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE batches ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE leads ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE students ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE placements ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE lead_blocking_keys ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE batch_waitlist ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE lead_follow_ups ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE student_status_history ALTER COLUMN id SET DEFAULT uuid_generate_v7();
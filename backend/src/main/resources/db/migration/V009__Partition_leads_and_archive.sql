@@ -0,0 +1,136 @@
+-- Leads and their follow-up timeline become monthly range partitions, and closed leads past the
+-- retention window move to a compressed archive table (see LeadArchive)
+
+-- Creates one partition per month from first_month up to and including last_month; existing
+-- partitions are left alone. Also called by PartitionMaintenance to keep months ahead created.
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, first_month DATE, last_month DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month DATE := date_trunc('month', first_month);
+    partition TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month <= last_month LOOP
+        partition := parent || '_p' || to_char(month, 'YYYY_MM');
+        IF to_regclass(partition) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           partition, parent, month, month + INTERVAL '1 month');
+            created := created + 1;
+        END IF;
+        month := month + INTERVAL '1 month';
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A partitioned table can only be referenced, and kept unique, through keys that include the
+-- partition column. The foreign keys to leads(id) and the unique email are replaced by triggers.
+ALTER TABLE students DROP CONSTRAINT students_lead_id_fkey;
+ALTER TABLE lead_follow_ups DROP CONSTRAINT lead_follow_ups_lead_id_fkey;
+ALTER TABLE lead_blocking_keys DROP CONSTRAINT lead_blocking_keys_lead_id_fkey;
+
+-- Leads, partitioned by created_date
+ALTER TABLE leads RENAME TO leads_unpartitioned;
+CREATE TABLE leads (LIKE leads_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_date);
+CREATE TABLE leads_default PARTITION OF leads DEFAULT;
+SELECT create_monthly_partitions('leads',
+    (SELECT COALESCE(MIN(created_date), CURRENT_DATE)::DATE FROM leads_unpartitioned),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+INSERT INTO leads SELECT * FROM leads_unpartitioned;
+DROP TABLE leads_unpartitioned;
+ALTER TABLE leads ADD PRIMARY KEY (id, created_date);
+
+CREATE INDEX idx_leads_status ON leads(status);
+CREATE INDEX idx_leads_assigned_counsellor_id ON leads(assigned_counsellor_id);
+CREATE INDEX idx_leads_created_date ON leads(created_date);
+CREATE INDEX idx_leads_email ON leads(email);
+CREATE TRIGGER update_leads_updated_date BEFORE UPDATE ON leads FOR EACH ROW EXECUTE FUNCTION update_updated_date_column();
+
+-- Follow-up timeline, partitioned by follow_up_date
+ALTER TABLE lead_follow_ups RENAME TO lead_follow_ups_unpartitioned;
+CREATE TABLE lead_follow_ups (LIKE lead_follow_ups_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (follow_up_date);
+CREATE TABLE lead_follow_ups_default PARTITION OF lead_follow_ups DEFAULT;
+SELECT create_monthly_partitions('lead_follow_ups',
+    (SELECT COALESCE(MIN(follow_up_date), CURRENT_DATE)::DATE FROM lead_follow_ups_unpartitioned),
+    (CURRENT_DATE + INTERVAL '3 months')::DATE);
+INSERT INTO lead_follow_ups SELECT * FROM lead_follow_ups_unpartitioned;
+DROP TABLE lead_follow_ups_unpartitioned;
+ALTER TABLE lead_follow_ups ADD PRIMARY KEY (id, follow_up_date);
+
+CREATE INDEX idx_lead_follow_ups_lead_date ON lead_follow_ups(lead_id, follow_up_date DESC);
+
+-- Lead email uniqueness across all partitions
+CREATE TABLE lead_emails (
+    email VARCHAR(100) PRIMARY KEY,
+    lead_id UUID NOT NULL
+);
+INSERT INTO lead_emails (email, lead_id) SELECT email, id FROM leads WHERE email IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION maintain_lead_emails()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.email IS NOT NULL THEN
+        DELETE FROM lead_emails WHERE email = OLD.email AND lead_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.email IS NOT NULL THEN
+        INSERT INTO lead_emails (email, lead_id) VALUES (NEW.email, NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER maintain_lead_emails AFTER INSERT OR DELETE OR UPDATE OF email ON leads
+    FOR EACH ROW EXECUTE FUNCTION maintain_lead_emails();
+
+-- References to leads(id): the referenced row is locked like a foreign key check would lock it
+CREATE OR REPLACE FUNCTION check_lead_reference()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.lead_id IS NOT NULL THEN
+        PERFORM 1 FROM leads WHERE id = NEW.lead_id FOR KEY SHARE;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'Lead % referenced by % does not exist', NEW.lead_id, TG_TABLE_NAME
+                USING ERRCODE = 'foreign_key_violation';
+        END IF;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER check_students_lead BEFORE INSERT OR UPDATE OF lead_id ON students
+    FOR EACH ROW EXECUTE FUNCTION check_lead_reference();
+CREATE TRIGGER check_lead_follow_ups_lead BEFORE INSERT ON lead_follow_ups
+    FOR EACH ROW EXECUTE FUNCTION check_lead_reference();
+CREATE TRIGGER check_lead_blocking_keys_lead BEFORE INSERT ON lead_blocking_keys
+    FOR EACH ROW EXECUTE FUNCTION check_lead_reference();
+
+-- Deleting a lead: students still block it; follow-ups and blocking keys go with it
+CREATE OR REPLACE FUNCTION delete_lead_children()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM students WHERE lead_id = OLD.id) THEN
+        RAISE EXCEPTION 'Lead % is still referenced by students', OLD.id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    DELETE FROM lead_follow_ups WHERE lead_id = OLD.id;
+    DELETE FROM lead_blocking_keys WHERE lead_id = OLD.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER delete_lead_children AFTER DELETE ON leads
+    FOR EACH ROW EXECUTE FUNCTION delete_lead_children();
+
+-- Archived leads: one gzip-compressed JSON document per lead with its follow-up timeline
+CREATE TABLE leads_archive (
+    id UUID PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    created_date TIMESTAMP NOT NULL,
+    archived_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    payload BYTEA NOT NULL
+);
+-- The payload is already compressed; store it out of line without compressing it again
+ALTER TABLE leads_archive ALTER COLUMN payload SET STORAGE EXTERNAL;
+CREATE INDEX idx_leads_archive_status ON leads_archive(status);
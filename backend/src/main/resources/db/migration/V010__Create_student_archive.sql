@@ -0,0 +1,64 @@
+-- Graduated and dropped-out students past the retention window move, with their placements and
+-- status history, to archive tables of the same shape (see StudentArchive). References are kept as
+-- plain ids so the archive never holds back deleting a batch, lead or company.
+
+CREATE TABLE students_archive (
+    id UUID PRIMARY KEY,
+    enrollment_number VARCHAR(20) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100),
+    phone VARCHAR(15) NOT NULL,
+    date_of_birth DATE,
+    address TEXT,
+    batch_id UUID,
+    lead_id UUID,
+    status VARCHAR(20) NOT NULL,
+    enrollment_date DATE NOT NULL,
+    graduation_date DATE,
+    final_grade VARCHAR(5),
+    created_date TIMESTAMP NOT NULL,
+    updated_date TIMESTAMP,
+    placement_count INTEGER NOT NULL DEFAULT 0,
+    status_change_count INTEGER NOT NULL DEFAULT 0,
+    last_status VARCHAR(20),
+    last_status_change_date TIMESTAMP,
+    last_status_change_notes TEXT,
+    archived_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_students_archive_enrollment_date ON students_archive(enrollment_date);
+CREATE INDEX idx_students_archive_batch_id ON students_archive(batch_id);
+
+CREATE TABLE placements_archive (
+    id UUID PRIMARY KEY,
+    student_id UUID NOT NULL REFERENCES students_archive(id),
+    company_id UUID NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    salary DECIMAL(10,2),
+    placement_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    job_type VARCHAR(20),
+    work_location VARCHAR(100),
+    employment_type VARCHAR(20),
+    probation_period_months INTEGER,
+    joining_date DATE,
+    end_date DATE,
+    notes TEXT,
+    created_date TIMESTAMP NOT NULL,
+    updated_date TIMESTAMP
+);
+
+CREATE INDEX idx_placements_archive_student_id ON placements_archive(student_id);
+CREATE INDEX idx_placements_archive_company_id ON placements_archive(company_id);
+CREATE INDEX idx_placements_archive_placement_date ON placements_archive(placement_date);
+
+CREATE TABLE student_status_history_archive (
+    id UUID PRIMARY KEY,
+    student_id UUID NOT NULL REFERENCES students_archive(id),
+    status VARCHAR(20) NOT NULL,
+    change_date TIMESTAMP NOT NULL,
+    notes TEXT
+);
+
+CREATE INDEX idx_student_status_history_archive_student_date ON student_status_history_archive(student_id, change_date DESC);
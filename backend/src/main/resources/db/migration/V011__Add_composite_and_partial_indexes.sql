@@ -0,0 +1,44 @@
+-- Composite and partial indexes for the filters the repository queries actually combine
+-- (found with QueryPlanRegressionTest: sequential scans that threw most of what they read away).
+-- Single-column indexes that became the leading column of a composite one are dropped.
+
+-- Leads per counsellor and status (counsellor workload and conversion counts)
+CREATE INDEX idx_leads_counsellor_status ON leads(assigned_counsellor_id, status);
+DROP INDEX idx_leads_assigned_counsellor_id;
+
+-- Leads per status over a creation date range (converted in range, archivable closed leads)
+CREATE INDEX idx_leads_status_created_date ON leads(status, created_date);
+DROP INDEX idx_leads_status;
+
+-- Follow-up queue: only open leads are ever asked for, so closed leads stay out of the index
+CREATE INDEX idx_leads_follow_up_due ON leads(next_follow_up_date)
+    WHERE status NOT IN ('CONVERTED', 'LOST', 'NOT_INTERESTED');
+CREATE INDEX idx_leads_without_follow_up ON leads(created_date)
+    WHERE next_follow_up_date IS NULL AND status IN ('NEW', 'CONTACTED', 'INTERESTED');
+
+-- Students per batch and status (active students of a batch, batch roster counts)
+CREATE INDEX idx_students_batch_status ON students(batch_id, status);
+DROP INDEX idx_students_batch_id;
+
+-- status is the leading column of idx_students_status_placement_count
+DROP INDEX idx_students_status;
+
+-- Graduations over a date range, and active students still waiting for a batch
+CREATE INDEX idx_students_graduation_date ON students(graduation_date) WHERE status = 'GRADUATED';
+CREATE INDEX idx_students_without_batch ON students(enrollment_date) WHERE batch_id IS NULL AND status = 'ACTIVE';
+
+-- Enrollment number prefix lookups (LIKE 'ENR2024%'); the unique index only serves equality
+-- under a non-C collation
+CREATE INDEX idx_students_enrollment_number_prefix ON students(enrollment_number varchar_pattern_ops);
+
+-- Placements per status over a date range (monthly trends, reports)
+CREATE INDEX idx_placements_status_placement_date ON placements(status, placement_date);
+DROP INDEX idx_placements_status;
+
+-- "Has a PLACED placement" probes per student
+CREATE INDEX idx_placements_student_status ON placements(student_id, status);
+DROP INDEX idx_placements_student_id;
+
+-- Covering index for the per-company placement and salary statistics: index-only scans of
+-- PLACED rows instead of reading the whole table
+CREATE INDEX idx_placements_placed_company ON placements(company_id) INCLUDE (salary) WHERE status = 'PLACED';
@@ -0,0 +1,26 @@
+-- CSV lead imports
+-- checkpoint_row is the last data row of the file whose outcome is committed; the counters and the
+-- leads of a chunk commit together, so an interrupted import resumes right after it
+CREATE TABLE lead_imports (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+    file_name VARCHAR(255) NOT NULL,
+    stored_path VARCHAR(500) NOT NULL,
+    default_source VARCHAR(50),
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    checkpoint_row BIGINT NOT NULL DEFAULT 0,
+    total_rows BIGINT,
+    imported_count INTEGER NOT NULL DEFAULT 0,
+    duplicate_count INTEGER NOT NULL DEFAULT 0,
+    invalid_count INTEGER NOT NULL DEFAULT 0,
+    rejected_rows TEXT,
+    failure_reason VARCHAR(500),
+    created_by VARCHAR(100),
+    started_date TIMESTAMP,
+    finished_date TIMESTAMP,
+    created_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_lead_imports_status ON lead_imports(status);
+
+CREATE TRIGGER update_lead_imports_updated_date BEFORE UPDATE ON lead_imports FOR EACH ROW EXECUTE FUNCTION update_updated_date_column();
@@ -0,0 +1,15 @@
+-- Idempotency-Key records of POST requests, keyed by "<principal>:<key>"
+-- A row is inserted as PROCESSING when a request claims its key and gets the response once the
+-- request completes; request_hash detects a key reused for a different request
+CREATE TABLE idempotency_keys (
+    id VARCHAR(400) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PROCESSING' CHECK (status IN ('PROCESSING', 'COMPLETED')),
+    response_status INTEGER,
+    response_content_type VARCHAR(100),
+    response_body TEXT,
+    created_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_date TIMESTAMP
+);
+
+CREATE INDEX idx_idempotency_keys_created_date ON idempotency_keys(created_date);
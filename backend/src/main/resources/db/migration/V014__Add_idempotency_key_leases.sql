@@ -0,0 +1,6 @@
+-- Processing lease of an idempotency key: the node running the request keeps pushing locked_until
+-- forward, and a key whose lease lapsed (e.g. the node stopped mid-request) can be claimed again.
+-- lease_token identifies one claim, so a node that lost its lease cannot store over the new claim.
+-- Keys claimed before this migration have no lease and can be taken over straight away
+ALTER TABLE idempotency_keys ADD COLUMN lease_token VARCHAR(36);
+ALTER TABLE idempotency_keys ADD COLUMN locked_until TIMESTAMP;
@@ -0,0 +1,8 @@
+-- An import's uploaded file is spooled on the node that received it, so only that node can run it.
+-- owner_node names it; the running node keeps pushing locked_until forward, and the owner resumes an
+-- unfinished import only once the lease has lapsed, so a restart never runs an import twice.
+-- Imports queued before this migration have no owner and are adopted by the node that has their file
+ALTER TABLE lead_imports ADD COLUMN owner_node VARCHAR(100);
+ALTER TABLE lead_imports ADD COLUMN locked_until TIMESTAMP;
+
+CREATE INDEX idx_lead_imports_owner_node ON lead_imports(owner_node);
@@ -9,6 +9,7 @@ import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.BatchCapacityExceededException;
 import com.institute.management.exception.ValidationException;
 import com.institute.management.service.BatchService;
+import com.institute.management.service.BatchWaitlistService;
 import com.institute.management.service.CourseService;
 import com.institute.management.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,6 +53,9 @@ class BatchControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private BatchWaitlistService batchWaitlistService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -3,6 +3,7 @@ package com.institute.management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.institute.management.dto.*;
 import com.institute.management.entity.Lead;
+import com.institute.management.service.LeadDeduplicationService;
 import com.institute.management.service.LeadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ class LeadControllerTest {
     @MockBean
     private LeadService leadService;
     
+    @MockBean
+    private LeadDeduplicationService leadDeduplicationService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -34,6 +34,7 @@ class EntityMappingTest {
 
         // Then
         assertThat(savedCourse.getId()).isNotNull();
+        assertThat(savedCourse.getId().version()).isEqualTo(7);
         assertThat(savedCourse.getName()).isEqualTo("Java Programming");
         assertThat(savedCourse.getDurationMonths()).isEqualTo(6);
         assertThat(savedCourse.getFees()).isEqualByComparingTo(new BigDecimal("50000.00"));
@@ -0,0 +1,82 @@
+package com.institute.management.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and primary key index size of random (v4) versus time-ordered (v7) UUID keys
+ * on PostgreSQL. Run with: mvn test -Dtest=UuidKeyBenchmarkTest -Dbenchmark=true (requires Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidKeyBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UuidKeyBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Test
+    void testTimeOrderedKeysInsertFasterIntoSmallerIndex() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            Result v4 = insert(connection, "bench_v4", UUID::randomUUID);
+            Result v7 = insert(connection, "bench_v7", UuidV7Generator::next);
+
+            logger.info("v4: {} rows/s, primary key index {} kB", v4.rowsPerSecond(), v4.indexBytes() / 1024);
+            logger.info("v7: {} rows/s, primary key index {} kB", v7.rowsPerSecond(), v7.indexBytes() / 1024);
+
+            // Appending to the right edge leaves index pages full; random keys split pages half empty
+            assertThat(v7.indexBytes()).isLessThan(v4.indexBytes());
+        }
+    }
+
+    private Result insert(Connection connection, String table, Supplier<UUID> keys) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, created_date TIMESTAMP NOT NULL DEFAULT now(), payload VARCHAR(100))");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setObject(1, keys.get());
+                insert.setString(2, "row " + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+            size.next();
+            return new Result(ROWS * 1_000_000_000L / elapsedNanos, size.getLong(1));
+        }
+    }
+
+    private record Result(long rowsPerSecond, long indexBytes) {
+    }
+}
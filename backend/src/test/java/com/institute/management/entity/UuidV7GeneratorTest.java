@@ -0,0 +1,77 @@
+package com.institute.management.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        // The sequence may run a few milliseconds ahead under load, never behind
+        assertThat(UuidV7Generator.timestamp(uuid)).isBetween(before, after + 100);
+    }
+
+    @Test
+    void testValuesIncreaseStrictly() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.next();
+            // Byte order, as the database compares UUIDs
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits())).isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void testConcurrentGenerationIsUnique() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<UUID>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int j = 0; j < 10_000; j++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                    return ids;
+                });
+            }
+
+            Set<Long> prefixes = new HashSet<>();
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                for (UUID id : future.get()) {
+                    prefixes.add(id.getMostSignificantBits());
+                }
+            }
+
+            // Timestamp and sequence alone are already unique across threads
+            assertThat(prefixes).hasSize(80_000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTimestampRejectsOtherVersions() {
+        assertThatThrownBy(() -> UuidV7Generator.timestamp(UUID.randomUUID()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,255 @@
+package com.institute.management.integration;
+
+import com.institute.management.dto.BulkWriteResponseDTO;
+import com.institute.management.dto.LeadBulkConversionRequestDTO;
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.PlacementCreateRequestDTO;
+import com.institute.management.dto.StudentCreateRequestDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.Student;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CompanyRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.repository.StudentRepository;
+import com.institute.management.service.LeadService;
+import com.institute.management.service.PlacementService;
+import com.institute.management.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class BulkWriteIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private PlacementService placementService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String suffix;
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        Course course = courseRepository.save(new Course("Bulk " + suffix, "Bulk course", 6, new BigDecimal("40000")));
+        batch = batchRepository.save(new Batch("Bulk batch " + suffix, course, LocalDate.now().plusDays(10), 3));
+    }
+
+    @Test
+    void testCreatesValidStudentsAndReportsRejectedRows() {
+        List<StudentCreateRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(student(i, batch.getId()));
+        }
+        requests.add(student(1, null));                 // repeats row 1's email and phone
+        StudentCreateRequestDTO invalid = student(5, null);
+        invalid.setPhone("12");
+        requests.add(invalid);
+        requests.add(student(6, UUID.randomUUID()));    // unknown batch
+
+        BulkWriteResponseDTO response = studentService.createStudents(requests);
+
+        assertThat(response.getTotal()).isEqualTo(7);
+        assertThat(response.getCreated()).isEqualTo(3);
+        // The batch has three seats: the fourth row for it is turned away
+        assertThat(response.getRows().get(3).getErrors()).singleElement().asString().contains("no free seat");
+        assertThat(response.getRows().get(4).getErrors()).anyMatch(error -> error.contains("more than once"));
+        assertThat(response.getRows().get(5).getErrors()).singleElement().asString().startsWith("phone:");
+        assertThat(response.getRows().get(6).getErrors()).singleElement().asString().startsWith("Batch not found");
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getCurrentEnrollment()).isEqualTo(3);
+        assertThat(studentRepository.findAllById(List.of(response.getRows().get(0).getId(), response.getRows().get(2).getId())))
+            .extracting(Student::getEnrollmentNumber).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testRejectsStudentsThatAlreadyExist() {
+        studentService.createStudents(List.of(student(0, null)));
+
+        BulkWriteResponseDTO response = studentService.createStudents(List.of(student(0, null), student(1, null)));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRows().get(0).getErrors()).anyMatch(error -> error.contains("already exists"));
+    }
+
+    @Test
+    void testInsertsAreSentInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<LeadCreateRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            LeadCreateRequestDTO lead = new LeadCreateRequestDTO();
+            lead.setFirstName("Bulk");
+            lead.setLastName("Lead" + i);
+            lead.setEmail("bulk.lead" + i + "." + suffix + "@example.com");
+            lead.setPhone("71" + String.format("%04d", Integer.parseInt(suffix)) + String.format("%04d", i));
+            lead.setSource("IMPORT");
+            requests.add(lead);
+        }
+
+        entityManager.flush();
+        statistics.clear();
+        BulkWriteResponseDTO response = leadService.createLeads(requests);
+        entityManager.flush();
+
+        assertThat(response.getCreated()).isEqualTo(100);
+        // 100 leads plus their blocking keys, batched 50 rows per statement, plus the two lookups
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40);
+    }
+
+    @Test
+    void testConvertsLeadsIntoBatchAndReportsRejectedLeads() {
+        List<UUID> leadIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            leadIds.add(lead(i, Lead.LeadStatus.INTERESTED).getId());
+        }
+        leadIds.add(lead(4, Lead.LeadStatus.LOST).getId());
+        leadIds.add(UUID.randomUUID());
+        leadIds.add(leadIds.get(0));
+
+        BulkWriteResponseDTO response = leadService.convertLeadsToStudents(
+            new LeadBulkConversionRequestDTO(leadIds, batch.getId(), LocalDate.now()));
+
+        assertThat(response.getCreated()).isEqualTo(3);
+        // The batch has three seats: the fourth lead stays open
+        assertThat(response.getRows().get(3).getErrors()).singleElement().asString().contains("no free seat");
+        assertThat(response.getRows().get(4).getErrors()).singleElement().asString().startsWith("Cannot convert lead");
+        assertThat(response.getRows().get(5).getErrors()).singleElement().asString().startsWith("Lead not found");
+        assertThat(response.getRows().get(6).getErrors()).singleElement().asString().contains("more than once");
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(leadRepository.findById(leadIds.get(0)).orElseThrow().getStatus()).isEqualTo(Lead.LeadStatus.CONVERTED);
+        assertThat(leadRepository.findById(leadIds.get(0)).orElseThrow().getConvertedDate()).isNotNull();
+        assertThat(leadRepository.findById(leadIds.get(3)).orElseThrow().getStatus()).isEqualTo(Lead.LeadStatus.INTERESTED);
+        Student student = studentRepository.findById(response.getRows().get(1).getId()).orElseThrow();
+        assertThat(student.getLead().getId()).isEqualTo(leadIds.get(1));
+        assertThat(student.getBatch().getId()).isEqualTo(batch.getId());
+        assertThat(batchRepository.findById(batch.getId()).orElseThrow().getCurrentEnrollment()).isEqualTo(3);
+    }
+
+    @Test
+    void testPlacementsResolveReferencesAndCountPerCompany() {
+        Company company = companyRepository.save(new Company("Bulk Co " + suffix, "IT", "Hiring", "hr" + suffix + "@bulk.com", "9876543210"));
+        BulkWriteResponseDTO students = studentService.createStudents(List.of(student(0, null), student(1, null)));
+
+        List<PlacementCreateRequestDTO> requests = new ArrayList<>();
+        for (BulkWriteResponseDTO.RowResult row : students.getRows()) {
+            requests.add(placement(row.getId(), company.getId()));
+        }
+        requests.add(placement(UUID.randomUUID(), company.getId()));
+
+        BulkWriteResponseDTO response = placementService.createPlacements(requests);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRows().get(2).getErrors()).singleElement().asString().startsWith("Student not found");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(companyRepository.findById(company.getId()).orElseThrow().getPlacementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testBulkEndpointReportsRowsOverHttp() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        String body = "[{\"firstName\":\"Http\",\"lastName\":\"Bulk\",\"phone\":\"72000" + String.format("%05d", Integer.parseInt(suffix)) + "\","
+            + "\"enrollmentDate\":\"" + LocalDate.now() + "\"},{\"firstName\":\"\",\"lastName\":\"Bulk\",\"phone\":\"1\"}]";
+
+        mockMvc.perform(post("/api/v1/students:bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.rows[1].errors").isArray());
+    }
+
+    private StudentCreateRequestDTO student(int i, UUID batchId) {
+        StudentCreateRequestDTO request = new StudentCreateRequestDTO();
+        request.setFirstName("Bulk");
+        request.setLastName("Student" + i);
+        request.setEmail("bulk.student" + i + "." + suffix + "@example.com");
+        request.setPhone("73" + String.format("%04d", Integer.parseInt(suffix)) + String.format("%04d", i));
+        request.setEnrollmentDate(LocalDate.now());
+        request.setBatchId(batchId);
+        return request;
+    }
+
+    private Lead lead(int i, Lead.LeadStatus status) {
+        Lead lead = new Lead();
+        lead.setFirstName("Intake");
+        lead.setLastName("Lead" + i);
+        lead.setEmail("intake.lead" + i + "." + suffix + "@example.com");
+        lead.setPhone("74" + String.format("%04d", Integer.parseInt(suffix)) + String.format("%04d", i));
+        lead.setStatus(status);
+        return leadRepository.save(lead);
+    }
+
+    private PlacementCreateRequestDTO placement(UUID studentId, UUID companyId) {
+        PlacementCreateRequestDTO request = new PlacementCreateRequestDTO();
+        request.setStudentId(studentId);
+        request.setCompanyId(companyId);
+        request.setPosition("Developer");
+        request.setSalary(new BigDecimal("450000"));
+        request.setPlacementDate(LocalDate.now());
+        return request;
+    }
+}
@@ -0,0 +1,147 @@
+package com.institute.management.integration;
+
+import com.institute.management.entity.Course;
+import com.institute.management.repository.CourseRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sub-requests run on worker threads with connections of their own, so this test is not
+ * transactional: a test transaction would hide its data from them
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CompositeReadIntegrationTest {
+
+    @TestConfiguration
+    static class TeapotFilterConfig {
+
+        // A servlet filter answering every request under /api/v1/teapot/ on its own
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> teapotFilter() {
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) {
+                    response.setStatus(418);
+                }
+            });
+            registration.addUrlPatterns("/api/v1/teapot/*");
+            return registration;
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private MockMvc mockMvc;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        String suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        course = courseRepository.save(new Course("Composite " + suffix, "Composite course", 4, new BigDecimal("20000")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void testRunsSubRequestsWithPerItemStatus() throws Exception {
+        String body = "{\"requests\":["
+            + "{\"id\":\"course\",\"path\":\"/api/v1/courses/" + course.getId() + "\"},"
+            + "{\"id\":\"companies\",\"path\":\"/api/v1/companies?page=0&size=5&sortBy=name\"},"
+            + "{\"id\":\"missing\",\"path\":\"/api/v1/courses/" + UUID.randomUUID() + "\"},"
+            + "{\"id\":\"unknown\",\"path\":\"/api/v1/no-such-route\"},"
+            + "{\"id\":\"write\",\"path\":\"/api/v1/students:bulk\"}]}";
+
+        mockMvc.perform(post("/api/v1/batch").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responses.length()").value(5))
+            .andExpect(jsonPath("$.responses[0].id").value("course"))
+            .andExpect(jsonPath("$.responses[0].status").value(200))
+            .andExpect(jsonPath("$.responses[0].body.name").value(course.getName()))
+            .andExpect(jsonPath("$.responses[1].status").value(200))
+            .andExpect(jsonPath("$.responses[1].body.size").value(5))
+            .andExpect(jsonPath("$.responses[2].status").value(404))
+            .andExpect(jsonPath("$.responses[2].body.errorCode").exists())
+            .andExpect(jsonPath("$.responses[3].status").value(404))
+            .andExpect(jsonPath("$.responses[3].body.errorCode").value("ROUTE_NOT_FOUND"))
+            .andExpect(jsonPath("$.responses[4].status").value(405));
+    }
+
+    @Test
+    void testAppliesEachRoutesAuthorizationToTheCaller() throws Exception {
+        String body = "{\"requests\":["
+            + "{\"path\":\"/api/v1/courses/" + course.getId() + "\"},"
+            + "{\"path\":\"/api/v1/companies\"}]}";
+
+        mockMvc.perform(post("/api/v1/batch").with(user("counsellor").roles("COUNSELLOR"))
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responses[0].status").value(200))
+            .andExpect(jsonPath("$.responses[1].status").value(403))
+            .andExpect(jsonPath("$.responses[1].body.errorCode").value("ACCESS_DENIED"));
+    }
+
+    @Test
+    void testRunsSubRequestsThroughTheServletFilters() throws Exception {
+        String body = "{\"requests\":["
+            + "{\"path\":\"/api/v1/teapot/brew\"},"
+            + "{\"path\":\"/api/v1/courses/" + course.getId() + "\"}]}";
+
+        mockMvc.perform(post("/api/v1/batch").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responses[0].status").value(418))
+            .andExpect(jsonPath("$.responses[1].status").value(200));
+    }
+
+    @Test
+    void testRejectsUnauthenticatedAndOversizedRequests() throws Exception {
+        String one = "{\"path\":\"/api/v1/courses\"}";
+        mockMvc.perform(post("/api/v1/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"requests\":[" + one + "]}"))
+            .andExpect(status().isUnauthorized());
+
+        String tooMany = "{\"requests\":[" + String.join(",", Collections.nCopies(21, one)) + "]}";
+        mockMvc.perform(post("/api/v1/batch").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content(tooMany))
+            .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(post("/api/v1/batch").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"requests\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+}
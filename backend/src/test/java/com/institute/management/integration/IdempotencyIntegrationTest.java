@@ -0,0 +1,227 @@
+package com.institute.management.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.institute.management.config.IdempotencyFilter;
+import com.institute.management.entity.IdempotencyRecord;
+import com.institute.management.entity.IdempotencyRecord.RecordStatus;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The filter claims and completes keys in transactions of its own, so this test is not
+ * transactional and removes its courses and keys afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+    private String suffix;
+    private final List<UUID> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            courseRepository.deleteAllByIdInBatch(courseIds);
+            recordRepository.deleteCreatedBefore(LocalDateTime.now().plusMinutes(1));
+        });
+        Object target = AopTestUtils.getTargetObject(idempotencyFilter);
+        ReflectionTestUtils.setField(target, "waitMs", 30000L);
+    }
+
+    @Test
+    void testRetryWithSameKeyReplaysResponseInsteadOfCreatingAgain() throws Exception {
+        String key = "create-" + suffix;
+        String first = mockMvc.perform(createCourse(key, "Idempotent " + suffix))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+        courseIds.add(UUID.fromString(objectMapper.readTree(first).get("id").asText()));
+
+        // Without the key the repeated create would fail on the duplicate name
+        String retry = mockMvc.perform(createCourse(key, "Idempotent " + suffix))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn().getResponse().getContentAsString();
+
+        JsonNode replayed = objectMapper.readTree(retry);
+        assertThat(replayed.get("id").asText()).isEqualTo(courseIds.get(0).toString());
+        assertThat(courseRepository.findAll().stream().filter(c -> c.getName().equals("Idempotent " + suffix))).hasSize(1);
+
+        IdempotencyRecord record = recordRepository.findById("admin:" + key).orElseThrow();
+        assertThat(record.getStatus()).isEqualTo(RecordStatus.COMPLETED);
+        assertThat(record.getResponseStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void testRejectsKeyReusedForDifferentRequest() throws Exception {
+        String key = "reuse-" + suffix;
+        String first = mockMvc.perform(createCourse(key, "Reused " + suffix))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        courseIds.add(UUID.fromString(objectMapper.readTree(first).get("id").asText()));
+
+        mockMvc.perform(createCourse(key, "Other " + suffix))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+
+        // Keys are scoped to the user
+        String other = mockMvc.perform(createCourse(key, "Other " + suffix).with(user("operations").roles("OPERATIONS")))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+        courseIds.add(UUID.fromString(objectMapper.readTree(other).get("id").asText()));
+    }
+
+    @Test
+    void testHoldsDuplicateOfRequestInProgressElsewhere() throws Exception {
+        String key = "held-" + suffix;
+        String body = courseJson("Held " + suffix);
+        // Another node claimed the key and is still running the request
+        String claimHash = hashOf(body);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            recordRepository.saveAndFlush(new IdempotencyRecord("admin:" + key, claimHash, "other-node",
+                LocalDateTime.now(), LocalDateTime.now().plusMinutes(1))));
+        Object target = AopTestUtils.getTargetObject(idempotencyFilter);
+        ReflectionTestUtils.setField(target, "waitMs", 300L);
+
+        mockMvc.perform(createCourse(key, "Held " + suffix))
+            .andExpect(status().isConflict())
+            .andExpect(header().exists("Retry-After"))
+            .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_IN_PROGRESS"));
+
+        // Once the other node stored its response, the duplicate gets it
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> recordRepository.complete("admin:" + key,
+            "other-node", RecordStatus.COMPLETED, 201, MediaType.APPLICATION_JSON_VALUE, "{\"name\":\"Held " + suffix + "\"}", LocalDateTime.now()));
+
+        mockMvc.perform(createCourse(key, "Held " + suffix))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.name").value("Held " + suffix));
+        assertThat(courseRepository.findByName("Held " + suffix)).isEmpty();
+    }
+
+    @Test
+    void testTakesOverKeyWhoseLeaseLapsed() throws Exception {
+        String key = "lapsed-" + suffix;
+        // Claimed by a node that stopped before it finished or renewed the lease
+        String claimHash = hashOf(courseJson("Lapsed " + suffix));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            recordRepository.saveAndFlush(new IdempotencyRecord("admin:" + key, claimHash, "stopped-node",
+                LocalDateTime.now().minusMinutes(5), LocalDateTime.now().minusMinutes(4))));
+
+        String created = mockMvc.perform(createCourse(key, "Lapsed " + suffix))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+        courseIds.add(UUID.fromString(objectMapper.readTree(created).get("id").asText()));
+
+        IdempotencyRecord record = recordRepository.findById("admin:" + key).orElseThrow();
+        assertThat(record.getStatus()).isEqualTo(RecordStatus.COMPLETED);
+        assertThat(record.getLeaseToken()).isNotEqualTo("stopped-node");
+    }
+
+    @Test
+    void testExpiredResponseIsNotReplayed() throws Exception {
+        String key = "expired-" + suffix;
+        // Stored two days ago and not purged yet, for a different body
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            recordRepository.saveAndFlush(new IdempotencyRecord("admin:" + key, "0".repeat(64), "old-node",
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(2)));
+            recordRepository.complete("admin:" + key, "old-node", RecordStatus.COMPLETED, 201,
+                MediaType.APPLICATION_JSON_VALUE, "{}", LocalDateTime.now().minusDays(2));
+        });
+
+        String created = mockMvc.perform(createCourse(key, "Expired " + suffix))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.name").value("Expired " + suffix))
+            .andReturn().getResponse().getContentAsString();
+        courseIds.add(UUID.fromString(objectMapper.readTree(created).get("id").asText()));
+    }
+
+    @Test
+    void testRejectsOverlongKey() throws Exception {
+        mockMvc.perform(createCourse("k".repeat(256), "Overlong " + suffix))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("INVALID_IDEMPOTENCY_KEY"));
+    }
+
+    private MockHttpServletRequestBuilder createCourse(String key, String name) {
+        return post("/api/v1/courses")
+            .with(user("admin").roles("ADMIN"))
+            .header(IdempotencyFilter.HEADER, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(courseJson(name));
+    }
+
+    private static String courseJson(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Retried create\",\"durationMonths\":6,\"fees\":30000}";
+    }
+
+    /**
+     * The request hash the filter computes for a course create
+     */
+    private static String hashOf(String body) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update("POST /api/v1/courses\n".getBytes(StandardCharsets.UTF_8));
+        digest.update(body.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,226 @@
+package com.institute.management.integration;
+
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.repository.LeadBlockingKeyRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.service.LeadCaptureService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Submissions are written by the capture writer thread in its own transactions, so this test is
+ * not transactional and removes the leads it created afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeadCaptureIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private LeadCaptureService leadCaptureService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadBlockingKeyRepository blockingKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i <= 3; i++) {
+                leadRepository.findByPhone(phone(i)).ifPresent(lead -> ids.add(lead.getId()));
+            }
+            blockingKeyRepository.deleteByLeadIdIn(ids);
+            leadRepository.deleteAllByIdInBatch(ids);
+        });
+        Object target = AopTestUtils.getTargetObject(leadCaptureService);
+        ReflectionTestUtils.setField(target, "burst", 5);
+        ReflectionTestUtils.setField(target, "trustedProxies", 0);
+    }
+
+    @Test
+    void testAcceptsAnonymousSubmissionAndWritesItInTheBackground() throws Exception {
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.0.1." + suffix.charAt(0)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(form(1, "(74" + suffix + ") 000-1", " Asha." + suffix + "@Example.com ")))
+            .andExpect(status().isAccepted());
+        // The same person submitting twice is stored once
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.0.1." + suffix.charAt(0)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(form(1, "74" + suffix + "0001", null)))
+            .andExpect(status().isAccepted());
+
+        Lead lead = await(phone(1)).orElseThrow();
+        assertThat(lead.getEmail()).isEqualTo("asha." + suffix + "@example.com");
+        assertThat(lead.getSource()).isEqualTo("Website");
+        assertThat(lead.getStatus()).isEqualTo(Lead.LeadStatus.NEW);
+        // findByPhone would fail if the repeated submission had been stored as a second lead
+        Thread.sleep(200);
+        assertThat(leadCaptureService.pending()).isZero();
+        assertThat(leadRepository.findByPhone(phone(1))).isPresent();
+    }
+
+    @Test
+    void testApiMatchesCapturedLeadsInTheSameNormalizedForm() throws Exception {
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.0.5." + suffix.charAt(3)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(form(1, "74 " + suffix + " 0001", "Ravi." + suffix + "@Example.com")))
+            .andExpect(status().isAccepted());
+        assertThat(await(phone(1))).isPresent();
+
+        // The API stores emails lower-case too, so the exact duplicate check sees the captured lead
+        mockMvc.perform(post("/api/v1/leads:bulk").with(user("counsellor").roles("COUNSELLOR"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"firstName\":\"Ravi\",\"lastName\":\"Api\",\"phone\":\"" + phone(2)
+                    + "\",\"email\":\"RAVI." + suffix + "@example.com\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows[0].errors[0]").value("Lead with email ravi." + suffix + "@example.com already exists"));
+
+        assertThat(leadRepository.findByPhone(phone(2))).isEmpty();
+    }
+
+    @Test
+    void testRejectsInvalidPhoneWithoutQueueing() throws Exception {
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.0.2.1"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(form(2, "12-34", null)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(leadCaptureService.pending()).isZero();
+    }
+
+    @Test
+    void testLimitsSubmissionsPerAddress() throws Exception {
+        Object target = AopTestUtils.getTargetObject(leadCaptureService);
+        ReflectionTestUtils.setField(target, "burst", 1);
+        String client = "10.0.3." + suffix.charAt(1);
+
+        mockMvc.perform(post("/api/v1/public/leads").with(address(client))
+                .contentType(MediaType.APPLICATION_JSON).content(form(2, phone(2), null)))
+            .andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/v1/public/leads").with(address(client))
+                .contentType(MediaType.APPLICATION_JSON).content(form(3, phone(3), null)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"))
+            .andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"));
+
+        assertThat(await(phone(2))).isPresent();
+        assertThat(leadRepository.findByPhone(phone(3))).isEmpty();
+    }
+
+    @Test
+    void testLimitsByAddressSeenByTrustedProxyNotBySpoofedForwardedFor() throws Exception {
+        Object target = AopTestUtils.getTargetObject(leadCaptureService);
+        ReflectionTestUtils.setField(target, "burst", 1);
+        ReflectionTestUtils.setField(target, "trustedProxies", 1);
+        String client = "10.0.4." + suffix.charAt(2);
+
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.9.9.9"))
+                .header("X-Forwarded-For", "1.1.1.1, " + client)
+                .contentType(MediaType.APPLICATION_JSON).content(form(2, phone(2), null)))
+            .andExpect(status().isAccepted());
+        // A new leftmost entry is the client's own claim and does not buy a new bucket
+        mockMvc.perform(post("/api/v1/public/leads").with(address("10.9.9.9"))
+                .header("X-Forwarded-For", "2.2.2.2, " + client)
+                .contentType(MediaType.APPLICATION_JSON).content(form(3, phone(3), null)))
+            .andExpect(status().isTooManyRequests());
+
+        assertThat(await(phone(2))).isPresent();
+    }
+
+    @Test
+    void testQueuesSpilledSubmissionsAgain(@TempDir Path directory) throws Exception {
+        Object target = AopTestUtils.getTargetObject(leadCaptureService);
+        Path spillFile = directory.resolve("spill.jsonl");
+        Object configured = ReflectionTestUtils.getField(target, "spillFile");
+        ReflectionTestUtils.setField(target, "spillFile", spillFile.toString());
+        try {
+            LeadCreateRequestDTO lead = new LeadCreateRequestDTO();
+            lead.setFirstName("Spilled");
+            lead.setLastName("Enquiry");
+            lead.setPhone(phone(1));
+            lead.setSource("Website");
+            ReflectionTestUtils.invokeMethod(target, "spill", lead);
+            assertThat(Files.readAllLines(spillFile)).hasSize(1);
+
+            ReflectionTestUtils.invokeMethod(target, "requeueSpilled");
+
+            assertThat(await(phone(1))).get().extracting(Lead::getFirstName).isEqualTo("Spilled");
+            assertThat(spillFile).doesNotExist();
+        } finally {
+            ReflectionTestUtils.setField(target, "spillFile", configured);
+        }
+    }
+
+    private Optional<Lead> await(String phone) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Optional<Lead> lead = leadRepository.findByPhone(phone);
+        while (lead.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            lead = leadRepository.findByPhone(phone);
+        }
+        return lead;
+    }
+
+    private String form(int i, String phone, String email) {
+        return "{\"firstName\":\"Web\",\"lastName\":\"Enquiry" + i + "\",\"phone\":\"" + phone + "\""
+            + (email != null ? ",\"email\":\"" + email + "\"" : "") + ",\"courseInterest\":\"Java\"}";
+    }
+
+    private String phone(int i) {
+        return "74" + suffix + String.format("%04d", i);
+    }
+
+    private static RequestPostProcessor address(String remoteAddress) {
+        return request -> {
+            request.setRemoteAddr(remoteAddress);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.institute.management.integration;
+
+import com.institute.management.dto.LeadImportDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.LeadImport;
+import com.institute.management.exception.ValidationException;
+import com.institute.management.repository.LeadBlockingKeyRepository;
+import com.institute.management.repository.LeadImportRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.service.LeadImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Imports run on background threads and commit per chunk, so this test is not transactional and
+ * removes the leads it created afterwards
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class LeadImportIntegrationTest {
+
+    @Autowired
+    private LeadImportService leadImportService;
+
+    @Autowired
+    private LeadImportRepository leadImportRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadBlockingKeyRepository blockingKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        // Small chunks so the rows below span several writer transactions
+        Object target = AopTestUtils.getTargetObject(leadImportService);
+        ReflectionTestUtils.setField(target, "chunkSize", 2);
+        ReflectionTestUtils.setField(target, "pauseMs", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i <= 10; i++) {
+                leadRepository.findByPhone(phone(i)).ifPresent(lead -> ids.add(lead.getId()));
+            }
+            blockingKeyRepository.deleteByLeadIdIn(ids);
+            leadRepository.deleteAllByIdInBatch(ids);
+            leadImportRepository.deleteAll();
+        });
+        Object target = AopTestUtils.getTargetObject(leadImportService);
+        ReflectionTestUtils.setField(target, "chunkSize", 500);
+        ReflectionTestUtils.setField(target, "pauseMs", 20L);
+    }
+
+    @Test
+    void testImportsNormalizedRowsAndReportsDuplicatesAndInvalidRows() throws Exception {
+        Lead existing = new Lead();
+        existing.setFirstName("Existing");
+        existing.setLastName("Lead");
+        existing.setPhone(phone(0));
+        leadRepository.save(existing);
+
+        String csv = "First Name,Last_Name,Email,Mobile,Course,Source,Notes\n"
+            + " Asha ,Rao,ASHA." + suffix + "@Example.com,(74" + suffix + ") 0001,Java,,\n"
+            + "Ravi,Kumar,ravi." + suffix + "@example.com,74" + suffix + "0002,,Ads,\"Met at stall 4, wants\nweekend batch\"\n"
+            + "Asha,Rao,asha." + suffix + "@example.com,74" + suffix + "0003,,,\n"
+            + "Bad,Phone,,12,,,\n"
+            + "Old,Contact,,74" + suffix + "-0000,,,\n"
+            + "Meera,Iyer,,74" + suffix + "0006,,,\n"
+            + "Meera,I,,74 " + suffix + " 0006,,,\n";
+
+        LeadImportDTO started = leadImportService.startImport(file(csv), "Career Fair");
+        LeadImportDTO finished = awaitFinished(started.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(LeadImport.ImportStatus.COMPLETED);
+        assertThat(finished.getTotalRows()).isEqualTo(7);
+        assertThat(finished.getProcessedRows()).isEqualTo(7);
+        assertThat(finished.getImportedCount()).isEqualTo(3);
+        assertThat(finished.getDuplicateCount()).isEqualTo(3);
+        assertThat(finished.getInvalidCount()).isEqualTo(1);
+        assertThat(finished.getRejectedRows()).anyMatch(line -> line.startsWith("row 4: phone:"));
+        assertThat(finished.getRejectedRows()).anyMatch(line -> line.startsWith("row 3: Lead with email"));
+
+        Lead asha = leadRepository.findByPhone(phone(1)).orElseThrow();
+        assertThat(asha.getFirstName()).isEqualTo("Asha");
+        assertThat(asha.getEmail()).isEqualTo("asha." + suffix + "@example.com");
+        assertThat(asha.getSource()).isEqualTo("Career Fair");
+        assertThat(leadRepository.findByPhone(phone(2)).orElseThrow().getSource()).isEqualTo("Ads");
+        assertThat(leadRepository.findByPhone(phone(3))).isEmpty();
+        assertThat(leadImportRepository.findAll()).allMatch(leadImport -> !Files.exists(Paths.get(leadImport.getStoredPath())));
+    }
+
+    @Test
+    void testResumedImportContinuesAfterCheckpoint() throws Exception {
+        Path csv = Files.createTempFile("lead-import", ".csv");
+        Files.writeString(csv, "firstName,lastName,phone\n"
+            + "One,Lead," + phone(1) + "\n"
+            + "Two,Lead," + phone(2) + "\n"
+            + "Three,Lead," + phone(3) + "\n"
+            + "Four,Lead," + phone(4) + "\n", StandardCharsets.UTF_8);
+        LeadImport failed = new LeadImport("leads.csv", csv.toString(), null, "admin");
+        failed.setStatus(LeadImport.ImportStatus.FAILED);
+        failed.setCheckpointRow(2);
+        failed.setImportedCount(2);
+        failed = leadImportRepository.save(failed);
+
+        leadImportService.resumeImport(failed.getId());
+        LeadImportDTO finished = awaitFinished(failed.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(LeadImport.ImportStatus.COMPLETED);
+        assertThat(finished.getProcessedRows()).isEqualTo(4);
+        assertThat(finished.getImportedCount()).isEqualTo(4);
+        assertThat(leadRepository.findByPhone(phone(1))).isEmpty();
+        assertThat(leadRepository.findByPhone(phone(3))).isPresent();
+        assertThat(leadRepository.findByPhone(phone(4))).isPresent();
+    }
+
+    @Test
+    void testResumesOnlyThisNodesImportsThatNobodyHolds() throws Exception {
+        Object target = AopTestUtils.getTargetObject(leadImportService);
+        String node = (String) ReflectionTestUtils.getField(target, "nodeId");
+        LeadImport lapsed = running(csv(5, 6), node, LocalDateTime.now().minusMinutes(1));
+        // Another node's file is not here, and a live lease means another run is writing the import
+        LeadImport otherNode = running(csv(7), "other-node", null);
+        LeadImport held = running(csv(8), node, LocalDateTime.now().plusHours(1));
+
+        assertThat(leadImportService.resumeInterruptedImports()).isEqualTo(1);
+        LeadImportDTO finished = awaitFinished(lapsed.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(LeadImport.ImportStatus.COMPLETED);
+        assertThat(leadRepository.findByPhone(phone(6))).isPresent();
+        assertThat(leadImportService.getImport(otherNode.getId()).getStatus()).isEqualTo(LeadImport.ImportStatus.RUNNING);
+        assertThat(leadImportService.getImport(held.getId()).getStatus()).isEqualTo(LeadImport.ImportStatus.RUNNING);
+        assertThat(leadRepository.findByPhone(phone(7))).isEmpty();
+        assertThat(leadRepository.findByPhone(phone(8))).isEmpty();
+        Files.deleteIfExists(Paths.get(otherNode.getStoredPath()));
+        Files.deleteIfExists(Paths.get(held.getStoredPath()));
+    }
+
+    @Test
+    void testRejectsFileWithoutRequiredColumns() {
+        long before = leadImportRepository.count();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+            () -> leadImportService.startImport(file("name,email\nAsha,asha@example.com\n"), null));
+
+        assertThat(exception.getMessage()).contains("first name");
+        assertThat(leadImportRepository.count()).isEqualTo(before);
+    }
+
+    private LeadImportDTO awaitFinished(UUID id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        LeadImportDTO progress = leadImportService.getImport(id);
+        while (progress.getStatus() != LeadImport.ImportStatus.COMPLETED
+               && progress.getStatus() != LeadImport.ImportStatus.FAILED
+               && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            progress = leadImportService.getImport(id);
+        }
+        return progress;
+    }
+
+    private LeadImport running(Path csv, String ownerNode, LocalDateTime lockedUntil) {
+        LeadImport leadImport = new LeadImport("leads.csv", csv.toString(), null, "admin", ownerNode);
+        leadImport.setStatus(LeadImport.ImportStatus.RUNNING);
+        leadImport.setLockedUntil(lockedUntil);
+        return leadImportRepository.save(leadImport);
+    }
+
+    private Path csv(int... rows) throws Exception {
+        StringBuilder content = new StringBuilder("firstName,lastName,phone\n");
+        for (int row : rows) {
+            content.append("Lead,Number").append(row).append(',').append(phone(row)).append('\n');
+        }
+        Path csv = Files.createTempFile("lead-import", ".csv");
+        Files.writeString(csv, content, StandardCharsets.UTF_8);
+        return csv;
+    }
+
+    private String phone(int row) {
+        return "74" + suffix + String.format("%04d", row);
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "fair-leads.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
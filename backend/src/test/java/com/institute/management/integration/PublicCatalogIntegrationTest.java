@@ -0,0 +1,148 @@
+package com.institute.management.integration;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Course;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.service.PublicCatalog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PublicCatalogIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private PublicCatalog publicCatalog;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Course course;
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        String suffix = String.valueOf(Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        course = courseRepository.save(new Course("Catalog " + suffix, "Catalog course", 6, new BigDecimal("45000")));
+        batch = batchRepository.save(new Batch("Catalog batch " + suffix, course, LocalDate.now().plusDays(20), 30));
+        batch.setCurrentEnrollment(12);
+        entityManager.flush();
+        publicCatalog.rebuild();
+    }
+
+    @Test
+    void testServesCatalogAnonymouslyWithCacheHeaders() throws Exception {
+        mockMvc.perform(get("/api/v1/public/courses/" + course.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public, stale-while-revalidate=300"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.fees").value(45000))
+            .andExpect(jsonPath("$.upcomingBatches[0].availableSeats").value(18));
+
+        mockMvc.perform(get("/api/v1/public/batches/" + batch.getId() + "/availability"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.capacity").value(30))
+            .andExpect(jsonPath("$.availableSeats").value(18));
+
+        mockMvc.perform(get("/api/v1/public/courses/" + UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testAnswersMatchingETagWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/public/courses"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/public/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        // A committed change produces a new snapshot with a new tag
+        course.setFees(new BigDecimal("47000"));
+        entityManager.flush();
+        publicCatalog.rebuild();
+        mockMvc.perform(get("/api/v1/public/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRebuildReadsCourseDescriptionsInOneQuery() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            courseRepository.save(new Course("Catalog extra " + i + " " + course.getName(), "Extra course " + i, 3, new BigDecimal("15000")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        publicCatalog.rebuild();
+
+        // The upcoming batches and the courses; no query per lazy description
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        mockMvc.perform(get("/api/v1/public/courses/" + course.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value("Catalog course"));
+    }
+
+    @Test
+    void testServesPrecompressedBodyToGzipClients() throws Exception {
+        byte[] plain = mockMvc.perform(get("/api/v1/public/courses/" + course.getId()))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/public/courses/" + course.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(plain);
+        }
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).endsWith("-gz\"");
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+}
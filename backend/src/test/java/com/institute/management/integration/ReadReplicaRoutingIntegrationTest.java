@@ -0,0 +1,119 @@
+package com.institute.management.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-only transactions are served by the replica, writes and read-your-writes reads by the primary.
+ * Primary and replica are two separate in-memory databases, each with a marker row naming it.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=false",
+    "app.datasource.replica.read-your-writes-ms=60000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        for (HikariDataSource dataSource : new HikariDataSource[] {primaryDataSource, replicaDataSource}) {
+            JdbcTemplate direct = new JdbcTemplate(dataSource);
+            direct.execute("CREATE TABLE IF NOT EXISTS route_marker (name VARCHAR(20))");
+            direct.update("DELETE FROM route_marker");
+            direct.update("INSERT INTO route_marker VALUES (?)", dataSource.getPoolName());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertEquals("replica", servedBy(true));
+        assertEquals("primary", servedBy(false));
+    }
+
+    @Test
+    void readsStayOnPrimaryAfterOwnWrite() {
+        signIn("writer@test.com");
+        assertEquals("replica", servedBy(true));
+
+        writeTransaction().executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE route_marker SET name = name"));
+
+        assertEquals("primary", servedBy(true));
+
+        // Other users did not write and keep reading from the replica
+        signIn("reader@test.com");
+        assertEquals("replica", servedBy(true));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUser() {
+        signIn("rollback@test.com");
+
+        writeTransaction().executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE route_marker SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", servedBy(true));
+    }
+
+    @Test
+    void eachPoolPublishesItsOwnMetrics() {
+        servedBy(true);
+        servedBy(false);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate template = writeTransaction();
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM route_marker", String.class));
+    }
+
+    private TransactionTemplate writeTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+}
@@ -0,0 +1,171 @@
+package com.institute.management.integration;
+
+import com.institute.management.dto.EmployeeCreateRequestDTO;
+import com.institute.management.dto.EmployeeResponseDTO;
+import com.institute.management.dto.EmployeeUpdateRequestDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Employee;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.EmployeeRepository;
+import com.institute.management.service.BatchService;
+import com.institute.management.service.CourseService;
+import com.institute.management.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference entities are served from the second-level cache and never read stale after an update.
+ * Not transactional: every service call runs in its own transaction and session, as in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class ReferenceCacheIntegrationTest {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EmployeeService employeeService;
+    
+    @Autowired
+    private BatchService batchService;
+    
+    @Autowired
+    private BatchRepository batchRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Statistics statistics;
+    private String suffix;
+    private UUID courseId;
+    private UUID otherCourseId;
+    private UUID batchId;
+    private UUID employeeId;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (batchId != null) {
+            batchRepository.deleteById(batchId);
+        }
+        if (courseId != null) {
+            courseRepository.deleteById(courseId);
+        }
+        if (otherCourseId != null) {
+            courseRepository.deleteById(otherCourseId);
+        }
+        if (employeeId != null) {
+            employeeRepository.deleteById(employeeId);
+        }
+    }
+    
+    @Test
+    void testCourseReadsHitCacheAndSeeUpdates() {
+        Course course = new Course("Cache " + suffix, "Before", 6, new BigDecimal("50000"));
+        courseId = courseService.createCourse(course).getId();
+        
+        courseService.getCourseById(courseId);
+        courseService.getCourseById(courseId);
+        assertTrue(statistics.getCacheRegionStatistics("reference.course").getHitCount() >= 2);
+        
+        Course details = new Course("Cache " + suffix + " v2", "After", 9, new BigDecimal("65000"));
+        courseService.updateCourse(courseId, details);
+        
+        Course reloaded = courseService.getCourseById(courseId).orElseThrow();
+        assertEquals("Cache " + suffix + " v2", reloaded.getName());
+        assertEquals(9, reloaded.getDurationMonths());
+        assertEquals(0, new BigDecimal("65000").compareTo(reloaded.getFees()));
+        assertTrue(courseRepository.findByName("Cache " + suffix).isEmpty());
+        assertTrue(courseRepository.findByName("Cache " + suffix + " v2").isPresent());
+    }
+    
+    @Test
+    void testBatchCounterUpdateEvictsOnlyItsCourse() {
+        Course course = courseService.createCourse(new Course("Cache " + suffix, "Counted", 6, new BigDecimal("50000")));
+        courseId = course.getId();
+        otherCourseId = courseService.createCourse(new Course("Other " + suffix, "Untouched", 6, new BigDecimal("50000"))).getId();
+        courseService.getCourseById(courseId);
+        courseService.getCourseById(otherCourseId);
+        
+        batchId = batchService.createBatch(new Batch("Cache batch " + suffix, course, LocalDate.now(), 20)).getId();
+        
+        long hits = statistics.getCacheRegionStatistics("reference.course").getHitCount();
+        courseService.getCourseById(otherCourseId);
+        assertTrue(statistics.getCacheRegionStatistics("reference.course").getHitCount() > hits);
+        assertEquals(1, courseService.getCourseById(courseId).orElseThrow().getBatchCount());
+    }
+    
+    @Test
+    void testEmployeeCodeLookupIsCachedAndInvalidatedOnUpdate() {
+        EmployeeCreateRequestDTO create = new EmployeeCreateRequestDTO();
+        create.setEmployeeCode("C" + suffix);
+        create.setFirstName("Cara");
+        create.setLastName("Cache");
+        create.setEmail("cara." + suffix + "@institute.com");
+        create.setDepartment("Sales");
+        create.setRole(Employee.EmployeeRole.COUNSELLOR);
+        create.setHireDate(LocalDate.now().minusYears(1));
+        employeeId = employeeService.createEmployee(create).getId();
+        
+        assertTrue(employeeRepository.findByEmployeeCode("C" + suffix).isPresent());
+        assertTrue(employeeRepository.findByEmployeeCode("C" + suffix).isPresent());
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+        
+        EmployeeUpdateRequestDTO update = new EmployeeUpdateRequestDTO();
+        update.setEmployeeCode("D" + suffix);
+        update.setFirstName("Cara");
+        update.setLastName("Cache");
+        update.setEmail("cara." + suffix + "@institute.com");
+        update.setDepartment("Admissions");
+        update.setRole(Employee.EmployeeRole.COUNSELLOR);
+        update.setHireDate(LocalDate.now().minusYears(1));
+        update.setStatus(Employee.EmployeeStatus.ACTIVE);
+        employeeService.updateEmployee(employeeId, update);
+        
+        EmployeeResponseDTO reloaded = employeeService.getEmployeeById(employeeId);
+        assertEquals("D" + suffix, reloaded.getEmployeeCode());
+        assertEquals("Admissions", reloaded.getDepartment());
+        assertTrue(employeeRepository.findByEmployeeCode("C" + suffix).isEmpty());
+        assertEquals(employeeId, employeeRepository.findByEmployeeCode("D" + suffix).orElseThrow().getId());
+    }
+    
+    @Test
+    void testHitRatioIsPublishedPerRegion() {
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.hit.ratio").tag("region", "reference.employee").gauge());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "reference.course").meter());
+    }
+}
@@ -0,0 +1,176 @@
+package com.institute.management.integration;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.Student;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CompanyRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.PlacementRepository;
+import com.institute.management.repository.StudentRepository;
+import com.institute.management.service.StudentService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests run in the test transaction, so after each one the persistence context shows which
+ * associations the service loaded
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ResponseShapeIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private PlacementRepository placementRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+    private String suffix;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        Course course = courseRepository.save(new Course("Shape " + suffix, "Shape course", 6, new BigDecimal("40000")));
+        Batch batch = batchRepository.save(new Batch("Shape batch " + suffix, course, LocalDate.now().minusMonths(6), 10));
+        Company company = companyRepository.save(new Company("Shape Co " + suffix, "IT", "Hiring Manager",
+            "hr." + suffix + "@shape.com", "72" + suffix + "0000"));
+
+        student = new Student("RS" + suffix, "Rhea", "Shape", "rhea." + suffix + "@email.com",
+            "73" + suffix + "0001", LocalDate.now().minusMonths(6));
+        student.setBatch(batch);
+        student.setAddress("12 Long Street");
+        student.setPlacementCount(1);
+        student = studentRepository.save(student);
+        placementRepository.save(new Placement(student, company, "Developer", new BigDecimal("600000"), LocalDate.now()));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSummaryViewLeavesAssociationsUnloaded() throws Exception {
+        mockMvc.perform(get("/api/v1/students/" + student.getId()).param("view", "summary")
+                .with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(student.getId().toString()))
+            .andExpect(jsonPath("$.fullName").value("Rhea Shape"))
+            .andExpect(jsonPath("$.enrollmentNumber").value("RS" + suffix))
+            .andExpect(jsonPath("$.batch").doesNotExist())
+            .andExpect(jsonPath("$.placements").doesNotExist())
+            .andExpect(jsonPath("$.address").doesNotExist())
+            .andExpect(jsonPath("$.statusChangeCount").doesNotExist())
+            .andExpect(jsonPath("$.archived").doesNotExist());
+
+        Student loaded = entityManager.find(Student.class, student.getId());
+        assertThat(Hibernate.isInitialized(loaded.getBatch())).isFalse();
+        assertThat(Hibernate.isInitialized(loaded.getPlacements())).isFalse();
+    }
+
+    @Test
+    void testFieldsSelectListAssociationsAndFetchThemForThePage() throws Exception {
+        mockMvc.perform(get("/api/v1/students").param("search", "RS" + suffix)
+                .param("fields", "fullName, placements").with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(student.getId().toString()))
+            .andExpect(jsonPath("$.content[0].fullName").value("Rhea Shape"))
+            .andExpect(jsonPath("$.content[0].placements[0].position").value("Developer"))
+            .andExpect(jsonPath("$.content[0].placements[0].company.name").value("Shape Co " + suffix))
+            .andExpect(jsonPath("$.content[0].email").doesNotExist())
+            .andExpect(jsonPath("$.content[0].batch").doesNotExist());
+
+        Student loaded = entityManager.find(Student.class, student.getId());
+        assertThat(Hibernate.isInitialized(loaded.getPlacements())).isTrue();
+        assertThat(Hibernate.isInitialized(loaded.getBatch())).isFalse();
+    }
+
+    @Test
+    void testDefaultRepresentationIsUnchanged() throws Exception {
+        mockMvc.perform(get("/api/v1/students/" + student.getId()).with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("rhea." + suffix + "@email.com"))
+            .andExpect(jsonPath("$.address").value("12 Long Street"))
+            .andExpect(jsonPath("$.batch.name").value("Shape batch " + suffix))
+            .andExpect(jsonPath("$.batch.course.name").value("Shape " + suffix))
+            .andExpect(jsonPath("$.placements.length()").value(1));
+
+        // view=full adds the text columns that list pages leave out
+        mockMvc.perform(get("/api/v1/students").param("search", "RS" + suffix).with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].batch.name").value("Shape batch " + suffix))
+            .andExpect(jsonPath("$.content[0].address").doesNotExist());
+        mockMvc.perform(get("/api/v1/students").param("search", "RS" + suffix).param("view", "full")
+                .with(user("admin").roles("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].address").value("12 Long Street"));
+    }
+
+    @Test
+    void testListTextColumnsSettingRestoresTextOnLists() throws Exception {
+        Object target = AopTestUtils.getTargetObject(studentService);
+        ReflectionTestUtils.setField(target, "listTextColumns", true);
+        try {
+            mockMvc.perform(get("/api/v1/students").param("search", "RS" + suffix).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].address").value("12 Long Street"));
+        } finally {
+            ReflectionTestUtils.setField(target, "listTextColumns", false);
+        }
+    }
+
+    @Test
+    void testRejectsUnknownViewOrField() throws Exception {
+        mockMvc.perform(get("/api/v1/companies").param("fields", "name,revenue").with(user("admin").roles("ADMIN")))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+        mockMvc.perform(get("/api/v1/placements").param("view", "tiny").with(user("admin").roles("ADMIN")))
+            .andExpect(status().isUnprocessableEntity());
+    }
+}
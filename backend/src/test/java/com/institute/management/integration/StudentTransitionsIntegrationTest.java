@@ -0,0 +1,163 @@
+package com.institute.management.integration;
+
+import com.institute.management.dto.BatchGraduationRequestDTO;
+import com.institute.management.dto.StudentBulkStatusRequestDTO;
+import com.institute.management.dto.StudentTransitionResultDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.StatusCount.EntityType;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.entity.StudentStatusChange;
+import com.institute.management.exception.ValidationException;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.CourseRepository;
+import com.institute.management.repository.StudentRepository;
+import com.institute.management.repository.StudentStatusChangeRepository;
+import com.institute.management.service.BatchService;
+import com.institute.management.service.StatusCounts;
+import com.institute.management.service.StudentService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class StudentTransitionsIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private StatusCounts statusCounts;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentStatusChangeRepository statusChangeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String suffix;
+    private Batch batch;
+    private Student first;
+    private Student second;
+    private Student suspended;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.format("%04d", Math.abs(UUID.randomUUID().getLeastSignificantBits()) % 10_000);
+        Course course = courseRepository.save(new Course("Transitions " + suffix, "Transitions course", 6, new BigDecimal("40000")));
+        batch = batchRepository.save(new Batch("Transitions batch " + suffix, course, LocalDate.now().minusMonths(6), 10));
+        first = student(1, StudentStatus.ACTIVE);
+        second = student(2, StudentStatus.ACTIVE);
+        suspended = student(3, StudentStatus.SUSPENDED);
+        entityManager.flush();
+    }
+
+    @Test
+    void testGraduatesActiveStudentsOfBatchWithGradeMap() {
+        Map<StudentStatus, Long> before = statusCounts.counts(EntityType.STUDENT, StudentStatus.class);
+
+        StudentTransitionResultDTO result = studentService.graduateBatch(batch.getId(),
+            new BatchGraduationRequestDTO(Map.of(first.getId(), "A+"), "B"));
+
+        assertThat(result.getChanged()).isEqualTo(2);
+        Student graduated = studentRepository.findById(first.getId()).orElseThrow();
+        assertThat(graduated.getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(graduated.getFinalGrade()).isEqualTo("A+");
+        assertThat(graduated.getGraduationDate()).isEqualTo(LocalDate.now());
+        assertThat(graduated.getStatusChangeCount()).isEqualTo(2);
+        assertThat(graduated.getLastStatusChange().getNotes()).isEqualTo("Student graduated with grade: A+");
+        assertThat(studentRepository.findById(second.getId()).orElseThrow().getFinalGrade()).isEqualTo("B");
+        assertThat(studentRepository.findById(suspended.getId()).orElseThrow().getStatus()).isEqualTo(StudentStatus.SUSPENDED);
+
+        List<StudentStatusChange> timeline = statusChangeRepository.findTimeline(second.getId(), PageRequest.of(0, 10)).getContent();
+        assertThat(timeline).hasSize(2);
+        assertThat(timeline.get(0).getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(timeline.get(0).getNotes()).isEqualTo("Student graduated with grade: B");
+
+        Map<StudentStatus, Long> after = statusCounts.counts(EntityType.STUDENT, StudentStatus.class);
+        assertThat(after.get(StudentStatus.ACTIVE) - before.get(StudentStatus.ACTIVE)).isEqualTo(-2);
+        assertThat(after.get(StudentStatus.GRADUATED) - before.get(StudentStatus.GRADUATED)).isEqualTo(2);
+    }
+
+    @Test
+    void testRejectsGraduationWithoutGradesOrForStudentsOutsideBatch() {
+        assertThrows(ValidationException.class, () -> studentService.graduateBatch(batch.getId(),
+            new BatchGraduationRequestDTO(Map.of(first.getId(), "A"), null)));
+        assertThrows(ValidationException.class, () -> studentService.graduateBatch(batch.getId(),
+            new BatchGraduationRequestDTO(Map.of(suspended.getId(), "A"), "B")));
+
+        assertThat(studentRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(StudentStatus.ACTIVE);
+    }
+
+    @Test
+    void testBulkStatusChangeSkipsStudentsAlreadyInTargetStatus() {
+        StudentBulkStatusRequestDTO request = new StudentBulkStatusRequestDTO(StudentStatus.INACTIVE, batch.getId(), null);
+        first.setStatus(StudentStatus.INACTIVE);
+        entityManager.flush();
+
+        StudentTransitionResultDTO result = studentService.bulkUpdateStudentStatus(request);
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getChanged()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        Student changed = studentRepository.findById(suspended.getId()).orElseThrow();
+        assertThat(changed.getStatus()).isEqualTo(StudentStatus.INACTIVE);
+        assertThat(changed.getLastStatusChange().getNotes()).isEqualTo("Status changed from SUSPENDED to INACTIVE");
+        assertThat(statusChangeRepository.findTimeline(first.getId(), PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void testBulkStatusChangeRequiresFilter() {
+        assertThrows(ValidationException.class, () -> studentService.bulkUpdateStudentStatus(
+            new StudentBulkStatusRequestDTO(StudentStatus.INACTIVE, null, null)));
+        assertThrows(ValidationException.class, () -> studentService.bulkUpdateStudentStatus(
+            new StudentBulkStatusRequestDTO(StudentStatus.GRADUATED, batch.getId(), null)));
+    }
+
+    @Test
+    void testCompleteBatchGraduatesStudentsAndMarksBatchCompleted() {
+        Batch completed = batchService.completeBatch(batch.getId(), Map.of(), "C");
+
+        assertThat(completed.getStatus()).isEqualTo(Batch.BatchStatus.COMPLETED);
+        assertThat(studentRepository.findByBatchAndStatus(completed, StudentStatus.GRADUATED)).hasSize(2);
+    }
+
+    private Student student(int index, StudentStatus status) {
+        Student student = new Student("TR" + suffix + index, "Tara", "Student" + index,
+            "tara" + index + "." + suffix + "@email.com", "71" + suffix + "000" + index, LocalDate.now().minusMonths(6));
+        student.setBatch(batch);
+        student.setStatus(status);
+        return studentRepository.save(student);
+    }
+}
@@ -0,0 +1,197 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Batch.BatchStatus;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Course.CourseStatus;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.exception.BatchCapacityExceededException;
+import com.institute.management.service.SeatAdmission;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SeatAdmission.class)
+class BatchSeatAdmissionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SeatAdmission seatAdmission;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testAdmitOneStopsAtCapacity() {
+        Batch batch = entityManager.persistAndFlush(newBatch(persistCourse("Seat Course"), 2, 1));
+
+        assertThat(batchRepository.admitOne(batch.getId())).isEqualTo(1);
+        assertThat(batchRepository.admitOne(batch.getId())).isZero();
+        assertThat(seats(batch.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void testReleaseOneNeverGoesNegative() {
+        Batch batch = entityManager.persistAndFlush(newBatch(persistCourse("Seat Course"), 2, 1));
+
+        assertThat(batchRepository.releaseOne(batch.getId())).isEqualTo(1);
+        assertThat(batchRepository.releaseOne(batch.getId())).isZero();
+        assertThat(seats(batch.getId())).isZero();
+    }
+
+    @Test
+    void testEntitySaveDoesNotOverwriteCounter() {
+        Batch batch = entityManager.persistAndFlush(newBatch(persistCourse("Seat Course"), 10, 3));
+        batchRepository.admitOne(batch.getId());
+
+        // A stale entity copy must not undo the conditional update
+        batch.setCurrentEnrollment(0);
+        batch.setName("RENAMED");
+        entityManager.flush();
+
+        assertThat(seats(batch.getId())).isEqualTo(4);
+    }
+
+    @Test
+    void testReconcileCorrectsDriftOnFirstSighting() {
+        Batch batch = entityManager.persistAndFlush(newBatch(persistCourse("Drift Course"), 10, 5));
+        persistStudent(batch, "1");
+        persistStudent(batch, "2");
+
+        assertThat(seatAdmission.reconcile()).isEqualTo(1);
+        assertThat(seats(batch.getId())).isEqualTo(2);
+        assertThat(batchRepository.findEnrollmentDrift()).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testConcurrentAdmissionsNeverOversell() throws Exception {
+        int capacity = 25;
+        int threads = 64;
+        int attemptsPerThread = 8;
+
+        Course course = new Course();
+        course.setName("Concurrency Course");
+        course.setDurationMonths(3);
+        course.setFees(new BigDecimal("10000"));
+        course.setStatus(CourseStatus.ACTIVE);
+        course = courseRepository.save(course);
+        Batch batch = batchRepository.save(newBatch(course, capacity, 0));
+        UUID batchId = batch.getId();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int j = 0; j < attemptsPerThread; j++) {
+                        Batch copy = new Batch();
+                        copy.setId(batchId);
+                        copy.setName("SEAT-BATCH");
+                        copy.setCapacity(capacity);
+                        try {
+                            transaction.executeWithoutResult(status -> seatAdmission.admit(copy));
+                            admitted++;
+                        } catch (BatchCapacityExceededException e) {
+                            // Expected once the batch is full
+                        }
+                    }
+                    return admitted;
+                });
+            }
+
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Integer> future : futures) {
+                admitted += future.get();
+            }
+
+            assertThat(admitted).isEqualTo(capacity);
+            assertThat(batchRepository.findById(batchId)).get()
+                .extracting(Batch::getCurrentEnrollment).isEqualTo(capacity);
+        } finally {
+            executor.shutdown();
+            seatAdmission.invalidate(batchId);
+            batchRepository.deleteById(batchId);
+            courseRepository.deleteById(course.getId());
+        }
+    }
+
+    private int seats(UUID batchId) {
+        return ((Number) batchRepository.findSeats(batchId).get(0)[1]).intValue();
+    }
+
+    private Course persistCourse(String name) {
+        Course course = new Course();
+        course.setName(name);
+        course.setDurationMonths(3);
+        course.setFees(new BigDecimal("10000"));
+        course.setStatus(CourseStatus.ACTIVE);
+        return entityManager.persistAndFlush(course);
+    }
+
+    private Batch newBatch(Course course, int capacity, int currentEnrollment) {
+        Batch batch = new Batch();
+        batch.setName("SEAT-BATCH");
+        batch.setCourse(course);
+        batch.setStartDate(LocalDate.now());
+        batch.setEndDate(LocalDate.now().plusMonths(3));
+        batch.setCapacity(capacity);
+        batch.setCurrentEnrollment(currentEnrollment);
+        batch.setStatus(BatchStatus.ACTIVE);
+        return batch;
+    }
+
+    private void persistStudent(Batch batch, String suffix) {
+        Student student = new Student();
+        student.setEnrollmentNumber("SEAT" + suffix);
+        student.setFirstName("Seat");
+        student.setLastName("Holder" + suffix);
+        student.setEmail("seat" + suffix + "@email.com");
+        student.setPhone("900000000" + suffix);
+        student.setEnrollmentDate(LocalDate.now());
+        student.setBatch(batch);
+        student.setStatus(StudentStatus.ACTIVE);
+        entityManager.persistAndFlush(student);
+    }
+}
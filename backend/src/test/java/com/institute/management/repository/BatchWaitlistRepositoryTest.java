@@ -0,0 +1,184 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Batch.BatchStatus;
+import com.institute.management.entity.BatchWaitlistEntry;
+import com.institute.management.entity.BatchWaitlistEntry.WaitlistStatus;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Course.CourseStatus;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BatchWaitlistRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BatchWaitlistRepository waitlistRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    private Batch batch;
+    private Student alice;
+    private Student bob;
+    private Student carol;
+
+    @BeforeEach
+    void setUp() {
+        Course course = new Course();
+        course.setName("Java Development");
+        course.setDurationMonths(6);
+        course.setFees(new BigDecimal("50000"));
+        course.setStatus(CourseStatus.ACTIVE);
+        entityManager.persistAndFlush(course);
+
+        batch = new Batch();
+        batch.setName("JAVA-2024-01");
+        batch.setCourse(course);
+        batch.setStartDate(LocalDate.now());
+        batch.setCapacity(2);
+        batch.setCurrentEnrollment(2);
+        batch.setStatus(BatchStatus.ACTIVE);
+        entityManager.persistAndFlush(batch);
+
+        alice = persistStudent("1", "Alice");
+        bob = persistStudent("2", "Bob");
+        carol = persistStudent("3", "Carol");
+    }
+
+    @Test
+    void testFindNextWaitingOrdersByPriorityThenArrival() {
+        BatchWaitlistEntry first = persistEntry(alice, 0, WaitlistStatus.WAITING);
+        BatchWaitlistEntry urgent = persistEntry(bob, 10, WaitlistStatus.WAITING);
+        BatchWaitlistEntry second = persistEntry(carol, 0, WaitlistStatus.WAITING);
+        // created_date is not updatable through the entity
+        backdate(first, 2);
+        backdate(second, 1);
+
+        List<BatchWaitlistEntry> queue = waitlistRepository.findNextWaiting(batch.getId(), PageRequest.of(0, 5));
+
+        assertThat(queue).extracting(BatchWaitlistEntry::getId)
+            .containsExactly(urgent.getId(), first.getId(), second.getId());
+    }
+
+    @Test
+    void testHoldIsClaimedOnlyOnce() {
+        BatchWaitlistEntry entry = persistEntry(alice, 0, WaitlistStatus.WAITING);
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(2);
+
+        assertThat(waitlistRepository.hold(entry.getId(), UUID.randomUUID(), expiresAt)).isEqualTo(1);
+        assertThat(waitlistRepository.hold(entry.getId(), UUID.randomUUID(), expiresAt)).isZero();
+
+        entityManager.clear();
+        BatchWaitlistEntry reloaded = waitlistRepository.findById(entry.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(WaitlistStatus.HELD);
+        assertThat(waitlistRepository.findByHoldToken(reloaded.getHoldToken())).isPresent();
+    }
+
+    @Test
+    void testTransitionRequiresExpectedStatus() {
+        BatchWaitlistEntry entry = persistEntry(alice, 0, WaitlistStatus.WAITING);
+
+        assertThat(waitlistRepository.transition(entry.getId(), WaitlistStatus.HELD, WaitlistStatus.PROMOTED)).isZero();
+        assertThat(waitlistRepository.transition(entry.getId(), WaitlistStatus.WAITING, WaitlistStatus.CANCELLED)).isEqualTo(1);
+        assertThat(waitlistRepository.existsActive(batch.getId(), alice.getId())).isFalse();
+    }
+
+    @Test
+    void testFindExpiredHolds() {
+        BatchWaitlistEntry expired = persistEntry(alice, 0, WaitlistStatus.HELD);
+        expired.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        BatchWaitlistEntry open = persistEntry(bob, 0, WaitlistStatus.HELD);
+        open.setHoldExpiresAt(LocalDateTime.now().plusHours(1));
+        entityManager.flush();
+
+        assertThat(waitlistRepository.findExpiredHolds(LocalDateTime.now(), PageRequest.of(0, 10)))
+            .extracting(BatchWaitlistEntry::getId)
+            .containsExactly(expired.getId());
+    }
+
+    @Test
+    void testFindActiveByBatchIdListsHeldFirst() {
+        BatchWaitlistEntry waiting = persistEntry(alice, 0, WaitlistStatus.WAITING);
+        BatchWaitlistEntry held = persistEntry(bob, 0, WaitlistStatus.HELD);
+        persistEntry(carol, 0, WaitlistStatus.EXPIRED);
+
+        assertThat(waitlistRepository.findActiveByBatchId(batch.getId(), PageRequest.of(0, 10)).getContent())
+            .extracting(BatchWaitlistEntry::getId)
+            .containsExactly(held.getId(), waiting.getId());
+    }
+
+    @Test
+    void testWaitlistCounter() {
+        batchRepository.incrementWaitlist(batch.getId());
+        batchRepository.incrementWaitlist(batch.getId());
+        assertThat(batchRepository.decrementWaitlist(batch.getId())).isEqualTo(1);
+        assertThat(batchRepository.decrementWaitlist(batch.getId())).isEqualTo(1);
+        assertThat(batchRepository.decrementWaitlist(batch.getId())).isZero();
+
+        batchRepository.incrementWaitlist(batch.getId());
+        batchRepository.releaseOne(batch.getId());
+        assertThat(batchRepository.findBatchesWithPromotableWaitlist())
+            .extracting(Batch::getId)
+            .containsExactly(batch.getId());
+    }
+
+    @Test
+    void testHeldSeatsAreNotEnrollmentDrift() {
+        // Two seats taken: one assigned student and one held for the waitlist
+        alice.setBatch(batch);
+        entityManager.persistAndFlush(alice);
+        persistEntry(bob, 0, WaitlistStatus.HELD);
+
+        assertThat(batchRepository.findEnrollmentDrift()).isEmpty();
+    }
+
+    private void backdate(BatchWaitlistEntry entry, int minutes) {
+        entityManager.getEntityManager()
+            .createNativeQuery("UPDATE batch_waitlist SET created_date = :createdDate WHERE id = :id")
+            .setParameter("createdDate", LocalDateTime.now().minusMinutes(minutes))
+            .setParameter("id", entry.getId())
+            .executeUpdate();
+    }
+
+    private Student persistStudent(String suffix, String firstName) {
+        Student student = new Student();
+        student.setEnrollmentNumber("WAIT" + suffix);
+        student.setFirstName(firstName);
+        student.setLastName("Waiting");
+        student.setEmail(firstName.toLowerCase() + "@email.com");
+        student.setPhone("800000000" + suffix);
+        student.setEnrollmentDate(LocalDate.now());
+        student.setStatus(StudentStatus.ACTIVE);
+        return entityManager.persistAndFlush(student);
+    }
+
+    private BatchWaitlistEntry persistEntry(Student student, int priority, WaitlistStatus status) {
+        BatchWaitlistEntry entry = new BatchWaitlistEntry(batch, student, priority);
+        entry.setStatus(status);
+        if (status == WaitlistStatus.HELD) {
+            entry.setHoldToken(UUID.randomUUID());
+            entry.setHoldExpiresAt(LocalDateTime.now().plusDays(1));
+        }
+        return entityManager.persistAndFlush(entry);
+    }
+}
@@ -0,0 +1,141 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.service.ChildCounters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ChildCounters.class)
+class ChildCountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ChildCounters childCounters;
+
+    @Test
+    void testPlacementQueriesFilterOnCounters() {
+        Company hiring = persistCompany("Hiring Co");
+        Company idle = persistCompany("Idle Co");
+        Student placed = persistGraduate("CC0001", "placed@email.com");
+        Student unplaced = persistGraduate("CC0002", "unplaced@email.com");
+
+        Placement placement = entityManager.persist(new Placement(placed, hiring, "Developer", new BigDecimal("600000"), LocalDate.now()));
+        childCounters.placementAdded(placement);
+        entityManager.clear();
+
+        assertThat(companyRepository.findCompaniesWithPlacements()).extracting(Company::getId).containsExactly(hiring.getId());
+        assertThat(companyRepository.findCompaniesWithoutPlacements()).extracting(Company::getId).containsExactly(idle.getId());
+        assertThat(studentRepository.findUnplacedGraduates()).extracting(Student::getId).containsExactly(unplaced.getId());
+        assertThat(studentRepository.findById(placed.getId()).orElseThrow().getPlacementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testMovingAndRemovingPlacementsKeepsCountsExact() {
+        Company first = persistCompany("First Co");
+        Company second = persistCompany("Second Co");
+        Student student = persistGraduate("CC0003", "mover@email.com");
+
+        Placement placement = entityManager.persist(new Placement(student, first, "Analyst", new BigDecimal("400000"), LocalDate.now()));
+        childCounters.placementAdded(placement);
+
+        placement.setCompany(second);
+        childCounters.placementMoved(student.getId(), first.getId(), placement);
+        assertThat(placementCount(first.getId())).isZero();
+        assertThat(placementCount(second.getId())).isEqualTo(1);
+
+        childCounters.placementRemoved(placement);
+        childCounters.placementRemoved(placement);
+        assertThat(placementCount(second.getId())).isZero(); // never below zero
+    }
+
+    @Test
+    void testEntitySaveDoesNotOverwriteCounter() {
+        Company company = persistCompany("Stale Co");
+        companyRepository.adjustPlacementCount(company.getId(), 3);
+
+        // A stale entity copy must not undo the counter update
+        company.setPlacementCount(0);
+        company.setIndustry("Finance");
+        companyRepository.saveAndFlush(company);
+        entityManager.clear();
+
+        assertThat(placementCount(company.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void testStudentRemovalReleasesCompanyCounts() {
+        Company company = persistCompany("Release Co");
+        Student student = persistGraduate("CC0004", "leaver@email.com");
+        childCounters.placementAdded(entityManager.persist(new Placement(student, company, "QA", new BigDecimal("300000"), LocalDate.now())));
+        childCounters.placementAdded(entityManager.persist(new Placement(student, company, "QA Lead", new BigDecimal("500000"), LocalDate.now())));
+        entityManager.flush();
+
+        childCounters.studentRemoved(student.getId());
+
+        assertThat(placementCount(company.getId())).isZero();
+    }
+
+    @Test
+    void testRepairCorrectsDriftedCounters() {
+        Company company = persistCompany("Drift Co");
+        Student student = persistGraduate("CC0005", "drift@email.com");
+        Course course = entityManager.persist(new Course("Drift Course", "Counters", 6, new BigDecimal("50000")));
+        // Rows written without going through the services
+        entityManager.persist(new Placement(student, company, "Intern", new BigDecimal("200000"), LocalDate.now()));
+        entityManager.persist(new Batch("DRIFT-01", course, LocalDate.now(), 20));
+        entityManager.persist(new Batch("DRIFT-02", course, LocalDate.now(), 20));
+        entityManager.flush();
+
+        assertThat(childCounters.repair()).isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(placementCount(company.getId())).isEqualTo(1);
+        assertThat(studentRepository.findById(student.getId()).orElseThrow().getPlacementCount()).isEqualTo(1);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getBatchCount()).isEqualTo(2);
+        assertThat(courseRepository.findCoursesWithBatches()).extracting(Course::getId).contains(course.getId());
+        assertThat(childCounters.repair()).isZero();
+    }
+
+    private Company persistCompany(String name) {
+        return entityManager.persistAndFlush(new Company(name, "Technology", "HR", name.replace(' ', '.') + "@company.com", "9000000000"));
+    }
+
+    private Student persistGraduate(String enrollmentNumber, String email) {
+        Student student = new Student(enrollmentNumber, "Grace", "Graduate", email, "7200000000", LocalDate.now().minusYears(1));
+        student.setStatus(StudentStatus.GRADUATED);
+        return entityManager.persistAndFlush(student);
+    }
+
+    private int placementCount(UUID companyId) {
+        entityManager.clear();
+        return companyRepository.findById(companyId).orElseThrow().getPlacementCount();
+    }
+}
@@ -0,0 +1,87 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.EnrollmentSequence;
+import com.institute.management.service.EnrollmentNumberAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(EnrollmentNumberAllocator.class)
+class EnrollmentSequenceRepositoryTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private EnrollmentSequenceRepository sequenceRepository;
+    
+    @Autowired
+    private EnrollmentNumberAllocator allocator;
+    
+    @Test
+    void testAdvance() {
+        entityManager.persistAndFlush(new EnrollmentSequence("ENR2025", 11));
+        
+        int updated = sequenceRepository.advance("ENR2025", 50);
+        
+        assertThat(updated).isEqualTo(1);
+        assertThat(sequenceRepository.findNextValue("ENR2025")).contains(61L);
+    }
+    
+    @Test
+    void testAdvanceMissingPrefix() {
+        assertThat(sequenceRepository.advance("ENR1999", 50)).isZero();
+        assertThat(sequenceRepository.findNextValue("ENR1999")).isEmpty();
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testConcurrentAllocationsAreUnique() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<String>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    List<String> numbers = new ArrayList<>();
+                    for (int j = 0; j < 40; j++) {
+                        numbers.add(allocator.next());
+                    }
+                    numbers.addAll(allocator.nextBatch(25));
+                    return numbers;
+                });
+            }
+            
+            Set<String> allocated = new HashSet<>();
+            int total = 0;
+            for (Future<List<String>> future : executor.invokeAll(tasks)) {
+                List<String> numbers = future.get();
+                total += numbers.size();
+                allocated.addAll(numbers);
+            }
+            
+            assertThat(total).isEqualTo(8 * 65);
+            assertThat(allocated).hasSize(total);
+        } finally {
+            executor.shutdown();
+            sequenceRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Student;
+import com.sun.management.ThreadMXBean;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation and throughput of student list pages with the address lazy, as mapped, versus read
+ * with every row as the eager mapping did. H2 runs as a TCP server so that the column values cross
+ * a connection as they would from PostgreSQL.
+ * Run with: mvn test -Dtest=LazyTextColumnsBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LazyTextColumnsBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyTextColumnsBenchmarkTest.class);
+
+    private static final int ROWS = 2_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int ADDRESS_LENGTH = 4_096;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    private static Server server;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @DynamicPropertySource
+    static void h2Server(DynamicPropertyRegistry registry) throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-tcpDaemon", "-ifNotExists").start();
+        registry.add("spring.datasource.url",
+            () -> "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:lazy-text-benchmark;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testLazyAddressCutsAllocationPerPage() {
+        String address = "x".repeat(ADDRESS_LENGTH);
+        for (int i = 0; i < ROWS; i++) {
+            Student student = new Student(String.format("BENCH%05d", i), "Bench", "Student" + i,
+                "bench.student" + i + "@email.com", String.format("70%08d", i), LocalDate.now());
+            student.setAddress(address);
+            entityManager.persist(student);
+            if ((i + 1) % PAGE_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        Result eager = measure("SELECT s, s.address FROM Student s ORDER BY s.id");
+        Result lazy = measure("SELECT s FROM Student s ORDER BY s.id");
+
+        logger.info("Address read with each row: {} KB allocated per page, {} rows/s", eager.bytesPerPage() / 1024, eager.rowsPerSecond());
+        logger.info("Address lazy: {} KB allocated per page, {} rows/s", lazy.bytesPerPage() / 1024, lazy.rowsPerSecond());
+        assertThat(lazy.bytesPerPage()).isLessThan(eager.bytesPerPage());
+    }
+
+    private Result measure(String query) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            readAllPages(query);
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            readAllPages(query);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long pages = (long) ROUNDS * ROWS / PAGE_SIZE;
+        return new Result(allocated / pages, (long) ROUNDS * ROWS * 1_000_000_000L / elapsedNanos);
+    }
+
+    private void readAllPages(String query) {
+        for (int first = 0; first < ROWS; first += PAGE_SIZE) {
+            entityManager.getEntityManager().createQuery(query)
+                .setFirstResult(first)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+            entityManager.clear();
+        }
+    }
+
+    private record Result(long bytesPerPage, long rowsPerSecond) {
+    }
+}
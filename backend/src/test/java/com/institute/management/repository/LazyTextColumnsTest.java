@@ -0,0 +1,83 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.Student;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Large TEXT columns are bytecode-enhanced lazy attributes, and entities track their own dirty fields.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class LazyTextColumnsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void testListPagesDoNotLoadTextColumns() {
+        Student student = new Student("LAZY0001", "Lena", "Lazy", "lena.lazy@email.com", "7100000001", LocalDate.now());
+        student.setAddress("221B Baker Street");
+        entityManager.persist(student);
+        Lead lead = new Lead("Leo", "Lazy", "leo.lazy@email.com", "7100000002", "Java Development", "Website");
+        lead.setNotes("Prefers evening batches");
+        entityManager.persist(lead);
+        Course course = new Course("Lazy Loading 101", "A long course description", 3, new BigDecimal("10000"));
+        entityManager.persist(course);
+        entityManager.flush();
+        entityManager.clear();
+
+        Student loadedStudent = studentRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+        Lead loadedLead = leadRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+        Course loadedCourse = courseRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+
+        assertThat(Hibernate.isPropertyInitialized(loadedStudent, "address")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(loadedLead, "notes")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(loadedCourse, "description")).isFalse();
+
+        // Reading the attribute fetches it on demand
+        assertThat(loadedStudent.getAddress()).isEqualTo("221B Baker Street");
+        assertThat(Hibernate.isPropertyInitialized(loadedStudent, "address")).isTrue();
+    }
+
+    @Test
+    void testEntitiesTrackTheirOwnDirtyAttributes() {
+        Student student = new Student("LAZY0002", "Dora", "Dirty", "dora.dirty@email.com", "7100000003", LocalDate.now());
+        entityManager.persistAndFlush(student);
+        entityManager.clear();
+
+        Student loaded = studentRepository.findById(student.getId()).orElseThrow();
+        loaded.setPhone("7100000004");
+
+        assertThat(loaded).isInstanceOf(SelfDirtinessTracker.class);
+        assertThat(List.of(((SelfDirtinessTracker) loaded).$$_hibernate_getDirtyAttributes()))
+            .containsExactly("phone");
+
+        studentRepository.saveAndFlush(loaded);
+        entityManager.clear();
+        assertThat(studentRepository.findById(student.getId()).orElseThrow().getPhone()).isEqualTo("7100000004");
+    }
+}
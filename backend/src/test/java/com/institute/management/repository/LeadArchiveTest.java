@@ -0,0 +1,109 @@
+package com.institute.management.repository;
+
+import com.institute.management.dto.LeadResponseDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.Lead.LeadStatus;
+import com.institute.management.entity.LeadBlockingKey;
+import com.institute.management.service.LeadArchive;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(LeadArchive.class)
+@TestPropertySource(properties = {"app.lead-archive.retention-days=30", "app.lead-archive.batch-size=2"})
+class LeadArchiveTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadFollowUpRepository leadFollowUpRepository;
+
+    @Autowired
+    private StatusCountRepository statusCountRepository;
+
+    @Autowired
+    private LeadArchive leadArchive;
+
+    @Test
+    void testArchivesOnlyOldClosedLeads() {
+        Lead lost = persistLead("Lost", "lost@email.com", "9100000001", LeadStatus.LOST, 90);
+        Lead notInterested = persistLead("Declined", "declined@email.com", "9100000002", LeadStatus.NOT_INTERESTED, 60);
+        Lead lostOld = persistLead("Older", "older@email.com", "9100000003", LeadStatus.LOST, 400);
+        Lead recent = persistLead("Recent", "recent@email.com", "9100000004", LeadStatus.LOST, 5);
+        Lead open = persistLead("Open", "open@email.com", "9100000005", LeadStatus.INTERESTED, 90);
+
+        // Two full batches and an empty one
+        assertThat(leadArchive.archiveClosedLeads()).isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(leadRepository.findAllById(List.of(lost.getId(), notInterested.getId(), lostOld.getId()))).isEmpty();
+        assertThat(leadRepository.findAll()).extracting(Lead::getId).containsExactlyInAnyOrder(recent.getId(), open.getId());
+        assertThat(leadArchive.archiveClosedLeads()).isZero();
+    }
+
+    @Test
+    void testArchivedLeadIsReadBackWithItsTimeline() {
+        Lead lead = new Lead("Archie", "Vist", "archie@email.com", "9100000010", "Data Science", "Website");
+        lead.setNotes("Asked for weekend batches");
+        lead.addFollowUp("Called, no answer", null);
+        lead.addFollowUp("Not interested any more", null);
+        lead.setStatus(LeadStatus.LOST);
+        lead = entityManager.persistAndFlush(lead);
+        entityManager.persistAndFlush(new LeadBlockingKey(lead, "P:00000010"));
+        UUID id = lead.getId();
+        backdate(id, 120);
+
+        assertThat(leadArchive.archiveClosedLeads()).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(leadRepository.existsById(id)).isFalse();
+        assertThat(leadFollowUpRepository.findTimeline(id, Pageable.unpaged())).isEmpty();
+
+        LeadResponseDTO archived = leadArchive.find(id).orElseThrow();
+        assertThat(archived.isArchived()).isTrue();
+        assertThat(archived.getFullName()).isEqualTo("Archie Vist");
+        assertThat(archived.getNotes()).isEqualTo("Asked for weekend batches");
+        assertThat(archived.getStatus()).isEqualTo(LeadStatus.LOST);
+        assertThat(archived.getFollowUpCount()).isEqualTo(2);
+        assertThat(leadArchive.findFollowUps(id)).get().asList().hasSize(2);
+        assertThat(leadArchive.find(UUID.randomUUID())).isEmpty();
+
+        // Archived leads keep counting towards lead statistics
+        assertThat(statusCountRepository.countActual())
+            .anySatisfy(row -> assertThat(row).containsExactly("LEAD", "LOST", 1L));
+    }
+
+    private Lead persistLead(String firstName, String email, String phone, LeadStatus status, int ageDays) {
+        Lead lead = new Lead(firstName, "Lead", email, phone, "Java", "Referral");
+        lead.setStatus(status);
+        lead = entityManager.persistAndFlush(lead);
+        backdate(lead.getId(), ageDays);
+        return lead;
+    }
+
+    private void backdate(UUID leadId, int days) {
+        LocalDateTime date = LocalDateTime.now().minusDays(days);
+        entityManager.getEntityManager()
+            .createQuery("UPDATE Lead l SET l.createdDate = :date, l.updatedDate = :date WHERE l.id = :id")
+            .setParameter("date", date)
+            .setParameter("id", leadId)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,98 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.LeadBlockingKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class LeadBlockingKeyRepositoryTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private LeadBlockingKeyRepository blockingKeyRepository;
+    
+    private Lead lead1;
+    private Lead lead2;
+    private Lead lead3;
+    
+    @BeforeEach
+    void setUp() {
+        lead1 = persistLead("Priya", "Sharma", "priya.sharma@gmail.com", "9876543210");
+        lead2 = persistLead("Sharma", "Priya", "priyasharma@gmail.com", "+919876543210");
+        lead3 = persistLead("Alice", "Smith", "alice@example.com", "1234567890");
+        
+        persistKey(lead1, "P:76543210");
+        persistKey(lead1, "E:priyasharma@gmail.com");
+        persistKey(lead2, "P:76543210");
+        persistKey(lead2, "E:priyasharma@gmail.com");
+        persistKey(lead3, "P:34567890");
+        entityManager.flush();
+    }
+    
+    @Test
+    void testFindLeadIdsByBlockKey() {
+        List<UUID> ids = blockingKeyRepository.findLeadIdsByBlockKey("P:76543210", PageRequest.of(0, 50));
+        
+        assertThat(ids).containsExactlyInAnyOrder(lead1.getId(), lead2.getId());
+    }
+    
+    @Test
+    void testCountLeadsByBlockKeysListsSmallestBlockFirst() {
+        persistKey(lead3, "E:priyasharma@gmail.com");
+        entityManager.flush();
+        
+        List<Object[]> blocks = blockingKeyRepository.countLeadsByBlockKeys(
+            List.of("E:priyasharma@gmail.com", "P:76543210", "P:34567890", "P:00000000"));
+        
+        assertThat(blocks).extracting(row -> (String) row[0])
+            .containsExactly("P:34567890", "P:76543210", "E:priyasharma@gmail.com");
+        assertThat(blocks).extracting(row -> ((Number) row[1]).intValue()).containsExactly(1, 2, 3);
+    }
+    
+    @Test
+    void testStreamSharedBlocks() {
+        List<Object[]> rows;
+        try (Stream<Object[]> stream = blockingKeyRepository.streamSharedBlocks()) {
+            rows = stream.toList();
+        }
+        
+        // Only keys shared by more than one lead, grouped by key
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(row -> (String) row[0])
+            .containsExactly("E:priyasharma@gmail.com", "E:priyasharma@gmail.com", "P:76543210", "P:76543210");
+        assertThat(rows).extracting(row -> (UUID) row[1]).doesNotContain(lead3.getId());
+    }
+    
+    @Test
+    void testDeleteByLeadId() {
+        int deleted = blockingKeyRepository.deleteByLeadId(lead1.getId());
+        
+        assertThat(deleted).isEqualTo(2);
+        assertThat(blockingKeyRepository.findLeadIdsByBlockKey("P:76543210", PageRequest.of(0, 50)))
+            .containsExactly(lead2.getId());
+    }
+    
+    private Lead persistLead(String firstName, String lastName, String email, String phone) {
+        Lead lead = new Lead(firstName, lastName, email, phone, "Java Development", "Website");
+        return entityManager.persistAndFlush(lead);
+    }
+    
+    private void persistKey(Lead lead, String blockKey) {
+        entityManager.persist(new LeadBlockingKey(lead, blockKey));
+    }
+}
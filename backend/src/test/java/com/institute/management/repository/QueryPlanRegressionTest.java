@@ -0,0 +1,460 @@
+package com.institute.management.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression harness: runs every @Query of the repository package against a seeded
+ * PostgreSQL, replays each statement it sends under EXPLAIN (ANALYZE, BUFFERS) and fails on
+ * sequential scans that read more than SEQ_SCAN_ROW_THRESHOLD rows only to discard most of them.
+ * Scans that keep what they read (whole-table aggregates, exports) are what a sequential scan is for.
+ *
+ * For every offending scan the report suggests a composite, partial or covering index built from the
+ * scan's filter. Run with: mvn test -Dtest=QueryPlanRegressionTest -DqueryPlans=true (requires Docker)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "queryPlans", matches = "true")
+class QueryPlanRegressionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanRegressionTest.class);
+
+    private static final long SEQ_SCAN_ROW_THRESHOLD = 1_000;
+
+    private static final Pattern COLUMN = Pattern.compile("\\b\\w+\\.(\\w+)\\b");
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_(p\\d{4}_\\d{2}|default)$");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    /**
+     * Apply the migrations as a deployment does, with Flyway from db/migration, then seed
+     */
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure().dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration").load().migrate();
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        // Every query has to reach the database to be explained
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRepositoryQueriesAvoidSelectiveSequentialScans() {
+        List<String> findings = new ArrayList<>();
+        Set<String> recommendations = new LinkedHashSet<>();
+
+        for (Method method : queryMethods()) {
+            String query = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                try {
+                    for (RecordedStatement statement : run(method)) {
+                        for (SeqScan scan : seqScans(explain(statement))) {
+                            findings.add(query + ": " + scan);
+                            recommendations.add(scan.recommendation());
+                        }
+                    }
+                } catch (Exception e) {
+                    findings.add(query + ": could not be explained: " + e);
+                } finally {
+                    // EXPLAIN ANALYZE executes the statement; nothing the harness runs may stay
+                    status.setRollbackOnly();
+                }
+            });
+        }
+
+        recommendations.forEach(recommendation -> logger.info("Recommended index: {}", recommendation));
+        assertThat(findings).as("Selective sequential scans, recommended indexes:%n%s", String.join("\n", recommendations))
+            .isEmpty();
+    }
+
+    /**
+     * Every @Query method declared in the repository package, in a stable order
+     */
+    private List<Method> queryMethods() {
+        return applicationContext.getBeansOfType(org.springframework.data.repository.Repository.class).values().stream()
+            .flatMap(bean -> Arrays.stream(bean.getClass().getInterfaces()))
+            .filter(type -> type.getPackage().equals(QueryPlanRegressionTest.class.getPackage()))
+            .distinct()
+            .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+            .filter(method -> method.isAnnotationPresent(Query.class) && !method.isDefault())
+            .sorted(Comparator.comparing((Method method) -> method.getDeclaringClass().getSimpleName())
+                .thenComparing(Method::getName).thenComparing(method -> method.getParameterCount()))
+            .toList();
+    }
+
+    private List<RecordedStatement> run(Method method) throws Exception {
+        Object repository = applicationContext.getBean(method.getDeclaringClass());
+        Object[] arguments = Arrays.stream(method.getParameters()).map(this::sampleArgument).toArray();
+
+        recorder.start();
+        try {
+            Object result = method.invoke(repository, arguments);
+            if (result instanceof Stream<?> stream) {
+                stream.close();
+            }
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        } finally {
+            recorder.stop();
+        }
+        return recorder.drain();
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, VERBOSE, FORMAT JSON) " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    binding.apply(explain);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return objectMapper.readTree(plan.getString(1)).get(0).get("Plan");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private List<SeqScan> seqScans(JsonNode plan) {
+        List<SeqScan> scans = new ArrayList<>();
+        collectSeqScans(plan, scans);
+        return scans;
+    }
+
+    private void collectSeqScans(JsonNode node, List<SeqScan> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            long loops = Math.max(1, node.path("Actual Loops").asLong());
+            long kept = node.path("Actual Rows").asLong() * loops;
+            long removed = node.path("Rows Removed by Filter").asLong() * loops;
+            if (kept + removed > SEQ_SCAN_ROW_THRESHOLD && removed > kept) {
+                List<String> output = new ArrayList<>();
+                node.path("Output").forEach(column -> output.add(column.asText()));
+                scans.add(new SeqScan(PARTITION_SUFFIX.matcher(node.path("Relation Name").asText()).replaceFirst(""),
+                    node.path("Filter").asText(), output, kept, removed,
+                    node.path("Shared Hit Blocks").asLong() + node.path("Shared Read Blocks").asLong()));
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, scans);
+        }
+    }
+
+    /**
+     * Arguments that give each query realistic work on the seeded data: existing entities,
+     * date ranges ending today and the first constant of enum parameters
+     */
+    private Object sampleArgument(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = (param != null ? param.value() : parameter.getName()).toLowerCase();
+        Class<?> type = parameter.getType();
+        LocalDate today = LocalDate.now();
+        LocalDate date = name.contains("cutoff") ? today.minusYears(1)
+            : name.contains("start") || name.contains("from") ? today.minusDays(90) : today;
+
+        if (type == UUID.class) {
+            return UUID.randomUUID();
+        } else if (type == LocalDate.class) {
+            return date;
+        } else if (type == LocalDateTime.class) {
+            return date.atStartOfDay();
+        } else if (type == String.class) {
+            return name.contains("prefix") ? "ENR0000" : name.contains("email") ? "lead1@example.com" : "Course 1";
+        } else if (type == int.class || type == Integer.class) {
+            return name.contains("year") ? today.getYear() : name.contains("slot") || name.contains("delta") ? 0 : 10;
+        } else if (type == long.class || type == Long.class) {
+            return 10L;
+        } else if (type == double.class || type == Double.class) {
+            return 0.5;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return true;
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal("500000");
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        } else if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        } else if (type == Sort.class) {
+            return Sort.unsorted();
+        } else if (type.isAnnotationPresent(Entity.class)) {
+            return entityManager.createQuery("SELECT e FROM " + type.getSimpleName() + " e", type)
+                .setMaxResults(1).getSingleResult();
+        } else if (Collection.class.isAssignableFrom(type)
+                   && parameter.getParameterizedType() instanceof ParameterizedType generic
+                   && generic.getActualTypeArguments()[0] instanceof Class<?> element) {
+            if (element.isEnum()) {
+                return List.of(element.getEnumConstants());
+            }
+            return element == UUID.class ? List.of(UUID.randomUUID(), UUID.randomUUID()) : List.of("Course 1", "Course 2");
+        }
+        throw new IllegalStateException("No sample value for parameter " + name + " of type " + type.getName());
+    }
+
+    private record SeqScan(String table, String filter, List<String> output, long kept, long removed, long blocks) {
+
+        /**
+         * Equality columns first, then range columns; conditions on constants only become the
+         * partial index predicate, and a narrow output list is added as INCLUDE columns
+         */
+        String recommendation() {
+            Set<String> equality = new LinkedHashSet<>();
+            Set<String> range = new LinkedHashSet<>();
+            List<String> predicate = new ArrayList<>();
+            for (String condition : filter.split(" AND ")) {
+                Matcher column = COLUMN.matcher(condition);
+                if (!column.find()) {
+                    continue;
+                }
+                if (!condition.contains("$")) {
+                    predicate.add(condition.replaceAll("\\b\\w+\\.", ""));
+                } else if (condition.contains(" = ")) {
+                    equality.add(column.group(1));
+                } else {
+                    range.add(column.group(1));
+                }
+            }
+
+            Set<String> key = new LinkedHashSet<>(equality);
+            key.addAll(range);
+            if (key.isEmpty()) {
+                predicate.forEach(condition -> {
+                    Matcher column = COLUMN.matcher(condition);
+                    if (column.find()) {
+                        key.add(column.group(1));
+                    }
+                });
+                predicate.clear();
+            }
+            if (key.isEmpty()) {
+                return "-- " + table + ": no indexable condition in " + filter;
+            }
+
+            List<String> include = output.stream().map(column -> column.replaceAll("^\\w+\\.", ""))
+                .filter(column -> column.matches("\\w+") && !key.contains(column)).toList();
+            return "CREATE INDEX ON " + table + " (" + String.join(", ", key) + ")"
+                + (!include.isEmpty() && include.size() <= 3 ? " INCLUDE (" + String.join(", ", include) + ")" : "")
+                + (predicate.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicate))
+                + ";";
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Seq Scan on %s read %,d rows, kept %,d (%,d buffers), filter %s", table, kept + removed, kept, blocks, filter);
+        }
+    }
+
+    private record Binding(Method setter, Object[] arguments) {
+
+        void apply(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, arguments);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sql) {
+                    throw sql;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private record RecordedStatement(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * Records the SQL and parameter bindings of the prepared statements executed while started
+     */
+    static class StatementRecorder {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        List<RecordedStatement> drain() {
+            List<RecordedStatement> drained = List.copyOf(statements);
+            statements.clear();
+            return drained;
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return connection(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private Connection connection(Connection target) {
+            return proxy(Connection.class, (proxy, method, arguments) -> {
+                Object result = invoke(target, method, arguments);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return statement(statement, (String) arguments[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, (proxy, method, arguments) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && arguments != null && arguments.length >= 2 && arguments[0] instanceof Integer) {
+                    bindings.add(new Binding(method, arguments.clone()));
+                } else if (name.equals("clearParameters")) {
+                    bindings.clear();
+                } else if (recording && (arguments == null || arguments.length == 0)
+                           && (name.equals("execute") || name.equals("executeQuery") || name.equals("executeUpdate"))) {
+                    statements.add(new RecordedStatement(sql, List.copyOf(bindings)));
+                }
+                return invoke(target, method, arguments);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] arguments) throws Throwable {
+            try {
+                return method.invoke(target, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSource(StatementRecorder recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
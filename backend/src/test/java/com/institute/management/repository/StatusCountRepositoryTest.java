@@ -0,0 +1,145 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Company.CompanyStatus;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.StatusCount.EntityType;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.service.ChildCounters;
+import com.institute.management.service.StatusCounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({StatusCounts.class, ChildCounters.class})
+class StatusCountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StatusCountRepository statusCountRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private StatusCounts statusCounts;
+
+    @Autowired
+    private ChildCounters childCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCountActualGroupsEveryEntityType() {
+        persistCompany("Actual Co");
+        persistGraduate("SC0001", "actual@email.com");
+
+        assertThat(statusCounts.counts(EntityType.COMPANY, CompanyStatus.class)).containsEntry(CompanyStatus.ACTIVE, 0L);
+        assertThat(statusCountRepository.countActual())
+            .anySatisfy(row -> assertThat(row).containsExactly("COMPANY", "ACTIVE", 1L))
+            .anySatisfy(row -> assertThat(row).containsExactly("STUDENT", "GRADUATED", 1L));
+    }
+
+    @Test
+    void testCountGraduatesByPlacement() {
+        Company company = persistCompany("Graduate Co");
+        Student placed = persistGraduate("SC0002", "placed@email.com");
+        persistGraduate("SC0003", "unplaced@email.com");
+        childCounters.placementAdded(entityManager.persist(new Placement(placed, company, "Developer", new BigDecimal("500000"), LocalDate.now())));
+        entityManager.flush();
+
+        Object[] graduates = studentRepository.countGraduatesByPlacement().get(0);
+
+        assertThat(((Number) graduates[0]).longValue()).isEqualTo(1);
+        assertThat(((Number) graduates[1]).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testEntityEventsMaintainRollup() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        statusCounts.initialize();
+        UUID companyId = null;
+        try {
+            companyId = transaction.execute(status -> companyRepository.save(newCompany("Event Co")).getId());
+            assertThat(companyCounts()).containsEntry(CompanyStatus.ACTIVE, 1L).containsEntry(CompanyStatus.BLACKLISTED, 0L);
+
+            UUID id = companyId;
+            transaction.executeWithoutResult(status -> companyRepository.findById(id).orElseThrow().setStatus(CompanyStatus.BLACKLISTED));
+            assertThat(companyCounts()).containsEntry(CompanyStatus.ACTIVE, 0L).containsEntry(CompanyStatus.BLACKLISTED, 1L);
+
+            // Rolled back changes never reach the rollup
+            transaction.executeWithoutResult(status -> {
+                companyRepository.save(newCompany("Rollback Co"));
+                companyRepository.flush();
+                status.setRollbackOnly();
+            });
+            assertThat(StatusCounts.total(companyCounts())).isEqualTo(1);
+
+            transaction.executeWithoutResult(status -> companyRepository.deleteById(id));
+            companyId = null;
+            assertThat(StatusCounts.total(companyCounts())).isZero();
+        } finally {
+            if (companyId != null) {
+                companyRepository.deleteById(companyId);
+            }
+            statusCountRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void testRepairCorrectsStableDrift() {
+        statusCounts.initialize();
+        // Written in this still open transaction, so the rollup has not seen it
+        persistCompany("Drift Co");
+
+        // First sighting only records the drift
+        assertThat(statusCounts.repair()).isZero();
+        assertThat(companyCounts()).containsEntry(CompanyStatus.ACTIVE, 0L);
+
+        assertThat(statusCounts.repair()).isEqualTo(1);
+        assertThat(companyCounts()).containsEntry(CompanyStatus.ACTIVE, 1L);
+        assertThat(statusCounts.repair()).isZero();
+    }
+
+    private Map<CompanyStatus, Long> companyCounts() {
+        return statusCounts.counts(EntityType.COMPANY, CompanyStatus.class);
+    }
+
+    private Company newCompany(String name) {
+        return new Company(name, "Technology", "HR", name.replace(' ', '.') + "@company.com", "9000000000");
+    }
+
+    private Company persistCompany(String name) {
+        return entityManager.persistAndFlush(newCompany(name));
+    }
+
+    private Student persistGraduate(String enrollmentNumber, String email) {
+        Student student = new Student(enrollmentNumber, "Grace", "Graduate", email, "7200000000", LocalDate.now().minusYears(1));
+        student.setStatus(StudentStatus.GRADUATED);
+        return entityManager.persistAndFlush(student);
+    }
+}
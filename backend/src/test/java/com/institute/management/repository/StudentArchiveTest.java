@@ -0,0 +1,166 @@
+package com.institute.management.repository;
+
+import com.institute.management.dto.StudentResponseDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.Company;
+import com.institute.management.entity.Course;
+import com.institute.management.entity.Placement;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.service.StudentArchive;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(StudentArchive.class)
+@TestPropertySource(properties = {"app.student-archive.retention-days=365", "app.student-archive.batch-size=2"})
+class StudentArchiveTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlacementRepository placementRepository;
+
+    @Autowired
+    private StudentStatusChangeRepository studentStatusChangeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private StatusCountRepository statusCountRepository;
+
+    @Autowired
+    private StudentArchive studentArchive;
+
+    @Test
+    void testArchivesOnlyStudentsClosedPastRetention() {
+        Student graduate = persistStudent("SA0001", "graduate@email.com", StudentStatus.GRADUATED, 800);
+        Student dropout = persistStudent("SA0002", "dropout@email.com", StudentStatus.DROPPED_OUT, 500);
+        Student older = persistStudent("SA0003", "older@email.com", StudentStatus.GRADUATED, 1200);
+        Student recent = persistStudent("SA0004", "recent@email.com", StudentStatus.GRADUATED, 30);
+        Student active = persistStudent("SA0005", "active@email.com", StudentStatus.ACTIVE, 800);
+
+        // A placement changed within the window keeps its student live
+        Student placedRecently = persistStudent("SA0006", "placed@email.com", StudentStatus.GRADUATED, 800);
+        entityManager.persistAndFlush(new Placement(placedRecently, persistCompany("Recent Co"), "Developer",
+                                                    new BigDecimal("500000"), LocalDate.now().minusDays(10)));
+
+        // Two full batches and an empty one
+        assertThat(studentArchive.archiveClosedStudents()).isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(studentRepository.findAllById(List.of(graduate.getId(), dropout.getId(), older.getId()))).isEmpty();
+        assertThat(studentRepository.findAll()).extracting(Student::getId)
+            .containsExactlyInAnyOrder(recent.getId(), active.getId(), placedRecently.getId());
+        assertThat(studentArchive.archiveClosedStudents()).isZero();
+    }
+
+    @Test
+    void testArchivedStudentIsReadBackWithPlacementsAndHistory() {
+        Course course = entityManager.persist(new Course("Archive Course", "History", 6, new BigDecimal("45000")));
+        Batch batch = entityManager.persist(new Batch("ARCH-01", course, LocalDate.now().minusYears(3), 20));
+        Company company = persistCompany("Archive Co");
+
+        Student student = new Student("SA0010", "Ada", "Archive", "ada@email.com", "7300000010", LocalDate.now().minusYears(3));
+        student.setBatch(batch);
+        student.setAddress("12 Old Street");
+        student = entityManager.persistAndFlush(student);
+        student.graduate("A");
+        entityManager.persistAndFlush(student);
+        Placement placement = entityManager.persistAndFlush(new Placement(student, company, "Engineer",
+                                                                          new BigDecimal("700000"), LocalDate.now().minusYears(2)));
+        companyRepository.adjustPlacementCount(company.getId(), 1);
+        UUID id = student.getId();
+        backdate(id, 700);
+        backdatePlacement(placement.getId(), 700);
+
+        assertThat(studentArchive.archiveClosedStudents()).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(studentRepository.existsById(id)).isFalse();
+        assertThat(placementRepository.existsById(placement.getId())).isFalse();
+        assertThat(studentStatusChangeRepository.findTimeline(id, Pageable.unpaged())).isEmpty();
+
+        Student archived = studentArchive.find(id).orElseThrow();
+        assertThat(archived.getFullName()).isEqualTo("Ada Archive");
+        assertThat(archived.getAddress()).isEqualTo("12 Old Street");
+        assertThat(archived.getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(archived.getFinalGrade()).isEqualTo("A");
+        assertThat(archived.getBatch().getId()).isEqualTo(batch.getId());
+        assertThat(archived.getStatusChangeCount()).isEqualTo(2);
+        assertThat(archived.getLastStatusChange().getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(archived.getPlacements()).singleElement()
+            .satisfies(p -> assertThat(p.getCompany().getName()).isEqualTo("Archive Co"));
+        assertThat(studentArchive.findStatusHistory(id, Pageable.unpaged())).get()
+            .satisfies(page -> assertThat(page.getContent()).extracting(StudentResponseDTO.StatusHistoryDTO::getStatus)
+                .containsExactly(StudentStatus.GRADUATED, StudentStatus.ACTIVE));
+        assertThat(studentArchive.find(UUID.randomUUID())).isEmpty();
+
+        // Archived students and placements keep counting
+        assertThat(statusCountRepository.countActual())
+            .anySatisfy(row -> assertThat(row).containsExactly("STUDENT", "GRADUATED", 1L))
+            .anySatisfy(row -> assertThat(row).containsExactly("PLACEMENT", "PLACED", 1L));
+        assertThat(companyRepository.findPlacementCountDrift()).isEmpty();
+
+        // Reports read through to the archive only for historical ranges
+        LocalDate from = LocalDate.now().minusYears(4);
+        assertThat(studentArchive.findEnrollmentFees(from, LocalDate.now()))
+            .singleElement()
+            .satisfies(row -> assertThat((BigDecimal) row[1]).isEqualByComparingTo("45000"));
+        assertThat(studentArchive.countPlacements(from, LocalDate.now())).isEqualTo(1);
+        assertThat(studentArchive.countPlacements(LocalDate.now().minusDays(30), LocalDate.now())).isZero();
+        // Status totals are all-time, so archived students count for recent ranges too
+        assertThat(studentArchive.countByStatus()).containsEntry(StudentStatus.GRADUATED, 1L);
+    }
+
+    private Student persistStudent(String enrollmentNumber, String email, StudentStatus status, int ageDays) {
+        Student student = new Student(enrollmentNumber, "Sam", "Student", email, "730000" + enrollmentNumber.substring(2), LocalDate.now().minusYears(4));
+        student.setStatus(status);
+        student = entityManager.persistAndFlush(student);
+        backdate(student.getId(), ageDays);
+        return student;
+    }
+
+    private Company persistCompany(String name) {
+        return entityManager.persistAndFlush(new Company(name, "Technology", "HR", name.replace(' ', '.') + "@company.com", "9000000000"));
+    }
+
+    private void backdate(UUID studentId, int days) {
+        LocalDateTime date = LocalDateTime.now().minusDays(days);
+        entityManager.getEntityManager()
+            .createQuery("UPDATE Student s SET s.createdDate = :date, s.updatedDate = :date, " +
+                         "s.lastStatusChange.changeDate = :date WHERE s.id = :id")
+            .setParameter("date", date)
+            .setParameter("id", studentId)
+            .executeUpdate();
+    }
+
+    private void backdatePlacement(UUID placementId, int days) {
+        LocalDateTime date = LocalDateTime.now().minusDays(days);
+        entityManager.getEntityManager()
+            .createQuery("UPDATE Placement p SET p.createdDate = :date, p.updatedDate = :date WHERE p.id = :id")
+            .setParameter("date", date)
+            .setParameter("id", placementId)
+            .executeUpdate();
+    }
+}
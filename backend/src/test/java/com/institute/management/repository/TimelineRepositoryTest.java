@@ -0,0 +1,81 @@
+package com.institute.management.repository;
+
+import com.institute.management.entity.Lead;
+import com.institute.management.entity.LeadFollowUp;
+import com.institute.management.entity.Student;
+import com.institute.management.entity.Student.StudentStatus;
+import com.institute.management.entity.StudentStatusChange;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TimelineRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadFollowUpRepository leadFollowUpRepository;
+
+    @Autowired
+    private StudentStatusChangeRepository studentStatusChangeRepository;
+
+    @Test
+    void testStatusChangeIsAppendedWithoutLoadingHistory() {
+        Student student = new Student("TL0001", "Tina", "Line", "tina.line@email.com", "7000000001", LocalDate.now());
+        entityManager.persistAndFlush(student);
+        entityManager.clear();
+
+        Student managed = entityManager.find(Student.class, student.getId());
+        managed.setStatus(StudentStatus.SUSPENDED);
+        managed.setStatus(StudentStatus.ACTIVE);
+        entityManager.flush();
+
+        assertThat(Hibernate.isInitialized(managed.getStatusHistory())).isFalse();
+        assertThat(managed.getStatusChangeCount()).isEqualTo(3);
+        assertThat(managed.getLastStatusChange().getStatus()).isEqualTo(StudentStatus.ACTIVE);
+
+        entityManager.clear();
+        Page<StudentStatusChange> timeline = studentStatusChangeRepository.findTimeline(student.getId(), PageRequest.of(0, 2));
+        assertThat(timeline.getTotalElements()).isEqualTo(3);
+        assertThat(timeline.getContent()).extracting(StudentStatusChange::getStatus)
+            .containsExactly(StudentStatus.ACTIVE, StudentStatus.SUSPENDED);
+    }
+
+    @Test
+    void testFollowUpTimelineIsNewestFirst() {
+        Lead lead = new Lead("Larry", "Lead", "larry.lead@email.com", "7000000002", "Java Development", "Website");
+        entityManager.persistAndFlush(lead);
+
+        LeadFollowUp first = lead.addFollowUp("Called", LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+        LeadFollowUp second = lead.addFollowUp("Sent brochure", null);
+        entityManager.flush();
+        entityManager.getEntityManager()
+            .createNativeQuery("UPDATE lead_follow_ups SET follow_up_date = :date WHERE id = :id")
+            .setParameter("date", LocalDateTime.now().minusHours(1))
+            .setParameter("id", first.getId())
+            .executeUpdate();
+        entityManager.clear();
+
+        Lead reloaded = entityManager.find(Lead.class, lead.getId());
+        assertThat(reloaded.getFollowUpCount()).isEqualTo(2);
+        assertThat(reloaded.getLastFollowUp().getNotes()).isEqualTo("Sent brochure");
+        assertThat(reloaded.getLastFollowUp().getNextAction()).isEqualTo("No further action");
+        assertThat(leadFollowUpRepository.findTimeline(lead.getId(), PageRequest.of(0, 10)).getContent())
+            .extracting(LeadFollowUp::getId)
+            .containsExactly(second.getId(), first.getId());
+    }
+}
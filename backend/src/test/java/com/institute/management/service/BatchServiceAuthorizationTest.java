@@ -30,6 +30,18 @@ class BatchServiceAuthorizationTest extends AuthorizationTestBase {
     @Mock
     private BatchRepository batchRepository;
     
+    @Mock
+    private SeatAdmission seatAdmission;
+    
+    @Mock
+    private BatchWaitlistService batchWaitlistService;
+    
+    @Mock
+    private ChildCounters childCounters;
+    
+    @Mock
+    private StudentTransitions studentTransitions;
+    
     @InjectMocks
     private BatchService batchService;
     
@@ -38,6 +38,15 @@ class BatchServiceTest {
     @Mock
     private BatchRepository batchRepository;
 
+    @Mock
+    private SeatAdmission seatAdmission;
+
+    @Mock
+    private BatchWaitlistService batchWaitlistService;
+
+    @Mock
+    private ChildCounters childCounters;
+
     @InjectMocks
     private BatchService batchService;
 
@@ -87,6 +96,7 @@ class BatchServiceTest {
         assertEquals(testBatch.getName(), result.getName());
         assertEquals(testBatch.getCapacity(), result.getCapacity());
         verify(batchRepository).save(testBatch);
+        verify(childCounters).batchAdded(testBatch);
     }
 
     @Test
@@ -246,6 +256,8 @@ class BatchServiceTest {
         assertNotNull(result);
         verify(batchRepository).findById(testBatch.getId());
         verify(batchRepository).save(testBatch);
+        verify(seatAdmission).invalidate(testBatch.getId());
+        verify(batchWaitlistService).promoteWaitlisted(testBatch);
     }
 
     @Test
@@ -303,6 +315,7 @@ class BatchServiceTest {
         });
 
         verify(batchRepository).findById(testBatch.getId());
+        verify(childCounters).batchRemoved(testBatch);
         verify(batchRepository).deleteById(testBatch.getId());
     }
 
@@ -0,0 +1,259 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.BatchWaitlistEntryDTO;
+import com.institute.management.dto.BatchWaitlistRequestDTO;
+import com.institute.management.entity.Batch;
+import com.institute.management.entity.BatchWaitlistEntry;
+import com.institute.management.entity.BatchWaitlistEntry.WaitlistStatus;
+import com.institute.management.entity.Student;
+import com.institute.management.exception.BatchCapacityExceededException;
+import com.institute.management.exception.BusinessException;
+import com.institute.management.exception.DuplicateResourceException;
+import com.institute.management.repository.BatchRepository;
+import com.institute.management.repository.BatchWaitlistRepository;
+import com.institute.management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchWaitlistServiceTest {
+
+    @Mock
+    private BatchWaitlistRepository waitlistRepository;
+
+    @Mock
+    private BatchRepository batchRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private SeatAdmission seatAdmission;
+
+    @InjectMocks
+    private BatchWaitlistService batchWaitlistService;
+
+    private Batch batch;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        batch = new Batch();
+        batch.setId(UUID.randomUUID());
+        batch.setName("JAVA-2024-01");
+        batch.setCapacity(30);
+        batch.setCurrentEnrollment(30);
+
+        student = new Student();
+        student.setId(UUID.randomUUID());
+        student.setEnrollmentNumber("ENR20240001");
+        student.setFirstName("John");
+        student.setLastName("Doe");
+    }
+
+    @Test
+    void joinWaitlist_Success() {
+        when(batchRepository.findById(batch.getId())).thenReturn(Optional.of(batch));
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(waitlistRepository.existsActive(batch.getId(), student.getId())).thenReturn(false);
+        when(waitlistRepository.save(any(BatchWaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchWaitlistEntryDTO result = batchWaitlistService.joinWaitlist(batch.getId(), new BatchWaitlistRequestDTO(student.getId(), 5));
+
+        assertEquals(WaitlistStatus.WAITING, result.getStatus());
+        assertEquals(5, result.getPriority());
+        assertEquals(student.getId(), result.getStudent().getId());
+        assertEquals(1, batch.getWaitlistCount());
+        verify(batchRepository).incrementWaitlist(batch.getId());
+    }
+
+    @Test
+    void joinWaitlist_AlreadyWaiting() {
+        when(batchRepository.findById(batch.getId())).thenReturn(Optional.of(batch));
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(waitlistRepository.existsActive(batch.getId(), student.getId())).thenReturn(true);
+
+        assertThrows(DuplicateResourceException.class,
+            () -> batchWaitlistService.joinWaitlist(batch.getId(), new BatchWaitlistRequestDTO(student.getId(), 0)));
+
+        verify(batchRepository, never()).incrementWaitlist(any());
+    }
+
+    @Test
+    void joinWaitlist_SeatsAvailable() {
+        batch.setCurrentEnrollment(10);
+        when(batchRepository.findById(batch.getId())).thenReturn(Optional.of(batch));
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+        when(waitlistRepository.existsActive(batch.getId(), student.getId())).thenReturn(false);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> batchWaitlistService.joinWaitlist(batch.getId(), new BatchWaitlistRequestDTO(student.getId(), 0)));
+
+        assertEquals("SEATS_AVAILABLE", exception.getErrorCode());
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void joinWaitlist_AlreadyEnrolled() {
+        student.setBatch(batch);
+        when(batchRepository.findById(batch.getId())).thenReturn(Optional.of(batch));
+        when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> batchWaitlistService.joinWaitlist(batch.getId(), new BatchWaitlistRequestDTO(student.getId(), 0)));
+
+        assertEquals("ALREADY_ENROLLED", exception.getErrorCode());
+    }
+
+    @Test
+    void releaseSeat_EmptyWaitlistRunsNoWaitlistQuery() {
+        batchWaitlistService.releaseSeat(batch);
+
+        verify(seatAdmission).release(batch);
+        verifyNoInteractions(waitlistRepository);
+    }
+
+    @Test
+    void releaseSeat_PromotesHeadOfQueue() {
+        batch.setWaitlistCount(2);
+        BatchWaitlistEntry head = waiting(student);
+        when(waitlistRepository.findNextWaiting(eq(batch.getId()), any(Pageable.class))).thenReturn(List.of(head));
+        when(waitlistRepository.hold(eq(head.getId()), any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+        // Only one seat was freed
+        doNothing().doThrow(new BatchCapacityExceededException(batch.getName(), 30, 30)).when(seatAdmission).admit(batch);
+
+        batchWaitlistService.releaseSeat(batch);
+
+        assertEquals(WaitlistStatus.HELD, head.getStatus());
+        assertNotNull(head.getHoldToken());
+        assertTrue(head.getHoldExpiresAt().isAfter(LocalDateTime.now()));
+        assertEquals(1, batch.getWaitlistCount());
+        verify(batchRepository).decrementWaitlist(batch.getId());
+    }
+
+    @Test
+    void promoteWaitlisted_SkipsEntryClaimedConcurrently() {
+        batch.setWaitlistCount(2);
+        BatchWaitlistEntry first = waiting(student);
+        BatchWaitlistEntry second = waiting(new Student());
+        when(waitlistRepository.findNextWaiting(eq(batch.getId()), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(waitlistRepository.hold(eq(first.getId()), any(UUID.class), any(LocalDateTime.class))).thenReturn(0);
+        when(waitlistRepository.hold(eq(second.getId()), any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+        doNothing().doThrow(new BatchCapacityExceededException(batch.getName(), 30, 30)).when(seatAdmission).admit(batch);
+
+        int promoted = batchWaitlistService.promoteWaitlisted(batch);
+
+        assertEquals(1, promoted);
+        assertEquals(WaitlistStatus.WAITING, first.getStatus());
+        assertEquals(WaitlistStatus.HELD, second.getStatus());
+    }
+
+    @Test
+    void promoteWaitlisted_FullBatchIssuesNoHold() {
+        batch.setWaitlistCount(1);
+        when(waitlistRepository.findNextWaiting(eq(batch.getId()), any(Pageable.class))).thenReturn(List.of(waiting(student)));
+        doThrow(new BatchCapacityExceededException(batch.getName(), 30, 30)).when(seatAdmission).admit(batch);
+
+        assertEquals(0, batchWaitlistService.promoteWaitlisted(batch));
+
+        verify(waitlistRepository, never()).hold(any(), any(), any());
+        verify(batchRepository, never()).decrementWaitlist(any());
+    }
+
+    @Test
+    void confirmHold_MovesStudentAndReleasesOldSeat() {
+        Batch oldBatch = new Batch();
+        oldBatch.setId(UUID.randomUUID());
+        student.setBatch(oldBatch);
+        BatchWaitlistEntry entry = held(student, LocalDateTime.now().plusHours(1));
+        when(waitlistRepository.findByHoldToken(entry.getHoldToken())).thenReturn(Optional.of(entry));
+        when(waitlistRepository.transition(entry.getId(), WaitlistStatus.HELD, WaitlistStatus.PROMOTED)).thenReturn(1);
+
+        BatchWaitlistEntryDTO result = batchWaitlistService.confirmHold(entry.getHoldToken());
+
+        assertEquals(WaitlistStatus.PROMOTED, result.getStatus());
+        assertEquals(batch, student.getBatch());
+        verify(seatAdmission).release(oldBatch);
+        verify(seatAdmission, never()).admit(any()); // The seat was taken when the hold was issued
+        verify(studentRepository).save(student);
+    }
+
+    @Test
+    void confirmHold_Expired() {
+        BatchWaitlistEntry entry = held(student, LocalDateTime.now().minusMinutes(1));
+        when(waitlistRepository.findByHoldToken(entry.getHoldToken())).thenReturn(Optional.of(entry));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> batchWaitlistService.confirmHold(entry.getHoldToken()));
+
+        assertEquals("HOLD_EXPIRED", exception.getErrorCode());
+        verify(studentRepository, never()).save(any());
+    }
+
+    @Test
+    void declineHold_PassesSeatOn() {
+        BatchWaitlistEntry entry = held(student, LocalDateTime.now().plusHours(1));
+        when(waitlistRepository.findByHoldToken(entry.getHoldToken())).thenReturn(Optional.of(entry));
+        when(waitlistRepository.transition(entry.getId(), WaitlistStatus.HELD, WaitlistStatus.CANCELLED)).thenReturn(1);
+
+        batchWaitlistService.declineHold(entry.getHoldToken());
+
+        assertEquals(WaitlistStatus.CANCELLED, entry.getStatus());
+        verify(seatAdmission).release(batch);
+    }
+
+    @Test
+    void cancelEntry_WaitingDecrementsCounter() {
+        batch.setWaitlistCount(1);
+        BatchWaitlistEntry entry = waiting(student);
+        when(waitlistRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+        when(waitlistRepository.transition(entry.getId(), WaitlistStatus.WAITING, WaitlistStatus.CANCELLED)).thenReturn(1);
+
+        batchWaitlistService.cancelEntry(batch.getId(), entry.getId());
+
+        assertEquals(0, batch.getWaitlistCount());
+        verify(batchRepository).decrementWaitlist(batch.getId());
+        verifyNoInteractions(seatAdmission);
+    }
+
+    @Test
+    void expireHolds_ReleasesExpiredSeats() {
+        BatchWaitlistEntry entry = held(student, LocalDateTime.now().minusMinutes(5));
+        when(waitlistRepository.findExpiredHolds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(entry));
+        when(waitlistRepository.transition(entry.getId(), WaitlistStatus.HELD, WaitlistStatus.EXPIRED)).thenReturn(1);
+        when(batchRepository.findBatchesWithPromotableWaitlist()).thenReturn(List.of());
+
+        assertEquals(1, batchWaitlistService.expireHolds());
+
+        assertEquals(WaitlistStatus.EXPIRED, entry.getStatus());
+        verify(seatAdmission).release(batch);
+    }
+
+    private BatchWaitlistEntry waiting(Student student) {
+        BatchWaitlistEntry entry = new BatchWaitlistEntry(batch, student, 0);
+        entry.setId(UUID.randomUUID());
+        return entry;
+    }
+
+    private BatchWaitlistEntry held(Student student, LocalDateTime expiresAt) {
+        BatchWaitlistEntry entry = waiting(student);
+        entry.setStatus(WaitlistStatus.HELD);
+        entry.setHoldToken(UUID.randomUUID());
+        entry.setHoldExpiresAt(expiresAt);
+        return entry;
+    }
+}
@@ -0,0 +1,66 @@
+package com.institute.management.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("student" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("student" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateWithinConfiguredBound() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("+91-98" + String.format("%08d", i));
+        }
+
+        int falsePositives = 0;
+        int probes = 100000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < 0.02, "Observed false-positive rate " + observed);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void testPutReportsNewValues() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertTrue(filter.put("john@example.com"));
+        assertFalse(filter.put("john@example.com"));
+        assertEquals(1, filter.getInsertions());
+    }
+
+    @Test
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        // ~9.6 bits per value and 7 hash functions for 1%
+        assertTrue(filter.getBitCount() >= 9585);
+        assertEquals(7, filter.getHashCount());
+        assertEquals(filter.getBitCount() / 8, filter.getSizeInBytes());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -2,6 +2,7 @@ package com.institute.management.service;
 
 import com.institute.management.dto.*;
 import com.institute.management.entity.Company;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.repository.CompanyRepository;
@@ -33,6 +34,12 @@ class CompanyServiceTest {
     @Mock
     private CompanyRepository companyRepository;
     
+    @Mock
+    private ChildCounters childCounters;
+    
+    @Mock
+    private StatusCounts statusCounts;
+    
     @InjectMocks
     private CompanyService companyService;
     
@@ -292,6 +299,7 @@ class CompanyServiceTest {
         
         // Assert
         verify(companyRepository).existsById(companyId);
+        verify(childCounters).companyRemoved(companyId);
         verify(companyRepository).deleteById(companyId);
     }
     
@@ -414,10 +422,11 @@ class CompanyServiceTest {
     @WithMockUser(roles = "PLACEMENT_OFFICER")
     void getCompanyStatistics_Success() {
         // Arrange
-        when(companyRepository.count()).thenReturn(50L);
-        when(companyRepository.countByStatus(Company.CompanyStatus.ACTIVE)).thenReturn(45L);
-        when(companyRepository.countByStatus(Company.CompanyStatus.INACTIVE)).thenReturn(3L);
-        when(companyRepository.countByStatus(Company.CompanyStatus.BLACKLISTED)).thenReturn(2L);
+        Map<Company.CompanyStatus, Long> counts = new EnumMap<>(Company.CompanyStatus.class);
+        counts.put(Company.CompanyStatus.ACTIVE, 45L);
+        counts.put(Company.CompanyStatus.INACTIVE, 3L);
+        counts.put(Company.CompanyStatus.BLACKLISTED, 2L);
+        when(statusCounts.counts(StatusCount.EntityType.COMPANY, Company.CompanyStatus.class)).thenReturn(counts);
         when(companyRepository.countDistinctIndustries()).thenReturn(8L);
         
         // Act
@@ -431,8 +440,8 @@ class CompanyServiceTest {
         assertEquals(2L, result.get("blacklistedCompanies"));
         assertEquals(8L, result.get("distinctIndustries"));
         
-        verify(companyRepository).count();
-        verify(companyRepository, times(3)).countByStatus(any());
+        verify(statusCounts).counts(StatusCount.EntityType.COMPANY, Company.CompanyStatus.class);
+        verify(companyRepository, never()).countByStatus(any());
         verify(companyRepository).countDistinctIndustries();
     }
     
@@ -5,6 +5,7 @@ import com.institute.management.dto.CourseRevenueDTO;
 import com.institute.management.dto.CourseEnrollmentStatsDTO;
 import com.institute.management.entity.Course;
 import com.institute.management.entity.Batch;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.ValidationException;
 import com.institute.management.repository.CourseRepository;
@@ -23,7 +24,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +40,9 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private StatusCounts statusCounts;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -302,10 +308,11 @@ class CourseServiceTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void getCourseStatistics_Success() {
-        when(courseRepository.count()).thenReturn(10L);
-        when(courseRepository.countByStatus(Course.CourseStatus.ACTIVE)).thenReturn(8L);
-        when(courseRepository.countByStatus(Course.CourseStatus.INACTIVE)).thenReturn(1L);
-        when(courseRepository.countByStatus(Course.CourseStatus.ARCHIVED)).thenReturn(1L);
+        Map<Course.CourseStatus, Long> counts = new EnumMap<>(Course.CourseStatus.class);
+        counts.put(Course.CourseStatus.ACTIVE, 8L);
+        counts.put(Course.CourseStatus.INACTIVE, 1L);
+        counts.put(Course.CourseStatus.ARCHIVED, 1L);
+        when(statusCounts.counts(StatusCount.EntityType.COURSE, Course.CourseStatus.class)).thenReturn(counts);
         when(courseRepository.getAverageDuration()).thenReturn(6.5);
         when(courseRepository.getAverageFees()).thenReturn(new BigDecimal("45000"));
 
@@ -324,8 +331,8 @@ class CourseServiceTest {
         assertEquals(new BigDecimal("20000"), result.getMinFees());
         assertEquals(new BigDecimal("80000"), result.getMaxFees());
 
-        verify(courseRepository).count();
-        verify(courseRepository, times(3)).countByStatus(any());
+        verify(statusCounts).counts(StatusCount.EntityType.COURSE, Course.CourseStatus.class);
+        verify(courseRepository, never()).countByStatus(any());
         verify(courseRepository).getAverageDuration();
         verify(courseRepository).getAverageFees();
         verify(courseRepository).getFeesRange();
@@ -0,0 +1,47 @@
+package com.institute.management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadsPlainRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("1", "", "3"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testQuotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"Doe, Jane\",\"said \"\"hi\"\"\",\"line one\nline two\"\nlast"));
+
+        assertEquals(List.of("Doe, Jane", "said \"hi\"", "line one\nline two"), reader.next());
+        assertEquals(List.of("last"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testSkipsByteOrderMarkAndBlankLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\uFEFFname,phone\n\n\r\nAsha,9876543210\n\n"));
+
+        assertEquals(List.of("name", "phone"), reader.next());
+        assertEquals(List.of("Asha", "9876543210"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testEmptyQuotedFieldIsARecord() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"\"\n"));
+
+        assertEquals(List.of(""), reader.next());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,151 @@
+package com.institute.management.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trips the seeded query-plan dataset between two migrated PostgreSQL databases.
+ * Run with: mvn test -Dtest=DataTransferTest -DdataTransfer=true (requires Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "dataTransfer", matches = "true")
+class DataTransferTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> source = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> target = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @TempDir
+    Path directory;
+
+    private DataTransfer sourceTransfer;
+    private DataTransfer targetTransfer;
+
+    /**
+     * Apply the migrations as a deployment does, with Flyway from db/migration; only the source is seeded
+     */
+    @BeforeAll
+    static void migrate() throws SQLException {
+        for (PostgreSQLContainer<?> container : List.of(source, target)) {
+            Flyway.configure().dataSource(dataSource(container)).locations("classpath:db/migration").load().migrate();
+        }
+        try (Connection connection = dataSource(source).getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        sourceTransfer = transfer(source);
+        targetTransfer = transfer(target);
+        try (Connection connection = dataSource(target).getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + String.join(", ", counts(target).keySet()) + " CASCADE");
+        }
+    }
+
+    @Test
+    void testBinaryRoundTripWithIndexRebuild() throws Exception {
+        long indexes = indexCount(target);
+
+        sourceTransfer.dump(directory, DataTransfer.Format.BINARY, List.of());
+        targetTransfer.load(directory, List.of(), true, false);
+
+        // lead_emails is not loaded here: the trigger on leads fills it
+        assertThat(counts(target)).isEqualTo(counts(source));
+        assertThat(indexCount(target)).isEqualTo(indexes);
+    }
+
+    @Test
+    void testCsvRoundTripWithTriggersDisabled() throws Exception {
+        DataTransfer.Manifest manifest = sourceTransfer.dump(directory, DataTransfer.Format.CSV, List.of());
+        targetTransfer.load(directory, List.of(), false, true);
+
+        assertThat(counts(target)).isEqualTo(counts(source));
+        assertThat(manifest.tables()).extracting(DataTransfer.TableDump::table)
+            .startsWith("courses", "companies", "employees", "users", "batches", "leads");
+        assertThat(manifest.tables()).filteredOn(dump -> dump.table().equals("leads"))
+            .allMatch(dump -> dump.partitionRange() != null);
+    }
+
+    @Test
+    void testFailedLoadLeavesTargetUnchanged() throws Exception {
+        sourceTransfer.dump(directory, DataTransfer.Format.CSV, List.of("courses", "batches"));
+        targetTransfer.load(directory, List.of(), false, false);
+        Map<String, Long> loaded = counts(target);
+
+        // Loading the same rows again violates the primary keys; the whole load is rolled back
+        assertThatThrownBy(() -> targetTransfer.load(directory, List.of(), false, false)).isInstanceOf(SQLException.class);
+        assertThat(counts(target)).isEqualTo(loaded);
+    }
+
+    private static DataTransfer transfer(PostgreSQLContainer<?> container) {
+        DataTransfer transfer = new DataTransfer();
+        ReflectionTestUtils.setField(transfer, "dataSource", dataSource(container));
+        return transfer;
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(container.getJdbcUrl());
+        dataSource.setUser(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        return dataSource;
+    }
+
+    private static Map<String, Long> counts(PostgreSQLContainer<?> container) throws SQLException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (Connection connection = dataSource(container).getConnection(); Statement statement = connection.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet result = statement.executeQuery(
+                     "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                     "WHERE n.nspname = 'public' AND c.relkind IN ('r', 'p') AND NOT c.relispartition " +
+                     "AND c.relname <> 'flyway_schema_history' ORDER BY c.relname")) {
+                while (result.next()) {
+                    tables.add(result.getString(1));
+                }
+            }
+            for (String table : tables) {
+                try (ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                    result.next();
+                    counts.put(table, result.getLong(1));
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static long indexCount(PostgreSQLContainer<?> container) throws SQLException {
+        try (Connection connection = dataSource(container).getConnection(); Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM pg_indexes WHERE schemaname = 'public'")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -31,6 +32,9 @@ class EmployeeServiceAuthorizationTest extends AuthorizationTestBase {
     @Mock
     private EmployeeRepository employeeRepository;
     
+    @Spy
+    private UniquenessGuard uniquenessGuard = new UniquenessGuard();
+    
     @InjectMocks
     private EmployeeService employeeService;
     
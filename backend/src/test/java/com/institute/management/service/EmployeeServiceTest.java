@@ -2,6 +2,7 @@ package com.institute.management.service;
 
 import com.institute.management.dto.*;
 import com.institute.management.entity.Employee;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.exception.ValidationException;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
@@ -29,6 +31,12 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
     
+    @Spy
+    private UniquenessGuard uniquenessGuard = new UniquenessGuard();
+    
+    @Mock
+    private StatusCounts statusCounts;
+    
     @InjectMocks
     private EmployeeService employeeService;
     
@@ -553,4 +561,25 @@ class EmployeeServiceTest {
         
         verify(employeeRepository).findByHireDateBetween(startDate, endDate, pageable);
     }
+    
+    @Test
+    void testGetEmployeeStatistics_Success() {
+        // Arrange
+        Map<Employee.EmployeeStatus, Long> counts = new EnumMap<>(Employee.EmployeeStatus.class);
+        counts.put(Employee.EmployeeStatus.ACTIVE, 12L);
+        counts.put(Employee.EmployeeStatus.INACTIVE, 2L);
+        counts.put(Employee.EmployeeStatus.TERMINATED, 1L);
+        when(statusCounts.counts(StatusCount.EntityType.EMPLOYEE, Employee.EmployeeStatus.class)).thenReturn(counts);
+        
+        // Act
+        Map<String, Object> result = employeeService.getEmployeeStatistics();
+        
+        // Assert
+        assertEquals(15L, result.get("totalEmployees"));
+        assertEquals(12L, result.get("activeEmployees"));
+        assertEquals(2L, result.get("inactiveEmployees"));
+        assertEquals(1L, result.get("terminatedEmployees"));
+        
+        verify(employeeRepository, never()).count();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.EnrollmentSequence;
+import com.institute.management.exception.BusinessException;
+import com.institute.management.repository.EnrollmentSequenceRepository;
+import com.institute.management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentNumberAllocatorTest {
+    
+    @Mock
+    private EnrollmentSequenceRepository sequenceRepository;
+    
+    @Mock
+    private StudentRepository studentRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private EnrollmentNumberAllocator allocator;
+    
+    private String prefix;
+    
+    @BeforeEach
+    void setUp() {
+        prefix = "ENR" + LocalDate.now().getYear();
+    }
+    
+    @Test
+    void testFirstAllocation_ContinuesAfterExistingNumbers() {
+        when(sequenceRepository.advance(prefix, 50)).thenReturn(0);
+        when(studentRepository.findEnrollmentNumbersWithPrefix(prefix))
+            .thenReturn(List.of(prefix + "0003", prefix + "0002", prefix + "0001"));
+        
+        String number = allocator.next();
+        
+        assertEquals(prefix + "0004", number);
+        verify(sequenceRepository).saveAndFlush(argThat(sequence ->
+            sequence.getPrefix().equals(prefix) && sequence.getNextValue() == 54));
+    }
+    
+    @Test
+    void testAllocationsWithinBlockStayInMemory() {
+        when(sequenceRepository.advance(prefix, 50)).thenReturn(1);
+        when(sequenceRepository.findNextValue(prefix)).thenReturn(Optional.of(151L));
+        
+        for (int i = 0; i < 50; i++) {
+            assertEquals(prefix + String.format("%04d", 101 + i), allocator.next());
+        }
+        
+        verify(sequenceRepository, times(1)).advance(anyString(), anyLong());
+    }
+    
+    @Test
+    void testExhaustedBlockReservesNextBlock() {
+        ReflectionTestUtils.setField(allocator, "blockSize", 2);
+        when(sequenceRepository.advance(prefix, 2)).thenReturn(1);
+        when(sequenceRepository.findNextValue(prefix)).thenReturn(Optional.of(3L), Optional.of(41L));
+        
+        assertEquals(prefix + "0001", allocator.next());
+        assertEquals(prefix + "0002", allocator.next());
+        // Another node reserved 3..38 in between
+        assertEquals(prefix + "0039", allocator.next());
+        
+        verify(sequenceRepository, times(2)).advance(prefix, 2);
+    }
+    
+    @Test
+    void testBulkAllocationReservesOnce() {
+        when(sequenceRepository.advance(prefix, 120)).thenReturn(1);
+        when(sequenceRepository.findNextValue(prefix)).thenReturn(Optional.of(121L));
+        
+        List<String> numbers = allocator.nextBatch(120);
+        
+        assertEquals(120, numbers.size());
+        assertEquals(prefix + "0001", numbers.get(0));
+        assertEquals(prefix + "0120", numbers.get(119));
+        assertEquals(120, numbers.stream().distinct().count());
+        verify(sequenceRepository, times(1)).advance(anyString(), anyLong());
+    }
+    
+    @Test
+    void testReservationDoesNotBlockOtherAllocations() throws Exception {
+        CountDownLatch reserving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sequenceRepository.advance(prefix, 50)).thenAnswer(invocation -> {
+            reserving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        }).thenReturn(1);
+        when(sequenceRepository.findNextValue(prefix)).thenReturn(Optional.of(51L), Optional.of(101L));
+        
+        // The first caller is stuck in its reservation, e.g. waiting for a connection
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(allocator::next);
+        assertTrue(reserving.await(5, TimeUnit.SECONDS));
+        
+        String second = CompletableFuture.supplyAsync(allocator::next).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        
+        assertEquals(prefix + "0001", second);
+        // Earlier blocks are used up first; the one just reserved is kept for later allocations
+        assertEquals(prefix + "0002", first.get(5, TimeUnit.SECONDS));
+        assertEquals(prefix + "0003", allocator.next());
+        verify(sequenceRepository, times(2)).advance(anyString(), anyLong());
+    }
+    
+    @Test
+    void testNumbersGrowPastMinimumWidth() {
+        when(sequenceRepository.advance(prefix, 50)).thenReturn(0);
+        when(studentRepository.findEnrollmentNumbersWithPrefix(prefix)).thenReturn(List.of(prefix + "9999"));
+        
+        assertEquals(prefix + "10000", allocator.next());
+    }
+    
+    @Test
+    void testConcurrentRowCreationRetriesWithAdvance() {
+        when(sequenceRepository.advance(prefix, 50)).thenReturn(0, 1);
+        when(sequenceRepository.saveAndFlush(any(EnrollmentSequence.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(sequenceRepository.findNextValue(prefix)).thenReturn(Optional.of(101L));
+        
+        assertEquals(prefix + "0051", allocator.next());
+    }
+    
+    @Test
+    void testResolvePrefix() {
+        LocalDate date = LocalDate.of(2025, 3, 9);
+        
+        assertEquals("ENR2025", allocator.resolvePrefix(date));
+        
+        ReflectionTestUtils.setField(allocator, "prefixPattern", "STU{yy}{MM}-");
+        assertEquals("STU2503-", allocator.resolvePrefix(date));
+        
+        ReflectionTestUtils.setField(allocator, "prefixPattern", "FIXED");
+        assertEquals("FIXED", allocator.resolvePrefix(date));
+    }
+    
+    @Test
+    void testNumberLongerThanColumnIsRejected() {
+        ReflectionTestUtils.setField(allocator, "prefixPattern", "ENROLLMENT-{yyyy}-NO-");
+        when(sequenceRepository.advance(anyString(), anyLong())).thenReturn(1);
+        when(sequenceRepository.findNextValue(anyString())).thenReturn(Optional.of(51L));
+        
+        assertThrows(BusinessException.class, () -> allocator.next());
+    }
+    
+    @Test
+    void testInvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> allocator.nextBatch(0));
+    }
+}
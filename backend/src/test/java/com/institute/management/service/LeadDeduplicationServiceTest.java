@@ -0,0 +1,149 @@
+package com.institute.management.service;
+
+import com.institute.management.dto.LeadCreateRequestDTO;
+import com.institute.management.dto.LeadDuplicateCandidateDTO;
+import com.institute.management.dto.LeadDuplicateClusterDTO;
+import com.institute.management.entity.Lead;
+import com.institute.management.repository.LeadBlockingKeyRepository;
+import com.institute.management.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeadDeduplicationServiceTest {
+    
+    @Mock
+    private LeadRepository leadRepository;
+    
+    @Mock
+    private LeadBlockingKeyRepository blockingKeyRepository;
+    
+    @InjectMocks
+    private LeadDeduplicationService leadDeduplicationService;
+    
+    private Lead priya;
+    private Lead priyaVariant;
+    private Lead alice;
+    
+    @BeforeEach
+    void setUp() {
+        priya = lead("Priya", "Sharma", "priya.sharma@gmail.com", "9876543210");
+        priyaVariant = lead("Sharma", "Priya", "priyasharma@gmail.com", "+919876543210");
+        alice = lead("Alice", "Smith", "alice@example.com", "1234567890");
+    }
+    
+    @Test
+    void testCheckDuplicates_FindsFormattingVariants() {
+        LeadCreateRequestDTO request = new LeadCreateRequestDTO();
+        request.setFirstName("Priya");
+        request.setLastName("Sharma");
+        request.setEmail("Priya.Sharma+java@gmail.com");
+        request.setPhone("+91 98765 43210");
+        request.setCourseInterest("Java Development");
+        
+        when(blockingKeyRepository.countLeadsByBlockKeys(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {"P:76543210", 2L}));
+        when(blockingKeyRepository.findLeadIdsByBlockKey(eq("P:76543210"), any(Pageable.class)))
+            .thenReturn(List.of(priyaVariant.getId(), alice.getId()));
+        when(leadRepository.findAllById(List.of(priyaVariant.getId(), alice.getId())))
+            .thenReturn(List.of(priyaVariant, alice));
+        
+        List<LeadDuplicateCandidateDTO> duplicates = leadDeduplicationService.checkDuplicates(request);
+        
+        assertEquals(1, duplicates.size());
+        assertEquals(priyaVariant.getId(), duplicates.get(0).getLeadId());
+        assertEquals(1.0, duplicates.get(0).getScore());
+        assertTrue(duplicates.get(0).getMatchedOn().containsAll(List.of("PHONE", "EMAIL", "NAME")));
+    }
+    
+    @Test
+    void testFindPossibleDuplicates_ExcludesTheLeadItself() {
+        when(blockingKeyRepository.countLeadsByBlockKeys(anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {"P:76543210", 1L}));
+        when(blockingKeyRepository.findLeadIdsByBlockKey(eq("P:76543210"), any(Pageable.class)))
+            .thenReturn(List.of(priya.getId()));
+        
+        List<LeadDuplicateCandidateDTO> duplicates = leadDeduplicationService.findPossibleDuplicates(priya);
+        
+        assertTrue(duplicates.isEmpty());
+        verify(leadRepository, never()).findAllById(any());
+    }
+    
+    @Test
+    void testFindPossibleDuplicates_FillsCapFromMostSelectiveBlocksFirst() {
+        ReflectionTestUtils.setField(leadDeduplicationService, "maxCandidates", 2);
+        Lead namesake = lead("Priya", "Sharma", "p.sharma@yahoo.com", "9000000001");
+        when(blockingKeyRepository.countLeadsByBlockKeys(anyCollection())).thenReturn(List.of(
+            new Object[] {"P:76543210", 2L},
+            new Object[] {"N:P620|Java Development", 5000L}));
+        when(blockingKeyRepository.findLeadIdsByBlockKey(eq("P:76543210"), any(Pageable.class)))
+            .thenReturn(List.of(priya.getId(), priyaVariant.getId()));
+        when(blockingKeyRepository.findLeadIdsByBlockKey(eq("N:P620|Java Development"), any(Pageable.class)))
+            .thenReturn(List.of(namesake.getId(), alice.getId()));
+        when(leadRepository.findAllById(List.of(priyaVariant.getId(), namesake.getId())))
+            .thenReturn(List.of(priyaVariant, namesake));
+        
+        List<LeadDuplicateCandidateDTO> duplicates = leadDeduplicationService.findPossibleDuplicates(priya);
+        
+        assertEquals(priyaVariant.getId(), duplicates.get(0).getLeadId());
+        // Only the one slot left after the phone block is asked for, plus the probe's own row
+        verify(blockingKeyRepository).findLeadIdsByBlockKey("N:P620|Java Development", PageRequest.of(0, 2));
+    }
+    
+    @Test
+    void testIndexLead_ReplacesKeys() {
+        leadDeduplicationService.indexLead(priya);
+        
+        verify(blockingKeyRepository).deleteByLeadId(priya.getId());
+        verify(blockingKeyRepository).saveAll(argThat(keys -> ((List<?>) keys).size() == 3));
+    }
+    
+    @Test
+    void testClusterDuplicates_ScoresWithinBlocksOnly() {
+        Stream<Object[]> rows = Stream.of(
+            new Object[] {"E:priyasharma@gmail.com", priya.getId()},
+            new Object[] {"E:priyasharma@gmail.com", priyaVariant.getId()},
+            new Object[] {"P:76543210", priya.getId()},
+            new Object[] {"P:76543210", priyaVariant.getId()}
+        );
+        when(blockingKeyRepository.streamSharedBlocks()).thenReturn(rows);
+        when(leadRepository.findMatchFieldsByIdIn(List.of(priya.getId(), priyaVariant.getId())))
+            .thenReturn(List.of(matchFields(priya), matchFields(priyaVariant)));
+        when(leadRepository.findAllById(anyList())).thenReturn(List.of(priya, priyaVariant));
+        
+        List<LeadDuplicateClusterDTO> clusters = leadDeduplicationService.clusterDuplicates();
+        
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).getSize());
+        assertEquals(1.0, clusters.get(0).getMaxScore());
+        // Fingerprints are loaded once even though the pair shares two blocks
+        verify(leadRepository, times(1)).findMatchFieldsByIdIn(anyList());
+        verify(leadRepository, times(1)).findAllById(anyList());
+    }
+    
+    private Lead lead(String firstName, String lastName, String email, String phone) {
+        Lead lead = new Lead(firstName, lastName, email, phone, "Java Development", "Website");
+        lead.setId(UUID.randomUUID());
+        return lead;
+    }
+    
+    private Object[] matchFields(Lead lead) {
+        return new Object[] {lead.getId(), lead.getFirstName(), lead.getLastName(),
+            lead.getEmail(), lead.getPhone(), lead.getCourseInterest()};
+    }
+}
@@ -0,0 +1,117 @@
+package com.institute.management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadMatcherTest {
+    
+    @Test
+    void testNormalizePhone() {
+        assertEquals("9876543210", LeadMatcher.normalizePhone("+91 98765-43210"));
+        assertEquals("9876543210", LeadMatcher.normalizePhone("098765 43210"));
+        assertEquals("9876543210", LeadMatcher.normalizePhone("0091 9876543210"));
+        assertEquals("9876543210", LeadMatcher.normalizePhone("9876543210"));
+        assertNull(LeadMatcher.normalizePhone("n/a"));
+        assertNull(LeadMatcher.normalizePhone(null));
+    }
+    
+    @Test
+    void testNormalizeEmail() {
+        assertEquals("johnsmith@gmail.com", LeadMatcher.normalizeEmail("John.Smith@gmail.com"));
+        assertEquals("johnsmith@gmail.com", LeadMatcher.normalizeEmail("john.smith+courses@googlemail.com"));
+        assertEquals("john.smith@institute.com", LeadMatcher.normalizeEmail(" John.Smith+leads@Institute.com "));
+        assertNull(LeadMatcher.normalizeEmail(""));
+        assertNull(LeadMatcher.normalizeEmail(null));
+    }
+    
+    @Test
+    void testSoundex() {
+        assertEquals("R163", LeadMatcher.soundex("Robert"));
+        assertEquals("R163", LeadMatcher.soundex("Rupert"));
+        assertEquals("A261", LeadMatcher.soundex("Ashcraft"));
+        assertEquals("T522", LeadMatcher.soundex("Tymczak"));
+        assertEquals("P236", LeadMatcher.soundex("Pfister"));
+        assertEquals("S530", LeadMatcher.soundex("Smith"));
+        assertEquals(LeadMatcher.soundex("Sharma"), LeadMatcher.soundex("Sharmaa"));
+        assertNull(LeadMatcher.soundex("123"));
+    }
+    
+    @Test
+    void testBlockingKeys() {
+        LeadMatcher.Fingerprint lead = fingerprint("Priya", "Sharma", "Priya.Sharma@gmail.com", "+91 98765 43210", "Java Development");
+        
+        Set<String> keys = LeadMatcher.blockingKeys(lead);
+        
+        assertEquals(3, keys.size());
+        assertTrue(keys.contains("P:76543210"));
+        assertTrue(keys.contains("E:priyasharma@gmail.com"));
+        assertTrue(keys.contains("N:P600S650|javadevelopment"));
+    }
+    
+    @Test
+    void testBlockingKeysIgnoreNameOrder() {
+        LeadMatcher.Fingerprint lead = fingerprint("Priya", "Sharma", null, "9876543210", "Java");
+        LeadMatcher.Fingerprint swapped = fingerprint("Sharma", "Priya", null, "1111111111", "java");
+        
+        Set<String> keys = LeadMatcher.blockingKeys(swapped);
+        keys.retainAll(LeadMatcher.blockingKeys(lead));
+        
+        assertEquals(Set.of("N:P600S650|java"), keys);
+    }
+    
+    @Test
+    void testScore_PhoneFormattingAndSwappedName() {
+        LeadMatcher.Fingerprint lead = fingerprint("Priya", "Sharma", "priya@example.com", "9876543210", "Java");
+        LeadMatcher.Fingerprint variant = fingerprint("Sharma", "Priya", null, "+91 98765 43210", "Python");
+        
+        LeadMatcher.Match match = LeadMatcher.score(lead, variant);
+        
+        assertEquals(0.8, match.getScore(), 0.001);
+        assertEquals(java.util.List.of("PHONE", "NAME"), match.getMatchedOn());
+    }
+    
+    @Test
+    void testScore_GmailDotsAndSimilarName() {
+        LeadMatcher.Fingerprint lead = fingerprint("Rahul", "Verma", "rahul.verma@gmail.com", "9876543210", "Java");
+        LeadMatcher.Fingerprint variant = fingerprint("Rahul", "Varma", "rahulverma@gmail.com", "9123456780", "Java");
+        
+        LeadMatcher.Match match = LeadMatcher.score(lead, variant);
+        
+        assertTrue(match.getScore() >= 0.85);
+        assertTrue(match.getMatchedOn().contains("EMAIL"));
+        assertTrue(match.getMatchedOn().contains("NAME"));
+    }
+    
+    @Test
+    void testScore_SameNameAndCourseOnlyIsBelowDefaultThreshold() {
+        LeadMatcher.Fingerprint lead = fingerprint("Amit", "Kumar", "amit1@example.com", "9876543210", "Java");
+        LeadMatcher.Fingerprint other = fingerprint("Amit", "Kumar", "amit2@example.com", "9123456780", "Java");
+        
+        assertEquals(0.45, LeadMatcher.score(lead, other).getScore(), 0.001);
+    }
+    
+    @Test
+    void testScore_UnrelatedLeads() {
+        LeadMatcher.Fingerprint lead = fingerprint("Alice", "Smith", "alice@example.com", "1234567890", "Java");
+        LeadMatcher.Fingerprint other = fingerprint("Bob", "Johnson", "bob@example.com", "0987654321", "Python");
+        
+        LeadMatcher.Match match = LeadMatcher.score(lead, other);
+        
+        assertEquals(0.0, match.getScore());
+        assertTrue(match.getMatchedOn().isEmpty());
+    }
+    
+    @Test
+    void testJaroWinkler() {
+        assertEquals(1.0, LeadMatcher.jaroWinkler("martha", "martha"));
+        assertEquals(0.961, LeadMatcher.jaroWinkler("martha", "marhta"), 0.001);
+        assertEquals(0.0, LeadMatcher.jaroWinkler("abc", "xyz"));
+    }
+    
+    private LeadMatcher.Fingerprint fingerprint(String firstName, String lastName, String email, String phone, String courseInterest) {
+        return new LeadMatcher.Fingerprint(null, firstName, lastName, email, phone, courseInterest);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -27,12 +28,24 @@ class LeadServiceTest {
     @Mock
     private LeadRepository leadRepository;
     
+    @Mock
+    private StatusCounts statusCounts;
+    
     @Mock
     private EmployeeRepository employeeRepository;
     
     @Mock
     private StudentService studentService;
     
+    @Spy
+    private UniquenessGuard uniquenessGuard = new UniquenessGuard();
+    
+    @Mock
+    private LeadDeduplicationService leadDeduplicationService;
+    
+    @Mock
+    private LeadFollowUpRepository leadFollowUpRepository;
+    
     @InjectMocks
     private LeadService leadService;
     
@@ -384,9 +397,12 @@ class LeadServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testLead.getId(), result.getId());
+        assertEquals(1, result.getFollowUpCount());
+        assertEquals("Called customer, interested in course", result.getLatestFollowUp().getNotes());
         
         verify(leadRepository).findById(leadId);
         verify(leadRepository).save(any(Lead.class));
+        verifyNoInteractions(leadFollowUpRepository);
     }
     
     @Test
@@ -511,13 +527,14 @@ class LeadServiceTest {
     @WithMockUser(roles = "COUNSELLOR")
     void getLeadStatistics_Success() {
         // Given
-        when(leadRepository.countByStatus(Lead.LeadStatus.NEW)).thenReturn(5L);
-        when(leadRepository.countByStatus(Lead.LeadStatus.CONTACTED)).thenReturn(3L);
-        when(leadRepository.countByStatus(Lead.LeadStatus.INTERESTED)).thenReturn(2L);
-        when(leadRepository.countByStatus(Lead.LeadStatus.NOT_INTERESTED)).thenReturn(1L);
-        when(leadRepository.countByStatus(Lead.LeadStatus.CONVERTED)).thenReturn(4L);
-        when(leadRepository.countByStatus(Lead.LeadStatus.LOST)).thenReturn(1L);
-        when(leadRepository.count()).thenReturn(16L);
+        Map<Lead.LeadStatus, Long> counts = new EnumMap<>(Lead.LeadStatus.class);
+        counts.put(Lead.LeadStatus.NEW, 5L);
+        counts.put(Lead.LeadStatus.CONTACTED, 3L);
+        counts.put(Lead.LeadStatus.INTERESTED, 2L);
+        counts.put(Lead.LeadStatus.NOT_INTERESTED, 1L);
+        counts.put(Lead.LeadStatus.CONVERTED, 4L);
+        counts.put(Lead.LeadStatus.LOST, 1L);
+        when(statusCounts.counts(StatusCount.EntityType.LEAD, Lead.LeadStatus.class)).thenReturn(counts);
         
         // When
         LeadService.LeadStatsDTO result = leadService.getLeadStatistics();
@@ -533,7 +550,7 @@ class LeadServiceTest {
         assertEquals(1L, result.getLostLeads());
         assertEquals(25.0, result.getConversionRate(), 0.01); // 4/16 * 100 = 25%
         
-        verify(leadRepository, times(6)).countByStatus(any(Lead.LeadStatus.class));
-        verify(leadRepository).count();
+        verify(statusCounts).counts(StatusCount.EntityType.LEAD, Lead.LeadStatus.class);
+        verify(leadRepository, never()).countByStatus(any(Lead.LeadStatus.class));
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.institute.management.service;
 import com.institute.management.dto.*;
 import com.institute.management.entity.Company;
 import com.institute.management.entity.Placement;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.entity.Student;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.repository.CompanyRepository;
@@ -43,6 +44,12 @@ class PlacementServiceTest {
     @Mock
     private CompanyRepository companyRepository;
     
+    @Mock
+    private ChildCounters childCounters;
+    
+    @Mock
+    private StatusCounts statusCounts;
+    
     @InjectMocks
     private PlacementService placementService;
     
@@ -142,6 +149,7 @@ class PlacementServiceTest {
         verify(studentRepository).findById(studentId);
         verify(companyRepository).findById(companyId);
         verify(placementRepository).save(any(Placement.class));
+        verify(childCounters).placementAdded(placement);
     }
     
     @Test
@@ -208,6 +216,7 @@ class PlacementServiceTest {
         verify(studentRepository).findById(studentId);
         verify(companyRepository).findById(companyId);
         verify(placementRepository).save(any(Placement.class));
+        verify(childCounters).placementMoved(studentId, companyId, placement);
     }
     
     @Test
@@ -337,7 +346,7 @@ class PlacementServiceTest {
     @WithMockUser(roles = "ADMIN")
     void deletePlacement_Success() {
         // Arrange
-        when(placementRepository.existsById(placementId)).thenReturn(true);
+        when(placementRepository.findById(placementId)).thenReturn(Optional.of(placement));
         
         // Act
         assertDoesNotThrow(() -> {
@@ -345,23 +354,23 @@ class PlacementServiceTest {
         });
         
         // Assert
-        verify(placementRepository).existsById(placementId);
-        verify(placementRepository).deleteById(placementId);
+        verify(childCounters).placementRemoved(placement);
+        verify(placementRepository).delete(placement);
     }
     
     @Test
     @WithMockUser(roles = "ADMIN")
     void deletePlacement_NotFound() {
         // Arrange
-        when(placementRepository.existsById(placementId)).thenReturn(false);
+        when(placementRepository.findById(placementId)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             placementService.deletePlacement(placementId);
         });
         
-        verify(placementRepository).existsById(placementId);
-        verify(placementRepository, never()).deleteById(any());
+        verify(childCounters, never()).placementRemoved(any());
+        verify(placementRepository, never()).delete(any(Placement.class));
     }
     
     @Test
@@ -386,11 +395,14 @@ class PlacementServiceTest {
     @WithMockUser(roles = "PLACEMENT_OFFICER")
     void getPlacementStatistics_Success() {
         // Arrange
-        when(placementRepository.count()).thenReturn(100L);
-        when(placementRepository.countByStatus(Placement.PlacementStatus.PLACED)).thenReturn(80L);
-        when(placementRepository.countByStatus(Placement.PlacementStatus.RESIGNED)).thenReturn(15L);
-        when(placementRepository.countByStatus(Placement.PlacementStatus.TERMINATED)).thenReturn(5L);
-        when(placementRepository.countGraduatedStudents()).thenReturn(120L);
+        Map<Placement.PlacementStatus, Long> counts = new EnumMap<>(Placement.PlacementStatus.class);
+        counts.put(Placement.PlacementStatus.PLACED, 80L);
+        counts.put(Placement.PlacementStatus.RESIGNED, 15L);
+        counts.put(Placement.PlacementStatus.TERMINATED, 5L);
+        when(statusCounts.counts(StatusCount.EntityType.PLACEMENT, Placement.PlacementStatus.class)).thenReturn(counts);
+        Map<Student.StudentStatus, Long> studentCounts = new EnumMap<>(Student.StudentStatus.class);
+        studentCounts.put(Student.StudentStatus.GRADUATED, 120L);
+        when(statusCounts.counts(StatusCount.EntityType.STUDENT, Student.StudentStatus.class)).thenReturn(studentCounts);
         when(placementRepository.countPlacedStudents()).thenReturn(95L);
         
         // Act
@@ -406,9 +418,8 @@ class PlacementServiceTest {
         double expectedPlacementRate = (95.0 / 120.0) * 100;
         assertEquals(expectedPlacementRate, (Double) result.get("placementRate"), 0.01);
         
-        verify(placementRepository).count();
-        verify(placementRepository, times(3)).countByStatus(any());
-        verify(placementRepository).countGraduatedStudents();
+        verify(placementRepository, never()).countByStatus(any());
+        verify(placementRepository, never()).countGraduatedStudents();
         verify(placementRepository).countPlacedStudents();
     }
     
@@ -41,6 +41,9 @@ class ReportsServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private StudentArchive studentArchive;
+
     @InjectMocks
     private ReportsService reportsService;
 
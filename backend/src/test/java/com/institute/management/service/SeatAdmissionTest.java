@@ -0,0 +1,153 @@
+package com.institute.management.service;
+
+import com.institute.management.entity.Batch;
+import com.institute.management.exception.BatchCapacityExceededException;
+import com.institute.management.repository.BatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAdmissionTest {
+
+    @Mock
+    private BatchRepository batchRepository;
+
+    @InjectMocks
+    private SeatAdmission seatAdmission;
+
+    private Batch batch;
+
+    @BeforeEach
+    void setUp() {
+        batch = new Batch();
+        batch.setId(UUID.randomUUID());
+        batch.setName("JAVA-2024-01");
+        batch.setCapacity(30);
+        batch.setCurrentEnrollment(29);
+    }
+
+    @Test
+    void admit_TakesSeat() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(1);
+
+        seatAdmission.admit(batch);
+
+        assertEquals(30, batch.getCurrentEnrollment());
+        verify(batchRepository, never()).findSeats(any());
+    }
+
+    @Test
+    void admit_FullBatchThrowsWithDatabaseCounts() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(0);
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+
+        BatchCapacityExceededException exception = assertThrows(BatchCapacityExceededException.class,
+            () -> seatAdmission.admit(batch));
+
+        assertTrue(exception.getMessage().contains("JAVA-2024-01"));
+        assertEquals(29, batch.getCurrentEnrollment());
+    }
+
+    @Test
+    void admit_KnownFullBatchIsRejectedWithoutDatabase() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(0);
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        verify(batchRepository, times(1)).admitOne(batch.getId());
+    }
+
+    @Test
+    void admit_LastSeatTakenHereMarksBatchFullWithoutDatabase() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(1);
+        seatAdmission.admit(batch);
+
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        verify(batchRepository, times(1)).admitOne(batch.getId());
+        verify(batchRepository, never()).findSeats(any());
+    }
+
+    @Test
+    void admit_ReleasedSeatReopensFullBatch() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(0, 1);
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+        when(batchRepository.releaseOne(batch.getId())).thenReturn(1);
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        seatAdmission.release(batch);
+        seatAdmission.admit(batch);
+
+        verify(batchRepository, times(2)).admitOne(batch.getId());
+    }
+
+    @Test
+    void admit_ExpiredFullEntryGoesBackToDatabase() {
+        ReflectionTestUtils.setField(seatAdmission, "fullCacheTtlMs", 0L);
+        when(batchRepository.admitOne(batch.getId())).thenReturn(0);
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        verify(batchRepository, times(2)).admitOne(batch.getId());
+    }
+
+    @Test
+    void admit_InvalidateDropsFullEntry() {
+        when(batchRepository.admitOne(batch.getId())).thenReturn(0, 1);
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+        assertThrows(BatchCapacityExceededException.class, () -> seatAdmission.admit(batch));
+
+        // e.g. capacity raised
+        seatAdmission.invalidate(batch.getId());
+        seatAdmission.admit(batch);
+
+        verify(batchRepository, times(2)).admitOne(batch.getId());
+    }
+
+    @Test
+    void admitMany_RereadsSeatsWhenAConcurrentAdmissionWins() {
+        // Five free seats when read, but another admission took three before the update ran
+        batch.setCurrentEnrollment(25);
+        when(batchRepository.findSeats(batch.getId()))
+            .thenReturn(List.<Object[]>of(new Object[]{30, 25}), List.<Object[]>of(new Object[]{30, 28}));
+        when(batchRepository.admitMany(batch.getId(), 4)).thenReturn(0);
+        when(batchRepository.admitMany(batch.getId(), 2)).thenReturn(1);
+
+        assertEquals(2, seatAdmission.admit(batch, 4));
+        assertEquals(27, batch.getCurrentEnrollment());
+    }
+
+    @Test
+    void admitMany_FullBatchTakesNoSeats() {
+        when(batchRepository.findSeats(batch.getId())).thenReturn(List.<Object[]>of(new Object[]{30, 30}));
+
+        assertEquals(0, seatAdmission.admit(batch, 3));
+        verify(batchRepository, never()).admitMany(any(), anyInt());
+    }
+
+    @Test
+    void release_EmptyBatchIsNoOp() {
+        batch.setCurrentEnrollment(0);
+        when(batchRepository.releaseOne(batch.getId())).thenReturn(0);
+
+        seatAdmission.release(batch);
+
+        assertEquals(0, batch.getCurrentEnrollment());
+    }
+}
@@ -4,18 +4,23 @@ import com.institute.management.dto.*;
 import com.institute.management.entity.Batch;
 import com.institute.management.entity.Course;
 import com.institute.management.entity.Lead;
+import com.institute.management.entity.StatusCount;
 import com.institute.management.entity.Student;
+import com.institute.management.entity.StudentStatusChange;
 import com.institute.management.exception.BatchCapacityExceededException;
 import com.institute.management.exception.DuplicateResourceException;
 import com.institute.management.exception.ResourceNotFoundException;
 import com.institute.management.repository.BatchRepository;
 import com.institute.management.repository.LeadRepository;
 import com.institute.management.repository.StudentRepository;
+import com.institute.management.repository.StudentStatusChangeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -25,8 +30,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,6 +54,30 @@ class StudentServiceTest {
     @Mock
     private LeadRepository leadRepository;
     
+    @Spy
+    private UniquenessGuard uniquenessGuard = new UniquenessGuard();
+    
+    @Mock
+    private EnrollmentNumberAllocator enrollmentNumberAllocator;
+    
+    @Mock
+    private SeatAdmission seatAdmission;
+    
+    @Mock
+    private BatchWaitlistService batchWaitlistService;
+    
+    @Mock
+    private StudentStatusChangeRepository studentStatusChangeRepository;
+    
+    @Mock
+    private ChildCounters childCounters;
+    
+    @Mock
+    private StatusCounts statusCounts;
+    
+    @Mock
+    private StudentArchive studentArchive;
+    
     @InjectMocks
     private StudentService studentService;
     
@@ -131,9 +163,8 @@ class StudentServiceTest {
         when(studentRepository.existsByPhone(createRequest.getPhone())).thenReturn(false);
         when(leadRepository.findById(createRequest.getLeadId())).thenReturn(Optional.of(testLead));
         when(batchRepository.findById(createRequest.getBatchId())).thenReturn(Optional.of(testBatch));
-        when(studentRepository.findEnrollmentNumbersWithPrefix(anyString())).thenReturn(Arrays.asList());
+        when(enrollmentNumberAllocator.next()).thenReturn("ENR202400001");
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
-        when(batchRepository.save(any(Batch.class))).thenReturn(testBatch);
         
         // Act
         StudentResponseDTO result = studentService.createStudent(createRequest);
@@ -148,8 +179,8 @@ class StudentServiceTest {
         assertEquals(testBatch.getName(), result.getBatch().getName());
         
         verify(studentRepository).save(any(Student.class));
-        verify(batchRepository).save(testBatch);
-        assertEquals(16, testBatch.getCurrentEnrollment()); // Should increment
+        verify(seatAdmission).admit(testBatch);
+        verify(batchRepository, never()).save(any(Batch.class)); // Counter is only changed by the conditional update
     }
     
     @Test
@@ -185,10 +216,12 @@ class StudentServiceTest {
     @WithMockUser(roles = "ADMIN")
     void testCreateStudent_BatchCapacityExceeded() {
         // Arrange
-        testBatch.setCurrentEnrollment(30); // At capacity
         when(studentRepository.existsByEmail(createRequest.getEmail())).thenReturn(false);
         when(studentRepository.existsByPhone(createRequest.getPhone())).thenReturn(false);
+        when(leadRepository.findById(createRequest.getLeadId())).thenReturn(Optional.of(testLead));
         when(batchRepository.findById(createRequest.getBatchId())).thenReturn(Optional.of(testBatch));
+        when(enrollmentNumberAllocator.next()).thenReturn("ENR202400001");
+        doThrow(new BatchCapacityExceededException(testBatch.getName(), 30, 30)).when(seatAdmission).admit(testBatch);
         
         // Act & Assert
         assertThrows(BatchCapacityExceededException.class, () -> {
@@ -291,6 +324,38 @@ class StudentServiceTest {
         });
     }
     
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetStatusHistory_Success() {
+        // Arrange
+        StudentStatusChange change = new StudentStatusChange(testStudent, Student.StudentStatus.SUSPENDED,
+            LocalDateTime.now(), "Status changed from ACTIVE to SUSPENDED");
+        Pageable pageable = PageRequest.of(0, 20);
+        when(studentRepository.existsById(testStudent.getId())).thenReturn(true);
+        when(studentStatusChangeRepository.findTimeline(testStudent.getId(), pageable)).thenReturn(new PageImpl<>(List.of(change)));
+        
+        // Act
+        Page<StudentResponseDTO.StatusHistoryDTO> result = studentService.getStatusHistory(testStudent.getId(), pageable);
+        
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(Student.StudentStatus.SUSPENDED, result.getContent().get(0).getStatus());
+        verify(studentRepository, never()).findById(any());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetStatusHistory_StudentNotFound() {
+        // Arrange
+        when(studentRepository.existsById(testStudent.getId())).thenReturn(false);
+        
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            studentService.getStatusHistory(testStudent.getId(), PageRequest.of(0, 20));
+        });
+        verifyNoInteractions(studentStatusChangeRepository);
+    }
+    
     @Test
     @WithMockUser(roles = "ADMIN")
     void testGetAllStudents_Success() {
@@ -325,16 +390,31 @@ class StudentServiceTest {
         when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
         when(batchRepository.findById(newBatch.getId())).thenReturn(Optional.of(newBatch));
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
-        when(batchRepository.save(any(Batch.class))).thenReturn(newBatch);
         
         // Act
         StudentResponseDTO result = studentService.assignToBatch(testStudent.getId(), newBatch.getId());
         
         // Assert
         assertNotNull(result);
-        verify(batchRepository, times(2)).save(any(Batch.class)); // Old batch and new batch
-        assertEquals(14, testBatch.getCurrentEnrollment()); // Should decrement old batch
-        assertEquals(11, newBatch.getCurrentEnrollment()); // Should increment new batch
+        InOrder seats = inOrder(seatAdmission, batchWaitlistService);
+        seats.verify(seatAdmission).admit(newBatch); // New seat first
+        seats.verify(batchWaitlistService).releaseSeat(testBatch); // Then the old one is given back
+        assertEquals(newBatch, testStudent.getBatch());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testAssignToBatch_SameBatch() {
+        // Arrange
+        when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
+        when(batchRepository.findById(testBatch.getId())).thenReturn(Optional.of(testBatch));
+        
+        // Act
+        StudentResponseDTO result = studentService.assignToBatch(testStudent.getId(), testBatch.getId());
+        
+        // Assert
+        assertNotNull(result);
+        verifyNoInteractions(seatAdmission);
     }
     
     @Test
@@ -366,14 +446,23 @@ class StudentServiceTest {
     @WithMockUser(roles = "ADMIN")
     void testAssignToBatch_CapacityExceeded() {
         // Arrange
-        testBatch.setCurrentEnrollment(30); // At capacity
+        Batch fullBatch = new Batch();
+        fullBatch.setId(UUID.randomUUID());
+        fullBatch.setName("FULL-BATCH");
+        fullBatch.setCapacity(30);
+        fullBatch.setCurrentEnrollment(30); // At capacity
         when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
-        when(batchRepository.findById(testBatch.getId())).thenReturn(Optional.of(testBatch));
+        when(batchRepository.findById(fullBatch.getId())).thenReturn(Optional.of(fullBatch));
+        doThrow(new BatchCapacityExceededException(fullBatch.getName(), 30, 30)).when(seatAdmission).admit(fullBatch);
         
         // Act & Assert
         assertThrows(BatchCapacityExceededException.class, () -> {
-            studentService.assignToBatch(testStudent.getId(), testBatch.getId());
+            studentService.assignToBatch(testStudent.getId(), fullBatch.getId());
         });
+        
+        // The student keeps the seat in the old batch
+        verify(batchWaitlistService, never()).releaseSeat(any(Batch.class));
+        assertEquals(testBatch, testStudent.getBatch());
     }
     
     @Test
@@ -382,15 +471,13 @@ class StudentServiceTest {
         // Arrange
         when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
-        when(batchRepository.save(any(Batch.class))).thenReturn(testBatch);
         
         // Act
         StudentResponseDTO result = studentService.removeFromBatch(testStudent.getId());
         
         // Assert
         assertNotNull(result);
-        verify(batchRepository).save(testBatch);
-        assertEquals(14, testBatch.getCurrentEnrollment()); // Should decrement
+        verify(batchWaitlistService).releaseSeat(testBatch);
     }
     
     @Test
@@ -429,15 +516,30 @@ class StudentServiceTest {
     void testDeleteStudent_Success() {
         // Arrange
         when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
-        when(batchRepository.save(any(Batch.class))).thenReturn(testBatch);
         
         // Act
         studentService.deleteStudent(testStudent.getId());
         
         // Assert
         verify(studentRepository).deleteById(testStudent.getId());
-        verify(batchRepository).save(testBatch);
-        assertEquals(14, testBatch.getCurrentEnrollment()); // Should decrement
+        verify(batchWaitlistService).releaseSeat(testBatch);
+        verify(batchWaitlistService).withdrawStudent(testStudent.getId());
+        verify(childCounters, never()).studentRemoved(any());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testDeleteStudent_ReleasesPlacementCounts() {
+        // Arrange
+        testStudent.setPlacementCount(2);
+        when(studentRepository.findById(testStudent.getId())).thenReturn(Optional.of(testStudent));
+        
+        // Act
+        studentService.deleteStudent(testStudent.getId());
+        
+        // Assert
+        verify(childCounters).studentRemoved(testStudent.getId());
+        verify(studentRepository).deleteById(testStudent.getId());
     }
     
     @Test
@@ -516,16 +618,16 @@ class StudentServiceTest {
     @WithMockUser(roles = "ADMIN")
     void testGetStudentStatistics_Success() {
         // Arrange
-        when(studentRepository.count()).thenReturn(100L);
-        when(studentRepository.countByStatus(Student.StudentStatus.ACTIVE)).thenReturn(80L);
-        when(studentRepository.countByStatus(Student.StudentStatus.GRADUATED)).thenReturn(15L);
-        when(studentRepository.countByStatus(Student.StudentStatus.DROPPED_OUT)).thenReturn(3L);
-        when(studentRepository.countByStatus(Student.StudentStatus.SUSPENDED)).thenReturn(1L);
-        when(studentRepository.countByStatus(Student.StudentStatus.INACTIVE)).thenReturn(1L);
+        Map<Student.StudentStatus, Long> counts = new EnumMap<>(Student.StudentStatus.class);
+        counts.put(Student.StudentStatus.ACTIVE, 80L);
+        counts.put(Student.StudentStatus.GRADUATED, 15L);
+        counts.put(Student.StudentStatus.DROPPED_OUT, 3L);
+        counts.put(Student.StudentStatus.SUSPENDED, 1L);
+        counts.put(Student.StudentStatus.INACTIVE, 1L);
+        when(statusCounts.counts(StatusCount.EntityType.STUDENT, Student.StudentStatus.class)).thenReturn(counts);
         when(studentRepository.findStudentsWithoutBatch(any(Pageable.class)))
             .thenReturn(new PageImpl<>(Arrays.asList(), PageRequest.of(0, 1), 5));
-        when(studentRepository.findPlacedGraduates()).thenReturn(Arrays.asList(testStudent));
-        when(studentRepository.findUnplacedGraduates()).thenReturn(Arrays.asList());
+        when(studentRepository.countGraduatesByPlacement()).thenReturn(List.<Object[]>of(new Object[]{1L, 0L}));
         when(studentRepository.getEnrollmentTrends(any(), any())).thenReturn(Arrays.asList());
         when(studentRepository.countByBatch()).thenReturn(Arrays.asList());
         when(studentRepository.countByCourse()).thenReturn(Arrays.asList());
@@ -548,61 +650,23 @@ class StudentServiceTest {
     }
     
     @Test
-    void testGenerateEnrollmentNumber_FirstStudent() {
+    void testCreateStudent_UsesAllocatedEnrollmentNumber() {
         // Arrange
-        when(studentRepository.findEnrollmentNumbersWithPrefix(anyString())).thenReturn(Arrays.asList());
-        
-        // Act - Use reflection to test private method or create a public wrapper for testing
-        // For now, we'll test it indirectly through createStudent
-        when(studentRepository.existsByEmail(createRequest.getEmail())).thenReturn(false);
-        when(studentRepository.existsByPhone(createRequest.getPhone())).thenReturn(false);
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> {
-            Student student = invocation.getArgument(0);
-            // Verify enrollment number format
-            assertTrue(student.getEnrollmentNumber().matches("ENR\\d{8}"));
-            return student;
-        });
-        
-        // Remove batch and lead to simplify test
-        createRequest.setBatchId(null);
-        createRequest.setLeadId(null);
-        
-        // Act
-        studentService.createStudent(createRequest);
-        
-        // Assert
-        verify(studentRepository).save(any(Student.class));
-    }
-    
-    @Test
-    void testGenerateEnrollmentNumber_WithExistingNumbers() {
-        // Arrange
-        String currentYear = String.valueOf(LocalDate.now().getYear());
-        String prefix = "ENR" + currentYear;
-        List<String> existingNumbers = Arrays.asList(
-            prefix + "0001",
-            prefix + "0002",
-            prefix + "0003"
-        );
-        
-        when(studentRepository.findEnrollmentNumbersWithPrefix(prefix)).thenReturn(existingNumbers);
+        when(enrollmentNumberAllocator.next()).thenReturn("ENR20240042");
         when(studentRepository.existsByEmail(createRequest.getEmail())).thenReturn(false);
         when(studentRepository.existsByPhone(createRequest.getPhone())).thenReturn(false);
-        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> {
-            Student student = invocation.getArgument(0);
-            // Should generate ENR20240004
-            assertEquals(prefix + "0004", student.getEnrollmentNumber());
-            return student;
-        });
+        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // Remove batch and lead to simplify test
         createRequest.setBatchId(null);
         createRequest.setLeadId(null);
         
         // Act
-        studentService.createStudent(createRequest);
+        StudentResponseDTO result = studentService.createStudent(createRequest);
         
         // Assert
-        verify(studentRepository).save(any(Student.class));
+        assertEquals("ENR20240042", result.getEnrollmentNumber());
+        verify(enrollmentNumberAllocator).next();
+        verify(studentRepository, never()).findEnrollmentNumbersWithPrefix(anyString());
     }
 }
\ No newline at end of file
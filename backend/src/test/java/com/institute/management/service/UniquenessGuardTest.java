@@ -0,0 +1,121 @@
+package com.institute.management.service;
+
+import com.institute.management.repository.EmployeeRepository;
+import com.institute.management.repository.LeadRepository;
+import com.institute.management.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniquenessGuardTest {
+
+    @Mock
+    private LeadRepository leadRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Predicate<String> databaseCheck;
+
+    @InjectMocks
+    private UniquenessGuard uniquenessGuard;
+
+    @Test
+    void testFallsThroughToDatabaseBeforeFiltersAreBuilt() {
+        when(databaseCheck.test("john@example.com")).thenReturn(true);
+
+        assertFalse(uniquenessGuard.isReady(UniquenessGuard.Key.STUDENT_EMAIL));
+        assertTrue(uniquenessGuard.exists(UniquenessGuard.Key.STUDENT_EMAIL, "john@example.com", databaseCheck));
+        verify(databaseCheck).test("john@example.com");
+    }
+
+    @Test
+    void testSkipsDatabaseForDefiniteNegatives() {
+        stubEmptyRepositories();
+        when(studentRepository.streamAllEmails()).thenReturn(Stream.of("john@example.com"));
+
+        uniquenessGuard.rebuildAll();
+
+        assertTrue(uniquenessGuard.isReady(UniquenessGuard.Key.STUDENT_EMAIL));
+        assertFalse(uniquenessGuard.exists(UniquenessGuard.Key.STUDENT_EMAIL, "jane@example.com", databaseCheck));
+        verify(databaseCheck, never()).test(anyString());
+    }
+
+    @Test
+    void testConfirmsPossiblePositivesWithDatabase() {
+        stubEmptyRepositories();
+        when(studentRepository.streamAllEmails()).thenReturn(Stream.of("john@example.com"));
+        when(databaseCheck.test("john@example.com")).thenReturn(true);
+
+        uniquenessGuard.rebuildAll();
+
+        assertTrue(uniquenessGuard.exists(UniquenessGuard.Key.STUDENT_EMAIL, "john@example.com", databaseCheck));
+        verify(databaseCheck).test("john@example.com");
+    }
+
+    @Test
+    void testRecordedValuesAreNeverSkipped() {
+        stubEmptyRepositories();
+        when(databaseCheck.test("jane@example.com")).thenReturn(true);
+
+        uniquenessGuard.rebuildAll();
+        uniquenessGuard.record(UniquenessGuard.Key.LEAD_EMAIL, "jane@example.com");
+
+        assertTrue(uniquenessGuard.exists(UniquenessGuard.Key.LEAD_EMAIL, "jane@example.com", databaseCheck));
+    }
+
+    @Test
+    void testValuesRecordedDuringRebuildSurviveTheSwap() {
+        stubEmptyRepositories();
+        // Recorded while the rebuild is sizing the new filter, before the snapshot is streamed
+        when(leadRepository.count()).thenAnswer(invocation -> {
+            uniquenessGuard.record(UniquenessGuard.Key.LEAD_EMAIL, "late@example.com");
+            return 0L;
+        });
+        when(databaseCheck.test("late@example.com")).thenReturn(true);
+
+        uniquenessGuard.rebuildAll();
+
+        assertTrue(uniquenessGuard.exists(UniquenessGuard.Key.LEAD_EMAIL, "late@example.com", databaseCheck));
+        verify(databaseCheck).test("late@example.com");
+    }
+
+    @Test
+    void testRebuildFailureKeepsDatabaseChecks() {
+        stubEmptyRepositories();
+        when(employeeRepository.streamAllEmails()).thenThrow(new IllegalStateException("connection lost"));
+        when(databaseCheck.test("ravi@institute.com")).thenReturn(false);
+
+        uniquenessGuard.rebuildAll();
+
+        assertFalse(uniquenessGuard.isReady(UniquenessGuard.Key.EMPLOYEE_EMAIL));
+        assertTrue(uniquenessGuard.isReady(UniquenessGuard.Key.EMPLOYEE_CODE));
+        assertFalse(uniquenessGuard.exists(UniquenessGuard.Key.EMPLOYEE_EMAIL, "ravi@institute.com", databaseCheck));
+        verify(databaseCheck).test("ravi@institute.com");
+    }
+
+    private void stubEmptyRepositories() {
+        lenient().when(leadRepository.streamAllEmails()).thenReturn(Stream.empty());
+        lenient().when(studentRepository.streamAllEmails()).thenReturn(Stream.empty());
+        lenient().when(employeeRepository.streamAllEmployeeCodes()).thenReturn(Stream.empty());
+        lenient().when(employeeRepository.streamAllEmails()).thenReturn(Stream.empty());
+    }
+}
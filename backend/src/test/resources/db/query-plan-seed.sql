@@ -0,0 +1,92 @@
+-- Seed data for QueryPlanRegressionTest, run after the migrations.
+-- Large tables get enough rows that a sequential scan is distinguishable from an index scan;
+-- reference tables stay small, as in production.
+
+SELECT create_monthly_partitions('leads', (CURRENT_DATE - INTERVAL '24 months')::DATE, CURRENT_DATE);
+SELECT create_monthly_partitions('lead_follow_ups', (CURRENT_DATE - INTERVAL '24 months')::DATE, CURRENT_DATE);
+
+INSERT INTO employees (employee_code, first_name, last_name, email, phone, department, role, hire_date, status)
+SELECT 'EMP' || lpad(i::TEXT, 5, '0'), 'Employee', 'No' || i, 'employee' || i || '@example.com', '9' || lpad(i::TEXT, 9, '0'),
+       'Dept ' || (i % 5),
+       (ARRAY['ADMIN', 'COUNSELLOR', 'FACULTY', 'PLACEMENT_OFFICER', 'OPERATIONS'])[1 + i % 5],
+       CURRENT_DATE - (i * 7), CASE WHEN i % 20 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END
+FROM generate_series(1, 200) i;
+
+INSERT INTO users (username, password, employee_id, status)
+SELECT 'user' || row_number() OVER (), 'x', id, 'ACTIVE' FROM employees;
+
+INSERT INTO courses (name, description, duration_months, fees, status)
+SELECT 'Course ' || i, 'Description of course ' || i, 1 + i % 24, 10000 + i * 1000,
+       CASE WHEN i % 10 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END
+FROM generate_series(1, 40) i;
+
+INSERT INTO companies (name, industry, contact_person, email, phone, partnership_date, status)
+SELECT 'Company ' || i, 'Industry ' || (i % 12), 'Contact ' || i, 'hr' || i || '@company.com', '8' || lpad(i::TEXT, 9, '0'),
+       CURRENT_DATE - (i * 3), CASE WHEN i % 25 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END
+FROM generate_series(1, 300) i;
+
+INSERT INTO batches (name, course_id, start_date, end_date, capacity, status, instructor_id)
+SELECT 'Batch ' || i, c.id, CURRENT_DATE - (i * 3), CURRENT_DATE - (i * 3) + 180, 60,
+       (ARRAY['PLANNED', 'ACTIVE', 'COMPLETED', 'CANCELLED'])[1 + i % 4],
+       (SELECT id FROM employees WHERE role = 'FACULTY' ORDER BY employee_code OFFSET i % 40 LIMIT 1)
+FROM generate_series(1, 400) i
+JOIN LATERAL (SELECT id FROM courses ORDER BY name OFFSET i % 40 LIMIT 1) c ON true;
+
+-- Most leads are closed; open leads with a due follow-up are the minority the counsellors work on
+INSERT INTO leads (first_name, last_name, email, phone, course_interest, source, status, assigned_counsellor_id,
+                   next_follow_up_date, created_date)
+SELECT 'Lead', 'No' || i, 'lead' || i || '@example.com', '7' || lpad(i::TEXT, 9, '0'),
+       'Course ' || (1 + i % 40), (ARRAY['WEBSITE', 'REFERRAL', 'WALK_IN', 'SOCIAL_MEDIA', 'ADVERTISEMENT'])[1 + i % 5],
+       (ARRAY['LOST', 'NOT_INTERESTED', 'CONVERTED', 'LOST', 'NOT_INTERESTED', 'CONVERTED', 'NEW', 'CONTACTED', 'INTERESTED', 'LOST'])[1 + i % 10],
+       (SELECT id FROM employees WHERE role = 'COUNSELLOR' ORDER BY employee_code OFFSET i % 40 LIMIT 1),
+       CASE WHEN i % 10 >= 6 AND i % 3 > 0 THEN now() + ((i % 30) - 15) * INTERVAL '1 day' END,
+       now() - (i % 720) * INTERVAL '1 day'
+FROM generate_series(1, 30000) i;
+
+INSERT INTO lead_follow_ups (lead_id, follow_up_date, follow_up_notes, next_action)
+SELECT id, created_date + INTERVAL '2 days', 'Called', 'Call again' FROM leads WHERE status <> 'NEW';
+
+-- Students: a few hundred per batch, most of them graduated
+INSERT INTO students (enrollment_number, first_name, last_name, email, phone, batch_id, status, enrollment_date,
+                      graduation_date, final_grade, placement_count)
+SELECT 'ENR' || lpad(i::TEXT, 8, '0'), 'Student', 'No' || i, 'student' || i || '@example.com', '6' || lpad(i::TEXT, 9, '0'),
+       CASE WHEN i % 50 = 0 THEN NULL ELSE b.id END,
+       (ARRAY['GRADUATED', 'GRADUATED', 'GRADUATED', 'ACTIVE', 'DROPPED_OUT', 'GRADUATED', 'INACTIVE', 'GRADUATED', 'SUSPENDED', 'GRADUATED'])[1 + i % 10],
+       CURRENT_DATE - (i % 1000),
+       CASE WHEN (i % 10) IN (0, 1, 2, 5, 7, 9) THEN CURRENT_DATE - (i % 1000) + 180 END,
+       CASE WHEN (i % 10) IN (0, 1, 2, 5, 7, 9) THEN (ARRAY['A', 'B', 'C', 'D'])[1 + i % 4] END,
+       0
+FROM generate_series(1, 12000) i
+JOIN LATERAL (SELECT id FROM batches ORDER BY name OFFSET i % 400 LIMIT 1) b ON true;
+
+INSERT INTO student_status_history (student_id, status, change_date, notes)
+SELECT id, status, enrollment_date + 1, 'Seeded' FROM students;
+
+INSERT INTO placements (student_id, company_id, position, salary, placement_date, status, job_type, work_location,
+                        employment_type, probation_period_months, joining_date, end_date)
+SELECT s.id, c.id, 'Position ' || (s.n % 30), 250000 + (s.n % 50) * 10000, CURRENT_DATE - (s.n % 700),
+       (ARRAY['PLACED', 'PLACED', 'PLACED', 'RESIGNED', 'COMPLETED'])[1 + s.n % 5],
+       (ARRAY['FULL_TIME', 'PART_TIME', 'CONTRACT', 'INTERNSHIP'])[1 + s.n % 4], 'City ' || (s.n % 15),
+       (ARRAY['PERMANENT', 'TEMPORARY', 'PROBATION'])[1 + s.n % 3], 6,
+       CURRENT_DATE - (s.n % 700) + 14, CASE WHEN s.n % 5 >= 3 THEN CURRENT_DATE - (s.n % 700) + 300 END
+FROM (SELECT id, row_number() OVER (ORDER BY enrollment_number) AS n FROM students WHERE status = 'GRADUATED') s
+JOIN LATERAL (SELECT id FROM companies ORDER BY name OFFSET s.n % 300 LIMIT 1) c ON true
+WHERE s.n % 10 < 7;
+
+UPDATE students s SET placement_count = p.placements
+FROM (SELECT student_id, COUNT(*) AS placements FROM placements GROUP BY student_id) p
+WHERE p.student_id = s.id;
+
+UPDATE companies c SET placement_count = p.placements
+FROM (SELECT company_id, COUNT(*) AS placements FROM placements GROUP BY company_id) p
+WHERE p.company_id = c.id;
+
+UPDATE batches b SET current_enrollment = LEAST(s.students, b.capacity)
+FROM (SELECT batch_id, COUNT(*) AS students FROM students WHERE batch_id IS NOT NULL GROUP BY batch_id) s
+WHERE s.batch_id = b.id;
+
+UPDATE courses c SET batch_count = b.batches
+FROM (SELECT course_id, COUNT(*) AS batches FROM batches GROUP BY course_id) b
+WHERE b.course_id = c.id;
+
+ANALYZE;